@@ -20,33 +20,54 @@ package org.pragmatica.dns;
 import org.pragmatica.dns.codec.MessageType;
 import org.pragmatica.dns.codec.QuestionRecord;
 import org.pragmatica.io.AsyncCloseable;
+import org.pragmatica.io.async.Proactor;
 import org.pragmatica.io.async.file.FileDescriptor;
 import org.pragmatica.io.async.net.InetAddress.Inet4Address;
 import org.pragmatica.io.async.net.InetPort;
+import org.pragmatica.io.async.net.MessageFlags;
+import org.pragmatica.io.async.net.ReceivedMessage;
+import org.pragmatica.io.async.net.SocketAddress;
 import org.pragmatica.io.async.util.ActionableThreshold;
 import org.pragmatica.io.async.util.OffHeapSlice;
 import org.pragmatica.io.util.PeriodicTaskRunner;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Promise;
 import org.pragmatica.lang.PromiseIO;
 import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Comparator.comparingLong;
 import static org.pragmatica.dns.codec.DnsIoErrors.NO_RESULTS_FOUND;
 import static org.pragmatica.io.async.Timeout.timeout;
 import static org.pragmatica.io.async.net.SocketAddress.socketAddress;
 import static org.pragmatica.lang.Promise.all;
-import static org.pragmatica.lang.Promise.anySuccess;
 import static org.pragmatica.lang.PromiseIO.*;
 import static org.pragmatica.lang.Unit.unitResult;
 
+/**
+ * Asynchronous DNS resolver.
+ * <p>
+ * Queries are sent to all configured servers from single unconnected UDP socket. Responses are received by single receive loop and matched
+ * to the pending queries by random transaction ID. Since unconnected socket accepts datagrams from any sender, responses which are not sent by
+ * one of the configured servers or don't echo the question of the pending query are dropped. First successful response resolves the query,
+ * if all servers respond with failures, the query is resolved with {@link org.pragmatica.dns.codec.DnsIoErrors#NO_RESULTS_FOUND}.
+ */
 public class DomainNameResolver implements AsyncCloseable {
     private static final InetPort DNS_PORT = InetPort.inetPort(53);
+    private static final int BUFFER_SIZE = 4096;
+    private static final int TRANSACTION_ID_MASK = 0xFFFF;
 
     private static final Inet4Address[] SERVERS = {
         new Inet4Address(new byte[]{1, 0, 0, 1}),                               // Cloudflare
@@ -62,18 +83,31 @@ public class DomainNameResolver implements AsyncCloseable {
     private record TtlEntry(DomainAddress domainAddress, long expirationTime) {
     }
 
+    private record PendingQuery(DomainName domainName, Promise<DomainAddress> promise, AtomicInteger remaining, Set<Integer> failedServers) {
+    }
+
+    private record Receiver(Proactor proactor, long operationId) {
+    }
+
     private final ConcurrentMap<DomainName, Promise<DomainAddress>> cache = new ConcurrentHashMap<>();
-    private final List<FileDescriptor> sockets;
+    private final ConcurrentMap<Integer, PendingQuery> pending = new ConcurrentHashMap<>();
+    private final List<SocketAddress<Inet4Address>> servers;
+    private final FileDescriptor socket;
+    private final OffHeapSlice responseBuffer = OffHeapSlice.fixedSize(BUFFER_SIZE);
+    private final Promise<Unit> receiveStopped = Promise.promise();
+    private final AtomicReference<Receiver> receiver = new AtomicReference<>();
     private final PriorityBlockingQueue<TtlEntry> queue = new PriorityBlockingQueue<>(1024, comparingLong(TtlEntry::expirationTime));
     private final PeriodicTaskRunner taskRunner = PeriodicTaskRunner.periodicTaskRunner(timeout(1).seconds(), this::ttlProcessor);
+    private volatile boolean closed = false;
 
     private DomainNameResolver(List<Inet4Address> serverList) {
-        this.sockets = serverList
+        this.servers = serverList
             .stream()
             .map(inetAddress -> socketAddress(DNS_PORT, inetAddress))
-            .map(address -> udpSocket().flatMap(fd -> connect(fd, address)).join())
-            .map(Result::unwrap)
             .toList();
+        this.socket = udpSocket().join().unwrap();
+
+        receiveStopped.asyncIO(this::receive);
         taskRunner.start();
     }
 
@@ -95,66 +129,153 @@ public class DomainNameResolver implements AsyncCloseable {
 
     @Override
     public Promise<Unit> close() {
-        var runnerPromise = taskRunner.stop();
-        var socketPromise = Promise.<Unit>promise();
-        var threshold = ActionableThreshold.threshold(sockets.size(), () -> socketPromise.resolve(unitResult()));
+        closed = true;
+        cancelReceive();
 
-        sockets.forEach(fd -> PromiseIO.close(fd).onResultDo(threshold::registerEvent));
+        var runnerPromise = taskRunner.stop();
+        var socketPromise = receiveStopped.flatMap(() -> PromiseIO.close(socket));
 
         return all(runnerPromise, socketPromise).map(Unit::unit);
     }
 
-    private Promise<DomainAddress> resolveDomain(DomainName domainName) {
-        return Promise.<DomainAddress>promise().async(promise -> startResolve(promise, domainName));
+    // Invoked from both sides, close and start of the receive, so cancellation is requested regardless of the order of these events.
+    private void cancelReceive() {
+        var current = receiver.get();
+
+        if (current != null) {
+            current.proactor().cancelLater(current.operationId());
+        }
     }
 
-    @SuppressWarnings("resource")
-    private void startResolve(Promise<DomainAddress> promise, DomainName domainName) {
-        var requestBuffer = encodeQuery(domainName);
+    private void receive(Proactor proactor) {
+        var operationId = proactor.recvMessage(this::handleResponse, socket, Inet4Address.INADDR_ANY, MessageFlags.none(), Option.empty(),
+                                               responseBuffer);
 
-        anySuccess(NO_RESULTS_FOUND.result(),
-                   sockets.stream()
-                          .map(socket -> querySingleServer(socket, requestBuffer, domainName))
-                          .toList())
-            .onResult(promise::resolve)
-            .onResultDo(requestBuffer::close);
+        receiver.set(new Receiver(proactor, operationId));
 
-        promise
-            .onSuccess(domainAddress -> queue.offer(ttlEntry(domainAddress)));
+        if (closed) {
+            cancelReceive();
+        }
+    }
+
+    private void handleResponse(Result<ReceivedMessage<Inet4Address>> result, Proactor proactor) {
+        if (closed) {
+            receiver.set(null);
+            responseBuffer.close();
+            receiveStopped.resolve(unitResult());
+            return;
+        }
+
+        result.onSuccess(this::dispatchResponse);
+        receive(proactor);
     }
 
-    private OffHeapSlice encodeQuery(DomainName domainName) {
-        var requestBuffer = OffHeapSlice.fixedSize(4096);
+    private void dispatchResponse(ReceivedMessage<Inet4Address> message) {
+        var server = serverIndex(message.sender());
 
-        DnsMessageBuilder.create()
-                         .messageType(MessageType.QUERY)
-                         .questionRecord(QuestionRecord.addressV4ByName(domainName.name()))
-                         .build()
-                         .encode(requestBuffer);
+        // Unconnected socket receives datagrams from any sender, only configured servers are trusted
+        if (server < 0) {
+            return;
+        }
+
+        responseBuffer.used((int) message.size().value());
 
-        return requestBuffer;
+        DnsMessage.decode(responseBuffer)
+                  .onSuccess(response -> {
+                      var transactionId = response.transactionId() & TRANSACTION_ID_MASK;
+                      var query = pending.get(transactionId);
+
+                      // Late response for already resolved query or response to some other question
+                      if (query != null && echoesQuestion(response, query.domainName())) {
+                          completeQuery(transactionId, query, server, decodeMessage(response, query.domainName()));
+                      }
+                  });
     }
 
-    @SuppressWarnings("resource")
-    private Promise<DomainAddress> querySingleServer(FileDescriptor socket, OffHeapSlice requestBuffer, DomainName domainName) {
-        var promise = Promise.<DomainAddress>promise();
-        var responseBuffer = OffHeapSlice.fixedSize(4096);
+    private int serverIndex(SocketAddress<Inet4Address> sender) {
+        for (int i = 0; i < servers.size(); i++) {
+            var server = servers.get(i);
 
-        write(socket, requestBuffer)
-            .flatMap(() -> read(socket, responseBuffer))
-            .onResultDo(() -> decodeResponse(responseBuffer, promise, domainName))
-            .onResultDo(responseBuffer::close);
+            if (server.port().equals(sender.port()) && Arrays.equals(server.address().asBytes(), sender.address().asBytes())) {
+                return i;
+            }
+        }
 
-        return promise;
+        return -1;
     }
 
-    private void decodeResponse(OffHeapSlice buffer, Promise<DomainAddress> promise, DomainName domainName) {
-        promise.resolve(decodeDomainAddress(buffer, domainName));
+    private static boolean echoesQuestion(DnsMessage response, DomainName domainName) {
+        var expected = normalize(domainName.name());
+
+        return response.questionRecords()
+                       .stream()
+                       .anyMatch(question -> normalize(question.domainName()).equals(expected));
     }
 
-    private Result<DomainAddress> decodeDomainAddress(OffHeapSlice buffer, DomainName domainName) {
-        return DnsMessage.decode(buffer)
-                         .flatMap(message -> decodeMessage(message, domainName));
+    // Domain names are case-insensitive, trailing dot denotes root and does not change the name
+    private static String normalize(String name) {
+        var lowerCase = name.toLowerCase(Locale.ROOT);
+
+        return lowerCase.endsWith(".") ? lowerCase.substring(0, lowerCase.length() - 1) : lowerCase;
+    }
+
+    private void completeQuery(int transactionId, PendingQuery query, int server, Result<DomainAddress> result) {
+        result.onSuccess(__ -> pending.remove(transactionId, query))
+              .onSuccess(__ -> query.promise().resolve(result))
+              .onFailureDo(() -> failQuery(transactionId, query, server));
+    }
+
+    // Each server is counted once, so repeated failure responses from the same server don't fail the query prematurely
+    private void failQuery(int transactionId, PendingQuery query, int server) {
+        if (!query.failedServers().add(server)) {
+            return;
+        }
+
+        if (query.remaining().decrementAndGet() == 0) {
+            pending.remove(transactionId, query);
+            query.promise().resolve(NO_RESULTS_FOUND.result());
+        }
+    }
+
+    private Promise<DomainAddress> resolveDomain(DomainName domainName) {
+        return Promise.<DomainAddress>promise().async(promise -> startResolve(promise, domainName));
+    }
+
+    @SuppressWarnings("resource")
+    private void startResolve(Promise<DomainAddress> promise, DomainName domainName) {
+        var query = new PendingQuery(domainName, promise, new AtomicInteger(servers.size()), ConcurrentHashMap.newKeySet());
+        var transactionId = registerQuery(query);
+        var message = DnsMessageBuilder.create()
+                                       .transactionId(transactionId)
+                                       .messageType(MessageType.QUERY)
+                                       .questionRecord(QuestionRecord.addressV4ByName(domainName.name()))
+                                       .build();
+        var requestBuffer = OffHeapSlice.fixedSize(BUFFER_SIZE);
+        var threshold = ActionableThreshold.threshold(servers.size(), requestBuffer::close);
+
+        message.encode(requestBuffer);
+
+        promise
+            .onSuccess(domainAddress -> queue.offer(ttlEntry(domainAddress)));
+
+        for (int i = 0; i < servers.size(); i++) {
+            var server = i;
+
+            sendMessage(socket, servers.get(server), requestBuffer)
+                .onFailure(__ -> failQuery(transactionId, query, server))
+                .onResultDo(threshold::registerEvent);
+        }
+    }
+
+    // Random transaction ID makes responses harder to forge, ID is re-rolled if it is already used by another pending query
+    private int registerQuery(PendingQuery query) {
+        while (true) {
+            var transactionId = ThreadLocalRandom.current().nextInt(TRANSACTION_ID_MASK + 1);
+
+            if (pending.putIfAbsent(transactionId, query) == null) {
+                return transactionId;
+            }
+        }
     }
 
     private Result<DomainAddress> decodeMessage(DnsMessage message, DomainName domainName) {
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.codec;
+
+import org.pragmatica.io.async.util.raw.RawMemory;
+
+/**
+ * Search of single byte value in raw memory. Memory is processed by 8 bytes at once using SWAR (SIMD Within A Register) technique, remaining
+ * tail is checked byte by byte.
+ */
+public final class ByteScanner {
+    private static final long LOW_BITS = 0x7F7F_7F7F_7F7F_7F7FL;
+    private static final long BROADCAST = 0x0101_0101_0101_0101L;
+
+    private ByteScanner() {
+    }
+
+    /**
+     * Find first occurrence of the specified value.
+     *
+     * @param address Base address of the memory
+     * @param from    Start offset (inclusive)
+     * @param to      End offset (exclusive)
+     * @param value   Value to search for
+     *
+     * @return offset of the first occurrence relative to base address or -1 if value is not found.
+     */
+    public static int indexOf(long address, int from, int to, byte value) {
+        var pattern = (value & 0xFFL) * BROADCAST;
+        var offset = from;
+
+        for (; offset + Long.BYTES <= to; offset += Long.BYTES) {
+            // Words are read in big endian order, so first byte in memory is the most significant one
+            var found = zeroBytes(RawMemory.getLongInNetOrder(address + offset) ^ pattern);
+
+            if (found != 0) {
+                return offset + (Long.numberOfLeadingZeros(found) >>> 3);
+            }
+        }
+
+        for (; offset < to; offset++) {
+            if (RawMemory.getByte(address + offset) == value) {
+                return offset;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns word where the highest bit of each byte is set if corresponding byte of the input is zero. Unlike the common
+     * {@code (x - 0x01..) & ~x & 0x80..} variant this one has no false positives, so any marked byte can be used.
+     */
+    private static long zeroBytes(long word) {
+        return ~(((word & LOW_BITS) + LOW_BITS) | word | LOW_BITS);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.codec;
+
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.raw.RawMemory;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Splitter of the stream of chunks into lines separated by '\n' or '\r\n'. Chunks are scanned for separators with {@link ByteScanner}, each line
+ * found within the chunk is passed as a range of the chunk, without copying. Only lines which cross chunk boundary are assembled in the internal
+ * buffer.
+ * <p>
+ * Last line is passed only if it is not empty (a single trailing '\r' is ignored as well), once {@link #finish()} is called.
+ */
+public abstract class LineSplitter implements Consumer<OffHeapSlice> {
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private static final int INITIAL_CARRY_SIZE = 256;
+
+    private byte[] carry = new byte[INITIAL_CARRY_SIZE];
+    private int carryLength;
+
+    /**
+     * Handle line located within the chunk.
+     *
+     * @param chunk  Chunk which contains the line
+     * @param offset Offset of the line in the chunk
+     * @param length Length of the line (without separator)
+     */
+    protected abstract void line(OffHeapSlice chunk, int offset, int length);
+
+    /**
+     * Handle line assembled from several chunks.
+     *
+     * @param bytes  Array which contains the line
+     * @param length Length of the line (without separator)
+     */
+    protected abstract void line(byte[] bytes, int length);
+
+    /**
+     * Invoked before processing of the each chunk.
+     */
+    protected void chunk(OffHeapSlice chunk) {
+    }
+
+    @Override
+    public void accept(OffHeapSlice chunk) {
+        chunk(chunk);
+
+        var address = chunk.address();
+        var end = chunk.used();
+        var start = 0;
+
+        while (start < end) {
+            var separator = ByteScanner.indexOf(address, start, end, LF);
+
+            if (separator < 0) {
+                append(address + start, end - start);
+                return;
+            }
+
+            if (carryLength > 0) {
+                append(address + start, separator - start);
+                emitCarry();
+            } else {
+                var length = separator - start;
+
+                if (length > 0 && RawMemory.getByte(address + separator - 1) == CR) {
+                    length--;
+                }
+
+                line(chunk, start, length);
+            }
+
+            start = separator + 1;
+        }
+    }
+
+    /**
+     * Pass remaining part of the input, if any.
+     */
+    public void finish() {
+        var length = carryLength();
+
+        carryLength = 0;
+
+        // Empty line or single trailing \r will be ignored
+        if (length > 0) {
+            line(carry, length);
+        }
+    }
+
+    private void emitCarry() {
+        var length = carryLength();
+
+        carryLength = 0;
+        line(carry, length);
+    }
+
+    private int carryLength() {
+        return (carryLength > 0 && carry[carryLength - 1] == CR) ? carryLength - 1 : carryLength;
+    }
+
+    private void append(long address, int length) {
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+        }
+
+        RawMemory.getByteArray(address, carry, carryLength, length);
+        carryLength += length;
+    }
+}
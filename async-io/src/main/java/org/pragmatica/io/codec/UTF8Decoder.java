@@ -18,6 +18,7 @@
 package org.pragmatica.io.codec;
 
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.raw.RawMemory;
 
 import java.util.function.Consumer;
 
@@ -195,6 +196,14 @@ public class UTF8Decoder {
     }
 
     void decode(int input, Consumer<Character> output) {
+        decode(input, (CharSink) output::accept);
+    }
+
+    void decode(int input, StringBuilder output) {
+        decode(input, (CharSink) output::append);
+    }
+
+    private void decode(int input, CharSink output) {
         int next = table[state][input & 0xFF];
         int ptr = state == UTF8_ACCEPT ? 1 : 0;
         codep = (codep << 6) | (input & masks[ptr][next & 7]);
@@ -224,6 +233,62 @@ public class UTF8Decoder {
         prevState = state;
     }
 
+    /**
+     * Decode complete span of input (for example, single line of text) and append decoded characters to provided builder. ASCII characters are
+     * appended without passing them through the automaton. Incomplete sequence at the end of the span is replaced with replacement character,
+     * so decoder is ready for the next span once this method returns.
+     *
+     * @param input  Input bytes
+     * @param offset Offset of the span
+     * @param length Length of the span
+     * @param output Builder to append decoded characters to
+     */
+    public void decodeWithRecovery(byte[] input, int offset, int length, StringBuilder output) {
+        var end = offset + length;
+
+        for (int i = offset; i < end; i++) {
+            decodeSpanByte(input[i], output);
+        }
+
+        finishSpan(output);
+    }
+
+    /**
+     * Decode complete span of input located in off-heap memory. Works in the same way as
+     * {@link #decodeWithRecovery(byte[], int, int, StringBuilder)}, but reads input directly from memory, without copying.
+     *
+     * @param address Address of the span
+     * @param length  Length of the span
+     * @param output  Builder to append decoded characters to
+     */
+    public void decodeWithRecovery(long address, int length, StringBuilder output) {
+        var end = address + length;
+
+        for (long i = address; i < end; i++) {
+            decodeSpanByte(RawMemory.getByte(i), output);
+        }
+
+        finishSpan(output);
+    }
+
+    private void decodeSpanByte(int b, StringBuilder output) {
+        if (b >= 0 && state == UTF8_ACCEPT) {
+            output.append((char) b);
+            prevState = UTF8_ACCEPT;
+        } else {
+            decode(b, output);
+        }
+    }
+
+    private void finishSpan(StringBuilder output) {
+        if (state != UTF8_ACCEPT) {
+            output.append((char) 0xFFFD);  //UTF-16 REPLACEMENT CHARACTER
+            state = UTF8_ACCEPT;
+            prevState = UTF8_ACCEPT;
+            codep = 0;
+        }
+    }
+
     public void decodeWithRecovery(byte[] input, Consumer<Character> output) {
         for (int i = 0; i < input.length; i++) {
             int b = input[i];
@@ -235,4 +300,10 @@ public class UTF8Decoder {
     public void decodeWithRecovery(OffHeapSlice buffer, Consumer<Character> output) {
         decodeWithRecovery(buffer.export(), output);
     }
+
+    // Receiver of decoded characters, accepts primitive char so appending to StringBuilder does not box characters
+    @FunctionalInterface
+    private interface CharSink {
+        void accept(char value);
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file;
+
+import org.pragmatica.io.AsyncCloseable;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.file.FilePermission;
+import org.pragmatica.io.async.file.OpenFlags;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.PromiseIO;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.pragmatica.lang.Unit.unitResult;
+
+/**
+ * Writer for the file opened with {@link OpenFlags#DIRECT} flag, i.e. bypassing page cache.
+ * <p>
+ * Direct I/O requires buffer address, file offset and length of each write to be multiples of the direct I/O alignment of the file (see
+ * {@link Files#directIoAlignment(FileDescriptor, Option)}). Writer checks these requirements before submitting each write and rejects misaligned
+ * writes with {@link SystemError#EINVAL} instead of passing them to the kernel. Properly aligned buffers can be obtained from
+ * {@link #allocate(int)} or from the shared fixed buffers arena.
+ * <p>
+ * Note that direct I/O bypasses page cache, but does not guarantee durability, {@link #sync()} should be used for this purpose.
+ */
+public final class DirectFileWriter implements AsyncCloseable {
+    private final FileDescriptor fd;
+    private final int alignment;
+    private final Option<Timeout> timeout;
+
+    private DirectFileWriter(FileDescriptor fd, int alignment, Option<Timeout> timeout) {
+        this.fd = fd;
+        this.alignment = alignment;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Open file for direct writing. {@link OpenFlags#DIRECT} and {@link OpenFlags#WRITE_ONLY} are added to provided flags if necessary.
+     *
+     * @param path      Path to file
+     * @param openFlags File open flags. Refer to {@link OpenFlags} for more details
+     * @param mode      File permissions if file is created
+     * @param timeout   Timeout for each internal operation
+     *
+     * @return Promise instance which will be resolved with writer once file is open.
+     */
+    public static Promise<DirectFileWriter> open(Path path, Set<OpenFlags> openFlags, Set<FilePermission> mode, Option<Timeout> timeout) {
+        var flags = EnumSet.noneOf(OpenFlags.class);
+
+        flags.addAll(openFlags);
+        flags.add(OpenFlags.DIRECT);
+
+        if (!flags.contains(OpenFlags.READ_WRITE)) {
+            flags.add(OpenFlags.WRITE_ONLY);
+        }
+
+        return PromiseIO.open(path, flags, mode, timeout)
+                        .flatMap(fd -> Files.directIoAlignment(fd, timeout)
+                                            .map(alignment -> new DirectFileWriter(fd, alignment, timeout))
+                                            .onFailure(__ -> PromiseIO.close(fd, timeout)));
+    }
+
+    /**
+     * Alignment of buffer addresses, offsets and lengths of all writes.
+     */
+    public int alignment() {
+        return alignment;
+    }
+
+    /**
+     * Allocate buffer of at least requested size which satisfies alignment requirements. Size is rounded up to the multiple of alignment.
+     * Buffer must be closed by caller once it's no longer necessary.
+     */
+    public OffHeapSlice allocate(int size) {
+        return OffHeapSlice.fixedSize(alignUp(size), alignment);
+    }
+
+    /**
+     * Write {@link OffHeapSlice#used()} part of the buffer at specified offset.
+     *
+     * @param buffer Data to write
+     * @param offset Offset in file
+     *
+     * @return Promise instance which will be resolved with number of written bytes.
+     */
+    public Promise<SizeT> write(OffHeapSlice buffer, OffsetT offset) {
+        return checkAlignment(buffer, offset)
+            .fold(Promise::failed,
+                  __ -> buffer instanceof FixedBuffer fixedBuffer
+                        ? PromiseIO.writeFixed(fd, fixedBuffer, offset, timeout)
+                        : PromiseIO.write(fd, buffer, offset, timeout));
+    }
+
+    /**
+     * Flush written data to the storage device.
+     */
+    public Promise<Unit> sync() {
+        return PromiseIO.fsync(fd, false, timeout);
+    }
+
+    @Override
+    public Promise<Unit> close() {
+        return PromiseIO.close(fd, timeout);
+    }
+
+    private Result<Unit> checkAlignment(OffHeapSlice buffer, OffsetT offset) {
+        if (buffer.address() % alignment != 0 || buffer.used() % alignment != 0 || offset.value() % alignment != 0) {
+            return SystemError.EINVAL.result();
+        }
+
+        return unitResult();
+    }
+
+    private int alignUp(int size) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file;
+
+import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FilePermission;
+import org.pragmatica.io.async.file.OpenFlags;
+import org.pragmatica.io.async.file.stat.StatFlag;
+import org.pragmatica.io.async.file.stat.StatMask;
+import org.pragmatica.io.async.util.ActionableThreshold;
+import org.pragmatica.io.file.protocol.LineRangeProtocol;
+import org.pragmatica.io.file.protocol.LineReaderProtocol;
+import org.pragmatica.lang.Causes;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.PromiseIO;
+import org.pragmatica.task.TaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import static org.pragmatica.io.async.util.ActionableThreshold.threshold;
+import static org.pragmatica.io.async.util.Units._1MiB;
+
+/**
+ * Parallel processing of the set of text files line by line.
+ * <p>
+ * Files are split into parts of configured size, each part is processed independently, so large files are processed in parallel as well.
+ * Lines are assigned to the part where they start (see {@link LineRangeProtocol}), so no line is lost or split at part boundary. Each part
+ * gets its own state instance created by provided supplier, lines of the part are passed to the handler along with this state. Once part is
+ * processed, its state is merged into the result using provided combiner. Since parts are processed in parallel, order of merging is not
+ * defined and combiner must be associative and commutative.
+ * <p>
+ * Parts are picked up by the fixed number of workers. Each worker starts its operations via {@link Promise}, so parts are distributed across
+ * all task executor threads, but at most {@code parallelism} parts (and read buffers) are in flight at any time.
+ */
+public final class FileIngestion<T> {
+    public static final SizeT DEFAULT_PART_SIZE = SizeT.sizeT(64L * _1MiB);
+    public static final SizeT DEFAULT_BUFFER_SIZE = SizeT.sizeT(65_536L);
+    public static final int DEFAULT_PARALLELISM = TaskExecutor.DEFAULT_THREAD_COUNT;
+
+    private final List<Path> files;
+    private final long partSize;
+    private final SizeT bufferSize;
+    private final int parallelism;
+    private final Option<Timeout> timeout;
+    private final Supplier<T> partState;
+    private final BiConsumer<T, String> lineHandler;
+    private final BinaryOperator<T> combiner;
+    private final Queue<Part> parts = new ConcurrentLinkedQueue<>();
+    private final Promise<T> promise = Promise.promise();
+    private T result;
+
+    private record Part(Path path, long start, long end) {}
+
+    private FileIngestion(List<Path> files, SizeT partSize, SizeT bufferSize, int parallelism, Option<Timeout> timeout,
+                          Supplier<T> partState, BiConsumer<T, String> lineHandler, BinaryOperator<T> combiner) {
+        this.files = files;
+        this.partSize = Math.max(partSize.value(), bufferSize.value());
+        this.bufferSize = bufferSize;
+        this.parallelism = Math.max(parallelism, 1);
+        this.timeout = timeout;
+        this.partState = partState;
+        this.lineHandler = lineHandler;
+        this.combiner = combiner;
+    }
+
+    /**
+     * Process lines of the provided files in parallel.
+     *
+     * @param files       Files to process
+     * @param partSize    Size of the part of the file processed as a single unit
+     * @param bufferSize  Size of the read buffer
+     * @param parallelism Maximal number of parts processed at once
+     * @param timeout     Timeout for each internal operation
+     * @param partState   Factory for the per-part state
+     * @param lineHandler Handler which receives part state and line
+     * @param combiner    Function which merges states of the processed parts
+     *
+     * @return Promise instance which will be resolved with merged state once all files are processed, or with first encountered error.
+     */
+    public static <T> Promise<T> lines(List<Path> files,
+                                       SizeT partSize,
+                                       SizeT bufferSize,
+                                       int parallelism,
+                                       Option<Timeout> timeout,
+                                       Supplier<T> partState,
+                                       BiConsumer<T, String> lineHandler,
+                                       BinaryOperator<T> combiner) {
+        return new FileIngestion<>(files, partSize, bufferSize, parallelism, timeout, partState, lineHandler, combiner).run();
+    }
+
+    /**
+     * Same as {@link #lines(List, SizeT, SizeT, int, Option, Supplier, BiConsumer, BinaryOperator)}, except default part size, buffer size and
+     * parallelism are used and no timeouts are applied to internal operations.
+     */
+    public static <T> Promise<T> lines(List<Path> files, Supplier<T> partState, BiConsumer<T, String> lineHandler, BinaryOperator<T> combiner) {
+        return lines(files, DEFAULT_PART_SIZE, DEFAULT_BUFFER_SIZE, DEFAULT_PARALLELISM, Option.empty(), partState, lineHandler, combiner);
+    }
+
+    /**
+     * Process lines of the files in the specified directory which names match provided glob pattern. Refer to
+     * {@link java.nio.file.FileSystem#getPathMatcher(String)} for the pattern syntax.
+     *
+     * @param directory   Directory with files
+     * @param glob        File name pattern
+     * @param partState   Factory for the per-part state
+     * @param lineHandler Handler which receives part state and line
+     * @param combiner    Function which merges states of the processed parts
+     *
+     * @return Promise instance which will be resolved with merged state once all files are processed, or with first encountered error.
+     */
+    public static <T> Promise<T> lines(Path directory, String glob, Supplier<T> partState, BiConsumer<T, String> lineHandler,
+                                       BinaryOperator<T> combiner) {
+        var files = new ArrayList<Path>();
+
+        try (var stream = java.nio.file.Files.newDirectoryStream(directory, glob)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            return Promise.failed(Causes.fromThrowable(e));
+        }
+
+        return lines(files, partState, lineHandler, combiner);
+    }
+
+    private Promise<T> run() {
+        if (files.isEmpty()) {
+            return Promise.successful(partState.get());
+        }
+
+        var planned = threshold(files.size(), this::startWorkers);
+
+        files.forEach(file -> PromiseIO.stat(file, EnumSet.noneOf(StatFlag.class), EnumSet.of(StatMask.FSIZE), timeout)
+                                       .onResult(stat -> {
+                                           stat.onSuccess(fileStat -> partition(file, fileStat.size()))
+                                               .onFailure(promise::failure);
+                                           planned.registerEvent();
+                                       }));
+        return promise;
+    }
+
+    private void partition(Path file, long size) {
+        for (long start = 0; start < size; start += partSize) {
+            parts.add(new Part(file, start, Math.min(start + partSize, size)));
+        }
+    }
+
+    private void startWorkers() {
+        var workers = Math.min(parallelism, parts.size());
+
+        if (workers == 0) {
+            complete();
+            return;
+        }
+
+        var finished = threshold(workers, this::complete);
+
+        for (int i = 0; i < workers; i++) {
+            processNext(finished);
+        }
+    }
+
+    private void processNext(ActionableThreshold finished) {
+        var part = promise.isResolved() ? null : parts.poll();
+
+        if (part == null) {
+            finished.registerEvent();
+            return;
+        }
+
+        process(part).onResult(partResult -> {
+            partResult.onSuccess(this::merge)
+                      .onFailure(promise::failure);
+            processNext(finished);
+        });
+    }
+
+    private Promise<T> process(Part part) {
+        var state = partState.get();
+        var protocol = new LineReaderProtocol(line -> lineHandler.accept(state, line));
+
+        return PromiseIO.open(part.path(), OpenFlags.readOnly(), FilePermission.none(), timeout)
+                        .flatMap(fd -> new LineRangeProtocol(fd, part.start(), part.end(), bufferSize, protocol, timeout)
+                            .run()
+                            .onResult(__ -> PromiseIO.close(fd, timeout)))
+                        .map(__ -> state);
+    }
+
+    private synchronized void merge(T partResult) {
+        result = result == null ? partResult : combiner.apply(result, partResult);
+    }
+
+    private synchronized void complete() {
+        promise.success(result == null ? partState.get() : result);
+    }
+}
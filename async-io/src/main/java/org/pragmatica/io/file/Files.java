@@ -19,19 +19,32 @@ package org.pragmatica.io.file;
 
 import org.pragmatica.io.async.SystemError;
 import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.OffsetT;
 import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.AccessAdvice;
+import org.pragmatica.io.async.file.FileAllocFlags;
+import org.pragmatica.io.async.file.FileDescriptor;
 import org.pragmatica.io.async.file.FilePermission;
 import org.pragmatica.io.async.file.OpenFlags;
+import org.pragmatica.io.async.file.stat.FileStat;
+import org.pragmatica.io.async.file.stat.StatFlag;
+import org.pragmatica.io.async.file.stat.StatMask;
+import org.pragmatica.io.async.util.MappedRegion;
 import org.pragmatica.io.async.util.OffHeapSlice;
-import org.pragmatica.io.codec.UTF8Decoder;
+import org.pragmatica.io.async.util.Units;
 import org.pragmatica.io.file.protocol.BlockReaderProtocol;
+import org.pragmatica.io.file.protocol.FileCopyProtocol;
 import org.pragmatica.io.file.protocol.LineReaderProtocol;
+import org.pragmatica.io.file.protocol.LineSpanProtocol;
+import org.pragmatica.lang.Causes;
 import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Promise;
 import org.pragmatica.lang.PromiseIO;
+import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
 
 import java.nio.file.Path;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -40,9 +53,15 @@ import java.util.function.Consumer;
  */
 public final class Files {
     private static final SizeT DEFAULT_BUFFER_SIZE = SizeT.sizeT(16_384L);
+    public static final SizeT DEFAULT_COPY_CHUNK_SIZE = SizeT.sizeT(Units._1MiB);
+    public static final int DEFAULT_COPY_DEPTH = 8;
+    public static final int DEFAULT_READ_AHEAD = 4;
+    public static final int DEFAULT_DIRECT_IO_ALIGNMENT = 4096;
+    private static final EnumSet<StatMask> COPY_STAT_MASK = EnumSet.of(StatMask.MODE, StatMask.FSIZE);
 
     /**
      * Read specified file in chunks of specified size and pass them to provided consumer. The last chunk might be shorter than requested size.
+     * Up to {@link #DEFAULT_READ_AHEAD} reads are kept in flight.
      *
      * @param path      Path to file
      * @param blockSize Chunk size
@@ -58,12 +77,75 @@ public final class Files {
                                        Option<Timeout> timeout,
                                        Consumer<OffHeapSlice> consumer) {
 
+        return blocks(path, blockSize, DEFAULT_READ_AHEAD, openFlags, timeout, consumer);
+    }
+
+    /**
+     * Read specified file in chunks of specified size and pass them to provided consumer, keeping up to {@code readAhead} reads in flight.
+     * Chunks are passed to consumer in file order. The last chunk might be shorter than requested size. Buffer passed to consumer is reused
+     * once consumer returns, so its content must be copied if necessary.
+     * <p>
+     * If {@code openFlags} contain {@link OpenFlags#DIRECT}, file is read bypassing page cache. In this case chunk size must be a multiple of the
+     * {@link #directIoAlignment(FileDescriptor, Option)}, otherwise returned promise is resolved with {@link SystemError#EINVAL}.
+     *
+     * @param path      Path to file
+     * @param blockSize Chunk size
+     * @param readAhead Number of reads at successive offsets submitted at once. Value 1 disables read-ahead
+     * @param openFlags File open flags. Refer to {@link OpenFlags} for more details
+     * @param timeout   Timeout for each internal operation - open, each read and close
+     * @param consumer  Consumer which will receive file chunks
+     *
+     * @return Promise instance which will be resolved once last chunk will be passed to consumer or in case of error.
+     */
+    public static Promise<Unit> blocks(Path path,
+                                       SizeT blockSize,
+                                       int readAhead,
+                                       Set<OpenFlags> openFlags,
+                                       Option<Timeout> timeout,
+                                       Consumer<OffHeapSlice> consumer) {
+
         return PromiseIO.open(path, openFlags, FilePermission.none(), timeout)
-                        .flatMap(fd -> new BlockReaderProtocol(fd, blockSize, consumer, timeout)
-                            .run()
+                        .flatMap(fd -> alignment(fd, openFlags, blockSize, timeout)
+                            .flatMap(alignment -> new BlockReaderProtocol(fd, blockSize, readAhead, alignment, consumer, timeout).run())
                             .onResult(__ -> PromiseIO.close(fd, timeout)));
     }
 
+    /**
+     * Retrieve alignment required for direct I/O with the file. Files opened with {@link OpenFlags#DIRECT} require buffer addresses, file
+     * offsets and lengths of the I/O operations to be multiples of this value.
+     * <p>
+     * Alignment is obtained with {@code STATX_DIOALIGN} as the largest of the memory and offset alignments. Kernels before 6.1 and file systems
+     * which don't report direct I/O alignment get {@link #DEFAULT_DIRECT_IO_ALIGNMENT}, which is sufficient for the most devices.
+     *
+     * @param fd      File descriptor
+     * @param timeout Operation timeout
+     *
+     * @return Promise instance which will be resolved with alignment.
+     */
+    public static Promise<Integer> directIoAlignment(FileDescriptor fd, Option<Timeout> timeout) {
+        return PromiseIO.stat(fd, EnumSet.noneOf(StatFlag.class), EnumSet.of(StatMask.TYPE, StatMask.DIOALIGN), timeout)
+                        .map(Files::directIoAlignment);
+    }
+
+    private static int directIoAlignment(FileStat stat) {
+        if (!stat.mask().contains(StatMask.DIOALIGN) || stat.dioOffsetAlignment() == 0) {
+            return DEFAULT_DIRECT_IO_ALIGNMENT;
+        }
+
+        return Math.max(stat.dioMemoryAlignment(), stat.dioOffsetAlignment());
+    }
+
+    private static Promise<Integer> alignment(FileDescriptor fd, Set<OpenFlags> openFlags, SizeT blockSize, Option<Timeout> timeout) {
+        if (!openFlags.contains(OpenFlags.DIRECT)) {
+            return Promise.successful(1);
+        }
+
+        return directIoAlignment(fd, timeout)
+            .flatMap(alignment -> blockSize.value() % alignment == 0
+                                  ? Promise.successful(alignment)
+                                  : Promise.failed(SystemError.EINVAL));
+    }
+
     /**
      * Same as {@link #blocks(Path, SizeT, Set, Option, Consumer)}, except buffer size is set to  {@link #DEFAULT_BUFFER_SIZE).
      *
@@ -153,9 +235,13 @@ public final class Files {
                                       Set<OpenFlags> openFlags,
                                       Option<Timeout> timeout,
                                       Consumer<String> consumer) {
-        var lineReaderProtocol = new LineReaderProtocol(bufferSize.value(), consumer, new StringBuilder(), new UTF8Decoder());
+        var lineReaderProtocol = new LineReaderProtocol(consumer);
 
-        return blocks(path, bufferSize, openFlags, timeout, lineReaderProtocol);
+        return blocks(path, bufferSize, openFlags, timeout, lineReaderProtocol)
+            .map(unit -> {
+                lineReaderProtocol.finish();
+                return unit;
+            });
     }
 
     /**
@@ -225,18 +311,237 @@ public final class Files {
         return lines(path, DEFAULT_BUFFER_SIZE, OpenFlags.readOnly(), Option.empty(), consumer);
     }
 
+    /**
+     * Read specified file, split it into lines and submit them one by one into provided consumer as raw byte ranges. Unlike
+     * {@link #lines(Path, SizeT, Set, Option, Consumer)} lines are not decoded and passed slices point directly into read buffer whenever
+     * possible. Slices are valid only during invocation of the consumer.
+     *
+     * @param path       Path to file.
+     * @param bufferSize Size of buffer which should be used to read file.
+     * @param openFlags  File open flags.
+     * @param timeout    Timeout for all internal operations.
+     * @param consumer   The consumer to submit lines to.
+     *
+     * @return Promise instance, which will be resolved once file end will be reached or in case of error.
+     */
+    public static Promise<Unit> lineSpans(Path path,
+                                          SizeT bufferSize,
+                                          Set<OpenFlags> openFlags,
+                                          Option<Timeout> timeout,
+                                          Consumer<OffHeapSlice> consumer) {
+        var lineSpanProtocol = new LineSpanProtocol(consumer);
+
+        return blocks(path, bufferSize, openFlags, timeout, lineSpanProtocol)
+            .map(unit -> {
+                lineSpanProtocol.finish();
+                return unit;
+            })
+            .onResultDo(lineSpanProtocol::close);
+    }
 
-    //TODO: implement copy
+    /**
+     * Same as {@link #lineSpans(Path, SizeT, Set, Option, Consumer)}, except file is opened in read-only mode, buffer size is set to
+     * {@link #DEFAULT_BUFFER_SIZE} and no timeouts are applied to internal operations.
+     *
+     * @param path     Path to file.
+     * @param consumer The consumer to submit lines to.
+     *
+     * @return Promise instance, which will be resolved once file end will be reached or in case of error.
+     */
+    public static Promise<Unit> lineSpans(Path path, Consumer<OffHeapSlice> consumer) {
+        return lineSpans(path, DEFAULT_BUFFER_SIZE, OpenFlags.readOnly(), Option.empty(), consumer);
+    }
+
+    /**
+     * Send whole content of the specified file into socket without copying it into user space.
+     *
+     * @param path    Path to file
+     * @param socket  Destination socket
+     * @param timeout Timeout for open, stat and close operations
+     *
+     * @return Promise instance which will be resolved with number of sent bytes once whole file is sent or in case of error.
+     */
+    public static Promise<SizeT> transfer(Path path, FileDescriptor socket, Option<Timeout> timeout) {
+        return PromiseIO.open(path, OpenFlags.readOnly(), FilePermission.none(), timeout)
+                        .flatMap(fd -> PromiseIO.stat(fd, EnumSet.noneOf(StatFlag.class), EnumSet.of(StatMask.FSIZE), timeout)
+                                                .flatMap(stat -> PromiseIO.transfer(fd, OffsetT.ZERO, SizeT.sizeT(stat.size()), socket))
+                                                .onResult(__ -> PromiseIO.close(fd, timeout)));
+    }
+
+    public static Promise<SizeT> transfer(Path path, FileDescriptor socket) {
+        return transfer(path, socket, Option.empty());
+    }
+
+    /**
+     * Map whole content of the specified file into memory for reading. Mapping is advised with provided access pattern once it is created.
+     * Advice is only a hint, so failure to apply it does not affect the result. The file is closed once mapping is created, but mapping
+     * remains valid until returned region is closed.
+     * <p>
+     * Note that size of the single region is limited to {@link Integer#MAX_VALUE} bytes, mapping of larger files fails with {@code EFBIG}.
+     * Empty file can't be mapped, so it is represented by the empty region (see {@link MappedRegion#emptyRegion()}).
+     *
+     * @param path    Path to file
+     * @param advice  Expected access pattern
+     * @param timeout Timeout for open, stat and close operations
+     *
+     * @return Promise instance which will be resolved with mapped region or in case of error.
+     */
+    public static Promise<MappedRegion> map(Path path, AccessAdvice advice, Option<Timeout> timeout) {
+        return PromiseIO.open(path, OpenFlags.readOnly(), FilePermission.none(), timeout)
+                        .flatMap(fd -> PromiseIO.stat(fd, EnumSet.noneOf(StatFlag.class), EnumSet.of(StatMask.FSIZE), timeout)
+                                                .flatMap(stat -> mapRegion(fd, stat.size()))
+                                                .onResult(__ -> PromiseIO.close(fd, timeout)))
+                        .flatMap(region -> advise(region, advice, timeout));
+    }
+
+    public static Promise<MappedRegion> map(Path path) {
+        return map(path, AccessAdvice.SEQUENTIAL, Option.empty());
+    }
+
+    /**
+     * Map whole content of the specified file into memory and pass it to provided consumer. Once consumer returns, mapped pages are
+     * released with {@link AccessAdvice#DONTNEED} and region is unmapped. Region is unmapped even if consumer throws exception, in this case
+     * returned promise is resolved with failure.
+     *
+     * @param path     Path to file
+     * @param timeout  Timeout for each internal operation
+     * @param consumer Consumer which will receive mapped file content
+     *
+     * @return Promise instance which will be resolved once consumer is finished or in case of error.
+     */
+    public static Promise<Unit> mapped(Path path, Option<Timeout> timeout, Consumer<MappedRegion> consumer) {
+        return map(path, AccessAdvice.SEQUENTIAL, timeout)
+            .flatMap(region -> release(region, consume(region, consumer), timeout));
+    }
+
+    public static Promise<Unit> mapped(Path path, Consumer<MappedRegion> consumer) {
+        return mapped(path, Option.empty(), consumer);
+    }
+
+    private static Result<Unit> consume(MappedRegion region, Consumer<MappedRegion> consumer) {
+        try {
+            consumer.accept(region);
+            return Unit.unitResult();
+        } catch (RuntimeException e) {
+            return Causes.fromThrowable(e).result();
+        }
+    }
+
+    private static Promise<Unit> release(MappedRegion region, Result<Unit> consumed, Option<Timeout> timeout) {
+        if (region.size() == 0) {
+            region.close();
+            return Promise.resolved(consumed);
+        }
+
+        return Promise.promise(promise -> PromiseIO.madvise(region, AccessAdvice.DONTNEED, timeout)
+                                                   .onResultDo(region::close)
+                                                   .onResultDo(() -> promise.resolve(consumed)));
+    }
+
+    private static Promise<MappedRegion> mapRegion(FileDescriptor fd, long size) {
+        if (size > Integer.MAX_VALUE) {
+            return Promise.failed(SystemError.EFBIG);
+        }
+
+        // mmap() rejects zero length with EINVAL
+        if (size == 0) {
+            return Promise.successful(MappedRegion.emptyRegion());
+        }
+
+        return PromiseIO.map(fd, 0L, (int) size);
+    }
+
+    private static Promise<MappedRegion> advise(MappedRegion region, AccessAdvice advice, Option<Timeout> timeout) {
+        if (region.size() == 0) {
+            return Promise.successful(region);
+        }
+
+        return Promise.promise(promise -> PromiseIO.madvise(region, advice, timeout)
+                                                   .onResultDo(() -> promise.success(region)));
+    }
+
+
+    /**
+     * File copy modes.
+     */
     public enum FileCopyMode {
-        APPEND,     // By default - replace content
-        OVERWRITE,  // By default - fail if file exists
-        COPY_PERMISSION, // By default - set ones provided in parameters
+        APPEND,             // By default - replace content
+        OVERWRITE,          // By default - fail if file exists
+        COPY_PERMISSION,    // By default - set ones provided in parameters
     }
 
+    /**
+     * Copy content of one file into another. Space for the destination file is preallocated (without changing file size, so incomplete copy
+     * does not leave file padded with zeros), then content is copied by chunks of size
+     * {@link #DEFAULT_COPY_CHUNK_SIZE}, with up to {@link #DEFAULT_COPY_DEPTH} chunks in flight at once (see {@link FileCopyProtocol} for
+     * details).
+     * <p>
+     * Note that permissions (either provided or copied from source) are applied only if destination file is created and are subject to umask.
+     *
+     * @param from                  Source file
+     * @param to                    Destination file
+     * @param mode                  Copy mode. Refer to {@link FileCopyMode} for more details
+     * @param destinationPermission Permissions for destination file. Ignored if {@link FileCopyMode#COPY_PERMISSION} is present
+     * @param timeout               Timeout for each internal operation
+     *
+     * @return Promise instance which will be resolved with number of copied bytes once copying is finished or in case of error. If source file
+     *     is truncated while being copied, promise is resolved with {@link org.pragmatica.io.async.SystemError#EIO}.
+     */
     public static Promise<SizeT> copy(Path from, Path to, Set<FileCopyMode> mode, Set<FilePermission> destinationPermission, Option<Timeout> timeout) {
-        // Not implemented yet
-        return Promise.resolved(SystemError.EPERM.result());
+        return PromiseIO.open(from, OpenFlags.readOnly(), FilePermission.none(), timeout)
+                        .flatMap(source -> PromiseIO.stat(source, EnumSet.noneOf(StatFlag.class), COPY_STAT_MASK, timeout)
+                                                    .flatMap(stat -> copyInto(source, stat, to, mode, destinationPermission, timeout))
+                                                    .onResult(__ -> PromiseIO.close(source, timeout)));
+    }
+
+    public static Promise<SizeT> copy(Path from, Path to, Set<FileCopyMode> mode) {
+        return copy(from, to, mode, FilePermission.none(), Option.empty());
     }
 
+    private static Promise<SizeT> copyInto(FileDescriptor source, FileStat stat, Path to, Set<FileCopyMode> mode,
+                                           Set<FilePermission> destinationPermission, Option<Timeout> timeout) {
+        var permissions = mode.contains(FileCopyMode.COPY_PERMISSION) ? stat.permissions() : destinationPermission;
 
+        return PromiseIO.open(to, destinationFlags(mode), permissions, timeout)
+                        .flatMap(destination -> destinationOffset(destination, mode, timeout)
+                            .flatMap(offset -> preallocate(destination, offset, stat.size(), timeout)
+                                .flatMap(() -> new FileCopyProtocol(source, destination, SizeT.sizeT(stat.size()), OffsetT.offsetT(offset),
+                                                                    DEFAULT_COPY_CHUNK_SIZE, DEFAULT_COPY_DEPTH, timeout).run()))
+                            .onResult(__ -> PromiseIO.close(destination, timeout)));
+    }
+
+    private static Set<OpenFlags> destinationFlags(Set<FileCopyMode> mode) {
+        if (mode.contains(FileCopyMode.APPEND)) {
+            return EnumSet.of(OpenFlags.WRITE_ONLY, OpenFlags.CREATE);
+        }
+
+        if (mode.contains(FileCopyMode.OVERWRITE)) {
+            return EnumSet.of(OpenFlags.WRITE_ONLY, OpenFlags.CREATE, OpenFlags.TRUNCATE);
+        }
+
+        return EnumSet.of(OpenFlags.WRITE_ONLY, OpenFlags.CREATE, OpenFlags.EXCL);
+    }
+
+    // Content is appended by positioned writes at the end of existing content, so file is not opened with O_APPEND
+    private static Promise<Long> destinationOffset(FileDescriptor destination, Set<FileCopyMode> mode, Option<Timeout> timeout) {
+        if (!mode.contains(FileCopyMode.APPEND)) {
+            return Promise.successful(0L);
+        }
+
+        return PromiseIO.stat(destination, EnumSet.noneOf(StatFlag.class), EnumSet.of(StatMask.FSIZE), timeout)
+                        .map(FileStat::size);
+    }
+
+    /**
+     * Best effort preallocation of the file space without changing file size. Preallocation is an optimization, so failure (for example, when
+     * file system does not support it) is ignored and returned promise is always resolved successfully.
+     */
+    static Promise<Unit> preallocate(FileDescriptor destination, long offset, long size, Option<Timeout> timeout) {
+        if (size <= 0) {
+            return Promise.successful(Unit.unit());
+        }
+
+        return Promise.promise(promise -> PromiseIO.falloc(destination, EnumSet.of(FileAllocFlags.KEEP_SIZE), offset, size, timeout)
+                                                   .onResultDo(() -> promise.success(Unit.unit())));
+    }
 }
@@ -0,0 +1,260 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file;
+
+import org.pragmatica.io.AsyncCloseable;
+import org.pragmatica.io.async.LinkedChain;
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.file.FilePermission;
+import org.pragmatica.io.async.file.OpenFlags;
+import org.pragmatica.io.async.file.stat.FileStat;
+import org.pragmatica.io.async.file.stat.StatFlag;
+import org.pragmatica.io.async.file.stat.StatMask;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.PromiseIO;
+import org.pragmatica.lang.Unit;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.pragmatica.io.async.common.OffsetT.offsetT;
+
+/**
+ * Append-only writer for the log segment with group commit.
+ * <p>
+ * Records can be appended from any thread. Records accumulated while previous batch is being written are written together as a single
+ * vectored write at the end of segment, followed by single {@code fdatasync}. Both operations are submitted as a linked chain. Promise returned
+ * by {@link #append(OffHeapSlice)} is resolved with offset of the record in the segment once the record is durable.
+ * <p>
+ * Segment has fixed capacity, space is preallocated when segment is open. Records which don't fit into remaining space are rejected with
+ * {@link SystemError#EFBIG}, so caller should close segment and continue with new one.
+ */
+public final class SegmentWriter implements AsyncCloseable {
+    // Limit of the number of buffers in single vectored write (IOV_MAX)
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private record PendingAppend(OffHeapSlice record, Promise<OffsetT> promise) {}
+
+    private final FileDescriptor fd;
+    private final long capacity;
+    private final Option<Timeout> timeout;
+    private final Queue<PendingAppend> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private final Promise<Unit> closePromise = Promise.promise();
+    private volatile boolean closing = false;
+    private boolean fdClosed = false;
+    private long position;
+
+    private SegmentWriter(FileDescriptor fd, long position, long capacity, Option<Timeout> timeout) {
+        this.fd = fd;
+        this.position = position;
+        this.capacity = capacity;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Open segment for appending. If segment already exists, records are appended after existing content. Space up to specified capacity is
+     * preallocated, file size is not changed by preallocation.
+     *
+     * @param path     Path to segment file
+     * @param capacity Segment capacity in bytes
+     * @param mode     File permissions if segment is created
+     * @param timeout  Timeout for each internal operation
+     *
+     * @return Promise instance which will be resolved with writer once segment is open.
+     */
+    public static Promise<SegmentWriter> open(Path path, SizeT capacity, Set<FilePermission> mode, Option<Timeout> timeout) {
+        return PromiseIO.open(path, EnumSet.of(OpenFlags.WRITE_ONLY, OpenFlags.CREATE), mode, timeout)
+                        .flatMap(fd -> PromiseIO.stat(fd, EnumSet.noneOf(StatFlag.class), EnumSet.of(StatMask.FSIZE), timeout)
+                                                .map(FileStat::size)
+                                                .flatMap(size -> Files.preallocate(fd, size, capacity.value() - size, timeout)
+                                                    .mapReplace(() -> new SegmentWriter(fd, size, capacity.value(), timeout)))
+                                                .onFailure(__ -> PromiseIO.close(fd, timeout)));
+    }
+
+    public static Promise<SegmentWriter> open(Path path, SizeT capacity) {
+        return open(path, capacity, EnumSet.of(FilePermission.USER_R, FilePermission.USER_W), Option.empty());
+    }
+
+    /**
+     * Current end of the segment. Includes only records which are already durable.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Append record to the segment. Record buffer must not be modified or released until returned promise is resolved. Only
+     * {@link OffHeapSlice#used()} part of the buffer is written.
+     *
+     * @param record Record to append
+     *
+     * @return Promise instance which will be resolved with offset of the record once record is durable.
+     */
+    public Promise<OffsetT> append(OffHeapSlice record) {
+        if (closing) {
+            return Promise.failed(SystemError.EBADF);
+        }
+
+        var pending = new PendingAppend(record, Promise.promise());
+
+        queue.offer(pending);
+        scheduleFlush();
+
+        return pending.promise();
+    }
+
+    /**
+     * Append record to the segment. Record content is copied, so array can be reused once method returns.
+     *
+     * @param record Record to append
+     *
+     * @return Promise instance which will be resolved with offset of the record once record is durable.
+     */
+    public Promise<OffsetT> append(byte[] record) {
+        var buffer = OffHeapSlice.fromBytes(record);
+
+        return append(buffer).onResultDo(buffer::close);
+    }
+
+    /**
+     * Close segment. All records appended before this call are written before segment is closed, records appended after this call are rejected
+     * with {@link SystemError#EBADF}.
+     */
+    @Override
+    public Promise<Unit> close() {
+        closing = true;
+        scheduleFlush();
+
+        return closePromise;
+    }
+
+    private void scheduleFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            closePromise.asyncIO(this::flush);
+        }
+    }
+
+    // Invoked only by the thread which holds 'flushing' flag
+    private void flush(Proactor proactor) {
+        var batch = drainBatch();
+
+        if (!batch.isEmpty()) {
+            if (fdClosed) {
+                batch.forEach(pending -> pending.promise().failure(SystemError.EBADF));
+                flush(proactor);
+            } else {
+                writeBatch(proactor, batch);
+            }
+            return;
+        }
+
+        if (closing && !fdClosed) {
+            fdClosed = true;
+            proactor.close((result, p) -> {
+                closePromise.resolve(result);
+                flush(p);
+            }, fd, timeout);
+            return;
+        }
+
+        flushing.set(false);
+
+        // Record might be appended after queue is drained, but before flag is released
+        if ((!queue.isEmpty() || (closing && !fdClosed)) && flushing.compareAndSet(false, true)) {
+            flush(proactor);
+        }
+    }
+
+    private List<PendingAppend> drainBatch() {
+        var batch = new ArrayList<PendingAppend>();
+        PendingAppend pending;
+
+        while (batch.size() < MAX_BATCH_SIZE && (pending = queue.poll()) != null) {
+            batch.add(pending);
+        }
+
+        return batch;
+    }
+
+    private void writeBatch(Proactor proactor, List<PendingAppend> batch) {
+        var accepted = new ArrayList<PendingAppend>(batch.size());
+        var offsets = new long[batch.size()];
+        var end = position;
+
+        for (var pending : batch) {
+            var size = pending.record().used();
+
+            if (end + size > capacity) {
+                pending.promise().failure(SystemError.EFBIG);
+                continue;
+            }
+
+            offsets[accepted.size()] = end;
+            accepted.add(pending);
+            end += size;
+        }
+
+        if (accepted.isEmpty()) {
+            flush(proactor);
+            return;
+        }
+
+        var total = end - position;
+        var buffers = accepted.stream().map(PendingAppend::record).toArray(OffHeapSlice[]::new);
+        var written = new long[1];
+
+        proactor.chain(LinkedChain.LinkMode.SOFT)
+                .then((p, steps) -> p.writeVector(steps.step((result, __) -> result.onSuccess(size -> written[0] = size.value())),
+                                                  fd, offsetT(position), timeout, buffers))
+                .then((p, steps) -> p.fsync(steps.step(), fd, false, timeout))
+                .submit((result, p) -> {
+                    // Short write breaks the chain, so fsync is cancelled. Most likely reason is the lack of space.
+                    var outcome = (result.isFailure() && written[0] > 0 && written[0] < total) ? SystemError.ENOSPC.<Unit>result() : result;
+
+                    outcome.onSuccessDo(() -> position += total)
+                           .onSuccessDo(() -> resolveAll(accepted, offsets))
+                           .onFailure(cause -> failAll(accepted, cause));
+                    flush(p);
+                });
+    }
+
+    private static void resolveAll(List<PendingAppend> accepted, long[] offsets) {
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).promise().success(offsetT(offsets[i]));
+        }
+    }
+
+    private static void failAll(List<PendingAppend> accepted, Cause cause) {
+        accepted.forEach(pending -> pending.promise().failure(cause));
+    }
+}
@@ -18,53 +18,237 @@
 package org.pragmatica.io.file.protocol;
 
 import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
 import org.pragmatica.io.async.Timeout;
 import org.pragmatica.io.async.common.OffsetT;
 import org.pragmatica.io.async.common.SizeT;
 import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.uring.AsyncOperation;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.lang.Cause;
 import org.pragmatica.lang.Causes;
 import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
  * File reading protocol which implements sequential reading of the file in chunks of fixed size.
  * Last chunk might be shorter than requested buffer size.
+ * <p>
+ * With read-ahead depth greater than one, up to that number of reads at successive offsets are kept in flight, each into its own
+ * {@link FixedBuffer}. Chunks are passed to the consumer strictly in file order and buffer is reused for the next read once consumer returns.
+ * Buffer content is valid only during consumer call. If fixed buffers are not available, protocol falls back to one read at a time.
+ * <p>
+ * Files opened with {@code O_DIRECT} flag require buffers aligned to the block size of the device. If alignment is specified, all buffers
+ * are aligned accordingly. Block size must be a multiple of the alignment in this case.
  */
 public final class BlockReaderProtocol {
     private final FileDescriptor fd;
     private final Consumer<OffHeapSlice> consumer;
     private final Option<Timeout> timeout;
-    private final OffHeapSlice buffer;
+    private final int blockSize;
+    private final int readAhead;
+    private final int alignment;
     private final Promise<Unit> promise;
+    private OffHeapSlice buffer;
     private long offset = 0;
 
+    // Read-ahead state
+    private Slot[] slots;
+    private long nextSequence = 0;
+    private long deliverSequence = 0;
+    private int inFlight = 0;
+    private boolean finished = false;
+    private Cause failure;
+
+    private static final class Slot {
+        private final FixedBuffer buffer;
+        private Result<SizeT> result;
+
+        private Slot(FixedBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    public BlockReaderProtocol(FileDescriptor fd,
+                               SizeT bufferSize,
+                               Consumer<OffHeapSlice> consumer,
+                               Option<Timeout> timeout) {
+        this(fd, bufferSize, 1, 1, consumer, timeout);
+    }
+
+    public BlockReaderProtocol(FileDescriptor fd,
+                               SizeT bufferSize,
+                               int readAhead,
+                               Consumer<OffHeapSlice> consumer,
+                               Option<Timeout> timeout) {
+        this(fd, bufferSize, readAhead, 1, consumer, timeout);
+    }
+
     public BlockReaderProtocol(FileDescriptor fd,
                                SizeT bufferSize,
+                               int readAhead,
+                               int alignment,
                                Consumer<OffHeapSlice> consumer,
                                Option<Timeout> timeout) {
         this.fd = fd;
         this.consumer = consumer;
         this.timeout = timeout;
-        this.buffer = OffHeapSlice.fixedSize((int) bufferSize.value());
+        this.blockSize = (int) bufferSize.value();
+        this.readAhead = Math.max(1, readAhead);
+        this.alignment = Math.max(1, alignment);
         this.promise = Promise.promise();
     }
 
     public Promise<Unit> run() {
-        return promise.asyncIO(this::processChunk);
+        return promise.asyncIO(this::start);
+    }
+
+    private void start(Proactor proactor) {
+        var buffers = allocateBuffers(proactor);
+
+        if (buffers.size() > 1) {
+            startReadAhead(proactor, buffers);
+            return;
+        }
+
+        buffers.forEach(FixedBuffer::dispose);
+        buffer = OffHeapSlice.fixedSize(blockSize, alignment);
+        promise.onResultDo(buffer::close);
+        processChunk(proactor);
+    }
+
+    // Allocation stops at first failure, reading proceeds with smaller depth
+    private List<FixedBuffer> allocateBuffers(Proactor proactor) {
+        var buffers = new ArrayList<FixedBuffer>(readAhead);
+
+        if (readAhead == 1 || !proactor.supports(AsyncOperation.READ_FIXED)) {
+            return buffers;
+        }
+
+        for (int i = 0; i < readAhead; i++) {
+            var added = proactor.allocateFixedBuffer(blockSize)
+                                .fold(__ -> false, fixedBuffer -> addAligned(buffers, fixedBuffer));
+
+            if (!added) {
+                break;
+            }
+        }
+
+        return buffers;
+    }
+
+    // Shared arena might be provided externally and don't satisfy alignment requirements
+    private boolean addAligned(List<FixedBuffer> buffers, FixedBuffer fixedBuffer) {
+        if (fixedBuffer.address() % alignment != 0) {
+            fixedBuffer.dispose();
+            return false;
+        }
+
+        buffers.add(fixedBuffer);
+        return true;
     }
 
     private void processChunk(Proactor proactor) {
-        proactor.read((result, proactor1) -> {
-            result.onFailure(promise::failure)
-                  .onSuccess(offsetT -> offset += offsetT.value())
-                  .onSuccessDo(() -> consumer.accept(buffer))
-                  .filter(Causes.IRRELEVANT, size -> size.value() == buffer.size())
-                  .onSuccessDo(() -> processChunk(proactor1))
-                  .onFailureDo(() -> promise.resolve(Unit.unitResult()));
-        }, fd, buffer, OffsetT.offsetT(offset), timeout);
+        ChunkReader.readChunk(proactor, this::handleChunk, fd, buffer, offset, timeout);
+    }
+
+    // Read at the end of file is reported as ENODATA, it happens when file size is a multiple of the block size
+    private void handleChunk(Result<SizeT> result, Proactor proactor) {
+        result.onFailure(cause -> {
+                  if (cause != SystemError.ENODATA) {
+                      promise.failure(cause);
+                  }
+              })
+              .onSuccess(offsetT -> offset += offsetT.value())
+              .onSuccessDo(() -> consumer.accept(buffer))
+              .filter(Causes.IRRELEVANT, size -> size.value() == buffer.size())
+              .onSuccessDo(() -> processChunk(proactor))
+              .onFailureDo(() -> promise.resolve(Unit.unitResult()));
+    }
+
+    private void startReadAhead(Proactor proactor, List<FixedBuffer> buffers) {
+        slots = buffers.stream().map(Slot::new).toArray(Slot[]::new);
+
+        for (var slot : slots) {
+            submitRead(proactor, slot);
+        }
+    }
+
+    private void submitRead(Proactor proactor, Slot slot) {
+        var sequence = nextSequence++;
+
+        slot.result = null;
+        inFlight++;
+        proactor.readFixed((result, p) -> handleReadAhead(result, p, slot), fd, slot.buffer, OffsetT.offsetT(sequence * blockSize), timeout);
+    }
+
+    private void handleReadAhead(Result<SizeT> result, Proactor proactor, Slot slot) {
+        inFlight--;
+        slot.result = result;
+
+        deliverReady(proactor);
+
+        // Rejected submission invokes callback immediately, so this point can be reached from nested call as well
+        if (finished && inFlight == 0 && slots != null) {
+            complete();
+        }
+    }
+
+    // Completions may arrive out of order, chunks are delivered only when all preceding ones are delivered
+    private void deliverReady(Proactor proactor) {
+        while (!finished) {
+            var slot = slots[(int) (deliverSequence % slots.length)];
+
+            if (slot.result == null) {
+                return;
+            }
+
+            deliverSequence++;
+            slot.result
+                .onFailure(this::fail)
+                .onSuccess(size -> deliver(proactor, slot, size));
+        }
+    }
+
+    // Read ahead of the end of file (reported as ENODATA) just stops delivery
+    private void fail(Cause cause) {
+        if (cause != SystemError.ENODATA) {
+            failure = cause;
+        }
+
+        finished = true;
+    }
+
+    private void deliver(Proactor proactor, Slot slot, SizeT size) {
+        if (size.value() > 0) {
+            consumer.accept(slot.buffer);
+        }
+
+        if (size.value() < blockSize) {
+            finished = true;
+        } else {
+            submitRead(proactor, slot);
+        }
+    }
+
+    private void complete() {
+        for (var slot : slots) {
+            slot.buffer.dispose();
+        }
+
+        slots = null;
+
+        if (failure != null) {
+            promise.failure(failure);
+        } else {
+            promise.resolve(Unit.unitResult());
+        }
     }
 }
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file.protocol;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.uring.AsyncOperation;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Reading of the single chunk of the file into the buffer, shared by protocols which read file sequentially into single buffer.
+ */
+final class ChunkReader {
+    private ChunkReader() {}
+
+    /**
+     * Read chunk at specified offset. Once read is finished, number of used bytes of the buffer is set to the number of bytes read.
+     * <p>
+     * Kernels without READ operation (before 5.6) still support vectored read, which is used in this case.
+     */
+    static void readChunk(Proactor proactor, BiConsumer<Result<SizeT>, Proactor> handler, FileDescriptor fd, OffHeapSlice buffer,
+                          long offset, Option<Timeout> timeout) {
+        if (proactor.supports(AsyncOperation.READ)) {
+            proactor.read(handler, fd, buffer, OffsetT.offsetT(offset), timeout);
+        } else {
+            proactor.readVector((result, p) -> handler.accept(result.onSuccess(size -> buffer.used((int) size.value())), p),
+                                fd, OffsetT.offsetT(offset), timeout, buffer);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file.protocol;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.uring.AsyncOperation;
+import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.pragmatica.io.async.common.OffsetT.offsetT;
+import static org.pragmatica.io.async.common.SizeT.sizeT;
+
+/**
+ * File copying protocol which keeps several chunks in flight at once.
+ * <p>
+ * Each fixed buffer repeatedly picks next chunk of the source file, reads it and writes at the corresponding offset of the destination file.
+ * Chunks are independent, so reads and writes of different chunks overlap and storage device receives a batch of requests instead of one
+ * request at a time. If kernel does not support fixed buffers or none can be allocated, content is copied with
+ * {@link Proactor#transfer(java.util.function.BiConsumer, FileDescriptor, OffsetT, SizeT, FileDescriptor, OffsetT)}, which does not use
+ * user space buffers at all.
+ */
+public final class FileCopyProtocol {
+    private final FileDescriptor from;
+    private final FileDescriptor to;
+    private final long length;
+    private final long destinationOffset;
+    private final int chunkSize;
+    private final int depth;
+    private final Option<Timeout> timeout;
+    private final Promise<SizeT> promise;
+    private long nextOffset = 0;
+    private long copied = 0;
+    private int active = 0;
+    private Cause failure;
+
+    public FileCopyProtocol(FileDescriptor from,
+                            FileDescriptor to,
+                            SizeT length,
+                            OffsetT destinationOffset,
+                            SizeT chunkSize,
+                            int depth,
+                            Option<Timeout> timeout) {
+        this.from = from;
+        this.to = to;
+        this.length = length.value();
+        this.destinationOffset = destinationOffset.value();
+        this.chunkSize = (int) chunkSize.value();
+        this.depth = depth;
+        this.timeout = timeout;
+        this.promise = Promise.promise();
+    }
+
+    public Promise<SizeT> run() {
+        return promise.asyncIO(this::start);
+    }
+
+    private void start(Proactor proactor) {
+        if (length == 0) {
+            promise.success(SizeT.ZERO);
+            return;
+        }
+
+        var buffers = allocateBuffers(proactor);
+
+        if (buffers.isEmpty()) {
+            proactor.transfer(promise::resolve, from, OffsetT.ZERO, sizeT(length), to, offsetT(destinationOffset));
+            return;
+        }
+
+        active = buffers.size();
+        buffers.forEach(buffer -> nextChunk(proactor, buffer));
+    }
+
+    // Allocation stops at first failure, copying proceeds with fewer chunks in flight
+    private List<FixedBuffer> allocateBuffers(Proactor proactor) {
+        var buffers = new ArrayList<FixedBuffer>(depth);
+
+        if (!proactor.supports(AsyncOperation.READ_FIXED) || !proactor.supports(AsyncOperation.WRITE_FIXED)) {
+            return buffers;
+        }
+
+        var chunks = Math.min(depth, (length + chunkSize - 1) / chunkSize);
+
+        for (int i = 0; i < chunks; i++) {
+            var buffer = proactor.allocateFixedBuffer(chunkSize);
+
+            if (buffer.isFailure()) {
+                break;
+            }
+
+            buffer.onSuccess(buffers::add);
+        }
+
+        return buffers;
+    }
+
+    private void nextChunk(Proactor proactor, FixedBuffer buffer) {
+        if (failure != null || nextOffset >= length) {
+            finishBuffer(buffer);
+            return;
+        }
+
+        var offset = nextOffset;
+        var end = Math.min(length, offset + chunkSize);
+
+        nextOffset = end;
+        readChunk(proactor, buffer, offset, end);
+    }
+
+    private void readChunk(Proactor proactor, FixedBuffer buffer, long offset, long end) {
+        proactor.readFixed((result, p) -> handleRead(result, p, buffer, offset, end), from, buffer, offsetT(offset), timeout);
+    }
+
+    private void handleRead(Result<SizeT> result, Proactor proactor, FixedBuffer buffer, long offset, long end) {
+        result.onFailure(this::failRead)
+              .onFailureDo(() -> finishBuffer(buffer))
+              .onSuccess(size -> {
+                  if (size.value() == 0) {
+                      fail(SystemError.EIO);
+                      finishBuffer(buffer);
+                      return;
+                  }
+
+                  buffer.used((int) Math.min(size.value(), end - offset));
+                  proactor.writeFixed((writeResult, p) -> handleWrite(writeResult, p, buffer, offset, end),
+                                      to, buffer, offsetT(destinationOffset + offset), timeout);
+              });
+    }
+
+    // Short read or write just shifts start of the chunk, remaining part is read and written again
+    private void handleWrite(Result<SizeT> result, Proactor proactor, FixedBuffer buffer, long offset, long end) {
+        result.onFailure(this::fail)
+              .onFailureDo(() -> finishBuffer(buffer))
+              .onSuccess(size -> {
+                  // Nothing written while there is something to write, most likely device is out of space
+                  if (size.value() == 0) {
+                      fail(SystemError.ENOSPC);
+                      finishBuffer(buffer);
+                      return;
+                  }
+
+                  copied += size.value();
+
+                  if (offset + size.value() < end) {
+                      readChunk(proactor, buffer, offset + size.value(), end);
+                  } else {
+                      nextChunk(proactor, buffer);
+                  }
+              });
+    }
+
+    // End of file before expected length means that source file was truncated while being copied, copy is incomplete
+    private void failRead(Cause cause) {
+        fail(cause == SystemError.ENODATA ? SystemError.EIO : cause);
+    }
+
+    private void fail(Cause cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+    }
+
+    private void finishBuffer(FixedBuffer buffer) {
+        buffer.dispose();
+
+        if (--active > 0) {
+            return;
+        }
+
+        if (failure != null) {
+            promise.failure(failure);
+        } else {
+            promise.success(sizeT(copied));
+        }
+    }
+}
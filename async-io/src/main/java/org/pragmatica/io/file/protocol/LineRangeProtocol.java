@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file.protocol;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.Timeout;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.codec.ByteScanner;
+import org.pragmatica.io.codec.LineSplitter;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+/**
+ * File reading protocol which passes to the {@link LineSplitter} only lines which start within specified byte range of the file. This allows
+ * processing of large file by independent parts, without splitting or losing lines at part boundaries:
+ * <ul>
+ *     <li>If range does not start at the beginning of the file, everything up to and including first '\n' at or after position
+ *     {@code start - 1} is skipped, because this part of the line belongs to the previous range.</li>
+ *     <li>Reading continues past the end of the range until the line which contains last byte of the range is complete.</li>
+ * </ul>
+ * Only one buffer of the configured size is used.
+ */
+public final class LineRangeProtocol {
+    private static final byte LF = '\n';
+
+    private final FileDescriptor fd;
+    private final long end;
+    private final int bufferSize;
+    private final LineSplitter splitter;
+    private final Option<Timeout> timeout;
+    private final Promise<Unit> promise;
+    private OffHeapSlice buffer;
+    private long offset;
+    private boolean skipping;
+
+    public LineRangeProtocol(FileDescriptor fd,
+                             long start,
+                             long end,
+                             SizeT bufferSize,
+                             LineSplitter splitter,
+                             Option<Timeout> timeout) {
+        this.fd = fd;
+        this.end = end;
+        this.bufferSize = (int) bufferSize.value();
+        this.splitter = splitter;
+        this.timeout = timeout;
+        this.promise = Promise.promise();
+        this.offset = start == 0 ? 0 : start - 1;
+        this.skipping = start > 0;
+    }
+
+    public Promise<Unit> run() {
+        return promise.asyncIO(this::start);
+    }
+
+    private void start(Proactor proactor) {
+        buffer = OffHeapSlice.fixedSize(bufferSize);
+        promise.onResultDo(buffer::close);
+        processChunk(proactor);
+    }
+
+    private void processChunk(Proactor proactor) {
+        ChunkReader.readChunk(proactor, this::handleChunk, fd, buffer, offset, timeout);
+    }
+
+    // Read at the end of file is reported as ENODATA, it happens when file size is a multiple of the buffer size
+    private void handleChunk(Result<SizeT> result, Proactor proactor) {
+        result.onSuccess(size -> handleChunk(size, proactor))
+              .onFailure(cause -> {
+                  if (cause == SystemError.ENODATA) {
+                      finish();
+                  } else {
+                      promise.failure(cause);
+                  }
+              });
+    }
+
+    private void handleChunk(SizeT size, Proactor proactor) {
+        var chunkOffset = offset;
+        var used = (int) size.value();
+
+        offset += used;
+
+        if (process(chunkOffset, used) || used < bufferSize) {
+            finish();
+        } else {
+            processChunk(proactor);
+        }
+    }
+
+    private void finish() {
+        splitter.finish();
+        promise.resolve(Unit.unitResult());
+    }
+
+    // Returns true once all lines which belong to the range are passed to the splitter
+    private boolean process(long chunkOffset, int used) {
+        var address = buffer.address();
+        var begin = 0;
+
+        if (skipping) {
+            var separator = ByteScanner.indexOf(address, 0, used, LF);
+
+            if (separator < 0) {
+                return false;
+            }
+
+            // Next line starts outside the range, so whole range is covered by the line started in the previous range
+            if (chunkOffset + separator + 1 >= end) {
+                return true;
+            }
+
+            skipping = false;
+            begin = separator + 1;
+        }
+
+        var last = Math.max(begin, end - 1 - chunkOffset);
+
+        if (last < used) {
+            var separator = ByteScanner.indexOf(address, (int) last, used, LF);
+
+            if (separator >= 0) {
+                feed(begin, separator + 1);
+                return true;
+            }
+        }
+
+        feed(begin, used);
+        return false;
+    }
+
+    private void feed(int from, int to) {
+        var length = to - from;
+
+        if (length > 0) {
+            splitter.accept(buffer.slice(from, length).used(length));
+        }
+    }
+}
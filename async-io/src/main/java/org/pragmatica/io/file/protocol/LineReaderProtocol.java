@@ -18,43 +18,37 @@
 package org.pragmatica.io.file.protocol;
 
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.codec.LineSplitter;
 import org.pragmatica.io.codec.UTF8Decoder;
 
 import java.util.function.Consumer;
 
 /**
  * File reading protocol which treats file as a sequence of UTF-8 strings separated by '\n' or '\r\n'.
+ * <p>
+ * Each line is decoded as a whole span, so no per-character processing is performed outside the decoder. Lines located within the chunk are
+ * decoded directly from the chunk memory, without copying.
  */
-public record LineReaderProtocol(long bufferSize, Consumer<String> consumer, StringBuilder stringBuilder, UTF8Decoder utf8Decoder)
-    implements Consumer<OffHeapSlice> {
+public final class LineReaderProtocol extends LineSplitter {
+    private final Consumer<String> consumer;
+    private final StringBuilder stringBuilder = new StringBuilder();
+    private final UTF8Decoder utf8Decoder = new UTF8Decoder();
 
-    @Override
-    public void accept(OffHeapSlice slice) {
-        utf8Decoder.decodeWithRecovery(slice, this::characterInput);
-
-        if (slice.used() != bufferSize) {
-            stripCarriageReturn();
-
-            // Empty line or single trailing \r will be ignored
-            if (stringBuilder.length() > 0) {
-                consumer.accept(stringBuilder.toString());
-            }
-        }
+    public LineReaderProtocol(Consumer<String> consumer) {
+        this.consumer = consumer;
     }
 
-    private void characterInput(Character character) {
-        if (character == '\n') {
-            stripCarriageReturn();
-            consumer.accept(stringBuilder.toString());
-            stringBuilder.setLength(0);
-        } else {
-            stringBuilder.append(character);
-        }
+    @Override
+    protected void line(OffHeapSlice chunk, int offset, int length) {
+        stringBuilder.setLength(0);
+        utf8Decoder.decodeWithRecovery(chunk.address() + offset, length, stringBuilder);
+        consumer.accept(stringBuilder.toString());
     }
 
-    private void stripCarriageReturn() {
-        if (stringBuilder.length() > 0 && stringBuilder.charAt(stringBuilder.length() - 1) == '\r') {
-            stringBuilder.setLength(stringBuilder.length() - 1);
-        }
+    @Override
+    protected void line(byte[] bytes, int length) {
+        stringBuilder.setLength(0);
+        utf8Decoder.decodeWithRecovery(bytes, 0, length, stringBuilder);
+        consumer.accept(stringBuilder.toString());
     }
 }
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file.protocol;
+
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.OffHeapView;
+import org.pragmatica.io.async.util.raw.RawMemory;
+import org.pragmatica.io.codec.LineSplitter;
+
+import java.util.function.Consumer;
+
+/**
+ * File reading protocol which splits file into lines separated by '\n' or '\r\n' and passes them as views of the read buffer, without copying
+ * and decoding. Lines which cross read buffer boundary are assembled in the separate buffer.
+ * <p>
+ * Passed slices are valid only during the call of the consumer and must not be stored or closed.
+ */
+public final class LineSpanProtocol extends LineSplitter implements AutoCloseable {
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private final Consumer<OffHeapSlice> consumer;
+    private final OffHeapView line = OffHeapView.view();
+    private OffHeapSlice buffer;
+
+    public LineSpanProtocol(Consumer<OffHeapSlice> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    protected void line(OffHeapSlice chunk, int offset, int length) {
+        consumer.accept(line.point(chunk.address() + offset, length));
+    }
+
+    @Override
+    protected void line(byte[] bytes, int length) {
+        if (buffer == null || buffer.size() < length) {
+            var size = Math.max(length, buffer == null ? INITIAL_BUFFER_SIZE : buffer.size() * 2);
+
+            close();
+            buffer = OffHeapSlice.fixedSize(size);
+        }
+
+        RawMemory.putByteArray(buffer.address(), bytes, length);
+        consumer.accept(line.point(buffer.address(), length));
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            buffer.close();
+            buffer = null;
+        }
+    }
+}
@@ -33,4 +33,15 @@ public interface AcceptProtocol<T extends InetAddress> {
      * @param proactor transient {@link Proactor} instance
      */
     void accept(ConnectionProtocolContext<T> context, Proactor proactor);
+
+    /**
+     * Release resources held by protocol at the thread which owns provided {@link Proactor}. Invoked once at each processing thread when
+     * listener is shut down. Connections accepted earlier may still be active at this moment.
+     * <p>
+     * WARNING: Provided {@link Proactor} instance is transient, it should not be stored nor used outside the method body.
+     *
+     * @param proactor transient {@link Proactor} instance
+     */
+    default void close(Proactor proactor) {
+    }
 }
@@ -14,15 +14,19 @@
  *  limitations under the License.
  *
  */
-
 package org.pragmatica.io.net.protocols;
 
 import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
 import org.pragmatica.io.async.Timeout;
 import org.pragmatica.io.async.common.SizeT;
 import org.pragmatica.io.async.file.FileDescriptor;
 import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.net.MessageFlags;
+import org.pragmatica.io.async.uring.AsyncOperation;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
 import org.pragmatica.io.net.AcceptProtocol;
 import org.pragmatica.io.net.ConnectionProtocol;
 import org.pragmatica.io.net.ConnectionProtocolContext;
@@ -33,46 +37,249 @@ import org.pragmatica.lang.Unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Simple TCP Echo protocol implementation. It just sends back received data.
+ * <p>
+ * Incoming data are received with single multishot request into buffers selected by kernel from the buffer group shared by all connections
+ * served by the same {@link Proactor}, so idle connections do not hold any buffers. If kernel does not support multishot receive or buffer group
+ * can't be created, the implementation falls back to the plain receive/send loop with dedicated buffer per connection. On kernels without
+ * {@code SEND}/{@code RECV} operations, the loop uses plain read/write.
+ * <p>
+ * Multishot receive has no timeout of its own, so configured timeout is applied as idle timeout: connection is closed if no data were received
+ * or sent during the whole timeout interval. If shared buffer group is exhausted while connection has no data to send (i.e. has no buffers to
+ * return to the group), receive is resubmitted after delay, which grows exponentially up to {@link #MAX_RETRY_DELAY_MS} while the group stays
+ * exhausted.
  */
 public sealed interface EchoProtocol<T extends InetAddress> extends ConnectionProtocol<T> {
+    int BUFFER_GROUP_SIZE = 256;
+    long MIN_RETRY_DELAY_MS = 1;
+    long MAX_RETRY_DELAY_MS = 64;
 
     static <T extends InetAddress> AcceptProtocol<T> acceptEchoProtocol(T addressTag, int bufferSize, Option<Timeout> timeout) {
         var config = new EchoProtocolConfig<T>(bufferSize, timeout);
-        return (context, proactor) -> new  EchoProtocolImpl<T>(config, context).process(proactor);
+        var groups = new SharedBufferGroups(bufferSize, BUFFER_GROUP_SIZE);
+
+        return new AcceptProtocol<>() {
+            @Override
+            public void accept(ConnectionProtocolContext<T> context, Proactor proactor) {
+                new EchoProtocolImpl<>(config, groups, context).process(proactor);
+            }
+
+            @Override
+            public void close(Proactor proactor) {
+                groups.close(proactor);
+            }
+        };
     }
 
     record EchoProtocolConfig<T extends InetAddress>(int bufferSize, Option<Timeout> timeout) {}
 
     final class EchoProtocolImpl<T extends InetAddress> implements EchoProtocol<T> {
         private static final Logger LOG = LoggerFactory.getLogger(EchoProtocol.class);
+        private static final Set<MessageFlags> NO_FLAGS = EnumSet.noneOf(MessageFlags.class);
 
         private final EchoProtocolConfig<T> config;
-        private final OffHeapSlice buffer;
+        private final SharedBufferGroups groups;
         private final FileDescriptor socket;
+        private final Deque<ProvidedBuffer> pending = new ArrayDeque<>();
+        private BufferGroup group;
+        private OffHeapSlice buffer;
+        private boolean useSendRecv;
+        private int sent;
+        private boolean receiveStopped;
+        private boolean closed;
+        private boolean active;
+        private long receiveId = Proactor.NO_OPERATION;
+        private long timerId = Proactor.NO_OPERATION;
+        private long retryDelay = MIN_RETRY_DELAY_MS;
 
-        public EchoProtocolImpl(EchoProtocolConfig<T> config, ConnectionProtocolContext<T> context) {
+        EchoProtocolImpl(EchoProtocolConfig<T> config, SharedBufferGroups groups, ConnectionProtocolContext<T> context) {
             this.config = config;
+            this.groups = groups;
             this.socket = context.connectionContext().socket();
-            this.buffer = OffHeapSlice.fixedSize(config.bufferSize());
         }
 
         @Override
         public void process(Proactor proactor) {
-            proactor.read(this::readHandler, socket, buffer, config.timeout());
+            useSendRecv = proactor.supports(AsyncOperation.SEND) && proactor.supports(AsyncOperation.RECV);
+
+            if (!proactor.supportsMultishotRecv()) {
+                startReadWriteLoop(proactor);
+                return;
+            }
+
+            groups.acquire(proactor, result -> result.onSuccess(bufferGroup -> group = bufferGroup)
+                                                     .onSuccessDo(() -> startReceive(proactor))
+                                                     .onFailureDo(() -> startReadWriteLoop(proactor)));
         }
 
-        private void readHandler(Result<SizeT> result, Proactor proactor) {
+        private void startReceive(Proactor proactor) {
+            receiveStopped = false;
+            receiveId = proactor.recvMultishot(this::receiveHandler, socket, group, NO_FLAGS);
+
+            if (timerId == Proactor.NO_OPERATION) {
+                config.timeout().onPresent(timeout -> timerId = proactor.delay(this::idleTimerHandler, timeout));
+            }
+        }
+
+        private void idleTimerHandler(Result<Duration> unused, Proactor proactor) {
+            timerId = Proactor.NO_OPERATION;
+
+            if (closed) {
+                return;
+            }
+
+            if (active) {
+                active = false;
+                config.timeout().onPresent(timeout -> timerId = proactor.delay(this::idleTimerHandler, timeout));
+                return;
+            }
+
+            handleFailure(SystemError.ETIME, proactor);
+        }
+
+        private void retryReceive(Proactor proactor) {
+            var delay = Timeout.timeout(retryDelay).millis();
+
+            retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+            proactor.delay((__, ___) -> {
+                if (!closed) {
+                    startReceive(proactor);
+                }
+            }, delay);
+        }
+
+        private void receiveHandler(Result<ProvidedBuffer> result, Proactor proactor) {
+            result.fold(failure -> handleReceiveTermination(failure, proactor), received -> {
+                handleReceived(received, proactor);
+                return Unit.unit();
+            });
+        }
+
+        private void handleReceived(ProvidedBuffer received, Proactor proactor) {
+            if (closed) {
+                proactor.releaseBuffer(received);
+                return;
+            }
+
+            active = true;
+            retryDelay = MIN_RETRY_DELAY_MS;
+            pending.addLast(received);
+
+            if (pending.size() == 1) {
+                sendHead(proactor);
+            }
+        }
+
+        private Unit handleReceiveTermination(Cause failure, Proactor proactor) {
+            receiveId = Proactor.NO_OPERATION;
+
+            if (closed) {
+                return Unit.unit();
+            }
+
+            if (failure == SystemError.EAGAIN) {
+                startReceive(proactor);
+                return Unit.unit();
+            }
+
+            if (failure == SystemError.ENOBUFS && pending.isEmpty()) {
+                // Buffers are held by other connections, immediate resubmission will fail again
+                retryReceive(proactor);
+                return Unit.unit();
+            }
+
+            if (failure == SystemError.ENOBUFS) {
+                // Resubmit once buffer is returned to the group
+                receiveStopped = true;
+                return Unit.unit();
+            }
+
+            // End of stream or error, send remaining data (if any) and close connection
+            if (pending.isEmpty()) {
+                return handleFailure(failure, proactor);
+            }
+
+            closed = true;
+            return Unit.unit();
+        }
+
+        // Sends are serialized to preserve order of the data in the stream
+        private void sendHead(Proactor proactor) {
+            var head = pending.peekFirst();
+            var chunk = sent == 0 ? head : head.slice(sent, head.used() - sent).used(head.used() - sent);
+
+            proactor.send(this::sendHandler, socket, chunk, NO_FLAGS, config.timeout());
+        }
+
+        private void sendHandler(Result<SizeT> result, Proactor proactor) {
             result.fold(failure -> handleFailure(failure, proactor), size -> {
+                handleSent((int) size.value(), proactor);
+                return Unit.unit();
+            });
+        }
+
+        private void handleSent(int size, Proactor proactor) {
+            active = true;
+            sent += size;
+
+            if (sent < pending.peekFirst().used()) {
+                sendHead(proactor);
+                return;
+            }
+
+            sent = 0;
+            proactor.releaseBuffer(pending.pollFirst());
+
+            if (!pending.isEmpty()) {
+                sendHead(proactor);
+            } else if (closed) {
+                closeSocket(proactor);
+                return;
+            }
+
+            if (receiveStopped) {
+                startReceive(proactor);
+            }
+        }
+
+        private void startReadWriteLoop(Proactor proactor) {
+            buffer = OffHeapSlice.fixedSize(config.bufferSize());
+            readChunk(proactor);
+        }
+
+        private void readChunk(Proactor proactor) {
+            if (useSendRecv) {
+                proactor.recv(this::readHandler, socket, buffer, NO_FLAGS, config.timeout());
+            } else {
+                proactor.read(this::readHandler, socket, buffer, config.timeout());
+            }
+        }
+
+        private void writeChunk(Proactor proactor) {
+            if (useSendRecv) {
+                proactor.send(this::writeHandler, socket, buffer, NO_FLAGS, config.timeout());
+            } else {
                 proactor.write(this::writeHandler, socket, buffer, config.timeout());
+            }
+        }
+
+        private void readHandler(Result<SizeT> result, Proactor proactor) {
+            result.fold(failure -> handleFailure(failure, proactor), size -> {
+                writeChunk(proactor);
                 return Unit.unit();
             });
         }
 
         private void writeHandler(Result<SizeT> result, Proactor proactor) {
             result.fold(failure -> handleFailure(failure, proactor), size -> {
-                proactor.read(this::readHandler, socket, buffer, config.timeout());
+                readChunk(proactor);
                 return Unit.unit();
             });
         }
@@ -82,12 +289,40 @@ public sealed interface EchoProtocol<T extends InetAddress> extends ConnectionPr
                 LOG.info("I/O error: {}", failure);
             }
 
-            proactor.close(this::logClosing, socket);
+            closed = true;
+            pending.forEach(proactor::releaseBuffer);
+            pending.clear();
+            Option.option(buffer).onPresent(OffHeapSlice::close);
+            closeSocket(proactor);
 
             return Unit.unit();
         }
 
-        private void logClosing(Result<Unit> unused) {
+        // In-flight multishot receive holds reference to the socket, so it must be cancelled before socket is closed
+        private void closeSocket(Proactor proactor) {
+            closed = true;
+
+            if (timerId != Proactor.NO_OPERATION) {
+                proactor.cancel((__, ___) -> {}, timerId);
+                timerId = Proactor.NO_OPERATION;
+            }
+
+            if (receiveId == Proactor.NO_OPERATION) {
+                proactor.close(__ -> handleClosed(proactor), socket);
+                return;
+            }
+
+            proactor.cancel((__, ___) -> proactor.close(unused -> handleClosed(proactor), socket), receiveId);
+            receiveId = Proactor.NO_OPERATION;
+        }
+
+        // Socket is closed, so shared group is no longer referenced by the receive request
+        private void handleClosed(Proactor proactor) {
+            if (group != null) {
+                groups.release(proactor);
+                group = null;
+            }
+
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Socket {} closed", socket);
             }
@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.net.protocols;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
+import org.pragmatica.lang.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Buffer groups shared by connections served by the same {@link Proactor}. Group is created by the first connection and disposed once
+ * protocol is closed and all connections which use the group are closed.
+ * <p>
+ * Each group is accessed only from the thread of the {@link Proactor} which owns the group.
+ */
+final class SharedBufferGroups {
+    private final Map<Proactor, SharedGroup> groups = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final int count;
+    private volatile boolean closed;
+
+    SharedBufferGroups(int bufferSize, int count) {
+        this.bufferSize = bufferSize;
+        this.count = count;
+    }
+
+    /**
+     * Obtain group for the connection served by provided {@link Proactor}. Connections accepted while group is being created wait for the
+     * outcome. Connection which successfully obtained group must {@link #release(Proactor)} it once closed.
+     */
+    void acquire(Proactor proactor, Consumer<Result<BufferGroup>> consumer) {
+        // Connections accepted after close don't create new groups, so they would not remain undisposed
+        if (closed) {
+            consumer.accept(SystemError.ESHUTDOWN.result());
+            return;
+        }
+
+        groups.computeIfAbsent(proactor, key -> {
+            var group = new SharedGroup();
+            key.bufferGroup(group::resolve, bufferSize, count);
+            return group;
+        }).await(consumer);
+    }
+
+    void release(Proactor proactor) {
+        var group = groups.get(proactor);
+
+        if (group != null) {
+            group.connections--;
+            disposeIfUnused(proactor, group);
+        }
+    }
+
+    /**
+     * Dispose group owned by provided {@link Proactor}. If group is still used by connections, it is disposed once last of them is closed.
+     */
+    void close(Proactor proactor) {
+        closed = true;
+
+        var group = groups.get(proactor);
+
+        if (group != null) {
+            disposeIfUnused(proactor, group);
+        }
+    }
+
+    private void disposeIfUnused(Proactor proactor, SharedGroup group) {
+        if (!closed || group.connections > 0 || group.group == null) {
+            return;
+        }
+
+        groups.remove(proactor);
+        group.group.onSuccess(bufferGroup -> proactor.disposeBufferGroup((__, ___) -> {}, bufferGroup));
+    }
+
+    private final class SharedGroup {
+        private final List<Consumer<Result<BufferGroup>>> waiters = new ArrayList<>();
+        private Result<BufferGroup> group;
+        private int connections;
+
+        void await(Consumer<Result<BufferGroup>> consumer) {
+            if (group == null) {
+                waiters.add(consumer);
+            } else {
+                deliver(consumer);
+            }
+        }
+
+        void resolve(Result<BufferGroup> result, Proactor proactor) {
+            group = result;
+            waiters.forEach(this::deliver);
+            waiters.clear();
+
+            disposeIfUnused(proactor, this);
+        }
+
+        private void deliver(Consumer<Result<BufferGroup>> consumer) {
+            group.onSuccessDo(() -> connections++);
+            consumer.accept(group);
+        }
+    }
+}
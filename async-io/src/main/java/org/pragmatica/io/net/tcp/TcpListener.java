@@ -24,6 +24,7 @@ import org.pragmatica.io.async.net.InetAddress;
 import org.pragmatica.io.async.net.ListenContext;
 import org.pragmatica.io.async.net.SocketType;
 import org.pragmatica.io.net.Listener;
+import org.pragmatica.lang.Cause;
 import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Promise;
 import org.pragmatica.lang.Result;
@@ -33,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 import static org.pragmatica.io.async.util.DaemonThreadFactory.shutdownThreadFactory;
 import static org.pragmatica.io.net.ConnectionProtocolContext.connectionProtocolContext;
@@ -47,6 +49,10 @@ public class TcpListener<T extends InetAddress> implements Listener<T> {
     private final Promise<Unit> shutdown = Promise.promise();
     private final Promise<Unit> serve = Promise.promise();
     private final AtomicReference<ListenContext<T>> serverContext = new AtomicReference<>();
+    private final AtomicReference<Acceptor> acceptor = new AtomicReference<>();
+    private volatile boolean stopping = false;
+
+    private record Acceptor(Proactor proactor, long operationId) {}
 
     private TcpListener(ListenConfig<T> config) {
         this.config = config;
@@ -80,19 +86,39 @@ public class TcpListener<T extends InetAddress> implements Listener<T> {
     }
 
     /**
-     * Initiate server shutdown.
+     * Initiate server shutdown. Pending accept operation is cancelled and listening socket is closed once accept is terminated.
      *
      * @return Promise which will be resolved when shutdown will be finished.
      */
     @Override
     public Promise<Unit> shutdown() {
-        if (serverContext.get() != null) {
-            shutdown.async((promise, proactor) -> proactor.close(promise::resolve, serverContext.get().socket(), Option.empty()));
+        if (serverContext.get() == null || stopping) {
+            return shutdown;
         }
 
+        stopping = true;
+        cancelAccept();
+
         return shutdown;
     }
 
+    // Invoked from both sides, shutdown and start of the accept, so cancellation is requested regardless of the order of these events.
+    private void cancelAccept() {
+        var current = acceptor.get();
+
+        if (current != null) {
+            current.proactor().cancelLater(current.operationId());
+        }
+    }
+
+    private void closeListener(ListenContext<T> context, Proactor proactor, TaskExecutor executor) {
+        executor.replicate(proactor1 -> config.acceptProtocol().close(proactor1));
+        proactor.close(result -> {
+            shutdown.resolve(result);
+            serve.resolve(result);
+        }, context.socket(), Option.empty());
+    }
+
     private void doListen(Result<ListenContext<T>> result) {
         result.onFailure(serve::failure)
               .onFailure(shutdown::failure)
@@ -106,23 +132,63 @@ public class TcpListener<T extends InetAddress> implements Listener<T> {
             return;
         }
 
-        serve.async((promise, proactor, executor) -> repeatAccept(proactor, context, executor));
+        serve.async((promise, proactor, executor) -> startAccept(proactor, context, executor));
     }
 
-    private void repeatAccept(Proactor proactor, ListenContext<T> context, TaskExecutor executor) {
-        proactor.accept((result, proactor1) -> processAccept(context, result, proactor1, executor), context.socket(),
-                        config.acceptorFlags(), context.address().address());
+    // Multishot accept is used when supported by kernel, otherwise accept is resubmitted after each accepted connection.
+    private void startAccept(Proactor proactor, ListenContext<T> context, TaskExecutor executor) {
+        var multishot = proactor.supportsMultishotAccept();
+        BiConsumer<Result<ConnectionContext<T>>, Proactor> handler =
+            (result, proactor1) -> processAccept(context, result, proactor1, executor, multishot);
+
+        var operationId = multishot
+                          ? proactor.acceptMultishot(handler, context.socket(), config.acceptorFlags(), context.address().address())
+                          : proactor.accept(handler, context.socket(), config.acceptorFlags(), context.address().address());
+
+        acceptor.set(new Acceptor(proactor, operationId));
+
+        if (stopping) {
+            cancelAccept();
+        }
     }
 
     private void processAccept(ListenContext<T> context, Result<ConnectionContext<T>> result,
-                               Proactor proactor, TaskExecutor executor) {
-        result.onFailure(failure -> LOG.warn("Accept error: {}", failure.message()))
-              .onFailure(serve::failure)
-              .onSuccess(connectionContext -> handleSuccessfulAccept(context, proactor, executor, connectionContext));
+                               Proactor proactor, TaskExecutor executor, boolean multishot) {
+        result.onFailure(failure -> handleAcceptTermination(context, failure, proactor, executor))
+              .onSuccess(connectionContext -> handleSuccessfulAccept(context, executor, connectionContext));
+
+        if (!multishot) {
+            result.onSuccessDo(() -> continueAccept(context, proactor, executor));
+        }
+    }
+
+    private void continueAccept(ListenContext<T> context, Proactor proactor, TaskExecutor executor) {
+        if (stopping) {
+            acceptor.set(null);
+            closeListener(context, proactor, executor);
+            return;
+        }
+
+        startAccept(proactor, context, executor);
+    }
+
+    private void handleAcceptTermination(ListenContext<T> context, Cause failure, Proactor proactor, TaskExecutor executor) {
+        if (stopping) {
+            acceptor.set(null);
+            closeListener(context, proactor, executor);
+            return;
+        }
+
+        if (failure == SystemError.EAGAIN) {
+            startAccept(proactor, context, executor);
+            return;
+        }
+
+        LOG.warn("Accept error: {}", failure.message());
+        serve.failure(failure);
     }
 
     private void handleSuccessfulAccept(ListenContext<T> context,
-                                        Proactor proactor,
                                         TaskExecutor executor,
                                         ConnectionContext<T> connectionContext) {
 
@@ -133,6 +199,5 @@ public class TcpListener<T extends InetAddress> implements Listener<T> {
         var connectionProtocolContext = connectionProtocolContext(context, connectionContext);
 
         executor.submit(proactor1 -> config.acceptProtocol().accept(connectionProtocolContext, proactor1));
-        repeatAccept(proactor, context, executor);
     }
 }
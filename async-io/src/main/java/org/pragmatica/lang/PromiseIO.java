@@ -17,6 +17,8 @@
 
 package org.pragmatica.lang;
 
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
 import org.pragmatica.io.async.Timeout;
 import org.pragmatica.io.async.common.OffsetT;
 import org.pragmatica.io.async.common.SizeT;
@@ -27,17 +29,23 @@ import org.pragmatica.io.async.file.stat.StatMask;
 import org.pragmatica.io.async.net.*;
 import org.pragmatica.io.async.net.InetAddress.Inet4Address;
 import org.pragmatica.io.async.net.InetAddress.Inet6Address;
+import org.pragmatica.io.async.uring.UringApi;
+import org.pragmatica.io.async.util.MappedRegion;
 import org.pragmatica.io.async.util.OffHeapSlice;
 import org.pragmatica.io.async.util.allocator.FixedBuffer;
 
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Set;
+import java.util.function.ToLongBiFunction;
 
 import static org.pragmatica.lang.Option.empty;
 
 /**
  * "Promisified" Proactor I/O API.
+ * <p>
+ * Cancellation of the returned {@link Promise} (see {@link Promise#cancel()}) cancels underlying in-flight I/O operation as well, so resources
+ * associated with the operation are released without waiting for operation completion or timeout.
  */
 //TODO: finish docs
 public interface PromiseIO {
@@ -47,7 +55,7 @@ public interface PromiseIO {
      * @return a {@link Promise} instance, which is resolved once operations is finished.
      */
     static Promise<Unit> nop() {
-        return Promise.promise((promise, proactor) -> proactor.nop(promise::resolve));
+        return cancellable((promise, proactor) -> proactor.nop(promise::resolve));
     }
 
     /**
@@ -56,7 +64,7 @@ public interface PromiseIO {
      * @return a {@link Promise} instance, which is resolved once operations is finished.
      */
     static Promise<Duration> delay(Timeout timeout) {
-        return Promise.promise((promise, proactor) -> proactor.delay(promise::resolve, timeout));
+        return cancellable((promise, proactor) -> proactor.delay(promise::resolve, timeout));
     }
 
     /**
@@ -68,7 +76,7 @@ public interface PromiseIO {
      * @return a {@link Promise} instance, which is resolved once operations is finished.
      */
     static Promise<SizeT> splice(SpliceDescriptor descriptor, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.splice(promise::resolve, descriptor, timeout));
+        return cancellable((promise, proactor) -> proactor.splice(promise::resolve, descriptor, timeout));
     }
 
     /**
@@ -82,6 +90,36 @@ public interface PromiseIO {
         return splice(descriptor, empty());
     }
 
+    /**
+     * Transfer region of the file into socket without copying data into user space (see {@link Proactor#transfer} for more details).
+     *
+     * @param file   Source file descriptor.
+     * @param offset Offset of the region in the source file.
+     * @param length Length of the region.
+     * @param socket Destination socket.
+     *
+     * @return a {@link Promise} instance, which is resolved with number of transferred bytes once operation is finished.
+     */
+    static Promise<SizeT> transfer(FileDescriptor file, OffsetT offset, SizeT length, FileDescriptor socket) {
+        return Promise.promise((promise, proactor) -> proactor.transfer(promise::resolve, file, offset, length, socket));
+    }
+
+    /**
+     * Same as {@link #transfer(FileDescriptor, OffsetT, SizeT, FileDescriptor)}, but destination is a file and data are written at specified
+     * offset.
+     *
+     * @param file         Source file descriptor.
+     * @param offset       Offset of the region in the source file.
+     * @param length       Length of the region.
+     * @param target       Destination file descriptor.
+     * @param targetOffset Offset in the destination file.
+     *
+     * @return a {@link Promise} instance, which is resolved with number of transferred bytes once operation is finished.
+     */
+    static Promise<SizeT> transfer(FileDescriptor file, OffsetT offset, SizeT length, FileDescriptor target, OffsetT targetOffset) {
+        return Promise.promise((promise, proactor) -> proactor.transfer(promise::resolve, file, offset, length, target, targetOffset));
+    }
+
     /**
      * Read data from specified file descriptor into provided buffer. The number of bytes to read is defined by buffer size. Upon successful
      * completion, {@link OffHeapSlice#used()} value is set to actual number of bytes read. Number of read bytes also used to resolve returned
@@ -97,7 +135,7 @@ public interface PromiseIO {
      *     description if operation failed.
      */
     static Promise<SizeT> read(FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.read(promise::resolve, fd, buffer, offset, timeout));
+        return cancellable((promise, proactor) -> proactor.read(promise::resolve, fd, buffer, offset, timeout));
     }
 
     /**
@@ -157,7 +195,7 @@ public interface PromiseIO {
      *     error description if operation failed.
      */
     static Promise<SizeT> write(FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.write(promise::resolve, fd, buffer, offset, timeout));
+        return cancellable((promise, proactor) -> proactor.write(promise::resolve, fd, buffer, offset, timeout));
     }
 
     /**
@@ -212,7 +250,7 @@ public interface PromiseIO {
      * @return a {@link Promise} instance, which is resolved when operation is completed.
      */
     static Promise<Unit> close(FileDescriptor fd, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.close(promise::resolve, fd, timeout));
+        return cancellable((promise, proactor) -> proactor.close(promise::resolve, fd, timeout));
     }
 
     /**
@@ -238,7 +276,7 @@ public interface PromiseIO {
      *     operation failed.
      */
     static Promise<FileDescriptor> open(Path path, Set<OpenFlags> flags, Set<FilePermission> mode, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.open(promise::resolve, path, flags, mode, timeout));
+        return cancellable((promise, proactor) -> proactor.open(promise::resolve, path, flags, mode, timeout));
     }
 
     /**
@@ -277,7 +315,7 @@ public interface PromiseIO {
     }
 
     static <T extends InetAddress> Promise<ConnectionContext<T>> accept(FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
-        return Promise.promise((promise, proactor) -> proactor.accept(promise::resolve, socket, flags, addressType));
+        return cancellable((promise, proactor) -> proactor.accept(promise::resolve, socket, flags, addressType));
     }
 
     static Promise<ConnectionContext<Inet4Address>> acceptV4(FileDescriptor socket, Set<SocketFlag> flags) {
@@ -289,7 +327,7 @@ public interface PromiseIO {
     }
 
     static <T extends InetAddress> Promise<FileDescriptor> connect(FileDescriptor socket, SocketAddress<T> address, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.connect(promise::resolve, socket, address, timeout));
+        return cancellable((promise, proactor) -> proactor.connect(promise::resolve, socket, address, timeout));
     }
 
     static <T extends InetAddress> Promise<FileDescriptor> connect(FileDescriptor socket, SocketAddress<T> address) {
@@ -297,7 +335,7 @@ public interface PromiseIO {
     }
 
     static Promise<FileStat> stat(Path path, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.stat(promise::resolve, path, flags, mask, timeout));
+        return cancellable((promise, proactor) -> proactor.stat(promise::resolve, path, flags, mask, timeout));
     }
 
     static Promise<FileStat> stat(Path path, Set<StatFlag> flags, Set<StatMask> mask) {
@@ -305,7 +343,7 @@ public interface PromiseIO {
     }
 
     static Promise<FileStat> stat(FileDescriptor fd, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.stat(promise::resolve, fd, flags, mask, timeout));
+        return cancellable((promise, proactor) -> proactor.stat(promise::resolve, fd, flags, mask, timeout));
     }
 
     static Promise<FileStat> stat(FileDescriptor fd, Set<StatFlag> flags, Set<StatMask> mask) {
@@ -313,7 +351,7 @@ public interface PromiseIO {
     }
 
     static Promise<SizeT> readVector(FileDescriptor fd, OffsetT offset, Option<Timeout> timeout, OffHeapSlice... buffers) {
-        return Promise.promise((promise, proactor) -> proactor.readVector(promise::resolve, fd, offset, timeout, buffers));
+        return cancellable((promise, proactor) -> proactor.readVector(promise::resolve, fd, offset, timeout, buffers));
     }
 
     static Promise<SizeT> readVector(FileDescriptor fd, OffsetT offset, OffHeapSlice... buffers) {
@@ -329,7 +367,7 @@ public interface PromiseIO {
     }
 
     static Promise<SizeT> writeVector(FileDescriptor fd, OffsetT offset, Option<Timeout> timeout, OffHeapSlice... buffers) {
-        return Promise.promise((promise, proactor) -> proactor.writeVector(promise::resolve, fd, offset, timeout, buffers));
+        return cancellable((promise, proactor) -> proactor.writeVector(promise::resolve, fd, offset, timeout, buffers));
     }
 
     static Promise<SizeT> writeVector(FileDescriptor fd, OffsetT offset, OffHeapSlice... buffers) {
@@ -345,7 +383,7 @@ public interface PromiseIO {
     }
 
     static Promise<SizeT> readFixed(FileDescriptor fd, FixedBuffer fixedBuffer, OffsetT offset, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.readFixed(promise::resolve, fd, fixedBuffer, offset, timeout));
+        return cancellable((promise, proactor) -> proactor.readFixed(promise::resolve, fd, fixedBuffer, offset, timeout));
     }
 
     static Promise<SizeT> readFixed(FileDescriptor fd, FixedBuffer fixedBuffer, Option<Timeout> timeout) {
@@ -361,7 +399,7 @@ public interface PromiseIO {
     }
 
     static Promise<SizeT> writeFixed(FileDescriptor fd, FixedBuffer fixedBuffer, OffsetT offset, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.writeFixed(promise::resolve, fd, fixedBuffer, offset, timeout));
+        return cancellable((promise, proactor) -> proactor.writeFixed(promise::resolve, fd, fixedBuffer, offset, timeout));
     }
 
     static Promise<SizeT> writeFixed(FileDescriptor fd, FixedBuffer fixedBuffer, Option<Timeout> timeout) {
@@ -377,7 +415,7 @@ public interface PromiseIO {
     }
 
     static Promise<Unit> fsync(FileDescriptor fd, boolean syncMetadata, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.fsync(promise::resolve, fd, syncMetadata, timeout));
+        return cancellable((promise, proactor) -> proactor.fsync(promise::resolve, fd, syncMetadata, timeout));
     }
 
     static Promise<Unit> fsync(FileDescriptor fd, boolean syncMetadata) {
@@ -385,27 +423,77 @@ public interface PromiseIO {
     }
 
     static Promise<Unit> falloc(FileDescriptor fd, Set<FileAllocFlags> flags, long offset, long len, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.falloc(promise::resolve, fd, flags, offset, len, timeout));
+        return cancellable((promise, proactor) -> proactor.falloc(promise::resolve, fd, flags, offset, len, timeout));
     }
 
     static Promise<Unit> falloc(FileDescriptor fd, Set<FileAllocFlags> flags, long offset, long len) {
         return falloc(fd, flags, offset, len, empty());
     }
 
+    static Promise<Unit> fadvise(FileDescriptor fd, long offset, int len, AccessAdvice advice, Option<Timeout> timeout) {
+        return cancellable((promise, proactor) -> proactor.fadvise(promise::resolve, fd, offset, len, advice, timeout));
+    }
+
+    static Promise<Unit> fadvise(FileDescriptor fd, AccessAdvice advice) {
+        return fadvise(fd, 0L, 0, advice, empty());
+    }
+
+    static Promise<Unit> madvise(OffHeapSlice memory, AccessAdvice advice, Option<Timeout> timeout) {
+        return cancellable((promise, proactor) -> proactor.madvise(promise::resolve, memory, advice, timeout));
+    }
+
+    static Promise<Unit> madvise(OffHeapSlice memory, AccessAdvice advice) {
+        return madvise(memory, advice, empty());
+    }
+
+    static Promise<MappedRegion> map(FileDescriptor fd, long offset, int length) {
+        return Promise.resolved(UringApi.map(fd, offset, length));
+    }
+
     static Promise<FixedBuffer> fixedBuffer(int size) {
         return Promise.promise((promise, proactor) -> promise.resolve(proactor.allocateFixedBuffer(size)));
     }
 
     static Promise<SizeT> send(FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.send(promise::resolve, fd, buffer, msgFlags, timeout));
+        return cancellable((promise, proactor) -> proactor.send(promise::resolve, fd, buffer, msgFlags, timeout));
     }
 
     default Promise<SizeT> send(FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
         return send(fd, buffer, msgFlags, empty());
     }
 
+    static <T extends InetAddress> Promise<SizeT> sendMessage(FileDescriptor fd, SocketAddress<T> destination, Set<MessageFlags> msgFlags,
+                                                              Option<Timeout> timeout, OffHeapSlice... buffers) {
+        return cancellable((promise, proactor) -> proactor.sendMessage(promise::resolve, fd, destination, msgFlags, timeout, buffers));
+    }
+
+    static <T extends InetAddress> Promise<SizeT> sendMessage(FileDescriptor fd, SocketAddress<T> destination, OffHeapSlice... buffers) {
+        return sendMessage(fd, destination, MessageFlags.none(), empty(), buffers);
+    }
+
+    static <T extends InetAddress> Promise<ReceivedMessage<T>> recvMessage(FileDescriptor fd, T addressType, Set<MessageFlags> msgFlags,
+                                                                           Option<Timeout> timeout, OffHeapSlice... buffers) {
+        return cancellable((promise, proactor) -> proactor.recvMessage(promise::resolve, fd, addressType, msgFlags, timeout, buffers));
+    }
+
+    static <T extends InetAddress> Promise<ReceivedMessage<T>> recvMessage(FileDescriptor fd, T addressType, OffHeapSlice... buffers) {
+        return recvMessage(fd, addressType, MessageFlags.none(), empty(), buffers);
+    }
+
+    /**
+     * Send data without copying. Ownership of the buffer is transferred to the Proactor, buffer is released once kernel no longer uses it.
+     * See {@link Proactor#sendZeroCopy} for more details.
+     */
+    static Promise<SizeT> sendZeroCopy(FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        return cancellable((promise, proactor) -> proactor.sendZeroCopy(promise::resolve, fd, buffer, msgFlags, timeout));
+    }
+
+    static Promise<SizeT> sendZeroCopy(FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return sendZeroCopy(fd, buffer, msgFlags, empty());
+    }
+
     default Promise<SizeT> recv(FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
-        return Promise.promise((promise, proactor) -> proactor.recv(promise::resolve, fd, buffer, msgFlags, timeout));
+        return cancellable((promise, proactor) -> proactor.recv(promise::resolve, fd, buffer, msgFlags, timeout));
     }
 
     default Promise<SizeT> recv(FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
@@ -415,4 +503,20 @@ public interface PromiseIO {
 //---------------------------------------------------------------------------------------------------------------------
 //---------------------------------------------------------------------------------------------------------------------
 
+
+    /**
+     * Create promise which is resolved by the operation submitted by provided function. If promise is cancelled before operation is finished,
+     * operation is cancelled as well.
+     */
+    private static <T> Promise<T> cancellable(ToLongBiFunction<Promise<T>, Proactor> submitter) {
+        return Promise.promise((promise, proactor) -> {
+            var operationId = submitter.applyAsLong(promise, proactor);
+
+            promise.onFailure(cause -> {
+                if (cause == SystemError.ECANCELED) {
+                    proactor.cancelLater(operationId);
+                }
+            });
+        });
+    }
 }
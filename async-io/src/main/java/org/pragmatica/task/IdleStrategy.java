@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import org.pragmatica.io.async.Timeout;
+
+import static org.pragmatica.io.async.Timeout.timeout;
+
+/**
+ * Policy which defines behavior of the {@link TaskExecutor} processing thread when there are no tasks and no completions to process.
+ * <p>
+ * Policy receives number of consecutive idle iterations and decides what to do on this iteration: spin, yield CPU to other threads or park
+ * thread in the kernel until I/O completion arrives, new task is submitted or park timeout expires. Counter of idle iterations is reset once
+ * thread executes any task.
+ */
+public interface IdleStrategy {
+    enum IdleAction {
+        SPIN,
+        YIELD,
+        PARK
+    }
+
+    /**
+     * Decide action for the idle iteration.
+     *
+     * @param idleCount Number of consecutive idle iterations, starting from 1
+     *
+     * @return Action to perform
+     */
+    IdleAction action(long idleCount);
+
+    /**
+     * Maximal time to stay parked.
+     */
+    Timeout parkTimeout();
+
+    /**
+     * Never park or yield. This strategy provides lowest latency at the cost of 100% load of each processing thread.
+     */
+    static IdleStrategy busySpin() {
+        return backoff(Long.MAX_VALUE, 0, timeout(1).seconds());
+    }
+
+    /**
+     * Spin for specified number of iterations, then yield for specified number of iterations, then park.
+     *
+     * @param spins       Number of spinning iterations
+     * @param yields      Number of yielding iterations after spinning
+     * @param parkTimeout Maximal time to stay parked
+     */
+    static IdleStrategy backoff(long spins, long yields, Timeout parkTimeout) {
+        return new Backoff(spins, yields, parkTimeout);
+    }
+
+    /**
+     * Default backoff strategy: spin for 10000 iterations, yield for 100 iterations, then park for up to 100 milliseconds.
+     */
+    static IdleStrategy backoff() {
+        return backoff(10_000, 100, timeout(100).millis());
+    }
+
+    record Backoff(long spins, long yields, Timeout parkTimeout) implements IdleStrategy {
+        @Override
+        public IdleAction action(long idleCount) {
+            if (idleCount <= spins) {
+                return IdleAction.SPIN;
+            }
+
+            return idleCount - spins <= yields ? IdleAction.YIELD : IdleAction.PARK;
+        }
+    }
+}
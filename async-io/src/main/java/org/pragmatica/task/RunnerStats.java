@@ -0,0 +1,29 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+/**
+ * Execution statistics of the single processing thread of {@link TaskExecutor}.
+ *
+ * @param executed      Number of tasks executed by the thread, including stolen ones
+ * @param stolen        Number of tasks taken from other threads
+ * @param stealAttempts Number of attempts to take tasks from other threads
+ * @param queued        Approximate number of tasks waiting in the local queue at the moment of the call
+ */
+public record RunnerStats(long executed, long stolen, long stealAttempts, int queued) {
+}
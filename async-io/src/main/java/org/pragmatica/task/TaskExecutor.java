@@ -40,7 +40,8 @@ public interface TaskExecutor {
     TaskExecutor submit(Consumer<Proactor> tasks);
 
     /**
-     * Submit tasks for execution. Implementation tries to distribute submitted tasks evenly across the worker threads.
+     * Submit tasks for execution. Implementation tries to distribute submitted tasks evenly across the worker threads. Tasks are split into
+     * contiguous chunks, one per worker thread, and each chunk is published to the worker at once.
      *
      * @param tasks tasks to execute
      *
@@ -57,6 +58,31 @@ public interface TaskExecutor {
      */
     TaskExecutor replicate(Consumer<Proactor> task);
 
+    /**
+     * Register task for the allocation-free handoff between processing threads with {@link #handoff(Proactor, int)}. Registered task stays
+     * registered until executor is shut down.
+     *
+     * @param task task to register
+     *
+     * @return ID of the registered task
+     */
+    int register(Consumer<Proactor> task);
+
+    /**
+     * Pass registered task for execution to one of the processing threads. Unlike {@link #submit(Consumer)}, task ID is posted directly into the
+     * completion queue of the target thread's {@link Proactor} with single {@code MSG_RING} request, so no memory is allocated and parked
+     * thread is woken up by the kernel. If running kernel does not support {@code MSG_RING} or message can't be delivered, task is submitted as
+     * usual.
+     * <p>
+     * This method must be called from the task executed by this executor.
+     *
+     * @param source {@link Proactor} instance passed to the calling task
+     * @param taskId ID of the task obtained with {@link #register(Consumer)}
+     *
+     * @return Current instance
+     */
+    TaskExecutor handoff(Proactor source, int taskId);
+
     /**
      * Shutdown task executor. Returned promise is resolved once all internal processing is stopped and resources are released.
      *
@@ -71,6 +97,13 @@ public interface TaskExecutor {
      */
     int parallelism();
 
+    /**
+     * Get execution statistics of each processing thread.
+     *
+     * @return List of statistics, one entry per processing thread
+     */
+    List<RunnerStats> stats();
+
     /**
      * Create instance of task executor with default number of threads.
      *
@@ -88,6 +121,17 @@ public interface TaskExecutor {
      * @return Created instance.
      */
     static TaskExecutor taskExecutor(int threadCount) {
-        return new TaskExecutorImpl(Math.max(threadCount, 2));
+        return taskExecutor(TaskExecutorConfig.taskExecutorConfig().withThreadCount(threadCount).build());
+    }
+
+    /**
+     * Create instance of task executor with specified configuration.
+     *
+     * @param config executor configuration, see {@link TaskExecutorConfig#taskExecutorConfig()}
+     *
+     * @return Created instance.
+     */
+    static TaskExecutor taskExecutor(TaskExecutorConfig config) {
+        return new TaskExecutorImpl(config);
     }
 }
@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.uring.SubmissionQueuePolling;
+import org.pragmatica.lang.Option;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.pragmatica.lang.Option.option;
+
+/**
+ * Task executor configuration. Options are independent, so any combination of them is valid, for example, pinned threads in work-stealing mode
+ * or submission queue polling with parking idle threads.
+ */
+public interface TaskExecutorConfig {
+    /**
+     * Number of processing threads.
+     */
+    int threadCount();
+
+    /**
+     * Configuration of the kernel-side submission queue polling thread for each processing thread, if polling is enabled.
+     */
+    Option<IntFunction<SubmissionQueuePolling>> polling();
+
+    /**
+     * Whether idle threads take tasks from queues of busy ones.
+     */
+    boolean workStealing();
+
+    /**
+     * Behavior of idle threads.
+     */
+    IdleStrategy idleStrategy();
+
+    /**
+     * Whether each processing thread is pinned to its own CPU.
+     */
+    boolean pinThreads();
+
+    /**
+     * Create configuration builder with default settings: {@link TaskExecutor#DEFAULT_THREAD_COUNT} threads, no submission queue polling,
+     * no work stealing, spinning idle threads, threads are not pinned.
+     *
+     * @return Configuration builder
+     */
+    static TaskExecutorConfigBuilder taskExecutorConfig() {
+        return new TaskExecutorConfigBuilder();
+    }
+
+    class TaskExecutorConfigBuilder {
+        private int threadCount = TaskExecutor.DEFAULT_THREAD_COUNT;
+        private Option<IntFunction<SubmissionQueuePolling>> polling = Option.empty();
+        private boolean workStealing = false;
+        private IdleStrategy idleStrategy = IdleStrategy.busySpin();
+        private boolean pinThreads = false;
+
+        private TaskExecutorConfigBuilder() {
+        }
+
+        /**
+         * Configure number of processing threads.
+         *
+         * @param threadCount requested number of threads. If requested number of threads is less than 2 then number of threads is set to 2.
+         *
+         * @return Builder instance for fluent call chaining
+         */
+        public TaskExecutorConfigBuilder withThreadCount(int threadCount) {
+            this.threadCount = Math.max(threadCount, 2);
+            return this;
+        }
+
+        /**
+         * Configure kernel-side submission queue polling thread for each processing thread. This mode eliminates system calls during
+         * submission at the cost of one (mostly busy) kernel thread per processing thread.
+         *
+         * @param idleTimeMs time after which idle polling thread goes to sleep
+         * @param cpus       CPUs to which polling threads should be pinned. Polling thread of the N-th processing thread is pinned to
+         *                   {@code cpus[N % cpus.length]}. If no CPUs are specified, polling threads are not pinned.
+         *
+         * @return Builder instance for fluent call chaining
+         */
+        public TaskExecutorConfigBuilder withSqPolling(int idleTimeMs, int... cpus) {
+            IntFunction<SubmissionQueuePolling> pollingForThread = cpus.length == 0
+                                                                   ? __ -> SubmissionQueuePolling.sqPolling(idleTimeMs)
+                                                                   : index -> SubmissionQueuePolling.sqPolling(cpus[index % cpus.length], idleTimeMs);
+
+            this.polling = option(pollingForThread);
+            return this;
+        }
+
+        /**
+         * Enable work-stealing mode. Each thread has bounded local queue of submitted tasks. Idle threads try to take tasks from queues of busy
+         * ones before backing off, so slow task does not delay tasks submitted after it to the same thread. Tasks submitted via
+         * {@link TaskExecutor#replicate(Consumer)} are never stolen, as well as tasks which did not fit into the local queue.
+         *
+         * @return Builder instance for fluent call chaining
+         */
+        public TaskExecutorConfigBuilder withWorkStealing() {
+            this.workStealing = true;
+            return this;
+        }
+
+        /**
+         * Configure behavior of idle threads. By default, threads spin while waiting for tasks, which provides the lowest latency at the cost
+         * of fully loaded CPU cores. With {@link IdleStrategy#backoff()} idle threads gradually back off and eventually park until new task is
+         * submitted or pending I/O completes.
+         *
+         * @param idleStrategy behavior of idle threads
+         *
+         * @return Builder instance for fluent call chaining
+         */
+        public TaskExecutorConfigBuilder withIdleStrategy(IdleStrategy idleStrategy) {
+            this.idleStrategy = idleStrategy;
+            return this;
+        }
+
+        /**
+         * Pin each processing thread to its own CPU. Threads are spread evenly across NUMA nodes. Each node gets its own arena of fixed
+         * buffers, placed in the node memory and registered only with {@link Proactor} instances of the threads running at this node. Kernel
+         * worker threads of each {@link Proactor} are also restricted to the CPUs of the same node. Only CPUs on which the calling thread is
+         * allowed to run are used. If set of allowed CPUs can't be retrieved, threads are not pinned.
+         *
+         * @return Builder instance for fluent call chaining
+         */
+        public TaskExecutorConfigBuilder withPinnedThreads() {
+            this.pinThreads = true;
+            return this;
+        }
+
+        /**
+         * Build configuration instance.
+         *
+         * @return Built instance
+         */
+        public TaskExecutorConfig build() {
+            record taskExecutorConfig(int threadCount, Option<IntFunction<SubmissionQueuePolling>> polling, boolean workStealing,
+                                      IdleStrategy idleStrategy, boolean pinThreads) implements TaskExecutorConfig {}
+
+            return new taskExecutorConfig(threadCount, polling, workStealing, idleStrategy, pinThreads);
+        }
+    }
+}
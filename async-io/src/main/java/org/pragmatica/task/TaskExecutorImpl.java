@@ -18,15 +18,27 @@
 package org.pragmatica.task;
 
 import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.uring.AsyncOperation;
+import org.pragmatica.io.async.uring.SubmissionQueuePolling;
+import org.pragmatica.io.async.uring.UringApi;
 import org.pragmatica.io.async.util.ActionableThreshold;
+import org.pragmatica.io.async.util.NumaNode;
 import org.pragmatica.io.async.util.allocator.ChunkedAllocator;
+import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Promise;
+import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.stream.IntStream.range;
@@ -40,6 +52,8 @@ import static org.pragmatica.lang.Unit.unitResult;
 final class TaskExecutorImpl implements TaskExecutor {
     public static final int FIXED_POOL_SIZE = 32 * _1MiB;
 
+    public static final int LOCAL_QUEUE_SIZE = 1024;
+
     private static final boolean USE_SHARED_WQ = false; //With `true` performance is slightly worse
 
     private final int numThreads;
@@ -48,18 +62,112 @@ final class TaskExecutorImpl implements TaskExecutor {
     private final List<TaskRunner> runners = new ArrayList<>();
     private final List<Proactor> proactors = new ArrayList<>();
     private final Promise<Unit> shutdownPromise = Promise.promise();
-    private final ChunkedAllocator allocator;
-
-    private int next;
+    private final List<ChunkedAllocator> allocators = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final boolean messaging;
+    private volatile RegisteredTask[] registered = new RegisteredTask[0];
 
-    TaskExecutorImpl(int numThreads) {
-        this.numThreads = numThreads;
+    TaskExecutorImpl(TaskExecutorConfig config) {
+        this.numThreads = config.threadCount();
         this.executor = newFixedThreadPool(numThreads, threadFactory("TaskExecutor #%d"));
-        this.threshold = threshold(numThreads, () -> shutdownPromise.resolve(unitResult()));
-        this.allocator = allocator(FIXED_POOL_SIZE);
+        // Each runner shuts down its own proactor before exit, so memory used by proactors is released once all runners are stopped
+        this.threshold = threshold(numThreads, () -> {
+            allocators.forEach(ChunkedAllocator::close);
+            shutdownPromise.resolve(unitResult());
+        });
 
         Runtime.getRuntime().addShutdownHook(shutdownThreadFactory().newThread(this::shutdown));
 
+        var placement = config.pinThreads() ? placement(numThreads) : List.<Placement>of();
+
+        if (!placement.isEmpty()) {
+            createPinnedProactors(placement, config.polling());
+        } else {
+            allocators.add(allocator(FIXED_POOL_SIZE));
+
+            config.polling()
+                  .onPresent(this::createPollingProactors)
+                  .onEmpty(this::createProactors);
+        }
+
+        var idleStrategy = config.idleStrategy();
+
+        proactors.forEach(proactor -> runners.add(config.workStealing()
+                                                  ? TaskRunner.stealingRunner(threshold, proactor, LOCAL_QUEUE_SIZE, idleStrategy)
+                                                  : new TaskRunner(threshold, proactor, idleStrategy)));
+        runners.forEach(runner -> runner.peers(runners));
+
+        for (int i = 0; i < placement.size(); i++) {
+            var cpus = new BitSet();
+            cpus.set(placement.get(i).cpu());
+
+            runners.get(i).affinity(cpus);
+        }
+
+        messaging = proactors.get(0).supports(AsyncOperation.MSG_RING);
+
+        if (messaging) {
+            runners.forEach(runner -> runner.acceptHandoffs(taskId -> registered[taskId].task()));
+        }
+
+        runners.forEach(runner -> runner.start(executor));
+    }
+
+    // Threads are spread evenly across NUMA nodes, within the node each thread gets its own CPU (as long as there are enough CPUs)
+    private static List<Placement> placement(int numThreads) {
+        return NumaNode.nodes()
+                       .fold(__ -> List.of(), nodes -> range(0, numThreads)
+                           .mapToObj(index -> {
+                               var node = nodes.get(index % nodes.size());
+                               return new Placement(node, nthCpu(node.cpus(), index / nodes.size()));
+                           })
+                           .toList());
+    }
+
+    private static int nthCpu(BitSet cpus, int index) {
+        var cpu = cpus.nextSetBit(0);
+
+        for (int i = index % cpus.cardinality(); i > 0; i--) {
+            cpu = cpus.nextSetBit(cpu + 1);
+        }
+
+        return cpu;
+    }
+
+    // Each node gets its own arena, registered only with the rings of the threads running at this node
+    private void createPinnedProactors(List<Placement> placement, Option<IntFunction<SubmissionQueuePolling>> polling) {
+        var nodeAllocators = new LinkedHashMap<Integer, ChunkedAllocator>();
+
+        for (int i = 0; i < placement.size(); i++) {
+            var place = placement.get(i);
+            var index = i;
+            var nodeAllocator = nodeAllocators.computeIfAbsent(place.node().id(), TaskExecutorImpl::nodeAllocator);
+            var proactor = polling.fold(() -> Proactor.proactor(nodeAllocator),
+                                        pollingForThread -> Proactor.proactor(nodeAllocator, pollingForThread.apply(index)));
+
+            // Kernels before 5.14 don't support io-wq affinity, workers may run at any CPU in this case
+            proactor.workerAffinity(place.node().cpus());
+            proactors.add(proactor);
+        }
+
+        allocators.addAll(nodeAllocators.values());
+    }
+
+    private static ChunkedAllocator nodeAllocator(int node) {
+        return UringApi.allocate(FIXED_POOL_SIZE, ChunkedAllocator.CHUNK_SIZE, node)
+                       .fold(__ -> allocator(FIXED_POOL_SIZE), ChunkedAllocator::allocator);
+    }
+
+    private void createPollingProactors(IntFunction<SubmissionQueuePolling> pollingForThread) {
+        var allocator = allocators.get(0);
+
+        range(0, numThreads)
+            .forEach(index -> proactors.add(Proactor.proactor(allocator, pollingForThread.apply(index))));
+    }
+
+    private void createProactors() {
+        var allocator = allocators.get(0);
+
         if (USE_SHARED_WQ) {
             var rootProactor = Proactor.proactor(allocator);
 
@@ -71,9 +179,6 @@ final class TaskExecutorImpl implements TaskExecutor {
             range(0, numThreads)
                 .forEach(__ -> proactors.add(Proactor.proactor(allocator)));
         }
-
-        proactors.forEach(proactor -> runners.add(new TaskRunner(threshold, proactor)));
-        runners.forEach(runner -> runner.start(executor));
     }
 
     @Override
@@ -84,12 +189,26 @@ final class TaskExecutorImpl implements TaskExecutor {
     }
 
     private void pushTask(Consumer<Proactor> task) {
-        runners.get(next++ % numThreads).push(task);
+        runners.get(Math.floorMod(next.getAndIncrement(), numThreads)).submit(task);
     }
 
+    // Tasks are split into contiguous chunks, one per thread, each chunk is published at once
     @Override
     public TaskExecutor submit(List<Consumer<Proactor>> tasks) {
-        tasks.forEach(this::pushTask);
+        var size = tasks.size();
+        var chunks = Math.min(size, numThreads);
+
+        if (chunks == 0) {
+            return this;
+        }
+
+        var first = next.getAndAdd(chunks);
+
+        for (int i = 0; i < chunks; i++) {
+            var chunk = tasks.subList((int) ((long) i * size / chunks), (int) ((long) (i + 1) * size / chunks));
+
+            runners.get(Math.floorMod(first + i, numThreads)).submit(chunk);
+        }
 
         return this;
     }
@@ -100,19 +219,54 @@ final class TaskExecutorImpl implements TaskExecutor {
         return this;
     }
 
+    @Override
+    public synchronized int register(Consumer<Proactor> task) {
+        // Completions which resubmit task if handoff to particular runner fails are created once, so handoff itself does not allocate
+        var fallbacks = runners.stream()
+                               .<BiConsumer<Result<Unit>, Proactor>>map(runner -> (result, __) -> result.onFailureDo(() -> runner.submit(task)))
+                               .toList();
+        var taskId = registered.length;
+        var updated = Arrays.copyOf(registered, taskId + 1);
+
+        updated[taskId] = new RegisteredTask(task, fallbacks);
+        registered = updated;
+
+        return taskId;
+    }
+
+    @Override
+    public TaskExecutor handoff(Proactor source, int taskId) {
+        var index = Math.floorMod(next.getAndIncrement(), numThreads);
+        var task = registered[taskId];
+
+        if (messaging) {
+            runners.get(index).handoff(source, taskId, task.fallbacks().get(index));
+        } else {
+            runners.get(index).submit(task.task());
+        }
+
+        return this;
+    }
+
     @Override
     public Promise<Unit> shutdown() {
         runners.forEach(TaskRunner::shutdown);
-
         executor.shutdown();
-        proactors.forEach(Proactor::shutdown);
-        allocator.close();
 
-        return shutdownPromise.onResultDo(allocator::close);
+        return shutdownPromise;
     }
 
     @Override
     public int parallelism() {
         return numThreads;
     }
+
+    @Override
+    public List<RunnerStats> stats() {
+        return runners.stream().map(TaskRunner::stats).toList();
+    }
+
+    private record Placement(NumaNode node, int cpu) {}
+
+    private record RegisteredTask(Consumer<Proactor> task, List<BiConsumer<Result<Unit>, Proactor>> fallbacks) {}
 }
@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Bounded lock-free queue which supports multiple producers and multiple consumers. Implementation follows the well known design by Dmitry Vyukov:
+ * each cell of the ring has a sequence number which tells whether cell is ready for writing or for reading at the given position.
+ * <p>
+ * Used as a local task queue of the {@link TaskRunner} in work-stealing mode: tasks are put by submitting threads, taken by the owning runner and,
+ * when owner is busy, by the idle runners.
+ */
+final class TaskQueue<T> {
+    private final int mask;
+    private final Object[] elements;
+    private final long[] sequences;
+
+    private volatile long tail = 0;
+    private volatile long head = 0;
+
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static {
+        try {
+            final var lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(TaskQueue.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(TaskQueue.class, "head", long.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    TaskQueue(int capacity) {
+        var size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new long[size];
+
+        // Final field guarantees visibility of the initial values to all threads
+        for (int i = 0; i < size; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Put element into queue.
+     *
+     * @return {@code true} if element is added and {@code false} if queue is full
+     */
+    boolean offer(T element) {
+        var position = tail;
+
+        while (true) {
+            var index = (int) (position & mask);
+            var difference = (long) SEQUENCE.getAcquire(sequences, index) - position;
+
+            if (difference == 0) {
+                if (TAIL.compareAndSet(this, position, position + 1)) {
+                    elements[index] = element;
+                    SEQUENCE.setRelease(sequences, index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+
+            position = tail;
+        }
+    }
+
+    /**
+     * Take element from queue.
+     *
+     * @return element or {@code null} if queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        var position = head;
+
+        while (true) {
+            var index = (int) (position & mask);
+            var difference = (long) SEQUENCE.getAcquire(sequences, index) - (position + 1);
+
+            if (difference == 0) {
+                if (HEAD.compareAndSet(this, position, position + 1)) {
+                    var element = (T) elements[index];
+
+                    elements[index] = null;
+                    SEQUENCE.setRelease(sequences, index, position + mask + 1);
+                    return element;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+
+            position = head;
+        }
+    }
+
+    /**
+     * Approximate number of elements in the queue.
+     */
+    int size() {
+        return (int) Math.max(0, tail - head);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+}
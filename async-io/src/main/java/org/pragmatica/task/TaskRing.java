@@ -0,0 +1,191 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring which supports multiple producers and single consumer. All memory is allocated once, at creation, so putting and taking
+ * elements does not allocate.
+ * <p>
+ * Producers claim positions by advancing the tail with CAS, then put elements into claimed slots and publish them by storing position into the
+ * per-slot sequence number. Consumer takes elements in the order of positions, as long as the slot at the current position is published.
+ * Several elements can be claimed at once with {@link #offer(List)}, which requires single CAS regardless of the number of elements.
+ */
+final class TaskRing<T> {
+    private final int mask;
+    private final Object[] elements;
+    private final long[] sequences;
+
+    private volatile long tail = 0;
+    private volatile long head = 0;
+    // Last value of the head seen by producers. Producers race on this field, but race is benign: head only grows and each stored value is
+    // obtained from head, so cached value never exceeds actual head. Stale value only causes extra read of the head and never allows
+    // overwriting of the unconsumed slot. Opaque access guarantees that 64-bit value is never torn.
+    private long headCache = 0;
+
+    private static final VarHandle TAIL;
+    private static final VarHandle HEAD;
+    private static final VarHandle HEAD_CACHE;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static {
+        try {
+            final var lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(TaskRing.class, "tail", long.class);
+            HEAD = lookup.findVarHandle(TaskRing.class, "head", long.class);
+            HEAD_CACHE = lookup.findVarHandle(TaskRing.class, "headCache", long.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    TaskRing(int capacity) {
+        var size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new long[size];
+
+        // No slot is published initially
+        Arrays.fill(sequences, -1L);
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Put element into ring.
+     *
+     * @return {@code true} if element is added and {@code false} if ring is full
+     */
+    boolean offer(T element) {
+        var position = claim(1);
+
+        if (position < 0) {
+            return false;
+        }
+
+        publish(position, element);
+        return true;
+    }
+
+    /**
+     * Put all elements into ring. Either all elements are added or none of them.
+     *
+     * @return {@code true} if elements are added and {@code false} if ring has not enough space
+     */
+    boolean offer(List<? extends T> batch) {
+        var count = batch.size();
+
+        if (count == 0) {
+            return true;
+        }
+
+        var position = claim(count);
+
+        if (position < 0) {
+            return false;
+        }
+
+        for (int i = 0; i < count; i++) {
+            publish(position + i, batch.get(i));
+        }
+
+        return true;
+    }
+
+    /**
+     * Take up to {@code limit} published elements and pass them to the consumer. Must be called only from the consumer thread.
+     *
+     * @return number of taken elements
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<T> consumer, int limit) {
+        var position = head;
+        var count = 0;
+
+        while (count < limit) {
+            var index = (int) (position & mask);
+
+            if ((long) SEQUENCE.getAcquire(sequences, index) != position) {
+                break;
+            }
+
+            var element = (T) elements[index];
+
+            elements[index] = null;
+            position++;
+            count++;
+
+            // Release slot before running the consumer, so producers are not blocked by long-running element
+            HEAD.setRelease(this, position);
+            consumer.accept(element);
+        }
+
+        return count;
+    }
+
+    /**
+     * Approximate number of elements in the ring.
+     */
+    int size() {
+        return (int) Math.max(0, tail - head);
+    }
+
+    boolean isEmpty() {
+        return tail == head;
+    }
+
+    private long claim(int count) {
+        if (count > elements.length) {
+            return -1;
+        }
+
+        while (true) {
+            var position = tail;
+            var wrapPoint = position + count - elements.length;
+
+            if (wrapPoint > (long) HEAD_CACHE.getOpaque(this)) {
+                var currentHead = head;
+
+                HEAD_CACHE.setOpaque(this, currentHead);
+
+                if (wrapPoint > currentHead) {
+                    return -1;
+                }
+            }
+
+            if (TAIL.compareAndSet(this, position, position + count)) {
+                return position;
+            }
+        }
+    }
+
+    private void publish(long position, T element) {
+        var index = (int) (position & mask);
+
+        elements[index] = element;
+        SEQUENCE.setRelease(sequences, index, position);
+    }
+}
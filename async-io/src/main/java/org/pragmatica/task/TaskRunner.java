@@ -18,41 +18,141 @@
 package org.pragmatica.task;
 
 import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.uring.UringApi;
 import org.pragmatica.io.async.util.ActionableThreshold;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.BitSet;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 /**
  * Task execution pipeline.
+ * <p>
+ * Tasks pushed with {@link #push(Consumer)} are pinned to this runner and executed only by it. Pinned tasks are put into preallocated ring
+ * (see {@link TaskRing}), so pushing does not allocate as long as runner keeps up with the incoming tasks. If ring is full, tasks are put into
+ * unbounded overflow stack instead. In work-stealing mode runner also has bounded local queue, which is filled via {@link #submit(Consumer)}. When runner has nothing to do, it takes tasks from the local queues of other runners.
+ * <p>
+ * If there is still nothing to do, runner behaves according to the configured {@link IdleStrategy}. Parked runner waits in the kernel for
+ * completion of any of the pending operations. To make sure that runner wakes up once new task arrives, before parking runner submits read from
+ * the event notification descriptor, which is signalled by the threads which push tasks into parked runner. Parking time is also limited by the
+ * timeout request, so requests submitted from other threads (e.g. cancellations) are eventually picked up.
+ * <p>
+ * Registered tasks can be also passed to the runner with {@link #handoff(Proactor, int, BiConsumer)}. In this case task ID is posted directly to
+ * the completion queue of the runner's {@link Proactor}, so handoff does not allocate and wakes up parked runner without additional signalling.
  */
 final class TaskRunner {
     private static final Logger LOG = LoggerFactory.getLogger(TaskRunner.class);
+    private static final int STEAL_BATCH = 32;
+    private static final int INBOX_SIZE = 4096;
 
     private final ActionableThreshold threshold;
     private final Proactor proactor;
+    private final TaskQueue<Consumer<Proactor>> queue;
+    private final TaskRing<Consumer<Proactor>> inbox = new TaskRing<>(INBOX_SIZE);
+    private final Consumer<Consumer<Proactor>> taskRunner = this::runTask;
+    private final IdleStrategy idleStrategy;
+    private List<TaskRunner> peers = List.of();
+    private int victim;
+    private long idleCount;
+    private int receiver = -1;
+    private BitSet affinity;
+
+    // Parking support
+    private FileDescriptor wakeFd;
+    private OffHeapSlice wakeBuffer;
+    private boolean wakeArmed;
+    private long wakeReadId = Proactor.NO_OPERATION;
+    private boolean wakeBroken;
+    private boolean timerArmed;
 
     private volatile Task head;
     private volatile boolean shutdown = false;
+    private volatile boolean parked = false;
+    private volatile long executed;
+    private volatile long stolen;
+    private volatile long stealAttempts;
 
     private static final VarHandle HEAD;
+    private static final VarHandle PARKED;
 
     static {
         try {
             final var lookup = MethodHandles.lookup();
             HEAD = lookup.findVarHandle(TaskRunner.class, "head", Task.class);
+            PARKED = lookup.findVarHandle(TaskRunner.class, "parked", boolean.class);
         } catch (final ReflectiveOperationException e) {
             throw new ExceptionInInitializerError(e);
         }
     }
 
     TaskRunner(ActionableThreshold threshold, Proactor proactor) {
+        this(threshold, proactor, IdleStrategy.busySpin());
+    }
+
+    TaskRunner(ActionableThreshold threshold, Proactor proactor, IdleStrategy idleStrategy) {
+        this(threshold, proactor, null, idleStrategy);
+    }
+
+    private TaskRunner(ActionableThreshold threshold, Proactor proactor, TaskQueue<Consumer<Proactor>> queue, IdleStrategy idleStrategy) {
         this.threshold = threshold;
         this.proactor = proactor;
+        this.queue = queue;
+        this.idleStrategy = idleStrategy;
+    }
+
+    static TaskRunner stealingRunner(ActionableThreshold threshold, Proactor proactor, int queueCapacity, IdleStrategy idleStrategy) {
+        return new TaskRunner(threshold, proactor, new TaskQueue<>(queueCapacity), idleStrategy);
+    }
+
+    /**
+     * Configure runners which can be used as a source of tasks in work-stealing mode. Must be called before {@link #start(ExecutorService)}.
+     */
+    void peers(List<TaskRunner> peers) {
+        this.peers = peers;
+    }
+
+    /**
+     * Enable receiving of registered tasks via {@link #handoff(Proactor, int, BiConsumer)}. Must be called before {@link #start(ExecutorService)}.
+     *
+     * @param registry Lookup of registered tasks by ID
+     */
+    void acceptHandoffs(IntFunction<Consumer<Proactor>> registry) {
+        receiver = proactor.registerReceiver((__, taskId) -> {
+            idleCount = 0;
+            executed++;
+            runTask(registry.apply(taskId));
+        });
+    }
+
+    /**
+     * Pass registered task to this runner. Must be called from the thread which owns {@code source}.
+     *
+     * @param source     Proactor of the calling thread
+     * @param taskId     ID of the registered task
+     * @param completion Callback invoked once task ID is delivered to this runner (or delivery failed)
+     */
+    void handoff(Proactor source, int taskId, BiConsumer<Result<Unit>, Proactor> completion) {
+        source.message(completion, proactor, receiver, taskId);
+    }
+
+    /**
+     * Pin runner thread to specified CPUs. Must be called before {@link #start(ExecutorService)}.
+     */
+    void affinity(BitSet cpus) {
+        this.affinity = cpus;
     }
 
     void start(ExecutorService executor) {
@@ -60,6 +160,25 @@ final class TaskRunner {
     }
 
     void push(final Consumer<Proactor> task) {
+        if (!inbox.offer(task)) {
+            pushOverflow(task);
+        }
+
+        wakeUp();
+    }
+
+    /**
+     * Push several tasks at once. Tasks are published with single CAS, unless they don't fit into the ring.
+     */
+    void push(final List<Consumer<Proactor>> tasks) {
+        if (!inbox.offer(tasks)) {
+            tasks.forEach(this::pushOverflow);
+        }
+
+        wakeUp();
+    }
+
+    private void pushOverflow(final Consumer<Proactor> task) {
         final var newHead = new Task(task);
         Task oldHead;
 
@@ -69,11 +188,44 @@ final class TaskRunner {
         } while (!HEAD.compareAndSet(this, oldHead, newHead));
     }
 
+    /**
+     * Submit task which can be executed by any runner. If local queue is full or runner operates without local queue, task is pinned to this
+     * runner.
+     */
+    void submit(final Consumer<Proactor> task) {
+        if (queue == null || !queue.offer(task)) {
+            push(task);
+            return;
+        }
+
+        wakeUp();
+    }
+
+    /**
+     * Submit several tasks which can be executed by any runner.
+     */
+    void submit(final List<Consumer<Proactor>> tasks) {
+        if (queue == null) {
+            push(tasks);
+        } else {
+            tasks.forEach(this::submit);
+        }
+    }
+
+    RunnerStats stats() {
+        return new RunnerStats(executed, stolen, stealAttempts, queue == null ? 0 : queue.size());
+    }
+
     private void run() {
+        if (affinity != null) {
+            UringApi.threadAffinity(affinity)
+                    .onFailure(failure -> LOG.warn("Unable to set thread affinity to {}: {}", affinity, failure));
+        }
+
         while (!shutdown) {
             var head = swapHead();
 
-            if (head == null) {
+            if (head == null && inbox.isEmpty() && isQueueEmpty()) {
                 var idleRunCount = 0;
 
                 while (proactor.processCompletions() > 0) {
@@ -88,30 +240,202 @@ final class TaskRunner {
                     Thread.onSpinWait();
                 }
 
-                if (idleRunCount == 0) {    // There were no tasks at all
-                    Thread.onSpinWait();
+                if (idleRunCount > 0) {
+                    idleCount = 0;
+                } else if (!steal()) {    // There were no tasks at all
+                    idle();
                 }
             } else {
+                idleCount = 0;
                 proactor.processCompletions();
 
+                long count = inbox.drain(taskRunner, inbox.capacity());
+
                 while (head != null) {
-                    try {
-                        head.task.accept(proactor);
-                    } catch (Throwable e) {
-                        LOG.error("Unexpected task exception", e);
-                    }
+                    runTask(head.task);
+                    count++;
 
                     head = head.next;
                 }
 
+                executed += count + drainQueue();
+
                 proactor.processSubmissions();
             }
         }
+
+        releaseWakeup();
+
+        // Proactor is used only by this thread, so it is shut down here, once no more calls to it are possible
+        proactor.shutdown();
         threshold.registerEvent();
     }
 
+    private void idle() {
+        switch (idleStrategy.action(++idleCount)) {
+            case SPIN -> {
+                proactor.processSubmissions();  // Pick up requests submitted from other threads, e.g. cancellations
+                Thread.onSpinWait();
+            }
+            case YIELD -> {
+                proactor.processSubmissions();
+                Thread.yield();
+            }
+            case PARK -> park();
+        }
+    }
+
+    private void park() {
+        if (!armWakeup()) {
+            proactor.processSubmissions();
+            Thread.yield();
+            return;
+        }
+
+        if (!timerArmed) {
+            timerArmed = true;
+            proactor.delay((__, ___) -> timerArmed = false, idleStrategy.parkTimeout());
+        }
+
+        parked = true;
+
+        // Task might be pushed before flag is set, in this case pushing thread does not signal wakeup
+        if (head == null && inbox.isEmpty() && isQueueEmpty() && !shutdown) {
+            proactor.waitForCompletions();
+        }
+
+        parked = false;
+    }
+
+    private void wakeUp() {
+        if (parked && PARKED.compareAndSet(this, true, false)) {
+            UringApi.signal(wakeFd);
+        }
+    }
+
+    // Pending read from event notification descriptor completes once descriptor is signalled, waking up the runner
+    private boolean armWakeup() {
+        if (wakeArmed) {
+            return true;
+        }
+
+        if (wakeBroken) {
+            return false;
+        }
+
+        if (wakeFd == null) {
+            UringApi.eventFd()
+                    .onSuccess(fd -> wakeFd = fd)
+                    .onFailure(cause -> LOG.warn("Unable to create wakeup descriptor, parking is disabled: {}", cause));
+
+            if (wakeFd == null) {
+                wakeBroken = true;
+                return false;
+            }
+
+            wakeBuffer = OffHeapSlice.fixedSize(Long.BYTES);
+        }
+
+        wakeArmed = true;
+        wakeReadId = proactor.read((result, __) -> {
+            wakeArmed = false;
+            result.onFailureDo(() -> wakeBroken = !shutdown);
+        }, wakeFd, wakeBuffer, OffsetT.NONE, Option.empty());
+
+        return true;
+    }
+
+    // Pending read must be completed before buffer can be released. Descriptor is signalled and read is cancelled, either of these
+    // eventually completes the read, so waiting for completions does not block forever.
+    private void releaseWakeup() {
+        if (wakeFd == null) {
+            return;
+        }
+
+        if (wakeArmed) {
+            UringApi.signal(wakeFd);
+            proactor.cancel((__, ___) -> {}, wakeReadId);
+        }
+
+        while (wakeArmed) {
+            proactor.waitForCompletions();
+            proactor.processCompletions();
+        }
+
+        UringApi.close(wakeFd);
+        wakeBuffer.close();
+    }
+
+    private boolean isQueueEmpty() {
+        return queue == null || queue.isEmpty();
+    }
+
+    // Number of tasks taken at once is limited by the queue capacity, so completions are processed regularly even under constant load
+    private long drainQueue() {
+        if (queue == null) {
+            return 0;
+        }
+
+        var count = 0L;
+        var limit = queue.capacity();
+        Consumer<Proactor> task;
+
+        while (count < limit && (task = queue.poll()) != null) {
+            runTask(task);
+            count++;
+        }
+
+        return count;
+    }
+
+    // Victims are checked in round-robin order, up to half of the victim queue (but no more than STEAL_BATCH) is taken at once
+    private boolean steal() {
+        if (queue == null || peers.size() < 2) {
+            return false;
+        }
+
+        stealAttempts++;
+
+        for (int i = 0; i < peers.size(); i++) {
+            victim = (victim + 1) % peers.size();
+
+            var peer = peers.get(victim);
+
+            if (peer == this || peer.queue == null) {
+                continue;
+            }
+
+            var limit = Math.min(STEAL_BATCH, (peer.queue.size() + 1) / 2);
+            var count = 0L;
+            Consumer<Proactor> task;
+
+            while (count < limit && (task = peer.queue.poll()) != null) {
+                runTask(task);
+                count++;
+            }
+
+            if (count > 0) {
+                stolen += count;
+                executed += count;
+                proactor.processSubmissions();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void runTask(Consumer<Proactor> task) {
+        try {
+            task.accept(proactor);
+        } catch (Throwable e) {
+            LOG.error("Unexpected task exception", e);
+        }
+    }
+
     public void shutdown() {
         this.shutdown = true;
+        wakeUp();
     }
 
     private static class Task {
@@ -124,6 +448,10 @@ final class TaskRunner {
     }
 
     private Task swapHead() {
+        if (this.head == null) {
+            return null;
+        }
+
         Task head;
 
         do {
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.codec;
+
+import org.junit.jupiter.api.Test;
+import org.pragmatica.io.async.util.OffHeapSlice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LineSplitterTest {
+    @Test
+    void byteScannerFindsFirstOccurrence() {
+        var input = "0123456789abcdef\n0123456789\n".getBytes(StandardCharsets.US_ASCII);
+
+        try (var slice = OffHeapSlice.fromBytes(input)) {
+            for (int from = 0; from < input.length; from++) {
+                assertEquals(expectedIndex(input, from), ByteScanner.indexOf(slice.address(), from, input.length, (byte) '\n'));
+            }
+
+            assertEquals(-1, ByteScanner.indexOf(slice.address(), 0, 16, (byte) '\n'));
+        }
+    }
+
+    @Test
+    void linesCrossingChunkBoundaryAreAssembled() {
+        var text = "first line\r\n\nсекунда строка\nthird line which is longer than chunk\r\nlast";
+        var input = text.getBytes(StandardCharsets.UTF_8);
+        var expected = List.of("first line", "", "секунда строка", "third line which is longer than chunk", "last");
+
+        for (int chunkSize = 1; chunkSize <= input.length; chunkSize++) {
+            var lines = new ArrayList<String>();
+            var splitter = new StringSplitter(lines);
+
+            for (int offset = 0; offset < input.length; offset += chunkSize) {
+                var length = Math.min(chunkSize, input.length - offset);
+                var chunk = new byte[length];
+
+                System.arraycopy(input, offset, chunk, 0, length);
+
+                try (var slice = OffHeapSlice.fromBytes(chunk)) {
+                    splitter.accept(slice);
+                }
+            }
+            splitter.finish();
+
+            assertEquals(expected, lines, "Chunk size " + chunkSize);
+        }
+    }
+
+    private static int expectedIndex(byte[] input, int from) {
+        for (int i = from; i < input.length; i++) {
+            if (input[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class StringSplitter extends LineSplitter {
+        private final List<String> lines;
+        private final UTF8Decoder decoder = new UTF8Decoder();
+
+        private StringSplitter(List<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        protected void line(OffHeapSlice chunk, int offset, int length) {
+            var bytes = chunk.slice(offset, length).used(length).export();
+            line(bytes, bytes.length);
+        }
+
+        @Override
+        protected void line(byte[] bytes, int length) {
+            var builder = new StringBuilder();
+            decoder.decodeWithRecovery(bytes, 0, length, builder);
+            lines.add(builder.toString());
+        }
+    }
+}
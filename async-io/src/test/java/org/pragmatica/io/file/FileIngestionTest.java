@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.lang.Option;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileIngestionTest {
+    @Test
+    void linesAreNotLostOrSplitAtPartBoundaries() {
+        var files = List.of(Path.of("src/test/resources/utf8/japanese-wiki.test.data"),
+                            Path.of("src/test/resources/utf8/chinese-wiki.test.data"));
+
+        FileIngestion.lines(files, SizeT.sizeT(10_000), SizeT.sizeT(4096), 4, Option.empty(),
+                            () -> new long[1], (counter, line) -> counter[0]++,
+                            (counter1, counter2) -> new long[]{counter1[0] + counter2[0]})
+                     .join()
+                     .onSuccess(counter -> assertEquals(461 + 515, counter[0]))
+                     .onFailureDo(Assertions::fail);
+    }
+
+    @Test
+    void lastLineIsProcessedWhenFileSizeIsMultipleOfBufferSize() throws IOException {
+        // 1024 lines, 16 bytes each, last line has no trailing LF, so file size is exactly 4 buffers
+        var content = new StringBuilder();
+
+        for (int i = 0; i < 1024; i++) {
+            content.append("line-%010d".formatted(i)).append(i < 1023 ? '\n' : 'x');
+        }
+
+        var file = Path.of("target", "ingestion-aligned.data");
+        java.nio.file.Files.writeString(file, content);
+
+        assertEquals(4 * 4096, java.nio.file.Files.size(file));
+
+        FileIngestion.lines(List.of(file), SizeT.sizeT(10_000), SizeT.sizeT(4096), 4, Option.empty(),
+                            () -> new long[1], (counter, line) -> counter[0]++,
+                            (counter1, counter2) -> new long[]{counter1[0] + counter2[0]})
+                     .join()
+                     .onSuccess(counter -> assertEquals(1024, counter[0]))
+                     .onFailureDo(Assertions::fail);
+
+        java.nio.file.Files.delete(file);
+    }
+
+    @Test
+    void filesAreSelectedByGlob() {
+        FileIngestion.lines(Path.of("src/test/resources/utf8"), "japanese-*.test.data",
+                            () -> new long[1], (counter, line) -> counter[0]++,
+                            (counter1, counter2) -> new long[]{counter1[0] + counter2[0]})
+                     .join()
+                     .onSuccess(counter -> assertEquals(461, counter[0]))
+                     .onFailureDo(Assertions::fail);
+    }
+}
@@ -20,20 +20,31 @@ package org.pragmatica.io.file;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.OpenFlags;
 import org.pragmatica.io.async.util.OffHeapSlice;
 import org.pragmatica.io.codec.UTF8Decoder;
+import org.pragmatica.io.file.Files.FileCopyMode;
+import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Promise;
 import org.pragmatica.lang.Unit;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.pragmatica.io.async.util.Units._1MiB;
 import static org.pragmatica.io.file.Files.blocks;
+import static org.pragmatica.io.file.Files.copy;
 import static org.pragmatica.io.file.Files.lines;
+import static org.pragmatica.io.file.Files.mapped;
 import static org.pragmatica.lang.Promise.all;
 
 class FilesTest {
@@ -53,6 +64,43 @@ class FilesTest {
             .onFailureDo(Assertions::fail);
     }
 
+    @Test
+    void readAheadDeliversChunksInOrder() {
+        var fileName = Path.of("src/test/resources/utf8/chinese-wiki.test.data");
+        var sequential = new ByteArrayOutputStream();
+        var readAhead = new ByteArrayOutputStream();
+
+        all(blocks(fileName, SizeT.sizeT(4096), 1, OpenFlags.readOnly(), Option.empty(), buffer -> sequential.writeBytes(buffer.export())),
+            blocks(fileName, SizeT.sizeT(4096), 8, OpenFlags.readOnly(), Option.empty(), buffer -> readAhead.writeBytes(buffer.export())))
+            .map(Unit::unit)
+            .join()
+            .onFailureDo(Assertions::fail);
+
+        assertArrayEquals(sequential.toByteArray(), readAhead.toByteArray());
+    }
+
+    @Test
+    void fileAlignedToBlockSizeIsReadCompletely() throws IOException {
+        var fileName = Path.of("target", "aligned-blocks.data");
+        var content = new byte[4 * 4096];
+        new Random().nextBytes(content);
+        java.nio.file.Files.write(fileName, content);
+
+        var sequential = new ByteArrayOutputStream();
+        var readAhead = new ByteArrayOutputStream();
+
+        all(blocks(fileName, SizeT.sizeT(4096), 1, OpenFlags.readOnly(), Option.empty(), buffer -> sequential.writeBytes(buffer.export())),
+            blocks(fileName, SizeT.sizeT(4096), 8, OpenFlags.readOnly(), Option.empty(), buffer -> readAhead.writeBytes(buffer.export())))
+            .map(Unit::unit)
+            .join()
+            .onFailureDo(Assertions::fail);
+
+        assertArrayEquals(content, sequential.toByteArray());
+        assertArrayEquals(content, readAhead.toByteArray());
+
+        java.nio.file.Files.delete(fileName);
+    }
+
     @Test
     void readUTF8File() {
         var fileName = Path.of("src/test/resources/utf8/chinese-wiki.test.data");
@@ -85,6 +133,91 @@ class FilesTest {
         assertEquals(515, lineCount2.get());
     }
 
+    @Test
+    void mappedFileContentMatchesFile() throws IOException {
+        var fileName = Path.of("src/test/resources/utf8/chinese-wiki.test.data");
+        var content = java.nio.file.Files.readAllBytes(fileName);
+        var mapped = new AtomicReference<byte[]>(null);
+
+        mapped(fileName, region -> mapped.set(region.export()))
+            .join()
+            .onFailureDo(Assertions::fail);
+
+        assertArrayEquals(content, mapped.get());
+    }
+
+    @Test
+    void emptyFileCanBeMapped() throws IOException {
+        var fileName = Path.of("target", "empty-mapped.data");
+        var size = new AtomicLong(-1);
+
+        java.nio.file.Files.write(fileName, new byte[0]);
+
+        mapped(fileName, region -> size.set(region.size()))
+            .join()
+            .onFailureDo(Assertions::fail);
+
+        assertEquals(0, size.get());
+
+        // Failure of the consumer is reported via promise
+        mapped(fileName, region -> {throw new IllegalStateException("test");})
+            .join()
+            .onSuccessDo(Assertions::fail);
+
+        java.nio.file.Files.delete(fileName);
+    }
+
+    @Test
+    void fileCanBeCopiedAndAppended() throws IOException {
+        var source = Path.of("src/test/resources/utf8/chinese-wiki.test.data");
+        var destination = Path.of("target", "copy-test.data");
+        var sourceContent = java.nio.file.Files.readAllBytes(source);
+
+        java.nio.file.Files.deleteIfExists(destination);
+
+        copy(source, destination, EnumSet.noneOf(FileCopyMode.class))
+            .join()
+            .onSuccess(size -> assertEquals(sourceContent.length, size.value()))
+            .onFailureDo(Assertions::fail);
+
+        // Without OVERWRITE existing file is not replaced
+        copy(source, destination, EnumSet.noneOf(FileCopyMode.class))
+            .join()
+            .onSuccessDo(Assertions::fail);
+
+        copy(source, destination, EnumSet.of(FileCopyMode.APPEND))
+            .join()
+            .onFailureDo(Assertions::fail);
+
+        var copied = java.nio.file.Files.readAllBytes(destination);
+
+        assertEquals(sourceContent.length * 2, copied.length);
+        assertArrayEquals(sourceContent, Arrays.copyOfRange(copied, sourceContent.length, copied.length));
+
+        java.nio.file.Files.delete(destination);
+    }
+
+    @Test
+    void largeFileIsCopiedByMultipleChunks() throws IOException {
+        var source = Path.of("target", "copy-large-source.data");
+        var destination = Path.of("target", "copy-large-test.data");
+        // Several full chunks plus partial last one, so pipelined reads and writes at different offsets are exercised
+        var sourceContent = new byte[5 * _1MiB + 12345];
+
+        new Random(42).nextBytes(sourceContent);
+        java.nio.file.Files.write(source, sourceContent);
+
+        copy(source, destination, EnumSet.of(FileCopyMode.OVERWRITE))
+            .join()
+            .onSuccess(size -> assertEquals(sourceContent.length, size.value()))
+            .onFailureDo(Assertions::fail);
+
+        assertArrayEquals(sourceContent, java.nio.file.Files.readAllBytes(destination));
+
+        java.nio.file.Files.delete(source);
+        java.nio.file.Files.delete(destination);
+    }
+
     private String decode(OffHeapSlice buffer1) {
         var builder = new StringBuilder(_1MiB);
         var decoder = new UTF8Decoder();
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.file;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Functions;
+import org.pragmatica.lang.Promise;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SegmentWriterTest {
+    private static final int THREADS = 4;
+    private static final int RECORDS_PER_THREAD = 1000;
+    private static final int RECORD_SIZE = 16;
+
+    @Test
+    void concurrentAppendsAreWrittenAndMadeDurable() throws IOException, InterruptedException {
+        var path = Path.of("target", "segment-test.log");
+        java.nio.file.Files.deleteIfExists(path);
+
+        var writer = SegmentWriter.open(path, SizeT.sizeT(1024 * 1024))
+                                  .join()
+                                  .fold(SegmentWriterTest::throwIfError, Functions::id);
+        var promises = new ConcurrentLinkedQueue<Promise<OffsetT>>();
+        var threads = new ArrayList<Thread>();
+
+        for (int i = 0; i < THREADS; i++) {
+            var thread = new Thread(() -> {
+                for (int j = 0; j < RECORDS_PER_THREAD; j++) {
+                    promises.add(writer.append(record(j)));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        var offsets = new HashSet<Long>();
+
+        for (var promise : promises) {
+            promise.join()
+                   .onSuccess(offset -> offsets.add(offset.value()))
+                   .onFailureDo(Assertions::fail);
+        }
+
+        writer.close().join().onFailureDo(Assertions::fail);
+
+        assertEquals(THREADS * RECORDS_PER_THREAD, offsets.size());
+        assertEquals((long) THREADS * RECORDS_PER_THREAD * RECORD_SIZE, java.nio.file.Files.size(path));
+
+        java.nio.file.Files.delete(path);
+    }
+
+    @Test
+    void recordsBeyondCapacityAreRejected() throws IOException {
+        var path = Path.of("target", "segment-capacity-test.log");
+        java.nio.file.Files.deleteIfExists(path);
+
+        var writer = SegmentWriter.open(path, SizeT.sizeT(RECORD_SIZE * 2))
+                                  .join()
+                                  .fold(SegmentWriterTest::throwIfError, Functions::id);
+        var results = List.of(writer.append(record(1)), writer.append(record(2)), writer.append(record(3)))
+                          .stream()
+                          .map(Promise::join)
+                          .toList();
+
+        results.get(0).onFailureDo(Assertions::fail);
+        results.get(1).onFailureDo(Assertions::fail);
+        results.get(2).onSuccessDo(Assertions::fail)
+                      .onFailure(cause -> assertEquals(SystemError.EFBIG, cause));
+
+        writer.close().join().onFailureDo(Assertions::fail);
+        java.nio.file.Files.delete(path);
+    }
+
+    private static <T> T throwIfError(Cause cause) {
+        return fail(cause.message());
+    }
+
+    private static byte[] record(int index) {
+        return String.format("record-%09d", index).getBytes(StandardCharsets.US_ASCII);
+    }
+}
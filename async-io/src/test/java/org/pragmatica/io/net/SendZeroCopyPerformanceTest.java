@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.net;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.net.*;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Functions;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.pragmatica.io.async.util.Units._1MiB;
+import static org.pragmatica.io.async.util.allocator.ChunkedAllocator.allocator;
+
+/**
+ * Compares plain (copying) and zero-copy send of large payloads over loopback connection. Each invocation sends one payload from fixed buffer
+ * and waits for the send completion, while receiving side continuously drains the connection.
+ */
+@Tag("Benchmark")
+public class SendZeroCopyPerformanceTest {
+    private static final Set<MessageFlags> NO_FLAGS = EnumSet.noneOf(MessageFlags.class);
+    private static final int PORT = 23456;
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        var options = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(5)
+            .threads(1)
+            .measurementIterations(6)
+            .measurementTime(TimeValue.seconds(5))
+            .forks(1)
+            .jvmArgsAppend("--enable-preview",
+                           "--add-opens", "java.base/jdk.internal.misc=ALL-UNNAMED",
+                           "--add-exports", "java.base/jdk.internal.misc=ALL-UNNAMED")
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(options).run();
+    }
+
+    @State(Scope.Thread)
+    public static class Connection {
+        @Param({"65536", "262144", "1048576"})
+        public int payloadSize;
+
+        @Param({"false", "true"})
+        public boolean zeroCopy;
+
+        private Proactor proactor;
+        private FileDescriptor listener;
+        private FileDescriptor client;
+        private FileDescriptor server;
+        private OffHeapSlice receiveBuffer;
+        private boolean sent;
+
+        @Setup
+        public void setup() {
+            proactor = Proactor.proactor(allocator(64 * _1MiB));
+            receiveBuffer = OffHeapSlice.fixedSize(_1MiB);
+
+            var address = InetAddress.inet4Address(new byte[]{127, 0, 0, 1})
+                                     .map(loopback -> SocketAddress.socketAddress(InetPort.inetPort(PORT), loopback))
+                                     .fold(SendZeroCopyPerformanceTest::fail, Functions::id);
+
+            var listened = new AtomicReference<Result<ListenContext<InetAddress.Inet4Address>>>();
+            proactor.listen(listened::set, address, SocketType.STREAM, SocketFlag.none(), SizeT.sizeT(16), SocketOption.reuseAll());
+            listener = waitFor(listened).socket();
+
+            var created = new AtomicReference<Result<FileDescriptor>>();
+            proactor.socket(created::set, AddressFamily.INET, SocketType.STREAM, SocketFlag.none(), SocketOption.reuseAll());
+            client = waitFor(created);
+
+            var connected = new AtomicReference<Result<FileDescriptor>>();
+            var accepted = new AtomicReference<Result<ConnectionContext<InetAddress.Inet4Address>>>();
+            proactor.connect(connected::set, client, address, Option.empty());
+            proactor.acceptV4(accepted::set, listener, SocketFlag.none());
+            server = waitFor(accepted).socket();
+            waitFor(connected);
+
+            receive(proactor);
+        }
+
+        @TearDown
+        public void tearDown() {
+            for (var fd : new FileDescriptor[]{client, server, listener}) {
+                var closed = new AtomicReference<Result<Unit>>();
+                proactor.close(closed::set, fd, Option.empty());
+                waitFor(closed);
+            }
+
+            proactor.shutdown();
+            receiveBuffer.close();
+        }
+
+        private void receive(Proactor proactor) {
+            proactor.recv((result, proactor1) -> result.onSuccessDo(() -> receive(proactor1)), server, receiveBuffer, NO_FLAGS, Option.empty());
+        }
+
+        private <T> T waitFor(AtomicReference<Result<T>> reference) {
+            while (reference.get() == null) {
+                proactor.processIO();
+            }
+
+            return reference.get().fold(SendZeroCopyPerformanceTest::fail, Functions::id);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean send(Connection connection) {
+        var proactor = connection.proactor;
+        var buffer = proactor.allocateFixedBuffer(connection.payloadSize)
+                             .fold(SendZeroCopyPerformanceTest::fail, Functions::id)
+                             .used(connection.payloadSize);
+
+        connection.sent = false;
+
+        if (connection.zeroCopy) {
+            proactor.sendZeroCopy((result, __) -> connection.sent = true, connection.client, buffer, NO_FLAGS);
+        } else {
+            proactor.send((result, __) -> {
+                connection.sent = true;
+                buffer.dispose();
+            }, connection.client, buffer, NO_FLAGS);
+        }
+
+        while (!connection.sent) {
+            proactor.processIO();
+        }
+
+        return connection.sent;
+    }
+
+    private static <T> T fail(Cause cause) {
+        throw new IllegalStateException(cause.message());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.uring.CompletionHandler;
+import org.pragmatica.io.async.uring.UringApi;
+import org.pragmatica.io.async.uring.UringSetupFlags;
+import org.pragmatica.io.async.uring.exchange.ExchangeEntryFactory;
+import org.pragmatica.io.async.uring.utils.ObjectHeap;
+import org.pragmatica.lang.Functions;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Compares batched and one by one harvesting of completions. Each invocation submits a full queue of NOP requests and processes all
+ * completions, so the score is the number of completions per second.
+ */
+@Tag("Benchmark")
+public class CompletionHarvestPerformanceTest {
+    private static final int QUEUE_SIZE = 4096;
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        var options = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(5)
+            .threads(1)
+            .measurementIterations(6)
+            .measurementTime(TimeValue.seconds(5))
+            .forks(1)
+            .jvmArgsAppend("--enable-preview",
+                           "--add-opens", "java.base/jdk.internal.misc=ALL-UNNAMED",
+                           "--add-exports", "java.base/jdk.internal.misc=ALL-UNNAMED")
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(options).run();
+    }
+
+    @State(Scope.Thread)
+    public static class Ring {
+        @Param({"true", "false"})
+        public boolean batched;
+
+        private UringApi api;
+        private ObjectHeap<CompletionHandler> registry;
+        private ExchangeEntryFactory factory;
+        private int pending;
+        private final BiConsumer<Result<Unit>, Proactor> completion = (__, ___) -> pending--;
+
+        @Setup
+        public void setup() {
+            api = UringApi.uringApi(QUEUE_SIZE, UringSetupFlags.defaultFlags())
+                          .fold(cause -> {throw new IllegalStateException(cause.message());}, Functions::id)
+                          .batchCompletions(batched);
+            registry = ObjectHeap.objectHeap(QUEUE_SIZE);
+            factory = new ExchangeEntryFactory(registry);
+        }
+
+        @TearDown
+        public void tearDown() {
+            factory.clear();
+            api.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUEUE_SIZE)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int completions(Ring ring) {
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            ring.pending++;
+            ring.api.submit(ring.factory.forNop(ring.completion));
+        }
+
+        ring.api.processSubmissions();
+
+        var total = 0;
+
+        while (ring.pending > 0) {
+            total += ring.api.processCompletions(ring.registry, null);
+        }
+
+        return total;
+    }
+}
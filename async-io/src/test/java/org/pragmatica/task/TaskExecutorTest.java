@@ -20,9 +20,13 @@ package org.pragmatica.task;
 import org.junit.jupiter.api.Test;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.pragmatica.io.async.Timeout.timeout;
+import static org.pragmatica.task.TaskExecutorConfig.taskExecutorConfig;
 
 class TaskExecutorTest {
     @Test
@@ -43,4 +47,88 @@ class TaskExecutorTest {
 
         executor.shutdown();
     }
-}
\ No newline at end of file
+
+    @Test
+    void idleThreadStealsTasksFromBusyOne() throws InterruptedException {
+        var executor = TaskExecutor.taskExecutor(taskExecutorConfig().withThreadCount(2).withWorkStealing().build());
+        var taskCount = 100;
+        var latch = new CountDownLatch(taskCount);
+        var release = new CountDownLatch(1);
+
+        // Every second task lands on the same thread, which is blocked by the first task until all others are done
+        executor.submit(__ -> await(release));
+
+        for (int i = 0; i < taskCount; i++) {
+            executor.submit(__ -> latch.countDown());
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        release.countDown();
+
+        var stolen = executor.stats().stream().mapToLong(RunnerStats::stolen).sum();
+
+        assertTrue(stolen > 0);
+
+        executor.shutdown();
+    }
+
+    @Test
+    void parkedThreadsWakeUpOnSubmission() throws InterruptedException {
+        var executor = TaskExecutor.taskExecutor(taskExecutorConfig().withThreadCount(2)
+                                                                     .withIdleStrategy(IdleStrategy.backoff(10, 10, timeout(10).seconds()))
+                                                                     .build());
+        var latch = new CountDownLatch(1);
+
+        // Give threads enough time to pass spinning and yielding phases
+        Thread.sleep(100);
+
+        executor.submit(__ -> latch.countDown());
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+
+        executor.shutdown();
+    }
+
+    @Test
+    void registeredTaskCanBeHandedOff() throws InterruptedException {
+        var executor = TaskExecutor.taskExecutor(taskExecutorConfig().withThreadCount(2).withIdleStrategy(IdleStrategy.backoff()).build());
+        var taskCount = 1000;
+        var latch = new CountDownLatch(taskCount);
+        var taskId = executor.register(__ -> latch.countDown());
+
+        executor.submit(proactor -> {
+            for (int i = 0; i < taskCount; i++) {
+                executor.handoff(proactor, taskId);
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        executor.shutdown();
+    }
+
+    @Test
+    void tasksAreExecutedByPinnedThreads() throws InterruptedException {
+        // Options are independent, so pinned threads may use work stealing and back off when idle
+        var executor = TaskExecutor.taskExecutor(taskExecutorConfig().withThreadCount(2)
+                                                                     .withPinnedThreads()
+                                                                     .withWorkStealing()
+                                                                     .withIdleStrategy(IdleStrategy.backoff())
+                                                                     .build());
+        var latch = new CountDownLatch(2);
+
+        executor.replicate(__ -> latch.countDown());
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
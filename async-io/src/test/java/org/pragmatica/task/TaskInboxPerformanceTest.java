@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares task inbox implementations: linked stack with CAS on the head (previous implementation of {@link TaskRunner} inbox) and preallocated
+ * {@link TaskRing}, with single and batched publishing. Three producer threads push tasks, single consumer thread takes them, so the score of the
+ * consumer is the number of transferred tasks per second.
+ */
+@Tag("Benchmark")
+public class TaskInboxPerformanceTest {
+    private static final int RING_SIZE = 4096;
+    private static final int BATCH_SIZE = 16;
+    private static final Runnable TASK = () -> {};
+    private static final List<Runnable> BATCH = Collections.nCopies(BATCH_SIZE, TASK);
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        var options = new OptionsBuilder()
+            .include(this.getClass().getName() + ".*")
+            .mode(Mode.Throughput)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(5)
+            .measurementIterations(6)
+            .measurementTime(TimeValue.seconds(5))
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(options).run();
+    }
+
+    @State(Scope.Group)
+    public static class StackInbox {
+        private final LinkedStack stack = new LinkedStack();
+    }
+
+    @State(Scope.Group)
+    public static class RingInbox {
+        private final TaskRing<Runnable> ring = new TaskRing<>(RING_SIZE);
+    }
+
+    @Benchmark
+    @Group("stack")
+    @GroupThreads(3)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void stackPush(StackInbox inbox) {
+        inbox.stack.push(TASK);
+    }
+
+    @Benchmark
+    @Group("stack")
+    @GroupThreads(1)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int stackDrain(StackInbox inbox, Blackhole blackhole) {
+        return inbox.stack.drain(blackhole::consume);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(3)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean ringPush(RingInbox inbox) {
+        return inbox.ring.offer(TASK);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int ringDrain(RingInbox inbox, Blackhole blackhole) {
+        return inbox.ring.drain(blackhole::consume, RING_SIZE);
+    }
+
+    @Benchmark
+    @Group("ringBatch")
+    @GroupThreads(3)
+    @OperationsPerInvocation(BATCH_SIZE)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean ringBatchPush(RingInbox inbox) {
+        return inbox.ring.offer(BATCH);
+    }
+
+    @Benchmark
+    @Group("ringBatch")
+    @GroupThreads(1)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int ringBatchDrain(RingInbox inbox, Blackhole blackhole) {
+        return inbox.ring.drain(blackhole::consume, RING_SIZE);
+    }
+
+    // Copy of the former TaskRunner inbox: CAS-based stack of nodes, reversed by consumer to restore submission order
+    private static final class LinkedStack {
+        private volatile Node head;
+
+        private static final VarHandle HEAD;
+
+        static {
+            try {
+                HEAD = MethodHandles.lookup().findVarHandle(LinkedStack.class, "head", Node.class);
+            } catch (final ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        void push(Runnable task) {
+            var newHead = new Node(task);
+            Node oldHead;
+
+            do {
+                oldHead = head;
+                newHead.next = oldHead;
+            } while (!HEAD.compareAndSet(this, oldHead, newHead));
+        }
+
+        int drain(Consumer<Runnable> consumer) {
+            var current = (Node) HEAD.getAndSet(this, null);
+            Node prev = null;
+            Node next;
+
+            while (current != null) {
+                next = current.next;
+                current.next = prev;
+                prev = current;
+                current = next;
+            }
+
+            var count = 0;
+
+            for (; prev != null; prev = prev.next, count++) {
+                consumer.accept(prev.task);
+            }
+
+            return count;
+        }
+    }
+
+    private static final class Node {
+        private final Runnable task;
+        private Node next;
+
+        private Node(Runnable task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueueTest {
+    @Test
+    void queueIsBoundedAndPreservesOrder() {
+        var queue = new TaskQueue<Integer>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, queue.poll());
+        }
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void elementsAreNotLostWithConcurrentProducersAndConsumers() throws InterruptedException {
+        var queue = new TaskQueue<Long>(64);
+        var producers = 4;
+        var consumers = 4;
+        var perProducer = 100_000L;
+        var sum = new AtomicLong();
+        var count = new AtomicLong();
+        var done = new CountDownLatch(producers + consumers);
+
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (long i = 1; i <= perProducer; i++) {
+                    while (!queue.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+
+        for (int c = 0; c < consumers; c++) {
+            new Thread(() -> {
+                while (count.get() < producers * perProducer) {
+                    var value = queue.poll();
+
+                    if (value != null) {
+                        sum.addAndGet(value);
+                        count.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+
+        done.await();
+
+        assertEquals(producers * perProducer, count.get());
+        assertEquals(producers * perProducer * (perProducer + 1) / 2, sum.get());
+    }
+}
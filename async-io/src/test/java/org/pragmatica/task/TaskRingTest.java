@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskRingTest {
+    @Test
+    void ringIsBoundedAndPreservesOrder() {
+        var ring = new TaskRing<Integer>(4);
+        var taken = new ArrayList<Integer>();
+
+        assertTrue(ring.offer(List.of(0, 1, 2)));
+        assertFalse(ring.offer(List.of(3, 4)));
+        assertTrue(ring.offer(3));
+        assertFalse(ring.offer(4));
+
+        assertEquals(2, ring.drain(taken::add, 2));
+        assertTrue(ring.offer(List.of(4, 5)));
+        assertEquals(4, ring.drain(taken::add, Integer.MAX_VALUE));
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), taken);
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void elementsAreNotLostWithConcurrentProducers() throws InterruptedException {
+        var ring = new TaskRing<Long>(64);
+        var producers = 4;
+        var perProducer = 100_000L;
+        var sum = new long[1];
+        var count = new long[1];
+        var done = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            var batched = p % 2 == 0;
+
+            new Thread(() -> {
+                for (long i = 1; i <= perProducer; i += 2) {
+                    if (batched) {
+                        while (!ring.offer(List.of(i, i + 1))) {
+                            Thread.onSpinWait();
+                        }
+                    } else {
+                        while (!ring.offer(i)) {
+                            Thread.onSpinWait();
+                        }
+                        while (!ring.offer(i + 1)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+
+        while (count[0] < producers * perProducer) {
+            ring.drain(value -> {
+                sum[0] += value;
+                count[0]++;
+            }, Integer.MAX_VALUE);
+        }
+
+        done.await();
+
+        assertEquals(producers * perProducer, count[0]);
+        assertEquals(producers * perProducer * (perProducer + 1) / 2, sum[0]);
+    }
+}
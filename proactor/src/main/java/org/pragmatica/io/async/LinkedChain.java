@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async;
+
+import org.pragmatica.io.async.uring.struct.raw.SQEntryFlags;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.lang.Unit.unitResult;
+
+/**
+ * Builder for the chain of linked operations. Operations in the chain are submitted as a single batch and kernel starts each next operation only
+ * after previous one is finished, without returning to user space between steps.
+ * <p>
+ * Each step must submit exactly one operation (optionally with timeout), using callback obtained from {@link Steps#step(BiConsumer)} or
+ * {@link Steps#step()}. Operations which don't produce results immediately useful for the next step, should refer to resources known in advance.
+ * For example, file can be opened into the slot reserved with {@link Proactor#reserveFile(org.pragmatica.io.async.file.DescriptorType)}, then
+ * read and closed using the same descriptor:
+ * <pre>{@code
+ * proactor.chain(LinkMode.HARD)
+ *         .then((p, steps) -> p.openDirect(steps.step(), fd, path, flags, mode, empty()))
+ *         .then((p, steps) -> p.read(steps.step(this::onRead), fd, buffer))
+ *         .then((p, steps) -> p.close(steps.step(), fd, empty()))
+ *         .submit(this::onChainDone);
+ * }</pre>
+ * Within {@link LinkMode#SOFT} chain failure of the step (including short read or write) cancels remaining steps, they are completed with
+ * {@link SystemError#ECANCELED}. Within {@link LinkMode#HARD} chain remaining steps are executed regardless of the result of previous steps.
+ * <p>
+ * WARNING: the implementation is not thread safe, chain must be built and submitted in the thread which owns {@link Proactor} instance.
+ */
+public final class LinkedChain {
+    private final ProactorImpl proactor;
+    private final LinkMode mode;
+    private final List<Operation> operations = new ArrayList<>();
+
+    private LinkedChain(ProactorImpl proactor, LinkMode mode) {
+        this.proactor = proactor;
+        this.mode = mode;
+    }
+
+    static LinkedChain linkedChain(ProactorImpl proactor, LinkMode mode) {
+        return new LinkedChain(proactor, mode);
+    }
+
+    /**
+     * Link mode of the chain.
+     */
+    public enum LinkMode {
+        /**
+         * Failure of the step cancels remaining steps ({@code IOSQE_IO_LINK}).
+         */
+        SOFT(SQEntryFlags.IO_LINK),
+        /**
+         * Remaining steps are executed regardless of the result of the previous steps ({@code IOSQE_IO_HARDLINK}).
+         */
+        HARD(SQEntryFlags.IO_HARDLINK);
+
+        private final SQEntryFlags flag;
+
+        LinkMode(SQEntryFlags flag) {
+            this.flag = flag;
+        }
+
+        public int mask() {
+            return flag.mask();
+        }
+    }
+
+    /**
+     * Single step of the chain. Implementation must submit exactly one operation using provided {@link Proactor} and callback obtained from
+     * provided {@link Steps} instance.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        void submit(Proactor proactor, Steps steps);
+    }
+
+    /**
+     * Append step to the chain.
+     *
+     * @param operation Operation to submit
+     *
+     * @return Current instance
+     */
+    public LinkedChain then(Operation operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    /**
+     * Number of steps in the chain.
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Submit chain. Only per-step callbacks are invoked.
+     */
+    public void submit() {
+        submit((__, ___) -> {});
+    }
+
+    /**
+     * Submit chain. In addition to per-step callbacks, provided callback is invoked once all steps are finished. The callback receives success if
+     * all steps succeeded, or first failure otherwise.
+     * <p>
+     * If chain is too long to fit into submission queue, nothing is submitted and callback is invoked with {@link SystemError#E2BIG}.
+     *
+     * @param completion Callback which is invoked once all steps are finished.
+     */
+    public void submit(BiConsumer<Result<Unit>, Proactor> completion) {
+        if (operations.isEmpty()) {
+            completion.accept(unitResult(), proactor);
+            return;
+        }
+
+        var steps = new Steps(operations.size(), completion);
+
+        if (!proactor.submitChain(mode, operations.size(), () -> operations.forEach(operation -> operation.submit(proactor, steps)))) {
+            completion.accept(SystemError.E2BIG.result(), proactor);
+        }
+    }
+
+    /**
+     * Tracker of the step completions, which is used to build result of the whole chain.
+     */
+    public static final class Steps {
+        private final BiConsumer<Result<Unit>, Proactor> completion;
+        private Result<Unit> outcome = unitResult();
+        private int remaining;
+
+        private Steps(int remaining, BiConsumer<Result<Unit>, Proactor> completion) {
+            this.remaining = remaining;
+            this.completion = completion;
+        }
+
+        /**
+         * Wrap step callback so its result is accounted in the result of the whole chain.
+         *
+         * @param stepCompletion Callback which is invoked once step is finished.
+         *
+         * @return callback which should be passed to the operation
+         */
+        public <T> BiConsumer<Result<T>, Proactor> step(BiConsumer<Result<T>, Proactor> stepCompletion) {
+            return (result, proactor) -> {
+                stepCompletion.accept(result, proactor);
+                stepDone(result, proactor);
+            };
+        }
+
+        /**
+         * Create callback for the step which result is of interest only as a part of the result of whole chain.
+         *
+         * @return callback which should be passed to the operation
+         */
+        public <T> BiConsumer<Result<T>, Proactor> step() {
+            return this::stepDone;
+        }
+
+        private void stepDone(Result<?> result, Proactor proactor) {
+            if (outcome.isSuccess()) {
+                result.onFailure(cause -> outcome = cause.result());
+            }
+
+            if (--remaining == 0) {
+                completion.accept(outcome, proactor);
+            }
+        }
+    }
+}
@@ -24,19 +24,27 @@ import org.pragmatica.io.async.file.stat.FileStat;
 import org.pragmatica.io.async.file.stat.StatFlag;
 import org.pragmatica.io.async.file.stat.StatMask;
 import org.pragmatica.io.async.net.*;
+import org.pragmatica.io.async.uring.AsyncOperation;
+import org.pragmatica.io.async.uring.SubmissionQueuePolling;
 import org.pragmatica.io.async.uring.UringSetupFlags;
+import org.pragmatica.io.async.util.MappedRegion;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
 import org.pragmatica.io.async.util.allocator.ChunkedAllocator;
 import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
 import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 import static org.pragmatica.lang.Option.empty;
 import static org.pragmatica.lang.Option.option;
@@ -44,10 +52,18 @@ import static org.pragmatica.lang.Option.option;
 /**
  * Low level externally accessible API for submission of I/O operations. The API designed as a <a href="https://en.wikipedia.org/wiki/Proactor_pattern">Proactor</a>
  * pattern.
+ * <p>
+ * Methods which submit operations return ID of the submitted operation. The ID can be passed to {@link #cancel(BiConsumer, long)} or
+ * {@link #cancelLater(long)} to cancel operation while it is still in flight.
  */
 //TODO: finish docs
 public interface Proactor {
     int DEFAULT_QUEUE_SIZE = 128;
+    int DEFAULT_FILE_TABLE_SIZE = 1024;
+    /**
+     * Operation ID returned when operation was rejected before submission (callback is already invoked in this case).
+     */
+    long NO_OPERATION = -1L;
 
     /**
      * Create a root instance.
@@ -56,6 +72,17 @@ public interface Proactor {
         return ProactorImpl.proactor(DEFAULT_QUEUE_SIZE, UringSetupFlags.defaultFlags(), sharedAllocator, empty());
     }
 
+    /**
+     * Create a root instance which uses kernel-side submission queue polling thread. While polling thread is awake, submission of the
+     * operations does not require system calls.
+     *
+     * @param sharedAllocator Allocator shared between instances
+     * @param polling         Configuration of the polling thread (CPU affinity and idle time)
+     */
+    static Proactor proactor(ChunkedAllocator sharedAllocator, SubmissionQueuePolling polling) {
+        return ProactorImpl.proactor(DEFAULT_QUEUE_SIZE, UringSetupFlags.defaultFlags(), sharedAllocator, polling);
+    }
+
     /**
      * Create a child instance.
      */
@@ -77,11 +104,109 @@ public interface Proactor {
 
     int processCompletions();
 
+    /**
+     * Submit pending requests and block calling thread until at least one completion is available. Completions are not processed, so this call
+     * is usually followed by {@link #processCompletions()}.
+     * <p>
+     * Note that call never returns if there are no operations in flight. Usually some operation which eventually completes, for example
+     * {@link #delay(BiConsumer, Timeout)}, is submitted before the call.
+     */
+    void waitForCompletions();
+
     /**
      * Shutdown current Proactor instance.
      */
     void shutdown();
 
+    /**
+     * Release internal resources retained after past load peaks. Pools of internal objects keep only the amount necessary to handle the
+     * peak load observed since previous call, remaining objects are released along with unused pages of the completion registry. Peak values
+     * reported by {@link #metrics()} are reset.
+     * <p>
+     * Intended to be called periodically from the thread which owns this instance.
+     */
+    void trim();
+
+    /**
+     * Restrict CPUs on which kernel worker threads, which handle operations of this instance which can't be completed inline, are allowed to
+     * run. Requires kernel 5.14 or later.
+     *
+     * @param cpus Set of allowed CPUs.
+     */
+    Result<Unit> workerAffinity(BitSet cpus);
+
+    /**
+     * Set of operations supported by the running kernel. The set is retrieved once, at the creation of the Proactor instance. Submission of
+     * unsupported operation completes with {@link SystemError#EINVAL}, so higher level code should use this information to choose available
+     * implementation.
+     */
+    EnumSet<AsyncOperation> supportedOperations();
+
+    /**
+     * Check if specified operation is supported by the running kernel.
+     */
+    boolean supports(AsyncOperation operation);
+
+    /**
+     * Check if the kernel supports multishot accept. Multishot accept is not reported by probing, so it is detected by the presence of the
+     * {@link AsyncOperation#SOCKET} operation, introduced in the same kernel release (5.19).
+     */
+    default boolean supportsMultishotAccept() {
+        return supports(AsyncOperation.SOCKET);
+    }
+
+    /**
+     * Check if the kernel supports multishot receive with provided buffers. Multishot receive is not reported by probing, so it is detected by
+     * the presence of the {@link AsyncOperation#SEND_ZC} operation, introduced in the same kernel release (6.0).
+     */
+    default boolean supportsMultishotRecv() {
+        return supports(AsyncOperation.SEND_ZC) && supports(AsyncOperation.PROVIDE_BUFFERS);
+    }
+
+    /**
+     * Retrieve occupancy metrics of the internal structures. Peak values are collected since creation or previous call to {@link #trim()}.
+     * These values can be used to choose appropriate submission queue size.
+     */
+    ProactorMetrics metrics();
+
+    /**
+     * Create builder for the chain of linked operations. Operations in the chain are submitted as a single batch and executed by kernel one
+     * after another.
+     *
+     * @param mode Link mode, which determines behavior of the chain in case of step failure.
+     *
+     * @return chain builder
+     */
+    LinkedChain chain(LinkedChain.LinkMode mode);
+
+    default LinkedChain chain() {
+        return chain(LinkedChain.LinkMode.SOFT);
+    }
+
+    /**
+     * Submit ASYNC_CANCEL operation for the in-flight operation. Operation is identified by the ID returned by the method which submitted it.
+     * Cancelled operation is completed with {@link SystemError#ECANCELED}.
+     * <p>
+     * Callback receives {@link SystemError#ENOENT} if operation is already finished and {@link SystemError#EALREADY} if operation is in progress
+     * and can't be interrupted.
+     *
+     * @param completion  Callback which is invoked once cancellation request is processed.
+     * @param operationId ID of the operation to cancel.
+     */
+    long cancel(BiConsumer<Result<Unit>, Proactor> completion, long operationId);
+
+    default long cancel(Consumer<Result<Unit>> completion, long operationId) {
+        return cancel((result, __) -> completion.accept(result), operationId);
+    }
+
+    /**
+     * Request cancellation of the in-flight operation. Unlike other methods of this interface, this method is thread safe and can be invoked from
+     * any thread. Cancellation request is submitted during next {@link #processSubmissions()} call in the thread which owns this instance.
+     *
+     * @param operationId ID of the operation to cancel.
+     */
+    void cancelLater(long operationId);
+
     /**
      * Submit NOP operation.
      * <p>
@@ -89,10 +214,10 @@ public interface Proactor {
      *
      * @param completion Callback which is invoked once operation is finished.
      */
-    void nop(BiConsumer<Result<Unit>, Proactor> completion);
+    long nop(BiConsumer<Result<Unit>, Proactor> completion);
 
-    default void nop(Consumer<Result<Unit>> completion) {
-        nop((result, __) -> completion.accept(result));
+    default long nop(Consumer<Result<Unit>> completion) {
+        return nop((result, __) -> completion.accept(result));
     }
 
     /**
@@ -103,10 +228,41 @@ public interface Proactor {
      * @param completion Callback which is invoked once operation is finished.
      * @param timeout    Requested delay.
      */
-    void delay(BiConsumer<Result<Duration>, Proactor> completion, Timeout timeout);
+    long delay(BiConsumer<Result<Duration>, Proactor> completion, Timeout timeout);
 
-    default void delay(Consumer<Result<Duration>> completion, Timeout timeout) {
-        delay((result, __) -> completion.accept(result), timeout);
+    default long delay(Consumer<Result<Duration>> completion, Timeout timeout) {
+        return delay((result, __) -> completion.accept(result), timeout);
+    }
+
+    /**
+     * Register receiver for the messages sent by other Proactor instances via {@link #message(BiConsumer, Proactor, int, int)}. Received messages
+     * are delivered during {@link #processCompletions()}, along with regular completions. Message arrival also wakes up the thread blocked in
+     * {@link #waitForCompletions()}.
+     * <p>
+     * Receivers can't be unregistered, so they should be registered once, during setup, before any operation is submitted.
+     *
+     * @param receiver Handler which receives Proactor instance and payload of each message.
+     *
+     * @return ID of the receiver, which should be passed to the sender.
+     */
+    int registerReceiver(ObjIntConsumer<Proactor> receiver);
+
+    /**
+     * Submit MSG_RING operation.
+     * <p>
+     * Posts message with specified payload directly to the completion queue of the target Proactor. Message is delivered to the receiver
+     * registered in the target instance with {@link #registerReceiver(ObjIntConsumer)}. Unlike other operations, target instance does not need
+     * to be owned by the calling thread. Operation requires kernel 5.18 or later, older kernels complete it with {@link SystemError#EINVAL}.
+     *
+     * @param completion Callback which is invoked once message is posted to the target instance.
+     * @param target     Target Proactor instance.
+     * @param receiver   ID of the receiver in the target instance.
+     * @param payload    Message payload.
+     */
+    long message(BiConsumer<Result<Unit>, Proactor> completion, Proactor target, int receiver, int payload);
+
+    default long message(Consumer<Result<Unit>> completion, Proactor target, int receiver, int payload) {
+        return message((result, __) -> completion.accept(result), target, receiver, payload);
     }
 
     /**
@@ -118,10 +274,43 @@ public interface Proactor {
      * @param descriptor Splice operation details container
      * @param timeout    Optional operation timeout.
      */
-    void splice(BiConsumer<Result<SizeT>, Proactor> completion, SpliceDescriptor descriptor, Option<Timeout> timeout);
+    long splice(BiConsumer<Result<SizeT>, Proactor> completion, SpliceDescriptor descriptor, Option<Timeout> timeout);
+
+    default long splice(Consumer<Result<SizeT>> completion, SpliceDescriptor descriptor, Option<Timeout> timeout) {
+        return splice((result, __) -> completion.accept(result), descriptor, timeout);
+    }
+
+    /**
+     * Transfer region of the file into socket or another file without copying data into user space.
+     * <p>
+     * Data are moved in chunks by pairs of linked SPLICE operations through the intermediate pipe: from file to pipe and then from pipe to
+     * target descriptor. Pipes are cached by the instance and reused by subsequent transfers. Upon completion number of transferred bytes is
+     * passed to the callback. This number is less than requested length if end of file is reached earlier.
+     * <p>
+     * Unlike other operations, transfer consists of several submissions, so no operation ID is returned.
+     *
+     * @param completion   Callback which is invoked once whole region is transferred or transfer is failed.
+     * @param file         Source file descriptor.
+     * @param offset       Offset of the region in the source file.
+     * @param length       Length of the region.
+     * @param target       Destination socket or file.
+     * @param targetOffset Offset in the destination file. Must be {@link OffsetT#NONE} if destination is a socket.
+     */
+    void transfer(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor file, OffsetT offset, SizeT length,
+                  FileDescriptor target, OffsetT targetOffset);
 
-    default void splice(Consumer<Result<SizeT>> completion, SpliceDescriptor descriptor, Option<Timeout> timeout) {
-        splice((result, __) -> completion.accept(result), descriptor, timeout);
+    default void transfer(Consumer<Result<SizeT>> completion, FileDescriptor file, OffsetT offset, SizeT length,
+                          FileDescriptor target, OffsetT targetOffset) {
+        transfer((result, __) -> completion.accept(result), file, offset, length, target, targetOffset);
+    }
+
+    default void transfer(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor file, OffsetT offset, SizeT length,
+                          FileDescriptor socket) {
+        transfer(completion, file, offset, length, socket, OffsetT.NONE);
+    }
+
+    default void transfer(Consumer<Result<SizeT>> completion, FileDescriptor file, OffsetT offset, SizeT length, FileDescriptor socket) {
+        transfer((result, __) -> completion.accept(result), file, offset, length, socket);
     }
 
     /**
@@ -137,26 +326,26 @@ public interface Proactor {
      * @param offset     Offset to read from if file descriptor points to file.
      * @param timeout    Optional operation timeout.
      */
-    void read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout);
+    long read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout);
 
-    default void read(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout) {
-        read((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
+    default long read(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout) {
+        return read((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
     }
 
-    default void read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
-        read(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
+        return read(completion, fd, buffer, OffsetT.ZERO, timeout);
     }
 
-    default void read(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
-        read(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long read(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
+        return read(completion, fd, buffer, OffsetT.ZERO, timeout);
     }
 
-    default void read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer) {
-        read(completion, fd, buffer, OffsetT.ZERO, empty());
+    default long read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer) {
+        return read(completion, fd, buffer, OffsetT.ZERO, empty());
     }
 
-    default void read(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer) {
-        read((result, __) -> completion.accept(result), fd, buffer);
+    default long read(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer) {
+        return read((result, __) -> completion.accept(result), fd, buffer);
     }
 
     /**
@@ -171,26 +360,26 @@ public interface Proactor {
      * @param offset     Offset in a file to start writing if file descriptor points to file.
      * @param timeout    Optional operation timeout.
      */
-    void write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout);
+    long write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout);
 
-    default void write(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout) {
-        write((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
+    default long write(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, OffsetT offset, Option<Timeout> timeout) {
+        return write((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
     }
 
-    default void write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
-        write(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
+        return write(completion, fd, buffer, OffsetT.ZERO, timeout);
     }
 
-    default void write(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
-        write(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long write(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Option<Timeout> timeout) {
+        return write(completion, fd, buffer, OffsetT.ZERO, timeout);
     }
 
-    default void write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer) {
-        write(completion, fd, buffer, OffsetT.ZERO, empty());
+    default long write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer) {
+        return write(completion, fd, buffer, OffsetT.ZERO, empty());
     }
 
-    default void write(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer) {
-        write((result, __) -> completion.accept(result), fd, buffer);
+    default long write(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer) {
+        return write((result, __) -> completion.accept(result), fd, buffer);
     }
 
     /**
@@ -202,14 +391,14 @@ public interface Proactor {
      * @param fd         File descriptor to close.
      * @param timeout    Optional operation timeout.
      */
-    void close(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fd, Option<Timeout> timeout);
+    long close(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fd, Option<Timeout> timeout);
 
-    default void close(Consumer<Result<Unit>> completion, FileDescriptor fd, Option<Timeout> timeout) {
-        close((result, __) -> completion.accept(result), fd, timeout);
+    default long close(Consumer<Result<Unit>> completion, FileDescriptor fd, Option<Timeout> timeout) {
+        return close((result, __) -> completion.accept(result), fd, timeout);
     }
 
-    default void close(Consumer<Result<Unit>> completion, FileDescriptor fd) {
-        close((result, __) -> completion.accept(result), fd, empty());
+    default long close(Consumer<Result<Unit>> completion, FileDescriptor fd) {
+        return close((result, __) -> completion.accept(result), fd, empty());
     }
 
     /**
@@ -226,12 +415,12 @@ public interface Proactor {
      * @param mode       File open mode. Must be present only if {@code flags} contains {@link OpenFlags#CREATE} or {@link OpenFlags#TMPFILE}.
      * @param timeout    Optional operation timeout.
      */
-    void open(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> flags,
+    long open(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> flags,
               Set<FilePermission> mode, Option<Timeout> timeout);
 
-    default void open(Consumer<Result<FileDescriptor>> completion, Path path, Set<OpenFlags> flags,
+    default long open(Consumer<Result<FileDescriptor>> completion, Path path, Set<OpenFlags> flags,
                       Set<FilePermission> mode, Option<Timeout> timeout) {
-        open((result, __) -> completion.accept(result), path, flags, mode, timeout);
+        return open((result, __) -> completion.accept(result), path, flags, mode, timeout);
     }
 
     /**
@@ -244,12 +433,12 @@ public interface Proactor {
      * @param flags      Socket open flags. See {@link SocketFlag} for more details.
      * @param options    Additional socket options. See {@link SocketOption} for more details.
      */
-    void socket(BiConsumer<Result<FileDescriptor>, Proactor> completion, AddressFamily af, SocketType type,
+    long socket(BiConsumer<Result<FileDescriptor>, Proactor> completion, AddressFamily af, SocketType type,
                 Set<SocketFlag> flags, Set<SocketOption> options);
 
-    default void socket(Consumer<Result<FileDescriptor>> completion, AddressFamily af, SocketType type,
+    default long socket(Consumer<Result<FileDescriptor>> completion, AddressFamily af, SocketType type,
                         Set<SocketFlag> flags, Set<SocketOption> options) {
-        socket((result, __) -> completion.accept(result), af, type, flags, options);
+        return socket((result, __) -> completion.accept(result), af, type, flags, options);
     }
 
     /**
@@ -265,14 +454,14 @@ public interface Proactor {
      *
      * @see ListenContext
      */
-    <T extends InetAddress> void listen(BiConsumer<Result<ListenContext<T>>, Proactor> completion,
+    <T extends InetAddress> long listen(BiConsumer<Result<ListenContext<T>>, Proactor> completion,
                                         SocketAddress<T> socketAddress, SocketType socketType,
                                         Set<SocketFlag> openFlags, SizeT queueDepth, Set<SocketOption> options);
 
-    default <T extends InetAddress> void listen(Consumer<Result<ListenContext<T>>> completion,
+    default <T extends InetAddress> long listen(Consumer<Result<ListenContext<T>>> completion,
                                                 SocketAddress<T> address, SocketType type,
                                                 Set<SocketFlag> flags, SizeT len, Set<SocketOption> options) {
-        listen((result, __) -> completion.accept(result), address, type, flags, len, options);
+        return listen((result, __) -> completion.accept(result), address, type, flags, len, options);
     }
 
     /**
@@ -290,32 +479,58 @@ public interface Proactor {
      *
      * @see ConnectionContext
      */
-    <T extends InetAddress> void accept(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+    <T extends InetAddress> long accept(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
                                         FileDescriptor socket, Set<SocketFlag> flags, T addressType);
 
-    default <T extends InetAddress> void accept(Consumer<Result<ConnectionContext<T>>> completion,
+    default <T extends InetAddress> long accept(Consumer<Result<ConnectionContext<T>>> completion,
                                                 FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
-        accept((result, __) -> completion.accept(result), socket, flags, addressType);
+        return accept((result, __) -> completion.accept(result), socket, flags, addressType);
     }
 
-    default void acceptV4(BiConsumer<Result<ConnectionContext<InetAddress.Inet4Address>>, Proactor> completion,
+    default long acceptV4(BiConsumer<Result<ConnectionContext<InetAddress.Inet4Address>>, Proactor> completion,
                           FileDescriptor socket,
                           Set<SocketFlag> flags) {
-        accept(completion, socket, flags, InetAddress.Inet4Address.INADDR_ANY);
+        return accept(completion, socket, flags, InetAddress.Inet4Address.INADDR_ANY);
     }
 
-    default void acceptV4(Consumer<Result<ConnectionContext<InetAddress.Inet4Address>>> completion, FileDescriptor socket, Set<SocketFlag> flags) {
-        accept(completion, socket, flags, InetAddress.Inet4Address.INADDR_ANY);
+    default long acceptV4(Consumer<Result<ConnectionContext<InetAddress.Inet4Address>>> completion, FileDescriptor socket, Set<SocketFlag> flags) {
+        return accept(completion, socket, flags, InetAddress.Inet4Address.INADDR_ANY);
     }
 
-    default void acceptV6(BiConsumer<Result<ConnectionContext<InetAddress.Inet6Address>>, Proactor> completion,
+    default long acceptV6(BiConsumer<Result<ConnectionContext<InetAddress.Inet6Address>>, Proactor> completion,
                           FileDescriptor socket,
                           Set<SocketFlag> flags) {
-        accept(completion, socket, flags, InetAddress.Inet6Address.INADDR_ANY);
+        return accept(completion, socket, flags, InetAddress.Inet6Address.INADDR_ANY);
     }
 
-    default void acceptV6(Consumer<Result<ConnectionContext<InetAddress.Inet6Address>>> completion, FileDescriptor socket, Set<SocketFlag> flags) {
-        accept(completion, socket, flags, InetAddress.Inet6Address.INADDR_ANY);
+    default long acceptV6(Consumer<Result<ConnectionContext<InetAddress.Inet6Address>>> completion, FileDescriptor socket, Set<SocketFlag> flags) {
+        return accept(completion, socket, flags, InetAddress.Inet6Address.INADDR_ANY);
+    }
+
+    /**
+     * Submit multishot ACCEPT operation.
+     * <p>
+     * Unlike {@link #accept(BiConsumer, FileDescriptor, Set, InetAddress)}, single submission keeps accepting incoming connections until request
+     * is terminated (due to error or by the kernel). Callback is invoked for every accepted connection. Callback receives failure only once, when
+     * request is terminated. If request is terminated by the kernel without error, callback receives {@link SystemError#EAGAIN} and request should be
+     * resubmitted if necessary.
+     * <p>
+     * Note that this operation requires Linux kernel 5.19 or later.
+     *
+     * @param completion  Callback which is invoked once for every accepted connection.
+     * @param socket      Listening socket to accept connections on.
+     * @param flags       Accept flags (see {@link SocketFlag} for more details)
+     * @param addressType tag for address type (TCPv4 or TCPv6). Actual value is irrelevant, matters only type. Constants {@link
+     *                    InetAddress.Inet4Address#INADDR_ANY} and {@link InetAddress.Inet6Address#INADDR_ANY} could be used for this purpose.
+     *
+     * @see ConnectionContext
+     */
+    <T extends InetAddress> long acceptMultishot(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+                                                 FileDescriptor socket, Set<SocketFlag> flags, T addressType);
+
+    default <T extends InetAddress> long acceptMultishot(Consumer<Result<ConnectionContext<T>>> completion,
+                                                         FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
+        return acceptMultishot((result, __) -> completion.accept(result), socket, flags, addressType);
     }
 
     /**
@@ -329,12 +544,12 @@ public interface Proactor {
      * @param address    Address to connect
      * @param timeout    Optional operation timeout.
      */
-    <T extends InetAddress> void connect(BiConsumer<Result<FileDescriptor>, Proactor> completion, FileDescriptor socket,
+    <T extends InetAddress> long connect(BiConsumer<Result<FileDescriptor>, Proactor> completion, FileDescriptor socket,
                                          SocketAddress<T> address, Option<Timeout> timeout);
 
-    default <T extends InetAddress> void connect(Consumer<Result<FileDescriptor>> completion, FileDescriptor socket,
+    default <T extends InetAddress> long connect(Consumer<Result<FileDescriptor>> completion, FileDescriptor socket,
                                                  SocketAddress<T> address, Option<Timeout> timeout) {
-        connect((result, __) -> completion.accept(result), socket, address, timeout);
+        return connect((result, __) -> completion.accept(result), socket, address, timeout);
     }
 
     /**
@@ -348,10 +563,10 @@ public interface Proactor {
      *
      * @see FileStat
      */
-    void stat(BiConsumer<Result<FileStat>, Proactor> completion, Path path, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout);
+    long stat(BiConsumer<Result<FileStat>, Proactor> completion, Path path, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout);
 
-    default void stat(Consumer<Result<FileStat>> completion, Path path, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
-        stat((result, __) -> completion.accept(result), path, flags, mask, timeout);
+    default long stat(Consumer<Result<FileStat>> completion, Path path, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
+        return stat((result, __) -> completion.accept(result), path, flags, mask, timeout);
     }
 
     /**
@@ -366,10 +581,10 @@ public interface Proactor {
      *
      * @see FileStat
      */
-    void stat(BiConsumer<Result<FileStat>, Proactor> completion, FileDescriptor fd, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout);
+    long stat(BiConsumer<Result<FileStat>, Proactor> completion, FileDescriptor fd, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout);
 
-    default void stat(Consumer<Result<FileStat>> completion, FileDescriptor fd, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
-        stat((result, __) -> completion.accept(result), fd, flags, mask, timeout);
+    default long stat(Consumer<Result<FileStat>> completion, FileDescriptor fd, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
+        return stat((result, __) -> completion.accept(result), fd, flags, mask, timeout);
     }
 
     /**
@@ -387,41 +602,41 @@ public interface Proactor {
      * @param buffers        Set of buffers where read information will be put. Each buffer should have it's {@link OffHeapSlice#used()} property set
      *                       to actual number of bytes which application expects to see in this buffer.
      */
-    void readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    long readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
                     Option<Timeout> timeout, OffHeapSlice... buffers);
 
-    default void readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    default long readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
                             Option<Timeout> timeout, OffHeapSlice... buffers) {
-        readVector((result, __) -> completion.accept(result), fileDescriptor, offset, timeout, buffers);
+        return readVector((result, __) -> completion.accept(result), fileDescriptor, offset, timeout, buffers);
     }
 
-    default void readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
+    default long readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
                             Option<Timeout> timeout, OffHeapSlice... buffers) {
-        readVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
+        return readVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
     }
 
-    default void readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor,
+    default long readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor,
                             Option<Timeout> timeout, OffHeapSlice... buffers) {
-        readVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
+        return readVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
     }
 
-    default void readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    default long readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
                             OffHeapSlice... buffers) {
-        readVector(completion, fileDescriptor, offset, empty(), buffers);
+        return readVector(completion, fileDescriptor, offset, empty(), buffers);
     }
 
-    default void readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    default long readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
                             OffHeapSlice... buffers) {
-        readVector(completion, fileDescriptor, offset, empty(), buffers);
+        return readVector(completion, fileDescriptor, offset, empty(), buffers);
     }
 
-    default void readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
+    default long readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
                             OffHeapSlice... buffers) {
-        readVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
+        return readVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
     }
 
-    default void readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffHeapSlice... buffers) {
-        readVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
+    default long readVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffHeapSlice... buffers) {
+        return readVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
     }
 
     /**
@@ -437,41 +652,41 @@ public interface Proactor {
      * @param timeout        Optional operation timeout
      * @param buffers        Set of buffers to write from
      */
-    void writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    long writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
                      Option<Timeout> timeout, OffHeapSlice... buffers);
 
-    default void writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    default long writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
                              Option<Timeout> timeout, OffHeapSlice... buffers) {
-        writeVector((result, __) -> completion.accept(result), fileDescriptor, offset, timeout, buffers);
+        return writeVector((result, __) -> completion.accept(result), fileDescriptor, offset, timeout, buffers);
     }
 
-    default void writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
+    default long writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
                              Option<Timeout> timeout, OffHeapSlice... buffers) {
-        writeVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
+        return writeVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
     }
 
-    default void writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor,
+    default long writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor,
                              Option<Timeout> timeout, OffHeapSlice... buffers) {
-        writeVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
+        return writeVector(completion, fileDescriptor, OffsetT.ZERO, timeout, buffers);
     }
 
-    default void writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    default long writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
                              OffHeapSlice... buffers) {
-        writeVector(completion, fileDescriptor, offset, empty(), buffers);
+        return writeVector(completion, fileDescriptor, offset, empty(), buffers);
     }
 
-    default void writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    default long writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffsetT offset,
                              OffHeapSlice... buffers) {
-        writeVector(completion, fileDescriptor, offset, empty(), buffers);
+        return writeVector(completion, fileDescriptor, offset, empty(), buffers);
     }
 
-    default void writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
+    default long writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
                              OffHeapSlice... buffers) {
-        writeVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
+        return writeVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
     }
 
-    default void writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffHeapSlice... buffers) {
-        writeVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
+    default long writeVector(Consumer<Result<SizeT>> completion, FileDescriptor fileDescriptor, OffHeapSlice... buffers) {
+        return writeVector(completion, fileDescriptor, OffsetT.ZERO, empty(), buffers);
     }
 
     /**
@@ -485,12 +700,12 @@ public interface Proactor {
      * @param syncMetadata   Flag which controls flushing of file metadata: {@code true} enables syncing metadata
      * @param timeout        Optional operation timeout
      */
-    void fsync(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+    long fsync(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
                boolean syncMetadata, Option<Timeout> timeout);
 
-    default void fsync(Consumer<Result<Unit>> completion, FileDescriptor fileDescriptor,
+    default long fsync(Consumer<Result<Unit>> completion, FileDescriptor fileDescriptor,
                        boolean syncMetadata, Option<Timeout> timeout) {
-        fsync((result, __) -> completion.accept(result), fileDescriptor, syncMetadata, timeout);
+        return fsync((result, __) -> completion.accept(result), fileDescriptor, syncMetadata, timeout);
     }
 
     /**
@@ -503,12 +718,45 @@ public interface Proactor {
      * @param len            Length of the affected part of the file.
      * @param timeout        Optional operation timeout
      */
-    void falloc(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+    long falloc(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
                 Set<FileAllocFlags> allocFlags, long offset, long len, Option<Timeout> timeout);
 
-    default void falloc(Consumer<Result<Unit>> completion, FileDescriptor fileDescriptor,
+    default long falloc(Consumer<Result<Unit>> completion, FileDescriptor fileDescriptor,
                         Set<FileAllocFlags> allocFlags, long offset, long len, Option<Timeout> timeout) {
-        falloc((result, __) -> completion.accept(result), fileDescriptor, allocFlags, offset, len, timeout);
+        return falloc((result, __) -> completion.accept(result), fileDescriptor, allocFlags, offset, len, timeout);
+    }
+
+    /**
+     * Declare expected access pattern for file data. This is an asynchronous version of {@code posix_fadvise(2)} call.
+     *
+     * @param completion     Callback which is invoked once operation is finished.
+     * @param fileDescriptor File descriptor
+     * @param offset         Offset in file
+     * @param len            Length of the affected part of the file. Zero value means "up to the end of file".
+     * @param advice         Expected access pattern
+     * @param timeout        Optional operation timeout
+     */
+    long fadvise(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+                 long offset, int len, AccessAdvice advice, Option<Timeout> timeout);
+
+    default long fadvise(Consumer<Result<Unit>> completion, FileDescriptor fileDescriptor,
+                         long offset, int len, AccessAdvice advice, Option<Timeout> timeout) {
+        return fadvise((result, __) -> completion.accept(result), fileDescriptor, offset, len, advice, timeout);
+    }
+
+    /**
+     * Declare expected access pattern for memory, usually for the memory mapped file region (see {@link MappedRegion}). This is an asynchronous
+     * version of {@code madvise(2)} call. Address of the memory is aligned to the page boundary before submission.
+     *
+     * @param completion Callback which is invoked once operation is finished.
+     * @param memory     Memory region
+     * @param advice     Expected access pattern
+     * @param timeout    Optional operation timeout
+     */
+    long madvise(BiConsumer<Result<Unit>, Proactor> completion, OffHeapSlice memory, AccessAdvice advice, Option<Timeout> timeout);
+
+    default long madvise(Consumer<Result<Unit>> completion, OffHeapSlice memory, AccessAdvice advice, Option<Timeout> timeout) {
+        return madvise((result, __) -> completion.accept(result), memory, advice, timeout);
     }
 
     /**
@@ -529,78 +777,389 @@ public interface Proactor {
      */
     Result<FixedBuffer> allocateFixedBuffer(int size);
 
-    void readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout);
+    long readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout);
+
+    default long readFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout) {
+        return readFixed((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
+    }
+
+    default long readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
+        return readFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
+    }
+
+    default long readFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
+        return readFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
+    }
+
+    default long readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer) {
+        return readFixed(completion, fd, buffer, OffsetT.ZERO, empty());
+    }
+
+    default long readFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer) {
+        return readFixed((result, __) -> completion.accept(result), fd, buffer);
+    }
+
+
+    long writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout);
+
+    default long writeFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout) {
+        return writeFixed((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
+    }
 
-    default void readFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout) {
-        readFixed((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
+    default long writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
+        return writeFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
     }
 
-    default void readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
-        readFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long writeFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
+        return writeFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
     }
 
-    default void readFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
-        readFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer) {
+        return writeFixed(completion, fd, buffer, OffsetT.ZERO, empty());
     }
 
-    default void readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer) {
-        readFixed(completion, fd, buffer, OffsetT.ZERO, empty());
+    default long writeFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer) {
+        return writeFixed((result, __) -> completion.accept(result), fd, buffer);
     }
 
-    default void readFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer) {
-        readFixed((result, __) -> completion.accept(result), fd, buffer);
+
+    long send(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout);
+
+    default long send(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        return send((result, __) -> completion.accept(result), fd, buffer, msgFlags, timeout);
     }
 
+    default long send(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return send(completion, fd, buffer, msgFlags, empty());
+    }
+
+    default long send(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return send((result, __) -> completion.accept(result), fd, buffer, msgFlags, empty());
+    }
+
+    /**
+     * Send data to the socket without copying them into the kernel buffer.
+     * <p>
+     * The ownership of the buffer is transferred to the Proactor: kernel keeps accessing buffer after the completion is invoked, so buffer is
+     * released only when kernel notifies that it no longer uses it. {@link FixedBuffer} instances are returned to their allocator, other buffers
+     * are closed. The buffer must not be accessed or released by the caller after the submission.
+     * <p>
+     * Zero-copy sending is beneficial for large payloads (tens of kilobytes and more), for small payloads plain {@link #send} is usually faster.
+     * If the kernel does not support zero-copy sending, plain send is performed and buffer is released after the completion.
+     *
+     * @param completion Callback which is invoked with the number of sent bytes. Note that it is invoked before buffer is released.
+     * @param fd         Socket to send data to.
+     * @param buffer     Data to send.
+     * @param msgFlags   Message flags.
+     * @param timeout    Optional operation timeout.
+     *
+     * @return operation ID
+     */
+    long sendZeroCopy(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags,
+                      Option<Timeout> timeout);
+
+    default long sendZeroCopy(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags,
+                              Option<Timeout> timeout) {
+        return sendZeroCopy((result, __) -> completion.accept(result), fd, buffer, msgFlags, timeout);
+    }
 
-    void writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout);
+    default long sendZeroCopy(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return sendZeroCopy(completion, fd, buffer, msgFlags, empty());
+    }
 
-    default void writeFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, OffsetT offset, Option<Timeout> timeout) {
-        writeFixed((result, __) -> completion.accept(result), fd, buffer, offset, timeout);
+    default long sendZeroCopy(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return sendZeroCopy((result, __) -> completion.accept(result), fd, buffer, msgFlags, empty());
     }
 
-    default void writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
-        writeFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
+    long recv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout);
+
+    default long recv(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        return recv((result, __) -> completion.accept(result), fd, buffer, msgFlags, timeout);
     }
 
-    default void writeFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer, Option<Timeout> timeout) {
-        writeFixed(completion, fd, buffer, OffsetT.ZERO, timeout);
+    default long recv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return recv(completion, fd, buffer, msgFlags, empty());
     }
 
-    default void writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer) {
-        writeFixed(completion, fd, buffer, OffsetT.ZERO, empty());
+    default long recv(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
+        return recv((result, __) -> completion.accept(result), fd, buffer, msgFlags, empty());
     }
 
-    default void writeFixed(Consumer<Result<SizeT>> completion, FileDescriptor fd, FixedBuffer buffer) {
-        writeFixed((result, __) -> completion.accept(result), fd, buffer);
+    /**
+     * Create group of buffers provided to the kernel for operations with buffer selection, like {@link #readProvided(BiConsumer, FileDescriptor,
+     * BufferGroup, OffsetT, Option)} and {@link #recvProvided(BiConsumer, FileDescriptor, BufferGroup, Set, Option)}.
+     * <p>
+     * Memory for the buffers is allocated from the shared memory arena as single block, so same considerations as for {@link
+     * #allocateFixedBuffer(int)} apply. Buffers are handed to the kernel with the {@code PROVIDE_BUFFERS} request and group is passed to the
+     * callback once kernel accepts them. If request fails, memory of the group is released and failure is passed to the callback.
+     * <p>
+     * Buffer groups are bound to the instance which created them and can't be used with other instances. Instance supports up to
+     * {@link BufferGroup#MAX_GROUPS} groups at once, identifiers of disposed groups are reused.
+     *
+     * @param completion Callback which is invoked once buffers are provided to the kernel.
+     * @param bufferSize Size of the each buffer in bytes.
+     * @param count      Number of buffers in the group. Can't exceed {@link BufferGroup#MAX_BUFFERS}.
+     */
+    long bufferGroup(BiConsumer<Result<BufferGroup>, Proactor> completion, int bufferSize, int count);
+
+    default long bufferGroup(Consumer<Result<BufferGroup>> completion, int bufferSize, int count) {
+        return bufferGroup((result, __) -> completion.accept(result), bufferSize, count);
     }
 
+    /**
+     * Return buffer selected by the kernel back to the group, so it can be used by subsequent requests.
+     *
+     * @param buffer Buffer to return.
+     */
+    void releaseBuffer(ProvidedBuffer buffer);
 
-    void send(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout);
+    /**
+     * Remove buffers from the kernel and release memory used by the buffer group. All buffers obtained from this group must be released before
+     * invoking this method.
+     *
+     * @param completion Callback which is invoked once operation is finished.
+     * @param group      Buffer group to dispose.
+     */
+    long disposeBufferGroup(BiConsumer<Result<Unit>, Proactor> completion, BufferGroup group);
 
-    default void send(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
-        send((result, __) -> completion.accept(result), fd, buffer, msgFlags, timeout);
+    default long disposeBufferGroup(Consumer<Result<Unit>> completion, BufferGroup group) {
+        return disposeBufferGroup((result, __) -> completion.accept(result), group);
     }
 
-    default void send(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
-        send(completion, fd, buffer, msgFlags, empty());
+    /**
+     * Submit READ operation with buffer selected by the kernel.
+     * <p>
+     * Unlike {@link #read(BiConsumer, FileDescriptor, OffHeapSlice, OffsetT, Option)}, no buffer is pinned while request is pending. Buffer is
+     * picked from the group at the moment when data are available and passed to the callback with {@link OffHeapSlice#used()} set to number of
+     * bytes read. Buffer must be returned with {@link #releaseBuffer(ProvidedBuffer)} once it is no longer necessary.
+     *
+     * @param completion Callback which is invoked once operation is finished.
+     * @param fd         File descriptor to read from.
+     * @param group      Buffer group to select buffer from.
+     * @param offset     Offset to read from if file descriptor points to file.
+     * @param timeout    Optional operation timeout.
+     */
+    long readProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group, OffsetT offset,
+                      Option<Timeout> timeout);
+
+    default long readProvided(Consumer<Result<ProvidedBuffer>> completion, FileDescriptor fd, BufferGroup group, OffsetT offset,
+                              Option<Timeout> timeout) {
+        return readProvided((result, __) -> completion.accept(result), fd, group, offset, timeout);
     }
 
-    default void send(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
-        send((result, __) -> completion.accept(result), fd, buffer, msgFlags, empty());
+    default long readProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group) {
+        return readProvided(completion, fd, group, OffsetT.ZERO, empty());
     }
 
-    void recv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout);
+    /**
+     * Submit RECV operation with buffer selected by the kernel.
+     * <p>
+     * Unlike {@link #recv(BiConsumer, FileDescriptor, OffHeapSlice, Set, Option)}, no buffer is pinned while request is pending. Buffer is picked
+     * from the group at the moment when data are available and passed to the callback with {@link OffHeapSlice#used()} set to number of bytes
+     * received. Buffer must be returned with {@link #releaseBuffer(ProvidedBuffer)} once it is no longer necessary.
+     *
+     * @param completion Callback which is invoked once operation is finished.
+     * @param fd         Socket to receive from.
+     * @param group      Buffer group to select buffer from.
+     * @param msgFlags   Message flags.
+     * @param timeout    Optional operation timeout.
+     */
+    long recvProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group,
+                      Set<MessageFlags> msgFlags, Option<Timeout> timeout);
+
+    default long recvProvided(Consumer<Result<ProvidedBuffer>> completion, FileDescriptor fd, BufferGroup group,
+                              Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        return recvProvided((result, __) -> completion.accept(result), fd, group, msgFlags, timeout);
+    }
 
-    default void recv(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
-        recv((result, __) -> completion.accept(result), fd, buffer, msgFlags, timeout);
+    default long recvProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group,
+                              Set<MessageFlags> msgFlags) {
+        return recvProvided(completion, fd, group, msgFlags, empty());
     }
 
-    default void recv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
-        recv(completion, fd, buffer, msgFlags, empty());
+    /**
+     * Submit multishot RECV operation with buffers selected by the kernel.
+     * <p>
+     * Single submission keeps delivering received data until end of stream, error or cancellation. Callback is invoked for every received
+     * portion of data with buffer selected from the group. Each buffer must be returned with {@link #releaseBuffer(ProvidedBuffer)} once it is no
+     * longer necessary. Callback receives failure only once, when request is terminated. End of stream is reported as
+     * {@link SystemError#ENODATA}. If request is terminated by the kernel without error, callback receives {@link SystemError#EAGAIN} and request
+     * should be resubmitted if necessary. If group runs out of free buffers, request is terminated with {@link SystemError#ENOBUFS}.
+     * <p>
+     * Note that this operation requires Linux kernel 6.0 or later.
+     *
+     * @param completion Callback which is invoked for every received portion of data.
+     * @param fd         Socket to receive from.
+     * @param group      Buffer group to select buffers from.
+     * @param msgFlags   Message flags.
+     */
+    long recvMultishot(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group,
+                       Set<MessageFlags> msgFlags);
+
+    default long recvMultishot(Consumer<Result<ProvidedBuffer>> completion, FileDescriptor fd, BufferGroup group,
+                               Set<MessageFlags> msgFlags) {
+        return recvMultishot((result, __) -> completion.accept(result), fd, group, msgFlags);
     }
 
-    default void recv(Consumer<Result<SizeT>> completion, FileDescriptor fd, OffHeapSlice buffer, Set<MessageFlags> msgFlags) {
-        recv((result, __) -> completion.accept(result), fd, buffer, msgFlags, empty());
+    /**
+     * Send data from the set of buffers to the specified destination. This operation is a wrapper for the {@code sendmsg(2)} call, it allows
+     * single unconnected datagram socket to communicate with many peers.
+     *
+     * @param completion  Callback which is invoked with the number of sent bytes.
+     * @param fd          Socket to send data from.
+     * @param destination Address of the peer.
+     * @param msgFlags    Message flags.
+     * @param timeout     Optional operation timeout.
+     * @param buffers     Buffers with data to send.
+     *
+     * @return operation ID
+     */
+    <T extends InetAddress> long sendMessage(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, SocketAddress<T> destination,
+                                             Set<MessageFlags> msgFlags, Option<Timeout> timeout, OffHeapSlice... buffers);
+
+    default <T extends InetAddress> long sendMessage(Consumer<Result<SizeT>> completion, FileDescriptor fd, SocketAddress<T> destination,
+                                                     Set<MessageFlags> msgFlags, Option<Timeout> timeout, OffHeapSlice... buffers) {
+        return sendMessage((result, __) -> completion.accept(result), fd, destination, msgFlags, timeout, buffers);
+    }
+
+    default <T extends InetAddress> long sendMessage(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, SocketAddress<T> destination,
+                                                     Set<MessageFlags> msgFlags, OffHeapSlice... buffers) {
+        return sendMessage(completion, fd, destination, msgFlags, empty(), buffers);
+    }
+
+    /**
+     * Receive data into the set of buffers. This operation is a wrapper for the {@code recvmsg(2)} call. Along with the number of received bytes,
+     * callback receives address of the sender.
+     *
+     * @param completion  Callback which is invoked with the number of received bytes and the address of the sender.
+     * @param fd          Socket to receive data from.
+     * @param addressType Address type of the sender. Only type of the address is used, value is ignored.
+     * @param msgFlags    Message flags.
+     * @param timeout     Optional operation timeout.
+     * @param buffers     Buffers for received data.
+     *
+     * @return operation ID
+     */
+    <T extends InetAddress> long recvMessage(BiConsumer<Result<ReceivedMessage<T>>, Proactor> completion, FileDescriptor fd, T addressType,
+                                             Set<MessageFlags> msgFlags, Option<Timeout> timeout, OffHeapSlice... buffers);
+
+    default <T extends InetAddress> long recvMessage(Consumer<Result<ReceivedMessage<T>>> completion, FileDescriptor fd, T addressType,
+                                                     Set<MessageFlags> msgFlags, Option<Timeout> timeout, OffHeapSlice... buffers) {
+        return recvMessage((result, __) -> completion.accept(result), fd, addressType, msgFlags, timeout, buffers);
+    }
+
+    default <T extends InetAddress> long recvMessage(BiConsumer<Result<ReceivedMessage<T>>, Proactor> completion, FileDescriptor fd, T addressType,
+                                                     Set<MessageFlags> msgFlags, OffHeapSlice... buffers) {
+        return recvMessage(completion, fd, addressType, msgFlags, empty(), buffers);
+    }
+
+    /**
+     * Submit multishot RECVMSG operation with buffers selected by the kernel.
+     * <p>
+     * Single submission keeps delivering received datagrams until error or cancellation, so bursts of datagrams are received without
+     * resubmission for every datagram. Callback is invoked for every datagram with the address of the sender and the payload located in the buffer
+     * selected from the group. Each buffer must be returned with {@link #releaseBuffer(ProvidedBuffer)} once it is no longer necessary.
+     * Termination is reported in the same way as for {@link #recvMultishot(BiConsumer, FileDescriptor, BufferGroup, Set)}. Buffers of the group
+     * must be large enough to hold header, address of the sender and the payload.
+     * <p>
+     * Note that this operation requires Linux kernel 6.0 or later.
+     *
+     * @param completion  Callback which is invoked for every received datagram.
+     * @param fd          Socket to receive from.
+     * @param addressType Address type of the senders. Only type of the address is used, value is ignored.
+     * @param group       Buffer group to select buffers from.
+     * @param msgFlags    Message flags.
+     *
+     * @return operation ID
+     */
+    <T extends InetAddress> long recvMessageMultishot(BiConsumer<Result<ReceivedDatagram<T>>, Proactor> completion, FileDescriptor fd,
+                                                      T addressType, BufferGroup group, Set<MessageFlags> msgFlags);
+
+    default <T extends InetAddress> long recvMessageMultishot(Consumer<Result<ReceivedDatagram<T>>> completion, FileDescriptor fd,
+                                                              T addressType, BufferGroup group, Set<MessageFlags> msgFlags) {
+        return recvMessageMultishot((result, __) -> completion.accept(result), fd, addressType, group, msgFlags);
+    }
+
+    /**
+     * Install file descriptor into the table of registered files of this instance.
+     * <p>
+     * Returned descriptor refers to the slot in the table and is marked as {@link FileDescriptor#fixed()}. Operations submitted with such a
+     * descriptor do not acquire and release file reference on every call, which reduces overhead for frequently used descriptors. Original file
+     * descriptor remains open and can be closed if it is no longer needed. Registered descriptor is valid only for this instance.
+     * <p>
+     * Registered descriptors can't be used to retrieve file status information.
+     *
+     * @param fd File descriptor to register.
+     *
+     * @return descriptor which refers to the slot in the table of registered files.
+     */
+    Result<FileDescriptor> registerFile(FileDescriptor fd);
+
+    /**
+     * Remove file from the table of registered files and release the slot. Note that {@link #close(BiConsumer, FileDescriptor, Option)} for the
+     * registered descriptor releases the slot automatically.
+     *
+     * @param fd Registered file descriptor.
+     */
+    Result<Unit> unregisterFile(FileDescriptor fd);
+
+    /**
+     * Submit OPEN operation which installs opened file directly into the table of registered files. Upon completion callback is invoked with the
+     * registered file descriptor.
+     * <p>
+     * Note that this operation requires Linux kernel 5.15 or later.
+     *
+     * @see #open(BiConsumer, Path, Set, Set, Option)
+     * @see #registerFile(FileDescriptor)
+     */
+    long openDirect(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> flags,
+                    Set<FilePermission> mode, Option<Timeout> timeout);
+
+    default long openDirect(Consumer<Result<FileDescriptor>> completion, Path path, Set<OpenFlags> flags,
+                            Set<FilePermission> mode, Option<Timeout> timeout) {
+        return openDirect((result, __) -> completion.accept(result), path, flags, mode, timeout);
+    }
+
+    /**
+     * Reserve slot in the table of registered files. Returned descriptor can be used to open file into the slot with
+     * {@link #openDirect(BiConsumer, FileDescriptor, Path, Set, Set, Option)}, which is useful when subsequent operations with the file are
+     * submitted before open is finished, for example, within the {@link LinkedChain}.
+     *
+     * @param type Type of the descriptor which will be installed into the slot.
+     *
+     * @return descriptor which refers to the reserved slot.
+     */
+    Result<FileDescriptor> reserveFile(DescriptorType type);
+
+    /**
+     * Submit OPEN operation which installs opened file into the slot previously reserved with {@link #reserveFile(DescriptorType)}. Slot is
+     * released if operation fails.
+     *
+     * @see #openDirect(BiConsumer, Path, Set, Set, Option)
+     */
+    long openDirect(BiConsumer<Result<FileDescriptor>, Proactor> completion, FileDescriptor slot, Path path, Set<OpenFlags> flags,
+                    Set<FilePermission> mode, Option<Timeout> timeout);
+
+    default long openDirect(Consumer<Result<FileDescriptor>> completion, FileDescriptor slot, Path path, Set<OpenFlags> flags,
+                            Set<FilePermission> mode, Option<Timeout> timeout) {
+        return openDirect((result, __) -> completion.accept(result), slot, path, flags, mode, timeout);
+    }
+
+    /**
+     * Submit ACCEPT operation which installs accepted socket directly into the table of registered files. Upon completion callback is invoked with
+     * connection context which contains registered file descriptor.
+     * <p>
+     * Note that this operation requires Linux kernel 5.15 or later.
+     *
+     * @see #accept(BiConsumer, FileDescriptor, Set, InetAddress)
+     * @see #registerFile(FileDescriptor)
+     */
+    <T extends InetAddress> long acceptDirect(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+                                              FileDescriptor socket, Set<SocketFlag> flags, T addressType);
+
+    default <T extends InetAddress> long acceptDirect(Consumer<Result<ConnectionContext<T>>> completion,
+                                                      FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
+        return acceptDirect((result, __) -> completion.accept(result), socket, flags, addressType);
     }
 
     //recvmsg, sendmsg, read_fixed, write_fixed
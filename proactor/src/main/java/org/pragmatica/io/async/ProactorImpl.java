@@ -24,8 +24,11 @@ import org.pragmatica.io.async.file.stat.FileStat;
 import org.pragmatica.io.async.file.stat.StatFlag;
 import org.pragmatica.io.async.file.stat.StatMask;
 import org.pragmatica.io.async.net.*;
+import org.pragmatica.io.async.uring.AsyncOperation;
 import org.pragmatica.io.async.uring.Bitmask;
 import org.pragmatica.io.async.uring.CompletionHandler;
+import org.pragmatica.io.async.uring.RegisteredFiles;
+import org.pragmatica.io.async.uring.SubmissionQueuePolling;
 import org.pragmatica.io.async.uring.UringApi;
 import org.pragmatica.io.async.uring.UringSetupFlags;
 import org.pragmatica.io.async.uring.exchange.ExchangeEntryFactory;
@@ -33,14 +36,23 @@ import org.pragmatica.io.async.uring.struct.offheap.OffHeapCString;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapSocketAddress;
 import org.pragmatica.io.async.uring.utils.ObjectHeap;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
 import org.pragmatica.io.async.util.allocator.ChunkedAllocator;
 import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
 import org.pragmatica.lang.*;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
 
 import static org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector.withReadBuffers;
 import static org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector.withWriteBuffers;
@@ -54,17 +66,24 @@ import static org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector.withW
  */
 class ProactorImpl implements Proactor {
     private static final int AT_FDCWD = -100; // Special value used to indicate the openat/statx functions should use the current working directory.
+    private static final BiConsumer<Result<Unit>, Proactor> IGNORE_RESULT = (__, ___) -> {};
+    private static final int MAX_CACHED_PIPES = 16;
 
     private final UringApi uringApi;
     private final ObjectHeap<CompletionHandler> exchangeRegistry;
     private final ChunkedAllocator sharedAllocator;
     private final ExchangeEntryFactory factory;
+    private final RegisteredFiles registeredFiles;
+    private final Queue<Long> pendingCancellations = new ConcurrentLinkedQueue<>();
+    private final Deque<Pipe> pipes = new ArrayDeque<>();
+    private final BitSet bufferGroupIds = new BitSet();
 
     private ProactorImpl(UringApi uringApi, ChunkedAllocator sharedAllocator) {
         this.uringApi = uringApi;
         this.exchangeRegistry = ObjectHeap.objectHeap(uringApi.numEntries());
         this.factory = new ExchangeEntryFactory(exchangeRegistry);
         this.sharedAllocator = sharedAllocator.register(uringApi);
+        this.registeredFiles = RegisteredFiles.registeredFiles(uringApi, DEFAULT_FILE_TABLE_SIZE);
     }
 
     public static Proactor proactor(int queueSize, Set<UringSetupFlags> openFlags, ChunkedAllocator sharedAllocator, Option<Proactor> rootProactor) {
@@ -76,6 +95,14 @@ class ProactorImpl implements Proactor {
         return new ProactorImpl(api, sharedAllocator);
     }
 
+    public static Proactor proactor(int queueSize, Set<UringSetupFlags> openFlags, ChunkedAllocator sharedAllocator,
+                                    SubmissionQueuePolling polling) {
+        var api = UringApi.uringApi(queueSize, openFlags, 0, polling)
+                          .fold(ProactorImpl::fail, Functions::id);
+
+        return new ProactorImpl(api, sharedAllocator);
+    }
+
     private static <R> R fail(Cause cause) {
         throw new IllegalStateException("Unable to initialize IO_URING interface: " + cause.message());
     }
@@ -84,174 +111,405 @@ class ProactorImpl implements Proactor {
     public void shutdown() {
         uringApi.close();
         factory.clear();
+        closePipes();
+    }
+
+    @Override
+    public void trim() {
+        factory.trim();
+        exchangeRegistry.trim();
+        exchangeRegistry.resetHighWaterMark();
+        uringApi.resetPeakInFlight();
+    }
+
+    @Override
+    public EnumSet<AsyncOperation> supportedOperations() {
+        return uringApi.supportedOperations();
+    }
+
+    @Override
+    public boolean supports(AsyncOperation operation) {
+        return uringApi.supports(operation);
+    }
+
+    @Override
+    public ProactorMetrics metrics() {
+        return new ProactorMetrics(uringApi.numEntries(),
+                                   uringApi.inFlight(),
+                                   uringApi.peakInFlight(),
+                                   exchangeRegistry.count(),
+                                   exchangeRegistry.highWaterMark(),
+                                   exchangeRegistry.capacity(),
+                                   factory.idle());
+    }
+
+    @Override
+    public Result<Unit> workerAffinity(BitSet cpus) {
+        return uringApi.registerWorkerAffinity(cpus);
     }
 
     @Override
     public void processSubmissions() {
+        if (!pendingCancellations.isEmpty()) {
+            submitPendingCancellations();
+        }
+
         uringApi.processSubmissions();
     }
 
+    private void submitPendingCancellations() {
+        Long operationId;
+
+        while ((operationId = pendingCancellations.poll()) != null) {
+            cancel(IGNORE_RESULT, operationId);
+        }
+    }
+
     @Override
     public int processCompletions() {
         return uringApi.processCompletions(exchangeRegistry, this);
     }
 
     @Override
-    public void nop(BiConsumer<Result<Unit>, Proactor> completion) {
-        uringApi.submit(factory.forNop(completion));
+    public void waitForCompletions() {
+        if (!pendingCancellations.isEmpty()) {
+            submitPendingCancellations();
+        }
+
+        uringApi.waitForCompletions();
+    }
+
+    @Override
+    public LinkedChain chain(LinkedChain.LinkMode mode) {
+        return LinkedChain.linkedChain(this, mode);
+    }
+
+    /**
+     * Submit entries produced by the provided submitter as a single chain of linked entries. Each step may produce up to two entries (operation
+     * and linked timeout).
+     */
+    boolean submitChain(LinkedChain.LinkMode mode, int steps, Runnable submitter) {
+        if (!uringApi.beginChain(mode.mask(), steps * 2)) {
+            return false;
+        }
+
+        try {
+            submitter.run();
+        } finally {
+            uringApi.endChain();
+        }
+
+        return true;
+    }
+
+    @Override
+    public long cancel(BiConsumer<Result<Unit>, Proactor> completion, long operationId) {
+        if (operationId == NO_OPERATION) {
+            completion.accept(SystemError.ENOENT.result(), this);
+            return NO_OPERATION;
+        }
+
+        return uringApi.submit(factory.forCancel(completion, operationId));
+    }
+
+    @Override
+    public void cancelLater(long operationId) {
+        if (operationId != NO_OPERATION) {
+            pendingCancellations.offer(operationId);
+        }
+    }
+
+    @Override
+    public long nop(BiConsumer<Result<Unit>, Proactor> completion) {
+        return uringApi.submit(factory.forNop(completion));
     }
 
     @Override
-    public void delay(BiConsumer<Result<Duration>, Proactor> completion, Timeout timeout) {
-        uringApi.submit(factory.forDelay(completion, timeout));
+    public long delay(BiConsumer<Result<Duration>, Proactor> completion, Timeout timeout) {
+        return uringApi.submit(factory.forDelay(completion, timeout));
     }
 
     @Override
-    public void close(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fd, Option<Timeout> timeout) {
-        uringApi.submit(factory.forClose(completion, fd, timeout));
+    public int registerReceiver(ObjIntConsumer<Proactor> receiver) {
+        uringApi.acceptMessages();
+
+        return exchangeRegistry.allocKey((result, flags, proactor) -> receiver.accept(proactor, result));
+    }
+
+    @Override
+    public long message(BiConsumer<Result<Unit>, Proactor> completion, Proactor target, int receiver, int payload) {
+        var targetRing = ((ProactorImpl) target).uringApi.fd();
+
+        return uringApi.submit(factory.forMsgRing(completion, targetRing, receiver, payload));
+    }
+
+    @Override
+    public long close(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fd, Option<Timeout> timeout) {
+        var closeCompletion = fd.fixed() ? releaseSlotOnSuccess(completion, fd.descriptor()) : completion;
+        var operationId = uringApi.submit(factory.forClose(closeCompletion, fd, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
+    public long read(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                      OffsetT offset, Option<Timeout> timeout) {
-        uringApi.submit(factory.forRead(completion, fd, buffer, offset, timeout));
+        var operationId = uringApi.submit(factory.forRead(completion, fd, buffer, offset, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
+    public long write(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                       OffsetT offset, Option<Timeout> timeout) {
-        uringApi.submit(factory.forWrite(completion, fd, buffer, offset, timeout));
+        var operationId = uringApi.submit(factory.forWrite(completion, fd, buffer, offset, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void splice(BiConsumer<Result<SizeT>, Proactor> completion, SpliceDescriptor descriptor, Option<Timeout> timeout) {
-        uringApi.submit(factory.forSplice(completion, descriptor, timeout));
+    public long splice(BiConsumer<Result<SizeT>, Proactor> completion, SpliceDescriptor descriptor, Option<Timeout> timeout) {
+        var operationId = uringApi.submit(factory.forSplice(completion, descriptor, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public void transfer(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor file, OffsetT offset, SizeT length,
+                         FileDescriptor target, OffsetT targetOffset) {
+        var cached = pipes.poll();
+        var pipe = cached != null ? Result.success(cached) : UringApi.pipe();
+
+        pipe.onSuccess(value -> SpliceTransfer.spliceTransfer(this, value, completion, file, offset, length, target, targetOffset)
+                                                   .start())
+            .onFailure(cause -> completion.accept(cause.result(), this));
+    }
+
+    void releasePipe(Pipe pipe) {
+        if (pipes.size() < MAX_CACHED_PIPES) {
+            pipes.offer(pipe);
+        } else {
+            UringApi.close(pipe);
+        }
+    }
+
+    void discardPipe(Pipe pipe) {
+        UringApi.close(pipe);
+    }
+
+    private void closePipes() {
+        Pipe pipe;
+
+        while ((pipe = pipes.poll()) != null) {
+            UringApi.close(pipe);
+        }
     }
 
     @Override
-    public void open(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> flags,
+    public long open(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> flags,
                      Set<FilePermission> mode, Option<Timeout> timeout) {
-        uringApi.submit(factory.forOpen(completion, path, flags, mode, timeout));
+        var operationId = uringApi.submit(factory.forOpen(completion, path, flags, mode, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void socket(BiConsumer<Result<FileDescriptor>, Proactor> completion, AddressFamily addressFamily,
+    public long socket(BiConsumer<Result<FileDescriptor>, Proactor> completion, AddressFamily addressFamily,
                        SocketType socketType, Set<SocketFlag> openFlags, Set<SocketOption> options) {
-        uringApi.submit(factory.forSocket(completion, addressFamily, socketType, openFlags, options));
+        return uringApi.submit(factory.forSocket(completion, addressFamily, socketType, openFlags, options));
     }
 
     @Override
-    public <T extends InetAddress> void listen(BiConsumer<Result<ListenContext<T>>, Proactor> completion,
+    public <T extends InetAddress> long listen(BiConsumer<Result<ListenContext<T>>, Proactor> completion,
                                                SocketAddress<T> socketAddress, SocketType socketType,
                                                Set<SocketFlag> openFlags, SizeT queueDepth, Set<SocketOption> options) {
-        uringApi.submit(factory.forListen(completion, socketAddress, socketType, openFlags, queueDepth, options));
+        return uringApi.submit(factory.forListen(completion, socketAddress, socketType, openFlags, queueDepth, options));
     }
 
     @Override
-    public <T extends InetAddress> void accept(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+    public <T extends InetAddress> long accept(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
                                                FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
-        uringApi.submit(factory.forAccept(completion, socket, flags, addressType instanceof InetAddress.Inet6Address));
+        return uringApi.submit(factory.forAccept(completion, socket, flags, addressType instanceof InetAddress.Inet6Address));
+    }
+
+    @Override
+    public <T extends InetAddress> long acceptMultishot(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+                                                        FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
+        return uringApi.submit(factory.forMultishotAccept(completion, socket, flags, addressType instanceof InetAddress.Inet6Address));
     }
 
     @Override
-    public <T extends InetAddress> void connect(BiConsumer<Result<FileDescriptor>, Proactor> completion, FileDescriptor socket,
+    public <T extends InetAddress> long connect(BiConsumer<Result<FileDescriptor>, Proactor> completion, FileDescriptor socket,
                                                 SocketAddress<T> address, Option<Timeout> timeout) {
         var clientAddress = OffHeapSocketAddress.unsafeSocketAddress(address);
 
         if (clientAddress == null) {
             completion.accept(SystemError.EPFNOSUPPORT.result(), this);
-            return;
+            return NO_OPERATION;
         }
 
-        uringApi.submit(factory.forConnect(completion, socket, clientAddress, timeout));
+        var operationId = uringApi.submit(factory.forConnect(completion, socket, clientAddress, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void stat(BiConsumer<Result<FileStat>, Proactor> completion,
+    public long stat(BiConsumer<Result<FileStat>, Proactor> completion,
                      Path path, Set<StatFlag> flags, Set<StatMask> mask, Option<Timeout> timeout) {
         //Reset EMPTY_PATH and force use the path.
-        uringApi.submit(factory.forStat(completion,
-                                        AT_FDCWD,
-                                        Bitmask.combine(flags) & ~StatFlag.EMPTY_PATH.mask(),
-                                        Bitmask.combine(mask),
-                                        OffHeapCString.cstring(path.toString())));
+        var operationId = uringApi.submit(factory.forStat(completion,
+                                                          AT_FDCWD,
+                                                          Bitmask.combine(flags) & ~StatFlag.EMPTY_PATH.mask(),
+                                                          Bitmask.combine(mask),
+                                                          OffHeapCString.cstring(path.toString())));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void stat(BiConsumer<Result<FileStat>, Proactor> completion, FileDescriptor fd, Set<StatFlag> flags,
+    public long stat(BiConsumer<Result<FileStat>, Proactor> completion, FileDescriptor fd, Set<StatFlag> flags,
                      Set<StatMask> mask, Option<Timeout> timeout) {
+        if (fd.fixed()) {
+            completion.accept(SystemError.EBADF.result(), this);
+            return NO_OPERATION;
+        }
+
         //Set EMPTY_PATH and force use of file descriptor.
-        uringApi.submit(factory.forStat(completion,
-                                        fd.descriptor(),
-                                        Bitmask.combine(flags) | StatFlag.EMPTY_PATH.mask(),
-                                        Bitmask.combine(mask),
-                                        OffHeapCString.cstring("")));
+        var operationId = uringApi.submit(factory.forStat(completion,
+                                                          fd.descriptor(),
+                                                          Bitmask.combine(flags) | StatFlag.EMPTY_PATH.mask(),
+                                                          Bitmask.combine(mask),
+                                                          OffHeapCString.cstring("")));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    public long readVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
                            Option<Timeout> timeout, OffHeapSlice... buffers) {
-        uringApi.submit(factory.forReadVector(completion, fileDescriptor, offset, timeout, withReadBuffers(buffers))
-                               .register(exchangeRegistry));
+        var operationId = uringApi.submit(factory.forReadVector(completion, fileDescriptor, offset, timeout, withReadBuffers(buffers)));
 
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
+    public long writeVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor, OffsetT offset,
                             Option<Timeout> timeout, OffHeapSlice... buffers) {
-        uringApi.submit(factory.forWriteVector(completion, fileDescriptor, offset, timeout, withWriteBuffers(buffers)));
+        var operationId = uringApi.submit(factory.forWriteVector(completion, fileDescriptor, offset, timeout, withWriteBuffers(buffers)));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void fsync(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+    public long fsync(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
                       boolean syncMetadata, Option<Timeout> timeout) {
-        uringApi.submit(factory.forFSync(completion, fileDescriptor, syncMetadata, timeout));
+        var operationId = uringApi.submit(factory.forFSync(completion, fileDescriptor, syncMetadata, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void falloc(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+    public long falloc(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
                        Set<FileAllocFlags> allocFlags, long offset, long len, Option<Timeout> timeout) {
-        uringApi.submit(factory.forFAlloc(completion, fileDescriptor, allocFlags, offset, len, timeout));
+        var operationId = uringApi.submit(factory.forFAlloc(completion, fileDescriptor, allocFlags, offset, len, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public long fadvise(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+                        long offset, int len, AccessAdvice advice, Option<Timeout> timeout) {
+        var operationId = uringApi.submit(factory.forFAdvise(completion, fileDescriptor, offset, len, advice, timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer,
+    public long madvise(BiConsumer<Result<Unit>, Proactor> completion, OffHeapSlice memory, AccessAdvice advice, Option<Timeout> timeout) {
+        var pageMask = (long) UringApi.memoryPageSize() - 1;
+        var address = memory.address() & ~pageMask;
+        var len = (int) (memory.address() - address) + memory.size();
+
+        var operationId = uringApi.submit(factory.forMAdvise(completion, address, len, advice, timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public long readFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer,
                           OffsetT offset, Option<Timeout> timeout) {
-        uringApi.submit(factory.forReadFixed(completion, fd, buffer, offset, timeout));
+        var operationId = uringApi.submit(factory.forReadFixed(completion, fd, buffer, offset, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer,
+    public long writeFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer,
                            OffsetT offset, Option<Timeout> timeout) {
-        uringApi.submit(factory.forWriteFixed(completion, fd, buffer, offset, timeout));
+        var operationId = uringApi.submit(factory.forWriteFixed(completion, fd, buffer, offset, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
-    public void send(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
+    public long send(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                      Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
-        uringApi.submit(factory.forSend(completion, fd, buffer, msgFlags, timeout));
+        var operationId = uringApi.submit(factory.forSend(completion, fd, buffer, msgFlags, timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public long sendZeroCopy(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
+                             Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        if (!uringApi.supports(AsyncOperation.SEND_ZC)) {
+            return send(releaseBufferOnCompletion(completion, buffer), fd, buffer, msgFlags, timeout);
+        }
+
+        var operationId = uringApi.submit(factory.forSendZeroCopy(completion, fd, buffer, msgFlags, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    private static BiConsumer<Result<SizeT>, Proactor> releaseBufferOnCompletion(BiConsumer<Result<SizeT>, Proactor> completion,
+                                                                                 OffHeapSlice buffer) {
+        return (result, proactor) -> {
+            completion.accept(result, proactor);
+
+            if (buffer instanceof FixedBuffer fixedBuffer) {
+                fixedBuffer.dispose();
+            } else {
+                buffer.close();
+            }
+        };
     }
 
     @Override
-    public void recv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
+    public long recv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                      Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
-        uringApi.submit(factory.forRecv(completion, fd, buffer, msgFlags, timeout));
+        var operationId = uringApi.submit(factory.forRecv(completion, fd, buffer, msgFlags, timeout));
         timeout.onPresent(this::appendTimeout);
+
+        return operationId;
     }
 
     @Override
@@ -259,6 +517,184 @@ class ProactorImpl implements Proactor {
         return sharedAllocator.allocate(size);
     }
 
+    @Override
+    public long bufferGroup(BiConsumer<Result<BufferGroup>, Proactor> completion, int bufferSize, int count) {
+        if (bufferSize <= 0 || count <= 0 || count > BufferGroup.MAX_BUFFERS || (long) bufferSize * count > Integer.MAX_VALUE) {
+            completion.accept(SystemError.EINVAL.result(), this);
+            return NO_OPERATION;
+        }
+
+        var groupId = bufferGroupIds.nextClearBit(0);
+
+        if (groupId >= BufferGroup.MAX_GROUPS) {
+            completion.accept(SystemError.ENOSPC.result(), this);
+            return NO_OPERATION;
+        }
+
+        return sharedAllocator.allocate(bufferSize * count)
+                              .fold(cause -> {
+                                  completion.accept(cause.result(), this);
+                                  return NO_OPERATION;
+                              }, memory -> provideBuffers(completion, BufferGroup.bufferGroup((short) groupId, memory, bufferSize, count)));
+    }
+
+    private long provideBuffers(BiConsumer<Result<BufferGroup>, Proactor> completion, BufferGroup group) {
+        bufferGroupIds.set(Short.toUnsignedInt(group.id()));
+
+        return uringApi.submit(factory.forProvideBuffers((result, proactor) -> {
+            result.onFailureDo(() -> releaseBufferGroup(group));
+            completion.accept(result.map(() -> group), proactor);
+        }, group, 0, group.count()));
+    }
+
+    private void releaseBufferGroup(BufferGroup group) {
+        group.dispose();
+        bufferGroupIds.clear(Short.toUnsignedInt(group.id()));
+    }
+
+    @Override
+    public void releaseBuffer(ProvidedBuffer buffer) {
+        uringApi.submit(factory.forProvideBuffers(IGNORE_RESULT, buffer.group(), buffer.id(), 1));
+    }
+
+    @Override
+    public long disposeBufferGroup(BiConsumer<Result<Unit>, Proactor> completion, BufferGroup group) {
+        return uringApi.submit(factory.forRemoveBuffers((result, proactor) -> {
+            releaseBufferGroup(group);
+            completion.accept(result, proactor);
+        }, group));
+    }
+
+    @Override
+    public long readProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group,
+                             OffsetT offset, Option<Timeout> timeout) {
+        var operationId = uringApi.submit(factory.forReadProvided(completion, fd, group, offset, timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public long recvProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group,
+                             Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        var operationId = uringApi.submit(factory.forRecvProvided(completion, fd, group, msgFlags, timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public long recvMultishot(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd, BufferGroup group,
+                              Set<MessageFlags> msgFlags) {
+        return uringApi.submit(factory.forRecvMultishot(completion, fd, group, msgFlags));
+    }
+
+    @Override
+    public <T extends InetAddress> long sendMessage(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd,
+                                                    SocketAddress<T> destination, Set<MessageFlags> msgFlags, Option<Timeout> timeout,
+                                                    OffHeapSlice... buffers) {
+        var operationId = uringApi.submit(factory.forSendMessage(completion, fd, destination, msgFlags, timeout, withWriteBuffers(buffers)));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public <T extends InetAddress> long recvMessage(BiConsumer<Result<ReceivedMessage<T>>, Proactor> completion, FileDescriptor fd,
+                                                    T addressType, Set<MessageFlags> msgFlags, Option<Timeout> timeout,
+                                                    OffHeapSlice... buffers) {
+        var operationId = uringApi.submit(factory.forRecvMessage(completion, fd, addressType instanceof InetAddress.Inet6Address, msgFlags,
+                                                                 timeout, withReadBuffers(buffers)));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public <T extends InetAddress> long recvMessageMultishot(BiConsumer<Result<ReceivedDatagram<T>>, Proactor> completion, FileDescriptor fd,
+                                                             T addressType, BufferGroup group, Set<MessageFlags> msgFlags) {
+        return uringApi.submit(factory.forRecvMessageMultishot(completion, fd, group, addressType instanceof InetAddress.Inet6Address,
+                                                               msgFlags));
+    }
+
+    @Override
+    public Result<FileDescriptor> registerFile(FileDescriptor fd) {
+        return registeredFiles.register(fd);
+    }
+
+    @Override
+    public Result<Unit> unregisterFile(FileDescriptor fd) {
+        return registeredFiles.unregister(fd);
+    }
+
+    @Override
+    public Result<FileDescriptor> reserveFile(DescriptorType type) {
+        var slot = registeredFiles.allocate();
+
+        return slot == RegisteredFiles.NO_SLOT
+               ? SystemError.ENFILE.result()
+               : Result.success(FileDescriptor.fixed(slot, type));
+    }
+
+    @Override
+    public long openDirect(BiConsumer<Result<FileDescriptor>, Proactor> completion, FileDescriptor slot, Path path, Set<OpenFlags> flags,
+                           Set<FilePermission> mode, Option<Timeout> timeout) {
+        if (!slot.fixed()) {
+            completion.accept(SystemError.EBADF.result(), this);
+            return NO_OPERATION;
+        }
+
+        var operationId = uringApi.submit(factory.forOpenDirect(releaseSlotOnFailure(completion, slot.descriptor()), path, flags, mode,
+                                                                slot.descriptor(), timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public long openDirect(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> flags,
+                           Set<FilePermission> mode, Option<Timeout> timeout) {
+        var slot = registeredFiles.allocate();
+
+        if (slot == RegisteredFiles.NO_SLOT) {
+            completion.accept(SystemError.ENFILE.result(), this);
+            return NO_OPERATION;
+        }
+
+        var operationId = uringApi.submit(factory.forOpenDirect(releaseSlotOnFailure(completion, slot), path, flags, mode, slot, timeout));
+        timeout.onPresent(this::appendTimeout);
+
+        return operationId;
+    }
+
+    @Override
+    public <T extends InetAddress> long acceptDirect(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+                                                     FileDescriptor socket, Set<SocketFlag> flags, T addressType) {
+        var slot = registeredFiles.allocate();
+
+        if (slot == RegisteredFiles.NO_SLOT) {
+            completion.accept(SystemError.ENFILE.result(), this);
+            return NO_OPERATION;
+        }
+
+        return uringApi.submit(factory.forAcceptDirect(releaseSlotOnFailure(completion, slot), socket, flags,
+                                                       addressType instanceof InetAddress.Inet6Address, slot));
+    }
+
+    private <T> BiConsumer<Result<T>, Proactor> releaseSlotOnFailure(BiConsumer<Result<T>, Proactor> completion, int slot) {
+        return (result, proactor) -> {
+            result.onFailureDo(() -> registeredFiles.release(slot));
+            completion.accept(result, proactor);
+        };
+    }
+
+    private <T> BiConsumer<Result<T>, Proactor> releaseSlotOnSuccess(BiConsumer<Result<T>, Proactor> completion, int slot) {
+        return (result, proactor) -> {
+            result.onSuccessDo(() -> registeredFiles.release(slot));
+            completion.accept(result, proactor);
+        };
+    }
+
     private void appendTimeout(Timeout timeout) {
         uringApi.submit(factory.forTimeout(timeout));
     }
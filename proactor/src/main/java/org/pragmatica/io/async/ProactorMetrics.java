@@ -0,0 +1,33 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async;
+
+/**
+ * Snapshot of the occupancy of the {@link Proactor} internal structures.
+ *
+ * @param queueSize                Size of the submission queue.
+ * @param inFlight                 Number of submitted but not yet completed requests.
+ * @param peakInFlight             Maximal number of simultaneously in-flight requests.
+ * @param registeredEntries        Number of exchange entries registered in the completion registry.
+ * @param peakRegisteredEntries    Maximal number of simultaneously registered exchange entries.
+ * @param registryCapacity         Number of slots in the allocated pages of the completion registry.
+ * @param idleEntries              Number of exchange entries waiting for reuse in the pools.
+ */
+public record ProactorMetrics(int queueSize, int inFlight, int peakInFlight, int registeredEntries, int peakRegisteredEntries,
+                              int registryCapacity, int idleEntries) {
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async;
+
+import org.pragmatica.io.async.common.OffsetT;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.file.Pipe;
+import org.pragmatica.io.async.file.SpliceDescriptor;
+import org.pragmatica.io.async.file.SpliceFlags;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Result;
+
+import java.util.EnumSet;
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.common.OffsetT.offsetT;
+import static org.pragmatica.io.async.common.SizeT.sizeT;
+import static org.pragmatica.lang.Option.empty;
+
+/**
+ * Transfer of the file region into socket or another file through the intermediate pipe.
+ * <p>
+ * Data are moved in chunks. Each chunk is moved by the chain of two linked SPLICE operations: file to pipe and pipe to target descriptor. If the first step
+ * moves fewer bytes than requested, the second step is cancelled by the kernel, so remaining content of the pipe is sent by standalone SPLICE
+ * before next chunk is started. Pipe which is left empty after transfer is returned to the {@link ProactorImpl} for reuse.
+ */
+final class SpliceTransfer {
+    // Default pipe capacity. Larger chunk blocks first step of the chain, because pipe can't be drained until second step is started.
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ProactorImpl proactor;
+    private final Pipe pipe;
+    private final BiConsumer<Result<SizeT>, Proactor> completion;
+    private final FileDescriptor file;
+    private final FileDescriptor target;
+    private long offset;
+    private long targetPosition;
+    private long remaining;
+    private long transferred;
+    private long inPipe;
+    private long filled;
+    private Cause failure;
+
+    private SpliceTransfer(ProactorImpl proactor, Pipe pipe, BiConsumer<Result<SizeT>, Proactor> completion,
+                           FileDescriptor file, OffsetT offset, SizeT length, FileDescriptor target, OffsetT targetPosition) {
+        this.proactor = proactor;
+        this.pipe = pipe;
+        this.completion = completion;
+        this.file = file;
+        this.target = target;
+        this.offset = offset.value();
+        this.remaining = length.value();
+        this.targetPosition = targetPosition.value();
+    }
+
+    static SpliceTransfer spliceTransfer(ProactorImpl proactor, Pipe pipe, BiConsumer<Result<SizeT>, Proactor> completion,
+                                         FileDescriptor file, OffsetT offset, SizeT length, FileDescriptor target,
+                                         OffsetT targetPosition) {
+        return new SpliceTransfer(proactor, pipe, completion, file, offset, length, target, targetPosition);
+    }
+
+    void start() {
+        next();
+    }
+
+    private void next() {
+        if (failure != null) {
+            finish(failure.result());
+            return;
+        }
+
+        if (inPipe > 0) {
+            drain();
+            return;
+        }
+
+        if (remaining == 0) {
+            finish(Result.success(sizeT(transferred)));
+            return;
+        }
+
+        var chunk = Math.min(remaining, CHUNK_SIZE);
+        var flags = remaining > chunk ? EnumSet.of(SpliceFlags.MOVE, SpliceFlags.MORE) : EnumSet.of(SpliceFlags.MOVE);
+
+        filled = 0;
+
+        proactor.chain(LinkedChain.LinkMode.SOFT)
+                .then((p, steps) -> p.splice(steps.step(this::onFill),
+                                             descriptor(file, pipe.writeEnd(), offsetT(offset), OffsetT.NONE, chunk, flags), empty()))
+                .then((p, steps) -> p.splice(steps.step(this::onSend),
+                                             descriptor(pipe.readEnd(), target, OffsetT.NONE, targetOffset(), chunk, flags), empty()))
+                .submit(this::onChunk);
+    }
+
+    private void drain() {
+        proactor.splice(this::onDrain, descriptor(pipe.readEnd(), target, OffsetT.NONE, targetOffset(), inPipe,
+                                                    EnumSet.of(SpliceFlags.MOVE)), empty());
+    }
+
+    // Zero bytes sent from non-empty pipe (reported as ENODATA) means that peer is gone
+    private void onDrain(Result<SizeT> result, Proactor __) {
+        onSend(result.mapError(cause -> cause == SystemError.ENODATA ? SystemError.EPIPE : cause), proactor);
+        next();
+    }
+
+    // Zero bytes moved into pipe (reported as ENODATA) means that end of file is reached, so filled remains zero
+    private void onFill(Result<SizeT> result, Proactor __) {
+        result.onSuccess(size -> {
+                  filled = size.value();
+                  offset += filled;
+                  remaining -= filled;
+                  inPipe += filled;
+              })
+              .onFailure(cause -> {
+                  if (cause != SystemError.ENODATA) {
+                      failure = cause;
+                  }
+              });
+    }
+
+    private void onSend(Result<SizeT> result, Proactor __) {
+        result.onSuccess(size -> {
+                  inPipe -= size.value();
+                  transferred += size.value();
+
+                  if (targetPosition != OffsetT.NONE.value()) {
+                      targetPosition += size.value();
+                  }
+              })
+              .onFailure(cause -> {
+                  // Cancellation is expected when first step of the chain was short
+                  if (cause != SystemError.ECANCELED && failure == null) {
+                      failure = cause;
+                  }
+              });
+    }
+
+    private void onChunk(Result<?> __, Proactor ___) {
+        // End of file reached before requested length is transferred
+        if (failure == null && filled == 0) {
+            remaining = 0;
+        }
+
+        next();
+    }
+
+    private void finish(Result<SizeT> result) {
+        if (inPipe == 0) {
+            proactor.releasePipe(pipe);
+        } else {
+            proactor.discardPipe(pipe);
+        }
+
+        completion.accept(result, proactor);
+    }
+
+    // Value of OffsetT.NONE means that target has no position, for example it is a socket
+    private OffsetT targetOffset() {
+        return offsetT(targetPosition);
+    }
+
+    private static SpliceDescriptor descriptor(FileDescriptor from, FileDescriptor to, OffsetT fromOffset, OffsetT toOffset, long length,
+                                               EnumSet<SpliceFlags> flags) {
+        return new SpliceDescriptor(from, to, fromOffset, toOffset, sizeT(length), flags);
+    }
+}
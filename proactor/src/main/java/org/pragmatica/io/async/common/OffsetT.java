@@ -22,6 +22,10 @@ package org.pragmatica.io.async.common;
  */
 public record OffsetT(long value) implements Comparable<OffsetT> {
     public static final OffsetT ZERO = offsetT(0L);
+    /**
+     * Absence of the offset. Used for descriptors which have no position, like pipes and sockets.
+     */
+    public static final OffsetT NONE = offsetT(-1L);
 
     public static OffsetT offsetT(final long value) {
         return new OffsetT(value);
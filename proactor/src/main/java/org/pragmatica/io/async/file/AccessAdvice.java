@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.file;
+
+/**
+ * Access pattern advice for file data or memory mapped region.
+ * <p>
+ * Values are shared by {@code posix_fadvise(2)} and {@code madvise(2)} calls.
+ */
+public enum AccessAdvice {
+    NORMAL(0),      /* No further special treatment */
+    RANDOM(1),      /* Expect random page references */
+    SEQUENTIAL(2),  /* Expect sequential page references */
+    WILLNEED(3),    /* Will need these pages */
+    DONTNEED(4);    /* Don't need these pages */
+
+    private final int advice;
+
+    AccessAdvice(int advice) {
+        this.advice = advice;
+    }
+
+    public int advice() {
+        return advice;
+    }
+}
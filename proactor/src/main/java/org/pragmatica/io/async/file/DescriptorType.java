@@ -18,8 +18,8 @@
 package org.pragmatica.io.async.file;
 
 /**
- * File descriptor type. Regular file, TCPv4 socket and TCPv6 types are recognized.
+ * File descriptor type. Regular file, TCPv4 socket, TCPv6 socket and pipe types are recognized.
  */
 public enum DescriptorType {
-    FILE, SOCKET, SOCKET6
+    FILE, SOCKET, SOCKET6, PIPE
 }
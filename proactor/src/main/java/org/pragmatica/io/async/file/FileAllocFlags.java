@@ -45,6 +45,6 @@ public enum FileAllocFlags implements Bitmask {
 
     @Override
     public int mask() {
-        return 0;
+        return mask;
     }
 }
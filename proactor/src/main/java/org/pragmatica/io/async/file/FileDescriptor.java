@@ -19,8 +19,15 @@ package org.pragmatica.io.async.file;
 
 /**
  * General purpose Linux file descriptor.
+ * <p>
+ * Descriptor marked as {@code fixed} does not refer to the regular file descriptor, instead it holds index of the slot in the table of registered
+ * files of particular {@link org.pragmatica.io.async.Proactor} instance. Such descriptors are valid only for the instance which created them.
  */
-public record FileDescriptor(int descriptor, DescriptorType type) {
+public record FileDescriptor(int descriptor, DescriptorType type, boolean fixed) {
+    public FileDescriptor(int descriptor, DescriptorType type) {
+        this(descriptor, type, false);
+    }
+
     public static FileDescriptor file(int fd) {
         return new FileDescriptor(fd, DescriptorType.FILE);
     }
@@ -33,8 +40,20 @@ public record FileDescriptor(int descriptor, DescriptorType type) {
         return new FileDescriptor(fd, DescriptorType.SOCKET6);
     }
 
+    public static FileDescriptor pipe(int fd) {
+        return new FileDescriptor(fd, DescriptorType.PIPE);
+    }
+
+    public static FileDescriptor fixed(int slot, DescriptorType type) {
+        return new FileDescriptor(slot, type, true);
+    }
+
     public boolean isSocket() {
-        return type != DescriptorType.FILE;
+        return type == DescriptorType.SOCKET || type == DescriptorType.SOCKET6;
+    }
+
+    public boolean isPipe() {
+        return type == DescriptorType.PIPE;
     }
 
     public boolean isSocket6() {
@@ -43,6 +62,6 @@ public record FileDescriptor(int descriptor, DescriptorType type) {
 
     @Override
     public String toString() {
-        return "FileDescriptor(" + descriptor + ", " + type + ")";
+        return "FileDescriptor(" + descriptor + ", " + type + (fixed ? ", fixed" : "") + ")";
     }
 }
@@ -0,0 +1,30 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.file;
+
+/**
+ * Pair of descriptors which represent both ends of the pipe.
+ *
+ * @param readEnd  Descriptor from which data written into pipe can be read
+ * @param writeEnd Descriptor into which data can be written
+ */
+public record Pipe(FileDescriptor readEnd, FileDescriptor writeEnd) {
+    public static Pipe pipe(int readEnd, int writeEnd) {
+        return new Pipe(FileDescriptor.pipe(readEnd), FileDescriptor.pipe(writeEnd));
+    }
+}
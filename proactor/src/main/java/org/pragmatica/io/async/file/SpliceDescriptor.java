@@ -40,11 +40,11 @@ import java.util.EnumSet;
  *     </tr>
  *     <tr>
  *         <td>fromOffset</td>
- *         <td>Offset in the source file if corresponding file descriptor belongs to file. Otherwise should be set to {@link OffsetT#ZERO}.</td>
+ *         <td>Offset in the source file if corresponding file descriptor belongs to file. Otherwise should be set to {@link OffsetT#NONE}.</td>
  *     </tr>
  *     <tr>
  *         <td>toOffset</td>
- *         <td>Offset in the destination file if corresponding file descriptor belongs to file. Otherwise should be set to {@link OffsetT#ZERO}.</td>
+ *         <td>Offset in the destination file if corresponding file descriptor belongs to file. Otherwise should be set to {@link OffsetT#NONE}.</td>
  *     </tr>
  *     <tr>
  *         <td>bytesToCopy</td>
@@ -43,7 +43,9 @@ public record FileStat(
     StatTimestamp attributeChangeTime, /* Last attribute change time */
     StatTimestamp modificationTime, /* Last data modification time */
     DeviceId rDevice,
-    DeviceId fsDevice
+    DeviceId fsDevice,
+    int dioMemoryAlignment, /* Memory buffer alignment for direct I/O, valid only if mask contains DIOALIGN */
+    int dioOffsetAlignment /* File offset alignment for direct I/O, valid only if mask contains DIOALIGN, 0 if direct I/O is not supported */
 ) {
 
     public static FileStat fileStat(EnumSet<StatMask> mask, int blockSize, EnumSet<StatAttribute> attributes,
@@ -51,9 +53,10 @@ public record FileStat(
                                     long inode, long size, long blocks, EnumSet<StatAttribute> attributeMask,
                                     StatTimestamp accessTime, StatTimestamp creationTime,
                                     StatTimestamp attributeChangeTime, StatTimestamp modificationTime,
-                                    DeviceId rDevice, DeviceId fsDevice) {
+                                    DeviceId rDevice, DeviceId fsDevice, int dioMemoryAlignment, int dioOffsetAlignment) {
         return new FileStat(mask, blockSize, attributes, numLinks, ownerUID, ownerGID, fileType, permissions, inode, size, blocks,
-                            attributeMask, accessTime, creationTime, attributeChangeTime, modificationTime, rDevice, fsDevice);
+                            attributeMask, accessTime, creationTime, attributeChangeTime, modificationTime, rDevice, fsDevice,
+                            dioMemoryAlignment, dioOffsetAlignment);
     }
 
     @Override
@@ -77,6 +80,8 @@ public record FileStat(
             .add("modificationTime: " + modificationTime.localDateTime())
             .add("rDevice: " + rDevice)
             .add("fsDevice: " + fsDevice)
+            .add("dioMemoryAlignment: " + dioMemoryAlignment)
+            .add("dioOffsetAlignment: " + dioOffsetAlignment)
             .toString();
     }
 }
@@ -36,10 +36,11 @@ public enum StatMask implements Bitmask {
     INO(0x000000100),     /* Want/got stx_ino */
     FSIZE(0x000000200),    /* Want/got stx_size */
     BLOCKS(0x000000400),  /* Want/got stx_blocks */
-    BTIME(0x000000800);   /* Want/got stx_btime */
+    BTIME(0x000000800),   /* Want/got stx_btime */
+    DIOALIGN(0x000002000); /* Want/got direct I/O alignment info */
 
     private final int mask;
-    private static final EnumSet<StatMask> BASIC = EnumSet.complementOf(EnumSet.of(BTIME));
+    private static final EnumSet<StatMask> BASIC = EnumSet.complementOf(EnumSet.of(BTIME, DIOALIGN));
     private static final EnumSet<StatMask> ALL = EnumSet.allOf(StatMask.class);
 
     public static EnumSet<StatMask> basic() {
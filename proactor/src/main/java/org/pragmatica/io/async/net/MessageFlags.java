@@ -19,6 +19,8 @@ package org.pragmatica.io.async.net;
 
 import org.pragmatica.io.async.uring.Bitmask;
 
+import java.util.EnumSet;
+
 /**
  * Flags for send/recv, sendto/recvfrom, sendmsg/recvmsg.
  */
@@ -56,4 +58,8 @@ public enum MessageFlags implements Bitmask {
     public int mask() {
         return mask;
     }
+
+    public static EnumSet<MessageFlags> none() {
+        return EnumSet.noneOf(MessageFlags.class);
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.net;
+
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
+
+/**
+ * Datagram received by multishot {@code recvmsg} request. The payload is a part of the buffer selected by kernel, so buffer must be
+ * returned to kernel with {@link org.pragmatica.io.async.Proactor#releaseBuffer(ProvidedBuffer)} once payload is processed.
+ *
+ * @param sender  Address of the sender.
+ * @param payload Received data.
+ * @param buffer  Buffer which holds received data.
+ */
+public record ReceivedDatagram<T extends InetAddress>(SocketAddress<T> sender, OffHeapSlice payload, ProvidedBuffer buffer) {
+}
@@ -19,6 +19,8 @@ package org.pragmatica.io.async.uring;
 
 /**
  * Asynchronous operation opcodes.
+ * <p>
+ * Set of operations supported by the running kernel is available via {@link org.pragmatica.io.async.Proactor#supportedOperations()}.
  */
 public enum AsyncOperation {
     NOP(0),                  //Implemented
@@ -35,7 +37,7 @@ public enum AsyncOperation {
     TIMEOUT(11),              //Implemented
     TIMEOUT_REMOVE(12),
     ACCEPT(13),               //Implemented
-    ASYNC_CANCEL(14),
+    ASYNC_CANCEL(14),         //Implemented
     LINK_TIMEOUT(15),         //Implemented
     CONNECT(16),              //Implemented
     FALLOCATE(17),            //Implemented
@@ -45,22 +47,31 @@ public enum AsyncOperation {
     STATX(21),                //Implemented
     READ(22),                 //Implemented
     WRITE(23),                //Implemented
-    FADVISE(24),
-    MADVISE(25),
-    SEND(26),
-    RECV(27),
+    FADVISE(24),              //Implemented
+    MADVISE(25),              //Implemented
+    SEND(26),                 //Implemented
+    RECV(27),                 //Implemented
     OPENAT2(28),
     EPOLL_CTL(29),
     SPLICE(30),               //Implemented
-    PROVIDE_BUFFERS(31),
-    REMOVE_BUFFERS(32),
+    PROVIDE_BUFFERS(31),      //Implemented
+    REMOVE_BUFFERS(32),       //Implemented
     TEE(33),
     SHUTDOWN(34),
     RENAMEAT(35),
     UNLINKAT(36),
     MKDIRAT(37),
     SYMLINKAT(38),
-    LINKAT(39);
+    LINKAT(39),
+    MSG_RING(40),             //Implemented
+    FSETXATTR(41),
+    SETXATTR(42),
+    FGETXATTR(43),
+    GETXATTR(44),
+    SOCKET(45),               // Introduced along with multishot accept
+    URING_CMD(46),
+    SEND_ZC(47),              // Introduced along with multishot receive
+    SENDMSG_ZC(48);
 
     private final byte opcode;
 
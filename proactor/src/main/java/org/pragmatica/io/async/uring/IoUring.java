@@ -32,11 +32,13 @@ public class IoUring extends AbstractExternalRawStructure<IoUring> {
     private final IoUringCQ completionQueue;
     private final IoUringParams params;
     private int fd;
+    private boolean sqPolling;
+    private boolean ioPolling;
 
     private IoUring(long address) {
         super(address, RAW_SIZE);
 
-        submissionQueue = IoUringSQ.at(sqAddress(), this);
+        submissionQueue = IoUringSQ.at(sqAddress());
         completionQueue = IoUringCQ.at(cqAddress());
         params = IoUringParams.at(paramsAddress());
     }
@@ -52,6 +54,8 @@ public class IoUring extends AbstractExternalRawStructure<IoUring> {
         completionQueue.reposition(cqAddress());
         params.reposition(paramsAddress());
         fd = getInt(ring_fd);
+        sqPolling = (flags() & UringSetupFlags.SQ_POLL.mask()) != 0;
+        ioPolling = (flags() & UringSetupFlags.IO_POLL.mask()) != 0;
     }
 
     private long sqAddress() {
@@ -90,18 +94,54 @@ public class IoUring extends AbstractExternalRawStructure<IoUring> {
         return UringApi.enter(fd, toSubmit, minComplete, flags);
     }
 
+    public boolean submissionQueuePolling() {
+        return sqPolling;
+    }
+
+    /**
+     * Make submitted entries visible to the kernel and, if necessary, enter kernel. In {@link UringSetupFlags#SQ_POLL} mode kernel is entered
+     * only if polling thread needs wakeup, completion queue needs flush or caller wants to wait for completions.
+     */
     public int submitAndWait(int waitNr) {
         int submitted = submissionQueue.flush();
-        var flags1 = new int[] {0};
+        int enterFlags = 0;
+
+        if (submissionQueue.needsFlush()) {
+            enterFlags |= UringEnterFlags.GET_EVENTS.mask();
+        }
 
-        if (submissionQueue.needsEnter(flags1) || waitNr != 0) {
-            if (waitNr != 0 || (flags() & UringSetupFlags.IO_POLL.mask()) != 0) {
-                flags1[0] |= UringEnterFlags.GET_EVENTS.mask();
+        if (sqPolling) {
+            if (submissionQueue.needsWakeup()) {
+                enterFlags |= UringEnterFlags.SQ_WAKEUP.mask();
             }
 
-            return (int) enter(submitted, waitNr, flags1[0]);
+            if (enterFlags == 0 && waitNr == 0) {
+                return submitted;
+            }
+        }
+
+        if (waitNr != 0 || ioPolling) {
+            enterFlags |= UringEnterFlags.GET_EVENTS.mask();
+        }
+
+        return (int) enter(submitted, waitNr, enterFlags);
+    }
+
+    /**
+     * Wait until polling thread consumes at least one entry from the full submission queue. Does nothing if ring is not in
+     * {@link UringSetupFlags#SQ_POLL} mode, because in this case entries are consumed synchronously by {@link #submitAndWait(int)}.
+     */
+    public void waitForSubmissionSpace() {
+        if (!sqPolling) {
+            return;
+        }
+
+        int enterFlags = UringEnterFlags.SQ_WAIT.mask();
+
+        if (submissionQueue.needsWakeup()) {
+            enterFlags |= UringEnterFlags.SQ_WAKEUP.mask();
         }
 
-        return submitted;
+        enter(0, 0, enterFlags);
     }
 }
@@ -24,13 +24,24 @@ import org.pragmatica.io.async.uring.struct.shape.IoUringCQOffsets;
 import org.pragmatica.io.async.uring.utils.ObjectHeap;
 import org.pragmatica.io.async.util.raw.RawMemory;
 
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_MORE;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.USER_DATA_MESSAGE;
+import static org.pragmatica.io.async.uring.struct.shape.CompletionQueueEntryOffsets.flags;
+import static org.pragmatica.io.async.uring.struct.shape.CompletionQueueEntryOffsets.res;
+import static org.pragmatica.io.async.uring.struct.shape.CompletionQueueEntryOffsets.user_data;
 import static org.pragmatica.io.async.uring.struct.shape.IoUringCQOffsets.*;
 
 /**
  * Representation of the internals of the {@code io_uring_cq} structure.
  */
 public class IoUringCQ extends AbstractExternalRawStructure<IoUringCQ> {
+    public static final int BATCH_SIZE = 256;
+    public static final int MAX_BATCHES = 2;
+
     private final CQEntry cqEntry = CQEntry.at(0);
+    private final long[] batchUserData = new long[BATCH_SIZE];
+    private final int[] batchResults = new int[BATCH_SIZE];
+    private final int[] batchFlags = new int[BATCH_SIZE];
 
     private long kheadAddr;
     private long ktailAddr;
@@ -58,22 +69,98 @@ public class IoUringCQ extends AbstractExternalRawStructure<IoUringCQ> {
         adjustAddresses();
     }
 
+    /**
+     * Dispatch all available completions to corresponding handlers.
+     *
+     * @return number of finished requests. Intermediate completions of multishot requests (marked with {@code IORING_CQE_F_MORE} flag) and
+     *     messages received from other rings are not counted, as they don't finish requests submitted to this ring.
+     */
     public int processCompletions(ObjectHeap<CompletionHandler> pendingCompletions, Proactor proactor) {
         var head = RawMemory.getLong(kheadAddr);
         var ready = RawMemory.getLongVolatile(ktailAddr) - head;
+        var finished = (int) ready;
 
         if (ready > 0) {
             var last = head + ready;
 
             for (; head != last; head++) {
                 cqEntry.reposition(cqesAddress + ((head & mask) << 4));
-                pendingCompletions.elementUnsafe((int) cqEntry.userData())
-                                  .accept(cqEntry.res(), cqEntry.flags(), proactor);
+
+                var flags = cqEntry.flags();
+                var userData = cqEntry.userData();
+
+                if ((flags & IORING_CQE_F_MORE) != 0 || (userData & USER_DATA_MESSAGE) != 0) {
+                    finished--;
+                }
+
+                pendingCompletions.elementUnsafe((int) userData)
+                                  .accept(cqEntry.res(), flags, proactor);
             }
 
             RawMemory.putLongVolatile(kheadAddr, last);
         }
 
-        return (int) ready;
+        return finished;
+    }
+
+    /**
+     * Dispatch available completions in batches. Up to {@link #BATCH_SIZE} completions are copied into preallocated arrays, then head of the
+     * queue is advanced at once, so kernel can reuse queue slots while completions are dispatched. Handlers are invoked in the order of completions.
+     * <p>
+     * At most {@link #MAX_BATCHES} batches are dispatched per call. Completions of operations submitted by handlers may arrive while batch is
+     * dispatched, so without limit single call could keep dispatching indefinitely and starve submissions. Remaining completions are processed
+     * by the next call.
+     * <p>
+     * WARNING: this method is not reentrant, handlers must not call it.
+     *
+     * @return number of finished requests. Intermediate completions of multishot requests (marked with {@code IORING_CQE_F_MORE} flag) and
+     *     messages received from other rings are not counted, as they don't finish requests submitted to this ring.
+     */
+    public int processCompletionsBatch(ObjectHeap<CompletionHandler> pendingCompletions, Proactor proactor) {
+        var finished = 0;
+        int count;
+
+        for (int batch = 0; batch < MAX_BATCHES && (count = harvest()) > 0; batch++) {
+            finished += dispatch(count, pendingCompletions, proactor);
+        }
+
+        return finished;
+    }
+
+    private int harvest() {
+        // Ring indexes are 32-bit values which wrap around, so they are handled as int to keep difference correct
+        var head = RawMemory.getInt(kheadAddr);
+        var count = Math.min(RawMemory.getIntVolatile(ktailAddr) - head, BATCH_SIZE);
+
+        for (int i = 0; i < count; i++, head++) {
+            var entry = cqesAddress + ((head & mask) << 4);
+
+            batchUserData[i] = RawMemory.getLong(entry + user_data.offset());
+            batchResults[i] = RawMemory.getInt(entry + res.offset());
+            batchFlags[i] = RawMemory.getInt(entry + flags.offset());
+        }
+
+        if (count > 0) {
+            RawMemory.putIntVolatile(kheadAddr, head);
+        }
+
+        return count;
+    }
+
+    private int dispatch(int count, ObjectHeap<CompletionHandler> pendingCompletions, Proactor proactor) {
+        var finished = count;
+
+        for (int i = 0; i < count; i++) {
+            var entryFlags = batchFlags[i];
+
+            if ((entryFlags & IORING_CQE_F_MORE) != 0 || (batchUserData[i] & USER_DATA_MESSAGE) != 0) {
+                finished--;
+            }
+
+            pendingCompletions.elementUnsafe((int) batchUserData[i])
+                              .accept(batchResults[i], entryFlags, proactor);
+        }
+
+        return finished;
     }
 }
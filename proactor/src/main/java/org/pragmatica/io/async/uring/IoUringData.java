@@ -29,8 +29,10 @@ public class IoUringData extends AbstractOffHeapStructure<IoUringData> {
     private final int numEntries;
     private final int workQueueFD;
     private final int flags;
+    private final int sqThreadCpu;
+    private final int sqThreadIdle;
 
-    private IoUringData(int requestedEntries, Set<UringSetupFlags> openFlags, int workQueueFD) {
+    private IoUringData(int requestedEntries, Set<UringSetupFlags> openFlags, int workQueueFD, int sqThreadCpu, int sqThreadIdle) {
         super(IoUring.RAW_SIZE);
         clear();
 
@@ -38,10 +40,17 @@ public class IoUringData extends AbstractOffHeapStructure<IoUringData> {
         this.ioUring = IoUring.at(address());
         this.flags = Bitmask.combine(openFlags);
         this.workQueueFD = workQueueFD;
+        this.sqThreadCpu = sqThreadCpu;
+        this.sqThreadIdle = sqThreadIdle;
     }
 
     public static IoUringData create(int requestedEntries, Set<UringSetupFlags> openFlags, int workQueueFD) {
-        return new IoUringData(requestedEntries, openFlags, workQueueFD);
+        return new IoUringData(requestedEntries, openFlags, workQueueFD, 0, 0);
+    }
+
+    public static IoUringData create(int requestedEntries, Set<UringSetupFlags> openFlags, int workQueueFD, SubmissionQueuePolling polling) {
+        return new IoUringData(requestedEntries, polling.setupFlags(openFlags), workQueueFD,
+                               Math.max(polling.cpu(), 0), polling.idleTimeMs());
     }
 
     private static int calculateNumEntries(int size) {
@@ -60,6 +69,8 @@ public class IoUringData extends AbstractOffHeapStructure<IoUringData> {
     int init() {
         ioUring.params().flags(flags);
         ioUring.params().workQueueFD(workQueueFD);
+        ioUring.params().sqThreadCpu(sqThreadCpu);
+        ioUring.params().sqThreadIdle(sqThreadIdle);
 
         var rc = UringApi.init(numEntries, ioUring.address());
 
@@ -82,6 +93,14 @@ public class IoUringData extends AbstractOffHeapStructure<IoUringData> {
         return ioUring.submitAndWait(waitNr);
     }
 
+    public void waitForSubmissionSpace() {
+        ioUring.waitForSubmissionSpace();
+    }
+
+    public boolean submissionQueuePolling() {
+        return ioUring.submissionQueuePolling();
+    }
+
     public IoUringSQ submissionQueue() {
         return ioUring.submissionQueue();
     }
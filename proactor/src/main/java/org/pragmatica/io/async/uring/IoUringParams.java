@@ -40,6 +40,22 @@ public class IoUringParams extends AbstractExternalRawStructure<IoUringParams> {
         return putInt(IoUringParamsOffsets.flags, flags);
     }
 
+    public int sqThreadCpu() {
+        return getInt(IoUringParamsOffsets.sq_thread_cpu);
+    }
+
+    public IoUringParams sqThreadCpu(int cpu) {
+        return putInt(IoUringParamsOffsets.sq_thread_cpu, cpu);
+    }
+
+    public int sqThreadIdle() {
+        return getInt(IoUringParamsOffsets.sq_thread_idle);
+    }
+
+    public IoUringParams sqThreadIdle(int idleTimeMs) {
+        return putInt(IoUringParamsOffsets.sq_thread_idle, idleTimeMs);
+    }
+
     public int workQueueFD() {
         return getInt(IoUringParamsOffsets.wq_fd);
     }
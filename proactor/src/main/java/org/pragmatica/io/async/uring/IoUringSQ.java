@@ -21,6 +21,8 @@ import org.pragmatica.io.async.uring.struct.AbstractExternalRawStructure;
 import org.pragmatica.io.async.uring.struct.shape.IoUringSQOffsets;
 import org.pragmatica.io.async.util.raw.RawMemory;
 
+import java.lang.invoke.VarHandle;
+
 import static org.pragmatica.io.async.uring.struct.shape.IoUringCQOffsets.khead;
 import static org.pragmatica.io.async.uring.struct.shape.IoUringSQOffsets.*;
 
@@ -28,10 +30,9 @@ import static org.pragmatica.io.async.uring.struct.shape.IoUringSQOffsets.*;
  * Representation of the internals of the {@code io_uring_sq} structure.
  */
 public class IoUringSQ extends AbstractExternalRawStructure<IoUringSQ> {
-    private static final long IORING_SQ_NEED_WAKEUP = (1L); /* needs io_uring_enter wakeup */
-    private static final long IORING_SQ_CQ_OVERFLOW = (1L << 1); /* CQ ring is overflown */
+    private static final int IORING_SQ_NEED_WAKEUP = (1); /* needs io_uring_enter wakeup */
+    private static final int IORING_SQ_CQ_OVERFLOW = (1 << 1); /* CQ ring is overflown */
 
-    private final IoUring ioUring;
     private long kheadAddr;
     private long entriesCount;
     private long mask;
@@ -40,13 +41,12 @@ public class IoUringSQ extends AbstractExternalRawStructure<IoUringSQ> {
     private long ktailAddress;
     private long arrayAddress;
 
-    private IoUringSQ(long address, IoUring ioUring) {
+    private IoUringSQ(long address) {
         super(address, IoUringSQOffsets.SIZE);
-        this.ioUring = ioUring;
     }
 
-    public static IoUringSQ at(long address, IoUring ioUring) {
-        return new IoUringSQ(address, ioUring);
+    public static IoUringSQ at(long address) {
+        return new IoUringSQ(address);
     }
 
     @Override
@@ -68,8 +68,21 @@ public class IoUringSQ extends AbstractExternalRawStructure<IoUringSQ> {
         arrayAddress = getLong(array);
     }
 
+    /**
+     * Check if completion queue is overflown and kernel keeps completions which should be flushed with {@code io_uring_enter} call with
+     * {@link UringEnterFlags#GET_EVENTS} flag.
+     */
     public boolean needsFlush() {
-        return (RawMemory.getLong(kflagsAddress) & IORING_SQ_CQ_OVERFLOW) != 0;
+        return (RawMemory.getIntVolatile(kflagsAddress) & IORING_SQ_CQ_OVERFLOW) != 0;
+    }
+
+    /**
+     * Check if submission queue polling thread is sleeping and needs to be woken up. Must be called after {@link #flush()}, the full fence
+     * ensures that the new tail is visible to the polling thread before the flag is checked, otherwise wakeup might be missed.
+     */
+    public boolean needsWakeup() {
+        VarHandle.fullFence();
+        return (RawMemory.getIntVolatile(kflagsAddress) & IORING_SQ_NEED_WAKEUP) != 0;
     }
 
     public long nextSQE() {
@@ -87,17 +100,11 @@ public class IoUringSQ extends AbstractExternalRawStructure<IoUringSQ> {
         return sqe;
     }
 
-    public boolean needsEnter(int[] flags) {
-        if ((ioUring.flags() & UringSetupFlags.SQ_POLL.mask()) == 0) {
-            return true;
-        }
-
-        if ((RawMemory.getLong(kflagsAddress) & IORING_SQ_NEED_WAKEUP) != 0) {
-            flags[0] |= UringEnterFlags.SQ_WAKEUP.mask();
-            return true;
-        }
-
-        return false;
+    /**
+     * Number of entries which can be obtained with {@link #nextSQE()} without flushing queue.
+     */
+    public long available() {
+        return entriesCount - (getInt(sqe_tail) - RawMemory.getLongVolatile(kheadAddr));
     }
 
     public int flush() {
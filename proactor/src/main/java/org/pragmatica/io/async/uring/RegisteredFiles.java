@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.uring;
+
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.BitSet;
+
+/**
+ * Table of files registered within particular IO_URING instance.
+ * <p>
+ * Operations with registered files refer to them by index of the slot in the table, which enables kernel to skip acquiring and releasing file
+ * reference for every operation. The table is registered lazily, upon first slot allocation, as a sparse set of the configured size. Slots are then
+ * populated either explicitly, with {@link #register(FileDescriptor)}, or by operations which install descriptor directly into slot.
+ * <p>
+ * WARNING: the implementation is not thread safe.
+ */
+public class RegisteredFiles {
+    public static final int NO_SLOT = -1;
+
+    private final UringApi api;
+    private final BitSet slots;
+    private final int size;
+    private boolean registered;
+
+    private RegisteredFiles(UringApi api, int size) {
+        this.api = api;
+        this.size = size;
+        this.slots = new BitSet(size);
+    }
+
+    public static RegisteredFiles registeredFiles(UringApi api, int size) {
+        return new RegisteredFiles(api, size);
+    }
+
+    /**
+     * Allocate free slot.
+     *
+     * @return index of the allocated slot or {@link #NO_SLOT} if table is full or can't be registered.
+     */
+    public int allocate() {
+        if (!registered) {
+            if (api.registerFiles(size).isFailure()) {
+                return NO_SLOT;
+            }
+            registered = true;
+        }
+
+        var slot = slots.nextClearBit(0);
+
+        if (slot >= size) {
+            return NO_SLOT;
+        }
+
+        slots.set(slot);
+        return slot;
+    }
+
+    /**
+     * Release slot. Note that this method does not change content of the slot in kernel, it just makes slot available for subsequent allocations.
+     */
+    public void release(int slot) {
+        slots.clear(slot);
+    }
+
+    /**
+     * Install existing file descriptor into free slot.
+     *
+     * @return descriptor which refers to the allocated slot.
+     */
+    public Result<FileDescriptor> register(FileDescriptor fd) {
+        if (fd.fixed()) {
+            return Result.success(fd);
+        }
+
+        var slot = allocate();
+
+        if (slot == NO_SLOT) {
+            return SystemError.ENFILE.result();
+        }
+
+        return api.updateFile(slot, fd.descriptor())
+                  .onFailureDo(() -> release(slot))
+                  .map(__ -> FileDescriptor.fixed(slot, fd.type()));
+    }
+
+    /**
+     * Remove file from the slot and release slot.
+     */
+    public Result<Unit> unregister(FileDescriptor fd) {
+        if (!fd.fixed()) {
+            return SystemError.EBADF.result();
+        }
+
+        return api.updateFile(fd.descriptor(), -1)
+                  .onSuccessDo(() -> release(fd.descriptor()));
+    }
+}
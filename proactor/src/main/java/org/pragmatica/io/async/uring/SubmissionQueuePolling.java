@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Configuration of the kernel-side submission queue polling thread ({@code IORING_SETUP_SQPOLL}).
+ * <p>
+ * While the polling thread is awake, submission of the new requests does not require any system calls. The thread goes to sleep after
+ * {@code idleTimeMs} milliseconds without new submissions and is woken up by the next submission.
+ *
+ * @param cpu        CPU to which polling thread should be pinned, or {@link #NO_AFFINITY} if thread may run on any CPU.
+ * @param idleTimeMs Time (in milliseconds) after which idle polling thread goes to sleep. Zero means kernel default (1 second).
+ */
+public record SubmissionQueuePolling(int cpu, int idleTimeMs) {
+    public static final int NO_AFFINITY = -1;
+    public static final int DEFAULT_IDLE_TIME_MS = 1000;
+
+    public static SubmissionQueuePolling sqPolling() {
+        return new SubmissionQueuePolling(NO_AFFINITY, DEFAULT_IDLE_TIME_MS);
+    }
+
+    public static SubmissionQueuePolling sqPolling(int idleTimeMs) {
+        return new SubmissionQueuePolling(NO_AFFINITY, idleTimeMs);
+    }
+
+    public static SubmissionQueuePolling sqPolling(int cpu, int idleTimeMs) {
+        return new SubmissionQueuePolling(cpu, idleTimeMs);
+    }
+
+    public boolean pinned() {
+        return cpu >= 0;
+    }
+
+    /**
+     * Setup flags necessary to configure polling thread. {@link UringSetupFlags#SQ_AFF} is added only if CPU is specified.
+     */
+    public Set<UringSetupFlags> setupFlags(Set<UringSetupFlags> baseFlags) {
+        var flags = EnumSet.noneOf(UringSetupFlags.class);
+
+        flags.addAll(baseFlags);
+
+        flags.add(UringSetupFlags.SQ_POLL);
+
+        if (pinned()) {
+            flags.add(UringSetupFlags.SQ_AFF);
+        }
+
+        return flags;
+    }
+}
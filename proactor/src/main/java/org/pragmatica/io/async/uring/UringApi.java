@@ -21,6 +21,8 @@ import org.pragmatica.io.async.Proactor;
 import org.pragmatica.io.async.SystemError;
 import org.pragmatica.io.async.common.SizeT;
 import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.file.OpenFlags;
+import org.pragmatica.io.async.file.Pipe;
 import org.pragmatica.io.async.net.*;
 import org.pragmatica.io.async.uring.exchange.ExchangeEntry;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector;
@@ -30,17 +32,28 @@ import org.pragmatica.io.async.uring.struct.raw.RawSocketAddressIn6;
 import org.pragmatica.io.async.uring.struct.raw.SQEntry;
 import org.pragmatica.io.async.uring.utils.LibraryLoader;
 import org.pragmatica.io.async.uring.utils.ObjectHeap;
+import org.pragmatica.io.async.util.AnonymousRegion;
+import org.pragmatica.io.async.util.MappedRegion;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.raw.RawMemory;
 import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.Set;
 
+import static org.pragmatica.io.async.SystemError.EBADF;
+import static org.pragmatica.io.async.SystemError.EINVAL;
 import static org.pragmatica.io.async.SystemError.ENOTSOCK;
 import static org.pragmatica.io.async.SystemError.result;
 import static org.pragmatica.io.async.uring.RegisterOperation.IORING_REGISTER_BUFFERS;
+import static org.pragmatica.io.async.uring.RegisterOperation.IORING_REGISTER_FILES;
+import static org.pragmatica.io.async.uring.RegisterOperation.IORING_REGISTER_FILES_UPDATE;
+import static org.pragmatica.io.async.uring.RegisterOperation.IORING_REGISTER_IOWQ_AFF;
+import static org.pragmatica.io.async.uring.RegisterOperation.IORING_REGISTER_PROBE;
 import static org.pragmatica.lang.Result.success;
 
 /**
@@ -50,14 +63,36 @@ public class UringApi implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(UringApi.class);
 
     public static final int MIN_QUEUE_SIZE = 128;
+    private static final int FILES_UPDATE_SIZE = 16;
+    private static final int PROT_READ = 0x01;
+    private static final int PROT_WRITE = 0x02;
+    private static final int MAP_SHARED = 0x01;
+    private static final int MAP_PRIVATE = 0x02;
+    private static final int MAP_ANONYMOUS = 0x20;
+    private static final int MPOL_PREFERRED = 1;
+    private static final int MPOL_MF_MOVE = 1 << 1;
+    private static final int CPU_MASK_SIZE = 128;
+    private static final int MAX_CPU_MASK_SIZE = 128 * 1024;
+    private static final int PAGE_SIZE;
+    private static final int PROBE_HEADER_SIZE = 16;
+    private static final int PROBE_OP_SIZE = 8;
+    private static final int PROBE_OPS_COUNT = 256;
+    private static final int PROBE_OP_FLAGS_OFFSET = 2;
+    private static final int IO_URING_OP_SUPPORTED = 1;
 
     private final int threshold;
     private final SQEntry sqEntry;
     private final IoUringData ioUring;
+    private final EnumSet<AsyncOperation> supportedOperations;
 
     private boolean closed = false;
     private int count = 0;
     private int inFlight = 0;
+    private int peakInFlight = 0;
+    private byte chainFlags = 0;
+    private long chainTail = 0L;
+    private boolean batchCompletions = true;
+    private boolean acceptsMessages = false;
 
     static {
         try {
@@ -66,6 +101,7 @@ public class UringApi implements AutoCloseable {
             LOG.error("Error while loading JNI library for UringApi class: ", e);
             System.exit(-1);
         }
+        PAGE_SIZE = pageSize();
     }
 
     //------------------------------------------------------------------------------------------------
@@ -105,12 +141,130 @@ public class UringApi implements AutoCloseable {
      * @return 0 for success and negative value of error code in case of error.
      */
     static native int prepareForListen(int socket, long address, int len, int queueDepth);
+
+    /**
+     * Retrieve address of the peer connected to the socket. This is a wrapper for getpeername(2) call.
+     *
+     * @param socket  Connected socket.
+     * @param address Memory address of the buffer for the socket address structure.
+     * @param sizePtr Memory address of the variable which contains size of the buffer on input and actual size of the address on output.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int peerName(int socket, long address, long sizePtr);
+
+    // Pipe API
+    /**
+     * Create pipe. This is a wrapper for pipe2(2) call.
+     *
+     * @param fds   Memory address of the array of two int values, where read and write ends of the pipe are stored.
+     * @param flags Open flags for the pipe descriptors.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int pipe(long fds, int flags);
+
+    /**
+     * Close file descriptor. This is a wrapper for close(2) call, which is used for descriptors which are never passed to the ring.
+     *
+     * @param fd File descriptor to close.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int closeDescriptor(int fd);
+
+    // Memory mapping API
+    /**
+     * Map file into memory. This is a wrapper for mmap(2) call.
+     *
+     * @param length Length of the mapping in bytes.
+     * @param prot   Memory protection of the mapping.
+     * @param flags  Mapping flags.
+     * @param fd     File descriptor of the mapped file.
+     * @param offset Offset in the file, must be a multiple of the page size.
+     *
+     * @return Address of the mapping for success and negative value of error code in case of error.
+     */
+    static native long mmap(long length, int prot, int flags, int fd, long offset);
+
+    /**
+     * Remove memory mapping. This is a wrapper for munmap(2) call.
+     *
+     * @param address Address of the mapping.
+     * @param length  Length of the mapping in bytes.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int munmap(long address, long length);
+
+    /**
+     * Obtain size of the memory page.
+     *
+     * @return Memory page size in bytes.
+     */
+    static native int pageSize();
+
+    // Event notification API
+    /**
+     * Create file descriptor for event notification. This is a wrapper for eventfd(2) call.
+     *
+     * @param flags Descriptor flags.
+     *
+     * @return Created file descriptor for success and negative value of error code in case of error.
+     */
+    static native int eventFd(int flags);
+
+    /**
+     * Add value to the counter of event notification descriptor. This is a wrapper for eventfd_write(3) call.
+     *
+     * @param fd    Event notification descriptor.
+     * @param value Value to add.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int eventFdWrite(int fd, long value);
+
+    // Placement API
+    /**
+     * Set CPU affinity of the calling thread. This is a wrapper for sched_setaffinity(2) call.
+     *
+     * @param mask Address of the CPU mask.
+     * @param size Size of the CPU mask in bytes.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int setAffinity(long mask, int size);
+
+    /**
+     * Get CPU affinity of the calling thread. This is a wrapper for sched_getaffinity(2) call.
+     *
+     * @param mask Address of the CPU mask.
+     * @param size Size of the CPU mask in bytes.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int getAffinity(long mask, int size);
+
+    /**
+     * Set memory policy for the memory range. This is a wrapper for mbind(2) call.
+     *
+     * @param address  Start address of the memory range.
+     * @param length   Length of the memory range.
+     * @param mode     Memory policy mode.
+     * @param nodeMask Address of the NUMA node mask.
+     * @param maxNode  Number of bits in the node mask.
+     * @param flags    Policy flags.
+     *
+     * @return 0 for success and negative value of error code in case of error.
+     */
+    static native int mbind(long address, long length, int mode, long nodeMask, long maxNode, int flags);
     //------------------------------------------------------------------------------------------------
 
     private UringApi(IoUringData ioUring) {
         this.ioUring = ioUring;
         this.threshold = ioUring.numEntries() - 2;
         this.sqEntry = SQEntry.at(0);
+        this.supportedOperations = probe();
     }
 
     public static Result<UringApi> uringApi(int requestedEntries, Set<UringSetupFlags> openFlags) {
@@ -118,7 +272,15 @@ public class UringApi implements AutoCloseable {
     }
 
     public static Result<UringApi> uringApi(int requestedEntries, Set<UringSetupFlags> openFlags, int workQueueFD) {
-        var ioUring = IoUringData.create(requestedEntries, openFlags, workQueueFD);
+        return start(IoUringData.create(requestedEntries, openFlags, workQueueFD));
+    }
+
+    public static Result<UringApi> uringApi(int requestedEntries, Set<UringSetupFlags> openFlags, int workQueueFD,
+                                            SubmissionQueuePolling polling) {
+        return start(IoUringData.create(requestedEntries, openFlags, workQueueFD, polling));
+    }
+
+    private static Result<UringApi> start(IoUringData ioUring) {
         var rc = ioUring.init();
 
         if (rc != 0) {
@@ -129,6 +291,48 @@ public class UringApi implements AutoCloseable {
         return success(new UringApi(ioUring));
     }
 
+    /**
+     * Set of operations supported by the kernel. Retrieved once, at the creation of the instance.
+     */
+    public EnumSet<AsyncOperation> supportedOperations() {
+        return EnumSet.copyOf(supportedOperations);
+    }
+
+    private EnumSet<AsyncOperation> probe() {
+        // struct io_uring_probe { __u8 last_op; __u8 ops_len; __u16 resv; __u32 resv2[3]; struct io_uring_probe_op ops[]; }
+        // struct io_uring_probe_op { __u8 op; __u8 resv; __u16 flags; __u32 resv2; }
+        var size = PROBE_HEADER_SIZE + PROBE_OPS_COUNT * PROBE_OP_SIZE;
+        var probe = RawMemory.allocate(size);
+
+        try {
+            RawMemory.clear(probe, size);
+
+            int rc = register(IORING_REGISTER_PROBE, probe, PROBE_OPS_COUNT);
+
+            if (rc < 0) {
+                // Probing is available since Linux 5.6, older kernels support operations up to CONNECT
+                LOG.warn("Unable to probe supported operations: {}", SystemError.fromCode(rc));
+                return EnumSet.range(AsyncOperation.NOP, AsyncOperation.CONNECT);
+            }
+
+            var result = EnumSet.noneOf(AsyncOperation.class);
+            int opsLen = Byte.toUnsignedInt(RawMemory.getByte(probe + 1));
+
+            for (var operation : AsyncOperation.values()) {
+                int opcode = Byte.toUnsignedInt(operation.opcode());
+                long flagsAddress = probe + PROBE_HEADER_SIZE + (long) opcode * PROBE_OP_SIZE + PROBE_OP_FLAGS_OFFSET;
+
+                if (opcode < opsLen && (RawMemory.getShort(flagsAddress) & IO_URING_OP_SUPPORTED) != 0) {
+                    result.add(operation);
+                }
+            }
+
+            return result;
+        } finally {
+            RawMemory.dispose(probe);
+        }
+    }
+
     int register(RegisterOperation op, long arg1, long arg2) {
         return register(ioUring.fd(), op.ordinal(), arg1, arg2);
     }
@@ -149,6 +353,55 @@ public class UringApi implements AutoCloseable {
         }
     }
 
+    /**
+     * Register sparse table of files of specified size. Slots of the table are populated later.
+     */
+    public Result<Unit> registerFiles(int count) {
+        var fds = RawMemory.allocate(count * 4L);
+
+        try {
+            for (int i = 0; i < count; i++) {
+                RawMemory.putInt(fds + i * 4L, -1);
+            }
+
+            int rc = register(IORING_REGISTER_FILES, fds, count);
+
+            return rc < 0 ? SystemError.result(rc) : Unit.unitResult();
+        } finally {
+            RawMemory.dispose(fds);
+        }
+    }
+
+    /**
+     * Replace content of the single slot of the table of registered files. Passing -1 as a descriptor clears the slot.
+     */
+    public Result<Unit> updateFile(int slot, int descriptor) {
+        // struct io_uring_files_update { __u32 offset; __u32 resv; __aligned_u64 fds; } followed by the single descriptor value
+        var update = RawMemory.allocate(FILES_UPDATE_SIZE + 4);
+
+        try {
+            RawMemory.clear(update, FILES_UPDATE_SIZE);
+            RawMemory.putInt(update, slot);
+            RawMemory.putLong(update + 8, update + FILES_UPDATE_SIZE);
+            RawMemory.putInt(update + FILES_UPDATE_SIZE, descriptor);
+
+            int rc = register(IORING_REGISTER_FILES_UPDATE, update, 1);
+
+            return rc < 0 ? SystemError.result(rc) : Unit.unitResult();
+        } finally {
+            RawMemory.dispose(update);
+        }
+    }
+
+    /**
+     * Restrict CPUs on which kernel worker threads (io-wq) of this ring are allowed to run. Requires kernel 5.14 or later.
+     *
+     * @param cpus Set of allowed CPUs.
+     */
+    public Result<Unit> registerWorkerAffinity(BitSet cpus) {
+        return withCpuMask(cpus, (mask, size) -> register(IORING_REGISTER_IOWQ_AFF, mask, size));
+    }
+
     public Result<Unit> unregisterBuffers() {
         int rc = register(IORING_REGISTER_BUFFERS, 0L, 0L);
 
@@ -165,12 +418,30 @@ public class UringApi implements AutoCloseable {
         closed = true;
     }
 
+    /**
+     * Switch between batched (default) and one by one harvesting of the completions.
+     */
+    public UringApi batchCompletions(boolean batchCompletions) {
+        this.batchCompletions = batchCompletions;
+        return this;
+    }
+
+    /**
+     * Enable checking of the completion queue even when there are no requests in flight, so messages posted by other rings are not missed.
+     */
+    public UringApi acceptMessages() {
+        this.acceptsMessages = true;
+        return this;
+    }
+
     public int processCompletions(ObjectHeap<CompletionHandler> pendingCompletions, Proactor proactor) {
-        if (inFlight == 0) {
+        if (inFlight == 0 && !acceptsMessages) {
             return 0;
         }
 
-        int completed = ioUring.completionQueue().processCompletions(pendingCompletions, proactor);
+        int completed = batchCompletions
+                        ? ioUring.completionQueue().processCompletionsBatch(pendingCompletions, proactor)
+                        : ioUring.completionQueue().processCompletions(pendingCompletions, proactor);
 
         inFlight -= completed;
 
@@ -178,36 +449,124 @@ public class UringApi implements AutoCloseable {
     }
 
     public void processSubmissions() {
-        if (count > 0) {
+        if (count > 0 || ioUring.submissionQueue().needsFlush()) {
             ioUring.submitAndWait(0);
             count = 0;
         }
     }
 
-    public void submit(ExchangeEntry<?> entry) {
+    /**
+     * Submit pending entries and block until at least one completion is available.
+     */
+    public void waitForCompletions() {
+        ioUring.submitAndWait(1);
+        count = 0;
+    }
+
+    /**
+     * Submit entry.
+     *
+     * @return ID of the submitted operation
+     */
+    public long submit(ExchangeEntry<?> entry) {
         while (true) {
             var sqe = ioUring.submissionQueue().nextSQE();
 
             if (sqe == 0) {
                 ioUring.submitAndWait(0);
+                ioUring.waitForSubmissionSpace();
                 count = 0;
                 continue;
             }
 
             count++;
 
+            if (chainFlags != 0) {
+                appendToChain(sqe);
+            }
+
             sqEntry.reposition(sqe);
             entry.apply(sqEntry.clear());
-            inFlight++;
+            if (++inFlight > peakInFlight) {
+                peakInFlight = inFlight;
+            }
             break;
         }
 
+        if (count >= threshold && chainFlags == 0) {
+            ioUring.submitAndWait(0);
+            count = 0;
+        }
+
+        return entry.operationId();
+    }
+
+    /**
+     * Start chain of linked entries. All entries submitted until {@link #endChain()} are linked with provided flags. Necessary space in submission
+     * queue is reserved in advance, so chain is never split between submissions.
+     *
+     * @param linkFlags  {@code IOSQE_IO_LINK} or {@code IOSQE_IO_HARDLINK}
+     * @param maxEntries maximal number of entries in the chain
+     *
+     * @return {@code false} if chain can't fit into submission queue.
+     */
+    public boolean beginChain(int linkFlags, int maxEntries) {
+        if (maxEntries > threshold) {
+            return false;
+        }
+
+        while (ioUring.submissionQueue().available() < maxEntries) {
+            ioUring.submitAndWait(0);
+            ioUring.waitForSubmissionSpace();
+            count = 0;
+        }
+
+        chainFlags = (byte) linkFlags;
+        chainTail = 0L;
+        return true;
+    }
+
+    public void endChain() {
+        chainFlags = 0;
+        chainTail = 0L;
+
         if (count >= threshold) {
             ioUring.submitAndWait(0);
             count = 0;
         }
     }
 
+    private void appendToChain(long sqe) {
+        if (chainTail != 0L) {
+            sqEntry.reposition(chainTail);
+            sqEntry.flags((byte) (sqEntry.flags() | chainFlags));
+        }
+
+        chainTail = sqe;
+    }
+
+    public boolean supports(AsyncOperation operation) {
+        return supportedOperations.contains(operation);
+    }
+
+    /**
+     * Number of submitted but not yet completed requests.
+     */
+    public int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Maximal number of simultaneously in-flight requests since creation or last call to {@link #resetPeakInFlight()}.
+     */
+    public int peakInFlight() {
+        return peakInFlight;
+    }
+
+    public void resetPeakInFlight() {
+        peakInFlight = inFlight;
+    }
+
     public int numEntries() {
         return ioUring.numEntries();
     }
@@ -230,6 +589,194 @@ public class UringApi implements AutoCloseable {
             .map(fd -> ListenContext.listenContext(fd, address, len));
     }
 
+    public static Result<Pipe> pipe() {
+        var fds = RawMemory.allocate(8);
+
+        try {
+            int rc = pipe(fds, OpenFlags.CLOEXEC.mask());
+
+            return rc < 0 ? SystemError.result(rc) : success(Pipe.pipe(RawMemory.getInt(fds), RawMemory.getInt(fds + 4)));
+        } finally {
+            RawMemory.dispose(fds);
+        }
+    }
+
+    public static void close(Pipe pipe) {
+        closeDescriptor(pipe.readEnd().descriptor());
+        closeDescriptor(pipe.writeEnd().descriptor());
+    }
+
+    /**
+     * Create event notification descriptor. Reading from the descriptor completes once some value is written to it, so pending read
+     * can be used to wake up thread which waits for completions.
+     *
+     * @return Created descriptor.
+     */
+    public static Result<FileDescriptor> eventFd() {
+        int rc = eventFd(OpenFlags.CLOEXEC.mask());
+
+        return rc < 0 ? SystemError.result(rc) : success(FileDescriptor.file(rc));
+    }
+
+    /**
+     * Signal event notification descriptor.
+     */
+    public static Result<Unit> signal(FileDescriptor eventFd) {
+        int rc = eventFdWrite(eventFd.descriptor(), 1L);
+
+        return rc < 0 ? SystemError.result(rc) : Unit.unitResult();
+    }
+
+    /**
+     * Close descriptor synchronously.
+     */
+    public static void close(FileDescriptor fd) {
+        closeDescriptor(fd.descriptor());
+    }
+
+    public static int memoryPageSize() {
+        return PAGE_SIZE;
+    }
+
+    /**
+     * Map region of the file into memory for reading. Offset does not need to be aligned to the page boundary, the mapping
+     * is extended as necessary.
+     *
+     * @param fd     File descriptor. Descriptor must not be registered (fixed).
+     * @param offset Offset of the region in the file.
+     * @param length Length of the region.
+     *
+     * @return Mapped region.
+     */
+    public static Result<MappedRegion> map(FileDescriptor fd, long offset, int length) {
+        if (fd.fixed()) {
+            return EBADF.result();
+        }
+
+        if (offset < 0 || length <= 0) {
+            return EINVAL.result();
+        }
+
+        var delta = (int) (offset & (PAGE_SIZE - 1));
+        var mapLength = (long) delta + length;
+        var base = mmap(mapLength, PROT_READ, MAP_SHARED, fd.descriptor(), offset - delta);
+
+        return base < 0
+               ? SystemError.result((int) base)
+               : success(MappedRegion.mappedRegion(base, mapLength, base + delta, length));
+    }
+
+    /**
+     * Allocate anonymous memory region with pages preferably placed at the specified NUMA node. If memory policy can't be set (for example,
+     * on the kernel built without NUMA support), region is allocated with default policy.
+     * <p>
+     * Mapping is always page-aligned, so for larger alignment it is extended by the alignment size and region is placed at the first aligned
+     * address within the mapping.
+     *
+     * @param size      Size of the region in bytes.
+     * @param alignment Required alignment of the region address, must be a power of two.
+     * @param node      NUMA node where memory should be placed.
+     */
+    public static Result<AnonymousRegion> allocate(int size, int alignment, int node) {
+        if (size <= 0 || node < 0 || Integer.bitCount(alignment) != 1) {
+            return EINVAL.result();
+        }
+
+        var mapLength = alignment > PAGE_SIZE ? (long) size + alignment : size;
+        var base = mmap(mapLength, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0L);
+
+        if (base < 0) {
+            return SystemError.result((int) base);
+        }
+
+        var nodes = new BitSet();
+        nodes.set(node);
+
+        // Policy is set before first access to the memory, so pages are allocated at the requested node
+        withCpuMask(nodes, (mask, maskSize) -> mbind(base, mapLength, MPOL_PREFERRED, mask, maskSize * 8L, MPOL_MF_MOVE))
+            .onFailure(failure -> LOG.debug("Unable to set memory policy for node {}: {}", node, failure));
+
+        var address = (base + alignment - 1) & -alignment;
+
+        return success(AnonymousRegion.anonymousRegion(base, mapLength, address, size));
+    }
+
+    /**
+     * Restrict CPUs on which calling thread is allowed to run.
+     *
+     * @param cpus Set of allowed CPUs.
+     */
+    public static Result<Unit> threadAffinity(BitSet cpus) {
+        return withCpuMask(cpus, UringApi::setAffinity);
+    }
+
+    /**
+     * Retrieve set of CPUs on which calling thread is allowed to run.
+     *
+     * @return Set of allowed CPUs.
+     */
+    public static Result<BitSet> threadAffinity() {
+        // Kernel rejects masks smaller than its own CPU mask, so size is increased until mask is accepted
+        for (int size = CPU_MASK_SIZE; ; size *= 2) {
+            var mask = RawMemory.allocate(size);
+
+            try {
+                int rc = getAffinity(mask, size);
+
+                if (rc == -EINVAL.code() && size < MAX_CPU_MASK_SIZE) {
+                    continue;
+                }
+
+                if (rc < 0) {
+                    return SystemError.result(rc);
+                }
+
+                var words = new long[size / Long.BYTES];
+
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = RawMemory.getLong(mask + (long) i * Long.BYTES);
+                }
+
+                return success(BitSet.valueOf(words));
+            } finally {
+                RawMemory.dispose(mask);
+            }
+        }
+    }
+
+    // Bit sets are passed to kernel as arrays of longs
+    private static Result<Unit> withCpuMask(BitSet bits, IntBinaryCall call) {
+        var words = bits.toLongArray();
+
+        if (words.length == 0) {
+            return EINVAL.result();
+        }
+
+        var size = words.length * Long.BYTES;
+        var mask = RawMemory.allocate(size);
+
+        try {
+            for (int i = 0; i < words.length; i++) {
+                RawMemory.putLong(mask + (long) i * Long.BYTES, words[i]);
+            }
+
+            int rc = call.apply(mask, size);
+
+            return rc < 0 ? SystemError.result(rc) : Unit.unitResult();
+        } finally {
+            RawMemory.dispose(mask);
+        }
+    }
+
+    public static void unmap(long address, long length) {
+        munmap(address, length);
+    }
+
+    public static int peerName(int socket, OffHeapSocketAddress address) {
+        address.reset();
+        return peerName(socket, address.sockAddrPtr(), address.sizePtr());
+    }
+
     private static <T extends InetAddress> Result<FileDescriptor> configureForListen(FileDescriptor fd, SocketAddress<T> address, int queueLen) {
         if (!fd.isSocket()) {
             return ENOTSOCK.result();
@@ -240,4 +787,9 @@ public class UringApi implements AutoCloseable {
 
         return result(rc, __ -> fd);
     }
+
+    @FunctionalInterface
+    private interface IntBinaryCall {
+        int apply(long address, int size);
+    }
 }
@@ -30,6 +30,7 @@ import org.pragmatica.lang.Result;
 import java.util.function.BiConsumer;
 
 import static org.pragmatica.io.async.common.SizeT.sizeT;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_MORE;
 import static org.pragmatica.lang.Result.success;
 
 /**
@@ -54,6 +55,7 @@ public abstract class AbstractExchangeEntry<T extends AbstractExchangeEntry<T, R
     private final AsyncOperation operation;
     public T next;
     private int key;
+    private int generation;
     protected BiConsumer<Result<R>, Proactor> completion;
 
     protected AbstractExchangeEntry(AsyncOperation operation, PlainObjectPool pool) {
@@ -64,13 +66,21 @@ public abstract class AbstractExchangeEntry<T extends AbstractExchangeEntry<T, R
     @SuppressWarnings("unchecked")
     public void release() {
         completion = null;
+        generation++;
         pool.release(this);
     }
 
+    /**
+     * Handle completion. Multishot requests produce several completions for single submission, so entry is released only when kernel indicates
+     * that no more completions will follow.
+     */
     @Override
     public final void accept(int result, int flags, Proactor proactor) {
         doAccept(result, flags, proactor);
-        release();
+
+        if ((flags & IORING_CQE_F_MORE) == 0) {
+            release();
+        }
     }
 
     protected abstract void doAccept(int result, int flags, Proactor proactor);
@@ -83,6 +93,16 @@ public abstract class AbstractExchangeEntry<T extends AbstractExchangeEntry<T, R
         return key;
     }
 
+    /**
+     * Operation ID is composed of the key (lower 32 bits) and the number of times the entry was reused (next 31 bits). The latter part makes
+     * operation ID unique even if the entry is reused for another operation after the original operation is finished. The highest bit is
+     * reserved for messages received from other rings (see {@link org.pragmatica.io.async.uring.struct.raw.CQEntry#USER_DATA_MESSAGE}).
+     */
+    @Override
+    public long operationId() {
+        return ((long) (generation & 0x7FFF_FFFF) << 32) | key;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public T register(ObjectHeap<CompletionHandler> heap) {
@@ -92,7 +112,7 @@ public abstract class AbstractExchangeEntry<T extends AbstractExchangeEntry<T, R
 
     @Override
     public SQEntry apply(SQEntry entry) {
-        return entry.userData(key)
+        return entry.userData(operationId())
                     .opcode(operation.opcode());
     }
 
@@ -19,8 +19,11 @@ package org.pragmatica.io.async.uring.exchange;
 
 import org.pragmatica.io.async.Proactor;
 import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.file.DescriptorType;
+import org.pragmatica.io.async.file.FileDescriptor;
 import org.pragmatica.io.async.net.ConnectionContext;
 import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.uring.RegisteredFiles;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapSocketAddress;
 import org.pragmatica.io.async.uring.struct.raw.SQEntry;
 import org.pragmatica.io.async.uring.utils.PlainObjectPool;
@@ -33,11 +36,15 @@ import static org.pragmatica.io.async.uring.AsyncOperation.ACCEPT;
 
 /**
  * Exchange entry for {@code accept} request.
+ * <p>
+ * If slot of the table of registered files is provided, accepted socket is installed directly into this slot.
  */
 public class AcceptExchangeEntry<T extends InetAddress> extends AbstractExchangeEntry<AcceptExchangeEntry<T>, ConnectionContext<T>> {
     private final OffHeapSocketAddress clientAddress = OffHeapSocketAddress.v4();
     private int descriptor;
     private int acceptFlags;
+    private byte flags;
+    private int slot;
 
     @SuppressWarnings("rawtypes")
     protected AcceptExchangeEntry(PlainObjectPool<AcceptExchangeEntry> pool) {
@@ -52,25 +59,35 @@ public class AcceptExchangeEntry<T extends InetAddress> extends AbstractExchange
     @SuppressWarnings("unchecked")
     @Override
     protected void doAccept(int res, int flags, Proactor proactor) {
-        if (res <= 0) {
+        if (res < 0) {
             completion.accept(SystemError.result(res), proactor);
+            return;
         }
 
-        completion.accept(clientAddress.extract().map(address -> (ConnectionContext<T>) connection(res, address)), proactor);
+        var socket = slot == RegisteredFiles.NO_SLOT
+                     ? FileDescriptor.socket(res)
+                     : FileDescriptor.fixed(slot, DescriptorType.SOCKET);
+
+        completion.accept(clientAddress.extract().map(address -> (ConnectionContext<T>) connection(socket, address)), proactor);
     }
 
     @Override
     public SQEntry apply(SQEntry entry) {
         return super.apply(entry)
                     .fd(descriptor)
+                    .flags(flags)
                     .addr(clientAddress.sockAddrPtr())
                     .off(clientAddress.sizePtr())
-                    .acceptFlags(acceptFlags);
+                    .acceptFlags(acceptFlags)
+                    .fileIndex(slot + 1);
     }
 
-    public AcceptExchangeEntry<T> prepare(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion, int descriptor, int acceptFlags, boolean v6) {
+    public AcceptExchangeEntry<T> prepare(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion, int descriptor, int acceptFlags,
+                                          boolean v6, byte flags, int slot) {
         this.descriptor = descriptor;
         this.acceptFlags = acceptFlags;
+        this.flags = flags;
+        this.slot = slot;
         clientAddress.protocolVersion(v6);
         return super.prepare(completion);
     }
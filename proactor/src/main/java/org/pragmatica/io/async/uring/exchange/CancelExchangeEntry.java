@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.ASYNC_CANCEL;
+import static org.pragmatica.lang.Unit.unitResult;
+
+/**
+ * Exchange entry for {@code async cancel} request.
+ * <p>
+ * Target operation is identified by its user data, i.e. by the operation ID returned by the {@link Proactor} method which submitted operation.
+ * Kernel returns {@code -ENOENT} if operation is already finished and {@code -EALREADY} if operation is in progress and can't be interrupted.
+ */
+public class CancelExchangeEntry extends AbstractExchangeEntry<CancelExchangeEntry, Unit> {
+    private long operationId;
+
+    protected CancelExchangeEntry(final PlainObjectPool<CancelExchangeEntry> pool) {
+        super(ASYNC_CANCEL, pool);
+    }
+
+    @Override
+    protected void doAccept(final int res, final int flags, final Proactor proactor) {
+        completion.accept(res == 0 ? unitResult() : SystemError.result(res), proactor);
+    }
+
+    public CancelExchangeEntry prepare(final BiConsumer<Result<Unit>, Proactor> completion, final long operationId) {
+        this.operationId = operationId;
+        return super.prepare(completion);
+    }
+
+    @Override
+    public SQEntry apply(final SQEntry entry) {
+        return super.apply(entry)
+                    .addr(operationId);
+    }
+}
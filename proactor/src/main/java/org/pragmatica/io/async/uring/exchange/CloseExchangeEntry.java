@@ -31,10 +31,13 @@ import static org.pragmatica.lang.Unit.unitResult;
 
 /**
  * Exchange entry for {@code close} request.
+ * <p>
+ * If slot of the table of registered files is provided, file installed into this slot is closed instead of regular file descriptor.
  */
 public class CloseExchangeEntry extends AbstractExchangeEntry<CloseExchangeEntry, Unit> {
     private int descriptor;
     private byte flags;
+    private int slot;
 
     protected CloseExchangeEntry(final PlainObjectPool<CloseExchangeEntry> pool) {
         super(CLOSE, pool);
@@ -47,9 +50,11 @@ public class CloseExchangeEntry extends AbstractExchangeEntry<CloseExchangeEntry
 
     public CloseExchangeEntry prepare(final BiConsumer<Result<Unit>, Proactor> completion,
                                       final int descriptor,
-                                      final byte flags) {
+                                      final byte flags,
+                                      final int slot) {
         this.descriptor = descriptor;
         this.flags = flags;
+        this.slot = slot;
         return super.prepare(completion);
     }
 
@@ -57,6 +62,7 @@ public class CloseExchangeEntry extends AbstractExchangeEntry<CloseExchangeEntry
     public SQEntry apply(final SQEntry entry) {
         return super.apply(entry)
                     .flags(flags)
-                    .fd(descriptor);
+                    .fd(descriptor)
+                    .fileIndex(slot + 1);
     }
 }
@@ -32,5 +32,10 @@ public interface ExchangeEntry<T extends ExchangeEntry<T>> extends CompletionHan
 
     SQEntry apply(SQEntry entry);
 
+    /**
+     * Identifier of the operation. Passed to the kernel as user data and used as a handle for cancellation of the operation.
+     */
+    long operationId();
+
     T register(ObjectHeap<CompletionHandler> heap);
 }
@@ -26,6 +26,7 @@ import org.pragmatica.io.async.file.stat.FileStat;
 import org.pragmatica.io.async.net.*;
 import org.pragmatica.io.async.uring.Bitmask;
 import org.pragmatica.io.async.uring.CompletionHandler;
+import org.pragmatica.io.async.uring.RegisteredFiles;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapCString;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapSocketAddress;
@@ -33,7 +34,9 @@ import org.pragmatica.io.async.uring.struct.raw.SQEntryFlags;
 import org.pragmatica.io.async.uring.utils.ObjectHeap;
 import org.pragmatica.io.async.uring.utils.PlainObjectPool;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
 import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
 import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Result;
 import org.pragmatica.lang.Unit;
@@ -56,20 +59,36 @@ import static org.pragmatica.io.async.uring.utils.PlainObjectPool.objectPool;
 public class ExchangeEntryFactory {
     @SuppressWarnings({"rawtypes"})
     private final PlainObjectPool<AcceptExchangeEntry> acceptPool;
+    private final PlainObjectPool<CancelExchangeEntry> cancelPool;
     private final PlainObjectPool<CloseExchangeEntry> closePool;
     private final PlainObjectPool<ConnectExchangeEntry> connectPool;
     private final PlainObjectPool<DelayExchangeEntry> delayPool;
+    private final PlainObjectPool<FAdviseExchangeEntry> fadvisePool;
     private final PlainObjectPool<FAllocExchangeEntry> fallocPool;
     private final PlainObjectPool<FSyncExchangeEntry> fsyncPool;
     @SuppressWarnings({"rawtypes"})
     private final PlainObjectPool<ListenExchangeEntry> listenPool;
+    @SuppressWarnings({"rawtypes"})
+    private final PlainObjectPool<MultishotAcceptExchangeEntry> multishotAcceptPool;
+    private final PlainObjectPool<MAdviseExchangeEntry> madvisePool;
+    private final PlainObjectPool<MsgRingExchangeEntry> msgRingPool;
     private final PlainObjectPool<NopExchangeEntry> nopPool;
     private final PlainObjectPool<OpenExchangeEntry> openPool;
+    private final PlainObjectPool<ProvideBuffersExchangeEntry> provideBuffersPool;
     private final PlainObjectPool<ReadExchangeEntry> readPool;
     private final PlainObjectPool<ReadFixedExchangeEntry> readFixedPool;
+    private final PlainObjectPool<ReadProvidedExchangeEntry> readProvidedPool;
     private final PlainObjectPool<ReadVectorExchangeEntry> readVectorPool;
+    @SuppressWarnings("rawtypes")
+    private final PlainObjectPool<RecvMessageExchangeEntry> recvMessagePool;
+    @SuppressWarnings("rawtypes")
+    private final PlainObjectPool<RecvMessageMultishotExchangeEntry> recvMessageMultishotPool;
     private final PlainObjectPool<RecvExchangeEntry> recvPool;
+    private final PlainObjectPool<RecvProvidedExchangeEntry> recvProvidedPool;
+    private final PlainObjectPool<RemoveBuffersExchangeEntry> removeBuffersPool;
     private final PlainObjectPool<SendExchangeEntry> sendPool;
+    private final PlainObjectPool<SendMessageExchangeEntry> sendMessagePool;
+    private final PlainObjectPool<SendZeroCopyExchangeEntry> sendZeroCopyPool;
     private final PlainObjectPool<SocketExchangeEntry> socketPool;
     private final PlainObjectPool<SpliceExchangeEntry> splicePool;
     private final PlainObjectPool<StatExchangeEntry> statPool;
@@ -81,19 +100,32 @@ public class ExchangeEntryFactory {
 
     public ExchangeEntryFactory(ObjectHeap<CompletionHandler> exchangeRegistry) {
         acceptPool = objectPool(AcceptExchangeEntry::new, exchangeRegistry);
+        cancelPool = objectPool(CancelExchangeEntry::new, exchangeRegistry);
         closePool = objectPool(CloseExchangeEntry::new, exchangeRegistry);
         connectPool = objectPool(ConnectExchangeEntry::new, exchangeRegistry);
         delayPool = objectPool(DelayExchangeEntry::new, exchangeRegistry);
+        fadvisePool = objectPool(FAdviseExchangeEntry::new, exchangeRegistry);
         fallocPool = objectPool(FAllocExchangeEntry::new, exchangeRegistry);
         fsyncPool = objectPool(FSyncExchangeEntry::new, exchangeRegistry);
         listenPool = objectPool(ListenExchangeEntry::new, exchangeRegistry);
+        multishotAcceptPool = objectPool(MultishotAcceptExchangeEntry::new, exchangeRegistry);
+        madvisePool = objectPool(MAdviseExchangeEntry::new, exchangeRegistry);
+        msgRingPool = objectPool(MsgRingExchangeEntry::new, exchangeRegistry);
         nopPool = objectPool(NopExchangeEntry::new, exchangeRegistry);
         openPool = objectPool(OpenExchangeEntry::new, exchangeRegistry);
+        provideBuffersPool = objectPool(ProvideBuffersExchangeEntry::new, exchangeRegistry);
         readPool = objectPool(ReadExchangeEntry::new, exchangeRegistry);
         readFixedPool = objectPool(ReadFixedExchangeEntry::new, exchangeRegistry);
+        readProvidedPool = objectPool(ReadProvidedExchangeEntry::new, exchangeRegistry);
         readVectorPool = objectPool(ReadVectorExchangeEntry::new, exchangeRegistry);
+        recvMessagePool = objectPool(RecvMessageExchangeEntry::new, exchangeRegistry);
+        recvMessageMultishotPool = objectPool(RecvMessageMultishotExchangeEntry::new, exchangeRegistry);
         recvPool = objectPool(RecvExchangeEntry::new, exchangeRegistry);
+        recvProvidedPool = objectPool(RecvProvidedExchangeEntry::new, exchangeRegistry);
+        removeBuffersPool = objectPool(RemoveBuffersExchangeEntry::new, exchangeRegistry);
         sendPool = objectPool(SendExchangeEntry::new, exchangeRegistry);
+        sendMessagePool = objectPool(SendMessageExchangeEntry::new, exchangeRegistry);
+        sendZeroCopyPool = objectPool(SendZeroCopyExchangeEntry::new, exchangeRegistry);
         socketPool = objectPool(SocketExchangeEntry::new, exchangeRegistry);
         splicePool = objectPool(SpliceExchangeEntry::new, exchangeRegistry);
         statPool = objectPool(StatExchangeEntry::new, exchangeRegistry);
@@ -102,9 +134,11 @@ public class ExchangeEntryFactory {
         writeFixedPool = objectPool(WriteFixedExchangeEntry::new, exchangeRegistry);
         writeVectorPool = objectPool(WriteVectorExchangeEntry::new, exchangeRegistry);
 
-        pools = List.of(acceptPool, closePool, connectPool, delayPool, fallocPool, fsyncPool, listenPool,
-                        nopPool, openPool, readPool, readFixedPool, readVectorPool, socketPool, splicePool,
-                        statPool, timeoutPool, writePool, writeFixedPool, writeVectorPool);
+        pools = List.of(acceptPool, cancelPool, closePool, connectPool, delayPool, fadvisePool, fallocPool, fsyncPool, listenPool,
+                        madvisePool, msgRingPool, multishotAcceptPool, nopPool, openPool, provideBuffersPool, readPool, readFixedPool,
+                        readProvidedPool, readVectorPool, recvPool, recvMessagePool, recvMessageMultishotPool, recvProvidedPool,
+                        removeBuffersPool, sendPool, sendMessagePool, sendZeroCopyPool, socketPool, splicePool, statPool, timeoutPool,
+                        writePool, writeFixedPool, writeVectorPool);
     }
 
     public NopExchangeEntry forNop(BiConsumer<Result<Unit>, Proactor> completion) {
@@ -122,36 +156,54 @@ public class ExchangeEntryFactory {
                         .prepare(completion, timeout);
     }
 
+    public CancelExchangeEntry forCancel(BiConsumer<Result<Unit>, Proactor> completion, long operationId) {
+        return cancelPool.alloc()
+                         .prepare(completion, operationId);
+    }
+
     public CloseExchangeEntry forClose(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fd, Option<Timeout> timeout) {
-        return closePool.alloc()
-                        .prepare(completion, fd.descriptor(), calculateFlags(timeout));
+        // Registered file is closed by slot index, the IOSQE_FIXED_FILE flag is not applicable
+        return fd.fixed()
+               ? closePool.alloc().prepare(completion, 0, calculateFlags(timeout), fd.descriptor())
+               : closePool.alloc().prepare(completion, fd.descriptor(), calculateFlags(timeout), RegisteredFiles.NO_SLOT);
     }
 
     private byte calculateFlags(Option<Timeout> timeout) {
         return timeout.equals(Option.empty()) ? 0 : (byte) SQEntryFlags.IO_LINK.mask();
     }
 
+    private byte calculateFlags(FileDescriptor fd, Option<Timeout> timeout) {
+        return (byte) (calculateFlags(timeout) | (fd.fixed() ? SQEntryFlags.FIXED_FILE.mask() : 0));
+    }
+
     public ReadExchangeEntry forRead(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                                      OffsetT offset, Option<Timeout> timeout) {
         return readPool.alloc()
-                       .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(timeout));
+                       .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(fd, timeout));
     }
 
     public WriteExchangeEntry forWrite(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                                        OffsetT offset, Option<Timeout> timeout) {
         return writePool.alloc()
-                        .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(timeout));
+                        .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(fd, timeout));
     }
 
     public SpliceExchangeEntry forSplice(BiConsumer<Result<SizeT>, Proactor> completion, SpliceDescriptor descriptor, Option<Timeout> timeout) {
         return splicePool.alloc()
-                         .prepare(completion, descriptor, calculateFlags(timeout));
+                         .prepare(completion, descriptor, calculateFlags(descriptor.toDescriptor(), timeout));
     }
 
     public OpenExchangeEntry forOpen(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> openFlags,
                                      Set<FilePermission> mode, Option<Timeout> timeout) {
         return openPool.alloc()
-                       .prepare(completion, path, Bitmask.combine(openFlags), Bitmask.combine(mode), calculateFlags(timeout));
+                       .prepare(completion, path, Bitmask.combine(openFlags), Bitmask.combine(mode), calculateFlags(timeout),
+                                RegisteredFiles.NO_SLOT);
+    }
+
+    public OpenExchangeEntry forOpenDirect(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, Set<OpenFlags> openFlags,
+                                           Set<FilePermission> mode, int slot, Option<Timeout> timeout) {
+        return openPool.alloc()
+                       .prepare(completion, path, Bitmask.combine(openFlags), Bitmask.combine(mode), calculateFlags(timeout), slot);
     }
 
     public SocketExchangeEntry forSocket(BiConsumer<Result<FileDescriptor>, Proactor> completion, AddressFamily addressFamily,
@@ -172,14 +224,29 @@ public class ExchangeEntryFactory {
     public <T extends InetAddress> AcceptExchangeEntry<T> forAccept(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
                                                                     FileDescriptor socket, Set<SocketFlag> flags, boolean v6) {
         return acceptPool.alloc()
-                         .prepare(completion, socket.descriptor(), Bitmask.combine(flags), v6);
+                         .prepare(completion, socket.descriptor(), Bitmask.combine(flags), v6, calculateFlags(socket, Option.empty()),
+                                  RegisteredFiles.NO_SLOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends InetAddress> AcceptExchangeEntry<T> forAcceptDirect(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+                                                                          FileDescriptor socket, Set<SocketFlag> flags, boolean v6, int slot) {
+        return acceptPool.alloc()
+                         .prepare(completion, socket.descriptor(), Bitmask.combine(flags), v6, calculateFlags(socket, Option.empty()), slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends InetAddress> MultishotAcceptExchangeEntry<T> forMultishotAccept(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion,
+                                                                                      FileDescriptor socket, Set<SocketFlag> flags, boolean v6) {
+        return multishotAcceptPool.alloc()
+                                  .prepare(completion, socket.descriptor(), Bitmask.combine(flags), v6, calculateFlags(socket, Option.empty()));
     }
 
     public ConnectExchangeEntry forConnect(BiConsumer<Result<FileDescriptor>, Proactor> completion,
                                            FileDescriptor socket, OffHeapSocketAddress clientAddress,
                                            Option<Timeout> timeout) {
         return connectPool.alloc()
-                          .prepare(completion, socket, clientAddress, calculateFlags(timeout));
+                          .prepare(completion, socket, clientAddress, calculateFlags(socket, timeout));
     }
 
     public StatExchangeEntry forStat(BiConsumer<Result<FileStat>, Proactor> completion,
@@ -191,49 +258,158 @@ public class ExchangeEntryFactory {
     public ReadVectorExchangeEntry forReadVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
                                                  OffsetT offset, Option<Timeout> timeout, OffHeapIoVector ioVector) {
         return readVectorPool.alloc()
-                             .prepare(completion, fileDescriptor.descriptor(), offset.value(), calculateFlags(timeout), ioVector);
+                             .prepare(completion, fileDescriptor.descriptor(), offset.value(), calculateFlags(fileDescriptor, timeout), ioVector);
     }
 
     public WriteVectorExchangeEntry forWriteVector(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fileDescriptor,
                                                    OffsetT offset, Option<Timeout> timeout, OffHeapIoVector ioVector) {
         return writeVectorPool.alloc()
-                              .prepare(completion, fileDescriptor.descriptor(), offset.value(), calculateFlags(timeout), ioVector);
+                              .prepare(completion, fileDescriptor.descriptor(), offset.value(), calculateFlags(fileDescriptor, timeout), ioVector);
     }
 
     public FSyncExchangeEntry forFSync(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
                                        boolean syncMetadata, Option<Timeout> timeout) {
         return fsyncPool.alloc()
-                        .prepare(completion, fileDescriptor.descriptor(), syncMetadata ? 0 : IORING_FSYNC_DATASYNC, calculateFlags(timeout));
+                        .prepare(completion, fileDescriptor.descriptor(), syncMetadata ? 0 : IORING_FSYNC_DATASYNC,
+                                 calculateFlags(fileDescriptor, timeout));
+    }
+
+    public FAdviseExchangeEntry forFAdvise(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
+                                           long offset, int len, AccessAdvice advice, Option<Timeout> timeout) {
+        return fadvisePool.alloc()
+                          .prepare(completion, fileDescriptor.descriptor(), advice.advice(), offset, len,
+                                   calculateFlags(fileDescriptor, timeout));
+    }
+
+    public MAdviseExchangeEntry forMAdvise(BiConsumer<Result<Unit>, Proactor> completion, long address, int len,
+                                           AccessAdvice advice, Option<Timeout> timeout) {
+        return madvisePool.alloc()
+                          .prepare(completion, address, len, advice.advice(), calculateFlags(timeout));
+    }
+
+    public MsgRingExchangeEntry forMsgRing(BiConsumer<Result<Unit>, Proactor> completion, int targetRing, int receiver, int payload) {
+        return msgRingPool.alloc()
+                          .prepare(completion, targetRing, receiver, payload);
     }
 
     public FAllocExchangeEntry forFAlloc(BiConsumer<Result<Unit>, Proactor> completion, FileDescriptor fileDescriptor,
                                          Set<FileAllocFlags> allocFlags, long offset, long len, Option<Timeout> timeout) {
         return fallocPool.alloc()
-                         .prepare(completion, fileDescriptor.descriptor(), Bitmask.combine(allocFlags), offset, len, calculateFlags(timeout));
+                         .prepare(completion, fileDescriptor.descriptor(), Bitmask.combine(allocFlags), offset, len,
+                                  calculateFlags(fileDescriptor, timeout));
     }
 
     public ReadFixedExchangeEntry forReadFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer,
                                                OffsetT offset, Option<Timeout> timeout) {
         return readFixedPool.alloc()
-                            .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(timeout));
+                            .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(fd, timeout));
     }
 
     public WriteFixedExchangeEntry forWriteFixed(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, FixedBuffer buffer,
                                                  OffsetT offset, Option<Timeout> timeout) {
         return writeFixedPool.alloc()
-                             .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(timeout));
+                             .prepare(completion, fd.descriptor(), buffer, offset.value(), calculateFlags(fd, timeout));
     }
 
     public RecvExchangeEntry forRecv(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                                      Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
         return recvPool.alloc()
-                       .prepare(completion, fd.descriptor(), buffer, Bitmask.combine(msgFlags), calculateFlags(timeout));
+                       .prepare(completion, fd.descriptor(), buffer, Bitmask.combine(msgFlags), calculateFlags(fd, timeout));
     }
 
     public SendExchangeEntry forSend(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
                                      Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
         return sendPool.alloc()
-                       .prepare(completion, fd.descriptor(), buffer, Bitmask.combine(msgFlags), calculateFlags(timeout));
+                       .prepare(completion, fd.descriptor(), buffer, Bitmask.combine(msgFlags), calculateFlags(fd, timeout));
+    }
+
+    public SendZeroCopyExchangeEntry forSendZeroCopy(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd, OffHeapSlice buffer,
+                                                     Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        return sendZeroCopyPool.alloc()
+                               .prepare(completion, fd.descriptor(), buffer, Bitmask.combine(msgFlags), calculateFlags(fd, timeout));
+    }
+
+    public <T extends InetAddress> SendMessageExchangeEntry forSendMessage(BiConsumer<Result<SizeT>, Proactor> completion, FileDescriptor fd,
+                                                                           SocketAddress<T> destination, Set<MessageFlags> msgFlags,
+                                                                           Option<Timeout> timeout, OffHeapIoVector ioVector) {
+        return sendMessagePool.alloc()
+                              .prepare(completion, fd.descriptor(), destination, ioVector, Bitmask.combine(msgFlags),
+                                       calculateFlags(fd, timeout));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends InetAddress> RecvMessageExchangeEntry<T> forRecvMessage(BiConsumer<Result<ReceivedMessage<T>>, Proactor> completion,
+                                                                              FileDescriptor fd, boolean v6, Set<MessageFlags> msgFlags,
+                                                                              Option<Timeout> timeout, OffHeapIoVector ioVector) {
+        return recvMessagePool.alloc()
+                              .prepare(completion, fd.descriptor(), v6, ioVector, Bitmask.combine(msgFlags), calculateFlags(fd, timeout));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends InetAddress> RecvMessageMultishotExchangeEntry<T> forRecvMessageMultishot(
+        BiConsumer<Result<ReceivedDatagram<T>>, Proactor> completion, FileDescriptor fd, BufferGroup group, boolean v6, Set<MessageFlags> msgFlags) {
+
+        return recvMessageMultishotPool.alloc()
+                                       .prepare(completion, fd.descriptor(), group, v6, Bitmask.combine(msgFlags),
+                                                calculateFlags(fd, Option.empty()));
+    }
+
+    public ProvideBuffersExchangeEntry forProvideBuffers(BiConsumer<Result<Unit>, Proactor> completion, BufferGroup group,
+                                                         int startId, int count) {
+        return provideBuffersPool.alloc()
+                                 .prepare(completion, group.address() + (long) startId * group.bufferSize(), group.bufferSize(),
+                                          count, startId, group.id());
+    }
+
+    public RemoveBuffersExchangeEntry forRemoveBuffers(BiConsumer<Result<Unit>, Proactor> completion, BufferGroup group) {
+        return removeBuffersPool.alloc()
+                                .prepare(completion, group.count(), group.id());
+    }
+
+    public ReadProvidedExchangeEntry forReadProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd,
+                                                     BufferGroup group, OffsetT offset, Option<Timeout> timeout) {
+        return readProvidedPool.alloc()
+                               .prepare(completion, fd.descriptor(), group, offset.value(), calculateFlags(fd, timeout));
+    }
+
+    public RecvProvidedExchangeEntry forRecvProvided(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd,
+                                                     BufferGroup group, Set<MessageFlags> msgFlags, Option<Timeout> timeout) {
+        return recvProvidedPool.alloc()
+                               .prepare(completion, fd.descriptor(), group, Bitmask.combine(msgFlags), calculateFlags(fd, timeout), false);
+    }
+
+    public RecvProvidedExchangeEntry forRecvMultishot(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, FileDescriptor fd,
+                                                      BufferGroup group, Set<MessageFlags> msgFlags) {
+        return recvProvidedPool.alloc()
+                               .prepare(completion, fd.descriptor(), group, Bitmask.combine(msgFlags), calculateFlags(fd, Option.empty()), true);
+    }
+
+    /**
+     * Release idle entries exceeding recent peak usage in each pool.
+     *
+     * @return total number of released entries
+     */
+    public int trim() {
+        int released = 0;
+
+        for (var pool : pools) {
+            released += pool.trim();
+        }
+
+        return released;
+    }
+
+    /**
+     * Total number of idle entries in all pools.
+     */
+    public int idle() {
+        int idle = 0;
+
+        for (var pool : pools) {
+            idle += pool.idle();
+        }
+
+        return idle;
     }
 
     public void clear() {
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.MADVISE;
+import static org.pragmatica.lang.Unit.unitResult;
+
+/**
+ * Exchange entry for {@code madvise} request.
+ */
+public class MAdviseExchangeEntry extends AbstractExchangeEntry<MAdviseExchangeEntry, Unit> {
+    private long address;
+    private int len;
+    private int advice;
+    private byte flags;
+
+    protected MAdviseExchangeEntry(final PlainObjectPool<MAdviseExchangeEntry> pool) {
+        super(MADVISE, pool);
+    }
+
+    @Override
+    protected void doAccept(final int res, final int flags, final Proactor proactor) {
+        completion.accept(res == 0 ? unitResult() : SystemError.result(res), proactor);
+    }
+
+    public MAdviseExchangeEntry prepare(final BiConsumer<Result<Unit>, Proactor> completion,
+                                        final long address,
+                                        final int len,
+                                        final int advice,
+                                        final byte flags) {
+        this.address = address;
+        this.len = len;
+        this.advice = advice;
+        this.flags = flags;
+
+        return super.prepare(completion);
+    }
+
+    @Override
+    public SQEntry apply(final SQEntry entry) {
+        return super.apply(entry)
+                    .flags(flags)
+                    .fd(-1)
+                    .addr(address)
+                    .len(len)
+                    .fadviseAdvice(advice);
+    }
+}
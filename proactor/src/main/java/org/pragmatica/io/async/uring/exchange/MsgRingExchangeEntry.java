@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.MSG_RING;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.USER_DATA_MESSAGE;
+import static org.pragmatica.lang.Unit.unitResult;
+
+/**
+ * Exchange entry for {@code msg_ring} request. Request posts completion with specified receiver key (as user data) and payload (as result)
+ * into the completion queue of the target ring.
+ */
+public class MsgRingExchangeEntry extends AbstractExchangeEntry<MsgRingExchangeEntry, Unit> {
+    private static final long IORING_MSG_DATA = 0L;
+
+    private int targetRing;
+    private int receiver;
+    private int payload;
+
+    protected MsgRingExchangeEntry(final PlainObjectPool<MsgRingExchangeEntry> pool) {
+        super(MSG_RING, pool);
+    }
+
+    @Override
+    protected void doAccept(final int res, final int flags, final Proactor proactor) {
+        completion.accept(res < 0 ? SystemError.result(res) : unitResult(), proactor);
+    }
+
+    public MsgRingExchangeEntry prepare(final BiConsumer<Result<Unit>, Proactor> completion,
+                                        final int targetRing,
+                                        final int receiver,
+                                        final int payload) {
+        this.targetRing = targetRing;
+        this.receiver = receiver;
+        this.payload = payload;
+
+        return super.prepare(completion);
+    }
+
+    @Override
+    public SQEntry apply(final SQEntry entry) {
+        return super.apply(entry)
+                    .fd(targetRing)
+                    .addr(IORING_MSG_DATA)
+                    .len(payload)
+                    .off(USER_DATA_MESSAGE | (receiver & 0xFFFF_FFFFL));
+    }
+}
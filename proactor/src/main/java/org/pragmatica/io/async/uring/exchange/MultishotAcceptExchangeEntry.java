@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.net.ConnectionContext;
+import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.uring.UringApi;
+import org.pragmatica.io.async.uring.struct.offheap.OffHeapSocketAddress;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.net.ConnectionContext.connection;
+import static org.pragmatica.io.async.uring.AsyncOperation.ACCEPT;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_MORE;
+import static org.pragmatica.io.async.uring.struct.raw.SQEntry.IORING_ACCEPT_MULTISHOT;
+import static org.pragmatica.lang.Result.success;
+
+/**
+ * Exchange entry for multishot {@code accept} request.
+ * <p>
+ * Single submission produces one completion per accepted connection. The entry remains registered until kernel posts completion without
+ * {@code IORING_CQE_F_MORE} flag. Since kernel does not preserve peer address for each connection accepted by multishot request, the address is
+ * retrieved separately for each accepted socket. Connections which are already gone by that moment are silently closed.
+ * <p>
+ * Completion is invoked with failure only once, when request is terminated. If kernel terminates request without error (for example, due to
+ * completion queue overflow), the completion is invoked with {@link SystemError#EAGAIN}, indicating that request should be resubmitted if
+ * necessary.
+ */
+public class MultishotAcceptExchangeEntry<T extends InetAddress>
+    extends AbstractExchangeEntry<MultishotAcceptExchangeEntry<T>, ConnectionContext<T>> {
+    private final OffHeapSocketAddress clientAddress = OffHeapSocketAddress.v4();
+    private int descriptor;
+    private int acceptFlags;
+    private byte flags;
+
+    @SuppressWarnings("rawtypes")
+    protected MultishotAcceptExchangeEntry(PlainObjectPool<MultishotAcceptExchangeEntry> pool) {
+        super(ACCEPT, pool);
+    }
+
+    @Override
+    public void close() {
+        clientAddress.dispose();
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        if (res < 0) {
+            completion.accept(SystemError.result(res), proactor);
+            return;
+        }
+
+        var socket = FileDescriptor.socket(res);
+
+        if (UringApi.peerName(res, clientAddress) < 0) {
+            proactor.close(__ -> {}, socket, Option.empty());
+        } else {
+            clientAddress.<T>extract()
+                         .onSuccess(address -> completion.accept(success(connection(socket, address)), proactor))
+                         .onFailure(__ -> proactor.close(___ -> {}, socket, Option.empty()));
+        }
+
+        if ((flags & IORING_CQE_F_MORE) == 0) {
+            completion.accept(SystemError.EAGAIN.result(), proactor);
+        }
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .ioprio((short) IORING_ACCEPT_MULTISHOT)
+                    .fd(descriptor)
+                    .flags(flags)
+                    .acceptFlags(acceptFlags);
+    }
+
+    public MultishotAcceptExchangeEntry<T> prepare(BiConsumer<Result<ConnectionContext<T>>, Proactor> completion, int descriptor,
+                                                   int acceptFlags, boolean v6, byte flags) {
+        this.descriptor = descriptor;
+        this.acceptFlags = acceptFlags;
+        this.flags = flags;
+        clientAddress.protocolVersion(v6);
+        return super.prepare(completion);
+    }
+}
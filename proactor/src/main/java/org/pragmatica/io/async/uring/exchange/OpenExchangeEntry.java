@@ -19,7 +19,9 @@ package org.pragmatica.io.async.uring.exchange;
 
 import org.pragmatica.io.async.Proactor;
 import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.file.DescriptorType;
 import org.pragmatica.io.async.file.FileDescriptor;
+import org.pragmatica.io.async.uring.RegisteredFiles;
 import org.pragmatica.io.async.uring.struct.offheap.OffHeapCString;
 import org.pragmatica.io.async.uring.struct.raw.SQEntry;
 import org.pragmatica.io.async.uring.utils.PlainObjectPool;
@@ -33,6 +35,8 @@ import static org.pragmatica.lang.Result.success;
 
 /**
  * Exchange entry for {@code open} request.
+ * <p>
+ * If slot of the table of registered files is provided, opened file is installed directly into this slot.
  */
 public class OpenExchangeEntry extends AbstractExchangeEntry<OpenExchangeEntry, FileDescriptor> {
     private static final int AT_FDCWD = -100; // Special value used to indicate the openat/statx functions should use the current working directory.
@@ -41,6 +45,7 @@ public class OpenExchangeEntry extends AbstractExchangeEntry<OpenExchangeEntry,
     private byte flags;
     private int openFlags;
     private int mode;
+    private int slot;
 
     protected OpenExchangeEntry(PlainObjectPool<OpenExchangeEntry> pool) {
         super(OPENAT, pool);
@@ -53,7 +58,9 @@ public class OpenExchangeEntry extends AbstractExchangeEntry<OpenExchangeEntry,
 
         var result = res < 0
                      ? SystemError.<FileDescriptor>result(res)
-                     : success(FileDescriptor.file(res));
+                     : success(slot == RegisteredFiles.NO_SLOT
+                               ? FileDescriptor.file(res)
+                               : FileDescriptor.fixed(slot, DescriptorType.FILE));
         completion.accept(result, proactor);
     }
 
@@ -64,12 +71,15 @@ public class OpenExchangeEntry extends AbstractExchangeEntry<OpenExchangeEntry,
                     .fd(AT_FDCWD)
                     .addr(rawPath.address())
                     .len(mode)
-                    .openFlags(openFlags);
+                    .openFlags(openFlags)
+                    .fileIndex(slot + 1);
     }
 
-    public OpenExchangeEntry prepare(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, int openFlags, int mode, byte flags) {
+    public OpenExchangeEntry prepare(BiConsumer<Result<FileDescriptor>, Proactor> completion, Path path, int openFlags, int mode, byte flags,
+                                     int slot) {
         rawPath = OffHeapCString.cstring(path.toString());
 
+        this.slot = slot;
         this.flags = flags;
         this.openFlags = openFlags;
         this.mode = mode;
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.Unit;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.PROVIDE_BUFFERS;
+import static org.pragmatica.lang.Unit.unitResult;
+
+/**
+ * Exchange entry for {@code provide buffers} request.
+ */
+public class ProvideBuffersExchangeEntry extends AbstractExchangeEntry<ProvideBuffersExchangeEntry, Unit> {
+    private long address;
+    private int bufferSize;
+    private int count;
+    private int startId;
+    private short groupId;
+
+    protected ProvideBuffersExchangeEntry(PlainObjectPool<ProvideBuffersExchangeEntry> pool) {
+        super(PROVIDE_BUFFERS, pool);
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        completion.accept(res < 0 ? SystemError.result(res) : unitResult(), proactor);
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(count)
+                    .addr(address)
+                    .len(bufferSize)
+                    .off(startId)
+                    .bufGroup(groupId);
+    }
+
+    public ProvideBuffersExchangeEntry prepare(BiConsumer<Result<Unit>, Proactor> completion, long address, int bufferSize,
+                                               int count, int startId, short groupId) {
+        this.address = address;
+        this.bufferSize = bufferSize;
+        this.count = count;
+        this.startId = startId;
+        this.groupId = groupId;
+
+        return super.prepare(completion);
+    }
+}
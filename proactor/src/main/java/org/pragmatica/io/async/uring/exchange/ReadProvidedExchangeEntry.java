@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.struct.raw.SQEntryFlags;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.READ;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_BUFFER;
+import static org.pragmatica.lang.Result.success;
+
+/**
+ * Exchange entry for {@code read} request with buffer selected by kernel from the {@link BufferGroup}.
+ */
+public class ReadProvidedExchangeEntry extends AbstractExchangeEntry<ReadProvidedExchangeEntry, ProvidedBuffer> {
+    private static final Result<ProvidedBuffer> EOF_RESULT = SystemError.ENODATA.result();
+
+    private int descriptor;
+    private byte flags;
+    private long offset;
+    private BufferGroup group;
+
+    protected ReadProvidedExchangeEntry(PlainObjectPool<ReadProvidedExchangeEntry> pool) {
+        super(READ, pool);
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        if ((flags & IORING_CQE_F_BUFFER) == 0) {
+            completion.accept(res < 0 ? SystemError.result(res) : EOF_RESULT, proactor);
+            return;
+        }
+
+        var buffer = group.selected(flags, Math.max(res, 0));
+
+        if (res > 0) {
+            completion.accept(success(buffer), proactor);
+            return;
+        }
+
+        proactor.releaseBuffer(buffer);
+        completion.accept(res == 0 ? EOF_RESULT : SystemError.result(res), proactor);
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(descriptor)
+                    .flags((byte) (flags | SQEntryFlags.BUFFER_SELECT.mask()))
+                    .bufGroup(group.id())
+                    .off(offset)
+                    .len(group.bufferSize());
+    }
+
+    public ReadProvidedExchangeEntry prepare(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, int descriptor, BufferGroup group,
+                                             long offset, byte flags) {
+        this.descriptor = descriptor;
+        this.group = group;
+        this.offset = offset;
+        this.flags = flags;
+
+        return super.prepare(completion);
+    }
+}
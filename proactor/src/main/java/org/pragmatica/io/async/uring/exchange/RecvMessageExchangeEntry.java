@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.net.ReceivedMessage;
+import org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector;
+import org.pragmatica.io.async.uring.struct.offheap.OffHeapMessageHeader;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.common.SizeT.sizeT;
+import static org.pragmatica.io.async.uring.AsyncOperation.RECVMSG;
+
+/**
+ * Exchange entry for {@code recvmsg} request. Received data are stored into set of buffers, completion receives number of received bytes along
+ * with the address of the sender.
+ */
+public class RecvMessageExchangeEntry<T extends InetAddress> extends AbstractExchangeEntry<RecvMessageExchangeEntry<T>, ReceivedMessage<T>> {
+    private final OffHeapMessageHeader header = OffHeapMessageHeader.messageHeader();
+    private OffHeapIoVector ioVector;
+    private int msgFlags;
+    private byte flags;
+    private int descriptor;
+
+    @SuppressWarnings("rawtypes")
+    protected RecvMessageExchangeEntry(PlainObjectPool<RecvMessageExchangeEntry> pool) {
+        super(RECVMSG, pool);
+    }
+
+    @Override
+    public void close() {
+        header.dispose();
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        ioVector.dispose();
+        ioVector = null;
+
+        if (res < 0) {
+            completion.accept(SystemError.result(res), proactor);
+            return;
+        }
+
+        completion.accept(header.<T>peer().map(sender -> new ReceivedMessage<>(sizeT(res), sender)), proactor);
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(descriptor)
+                    .flags(flags)
+                    .msgFlags(msgFlags)
+                    .addr(header.address())
+                    .len(1);
+    }
+
+    public RecvMessageExchangeEntry<T> prepare(BiConsumer<Result<ReceivedMessage<T>>, Proactor> completion,
+                                               int descriptor,
+                                               boolean v6,
+                                               OffHeapIoVector ioVector,
+                                               int msgFlags,
+                                               byte flags) {
+        this.ioVector = ioVector;
+        this.descriptor = descriptor;
+        this.msgFlags = msgFlags;
+        this.flags = flags;
+        header.forReceive(v6, ioVector);
+
+        return super.prepare(completion);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.net.ReceivedDatagram;
+import org.pragmatica.io.async.net.SocketAddress;
+import org.pragmatica.io.async.uring.struct.offheap.OffHeapMessageHeader;
+import org.pragmatica.io.async.uring.struct.raw.RawSocketAddressIn;
+import org.pragmatica.io.async.uring.struct.raw.RawSocketAddressIn6;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.struct.raw.SQEntryFlags;
+import org.pragmatica.io.async.uring.struct.shape.RecvMessageOutOffsets;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
+import org.pragmatica.io.async.util.raw.RawMemory;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.RECVMSG;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_BUFFER;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_MORE;
+import static org.pragmatica.io.async.uring.struct.raw.SQEntry.IORING_RECV_MULTISHOT;
+
+/**
+ * Exchange entry for multishot {@code recvmsg} request with buffers selected by kernel from the {@link BufferGroup}.
+ * <p>
+ * Each received datagram is placed into separate buffer, preceded by the {@code struct io_uring_recvmsg_out} header and the address of the
+ * sender. Completion receives the sender address and the slice of the buffer which contains payload. Like other multishot requests, completion
+ * is invoked with failure only once, when request is terminated. If kernel terminates request without error, the completion is invoked with
+ * {@link SystemError#EAGAIN}, indicating that request should be resubmitted if necessary.
+ */
+public class RecvMessageMultishotExchangeEntry<T extends InetAddress>
+    extends AbstractExchangeEntry<RecvMessageMultishotExchangeEntry<T>, ReceivedDatagram<T>> {
+
+    private final OffHeapMessageHeader header = OffHeapMessageHeader.messageHeader();
+    private final RawSocketAddressIn senderV4 = RawSocketAddressIn.at(0);
+    private final RawSocketAddressIn6 senderV6 = RawSocketAddressIn6.at(0);
+    private int descriptor;
+    private byte flags;
+    private int msgFlags;
+    private BufferGroup group;
+    private boolean v6;
+
+    @SuppressWarnings("rawtypes")
+    protected RecvMessageMultishotExchangeEntry(PlainObjectPool<RecvMessageMultishotExchangeEntry> pool) {
+        super(RECVMSG, pool);
+    }
+
+    @Override
+    public void close() {
+        header.dispose();
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        if ((flags & IORING_CQE_F_BUFFER) == 0) {
+            completion.accept(res < 0 ? SystemError.result(res) : SystemError.EAGAIN.result(), proactor);
+            return;
+        }
+
+        var buffer = group.selected(flags, Math.max(res, 0));
+
+        if (res < 0) {
+            proactor.releaseBuffer(buffer);
+            completion.accept(SystemError.result(res), proactor);
+            return;
+        }
+
+        // Failure is reported to the callback only on termination, so datagram with unparseable sender is dropped while request continues
+        var datagram = datagram(buffer, res);
+
+        datagram.onSuccessDo(() -> completion.accept(datagram, proactor))
+                .onFailureDo(() -> proactor.releaseBuffer(buffer));
+
+        if ((flags & IORING_CQE_F_MORE) == 0) {
+            completion.accept(SystemError.EAGAIN.result(), proactor);
+        }
+    }
+
+    private Result<ReceivedDatagram<T>> datagram(ProvidedBuffer buffer, int res) {
+        var base = buffer.address();
+        var payloadOffset = RecvMessageOutOffsets.SIZE + header.nameLength()
+                            + RawMemory.getInt(base + RecvMessageOutOffsets.controllen.offset());
+        var payloadLength = Math.max(0, Math.min(RawMemory.getInt(base + RecvMessageOutOffsets.payloadlen.offset()), res - payloadOffset));
+        var payload = buffer.slice(payloadOffset, payloadLength).used(payloadLength);
+
+        return sender(base + RecvMessageOutOffsets.SIZE).map(sender -> new ReceivedDatagram<>(sender, payload, buffer));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Result<SocketAddress<T>> sender(long address) {
+        if (v6) {
+            senderV6.reposition(address);
+            return (Result) senderV6.extract();
+        }
+
+        senderV4.reposition(address);
+        return (Result) senderV4.extract();
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(descriptor)
+                    .flags((byte) (flags | SQEntryFlags.BUFFER_SELECT.mask()))
+                    .bufGroup(group.id())
+                    .msgFlags(msgFlags)
+                    .ioprio((short) IORING_RECV_MULTISHOT)
+                    .addr(header.address())
+                    .len(1);
+    }
+
+    public RecvMessageMultishotExchangeEntry<T> prepare(BiConsumer<Result<ReceivedDatagram<T>>, Proactor> completion,
+                                                        int descriptor,
+                                                        BufferGroup group,
+                                                        boolean v6,
+                                                        int msgFlags,
+                                                        byte flags) {
+        this.descriptor = descriptor;
+        this.group = group;
+        this.v6 = v6;
+        this.msgFlags = msgFlags;
+        this.flags = flags;
+        header.forReceive(v6, null);
+
+        return super.prepare(completion);
+    }
+}
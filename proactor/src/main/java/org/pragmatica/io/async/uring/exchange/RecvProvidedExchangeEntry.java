@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.struct.raw.SQEntryFlags;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.RECV;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_BUFFER;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_MORE;
+import static org.pragmatica.io.async.uring.struct.raw.SQEntry.IORING_RECV_MULTISHOT;
+import static org.pragmatica.lang.Result.success;
+
+/**
+ * Exchange entry for {@code recv} request with buffer selected by kernel from the {@link BufferGroup}.
+ * <p>
+ * In multishot mode single submission keeps delivering received data until end of stream, error or cancellation. Completion is invoked with
+ * failure only once, when request is terminated. If kernel terminates request without error, the completion is invoked with
+ * {@link SystemError#EAGAIN}, indicating that request should be resubmitted if necessary.
+ */
+public class RecvProvidedExchangeEntry extends AbstractExchangeEntry<RecvProvidedExchangeEntry, ProvidedBuffer> {
+    private static final Result<ProvidedBuffer> EOF_RESULT = SystemError.ENODATA.result();
+
+    private int descriptor;
+    private byte flags;
+    private int msgFlags;
+    private BufferGroup group;
+    private boolean multishot;
+
+    protected RecvProvidedExchangeEntry(PlainObjectPool<RecvProvidedExchangeEntry> pool) {
+        super(RECV, pool);
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        if ((flags & IORING_CQE_F_BUFFER) == 0) {
+            completion.accept(res < 0 ? SystemError.result(res) : EOF_RESULT, proactor);
+            return;
+        }
+
+        var buffer = group.selected(flags, Math.max(res, 0));
+
+        if (res > 0) {
+            completion.accept(success(buffer), proactor);
+
+            if (multishot && (flags & IORING_CQE_F_MORE) == 0) {
+                completion.accept(SystemError.EAGAIN.result(), proactor);
+            }
+            return;
+        }
+
+        proactor.releaseBuffer(buffer);
+        completion.accept(res == 0 ? EOF_RESULT : SystemError.result(res), proactor);
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(descriptor)
+                    .flags((byte) (flags | SQEntryFlags.BUFFER_SELECT.mask()))
+                    .bufGroup(group.id())
+                    .msgFlags(msgFlags)
+                    .ioprio(multishot ? (short) IORING_RECV_MULTISHOT : 0)
+                    .len(multishot ? 0 : group.bufferSize());
+    }
+
+    public RecvProvidedExchangeEntry prepare(BiConsumer<Result<ProvidedBuffer>, Proactor> completion, int descriptor, BufferGroup group,
+                                             int msgFlags, byte flags, boolean multishot) {
+        this.descriptor = descriptor;
+        this.group = group;
+        this.msgFlags = msgFlags;
+        this.flags = flags;
+        this.multishot = multishot;
+
+        return super.prepare(completion);
+    }
+}
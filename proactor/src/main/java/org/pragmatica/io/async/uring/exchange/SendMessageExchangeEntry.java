@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.net.SocketAddress;
+import org.pragmatica.io.async.uring.struct.offheap.OffHeapIoVector;
+import org.pragmatica.io.async.uring.struct.offheap.OffHeapMessageHeader;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.SENDMSG;
+
+/**
+ * Exchange entry for {@code sendmsg} request. Data from the set of buffers is sent to the specified destination, so single unconnected socket
+ * can be used to communicate with many peers.
+ */
+public class SendMessageExchangeEntry extends AbstractExchangeEntry<SendMessageExchangeEntry, SizeT> {
+    private final OffHeapMessageHeader header = OffHeapMessageHeader.messageHeader();
+    private OffHeapIoVector ioVector;
+    private int msgFlags;
+    private byte flags;
+    private int descriptor;
+
+    protected SendMessageExchangeEntry(PlainObjectPool<SendMessageExchangeEntry> pool) {
+        super(SENDMSG, pool);
+    }
+
+    @Override
+    public void close() {
+        header.dispose();
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        ioVector.dispose();
+        ioVector = null;
+        completion.accept(byteCountToResult(res), proactor);
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(descriptor)
+                    .flags(flags)
+                    .msgFlags(msgFlags)
+                    .addr(header.address())
+                    .len(1);
+    }
+
+    public <T extends InetAddress> SendMessageExchangeEntry prepare(BiConsumer<Result<SizeT>, Proactor> completion,
+                                                                    int descriptor,
+                                                                    SocketAddress<T> destination,
+                                                                    OffHeapIoVector ioVector,
+                                                                    int msgFlags,
+                                                                    byte flags) {
+        this.ioVector = ioVector;
+        this.descriptor = descriptor;
+        this.msgFlags = msgFlags;
+        this.flags = flags;
+        header.forSend(destination, ioVector);
+
+        return super.prepare(completion);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.exchange;
+
+import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.uring.struct.raw.SQEntry;
+import org.pragmatica.io.async.uring.utils.PlainObjectPool;
+import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.FixedBuffer;
+import org.pragmatica.lang.Result;
+
+import java.util.function.BiConsumer;
+
+import static org.pragmatica.io.async.uring.AsyncOperation.SEND_ZC;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_MORE;
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_F_NOTIF;
+import static org.pragmatica.io.async.uring.struct.raw.SQEntry.IORING_RECVSEND_FIXED_BUF;
+
+/**
+ * Exchange entry for zero-copy {@code send} request.
+ * <p>
+ * Kernel produces two completions for this request: the result of the send, followed by the notification that kernel no longer uses the
+ * buffer. The completion is invoked with the result, while the buffer is released only once notification is received (or immediately, if
+ * kernel indicates that no notification will follow). Fixed buffers are sent without additional mapping and returned to their allocator.
+ */
+public class SendZeroCopyExchangeEntry extends AbstractExchangeEntry<SendZeroCopyExchangeEntry, SizeT> {
+    private int msgFlags;
+    private byte flags;
+    private int descriptor;
+    private OffHeapSlice buffer;
+
+    protected SendZeroCopyExchangeEntry(PlainObjectPool<SendZeroCopyExchangeEntry> pool) {
+        super(SEND_ZC, pool);
+    }
+
+    @Override
+    protected void doAccept(int res, int flags, Proactor proactor) {
+        if ((flags & IORING_CQE_F_NOTIF) != 0) {
+            releaseBuffer();
+            return;
+        }
+
+        completion.accept(byteCountToResult(res), proactor);
+
+        if ((flags & IORING_CQE_F_MORE) == 0) {
+            releaseBuffer();
+        }
+    }
+
+    private void releaseBuffer() {
+        if (buffer instanceof FixedBuffer fixedBuffer) {
+            fixedBuffer.dispose();
+        } else {
+            buffer.close();
+        }
+
+        buffer = null;
+    }
+
+    @Override
+    public SQEntry apply(SQEntry entry) {
+        return super.apply(entry)
+                    .fd(descriptor)
+                    .flags(flags)
+                    .msgFlags(msgFlags)
+                    .ioprio(buffer instanceof FixedBuffer ? (short) IORING_RECVSEND_FIXED_BUF : 0)
+                    .bufIndex((short) 0)
+                    .addr(buffer.address())
+                    .len(buffer.used());
+    }
+
+    public SendZeroCopyExchangeEntry prepare(BiConsumer<Result<SizeT>, Proactor> completion,
+                                             int descriptor,
+                                             OffHeapSlice buffer,
+                                             int msgFlags,
+                                             byte flags) {
+        this.buffer = buffer;
+        this.descriptor = descriptor;
+        this.msgFlags = msgFlags;
+        this.flags = flags;
+
+        return super.prepare(completion);
+    }
+}
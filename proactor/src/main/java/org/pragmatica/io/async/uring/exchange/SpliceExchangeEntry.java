@@ -28,6 +28,7 @@ import org.pragmatica.lang.Result;
 import java.util.function.BiConsumer;
 
 import static org.pragmatica.io.async.uring.AsyncOperation.SPLICE;
+import static org.pragmatica.io.async.uring.struct.raw.SQEntry.SPLICE_F_FD_IN_FIXED;
 
 /**
  * Exchange entry for {@code splice} request.
@@ -54,7 +55,8 @@ public class SpliceExchangeEntry extends AbstractExchangeEntry<SpliceExchangeEnt
                     .off(descriptor.toOffset().value())
                     .spliceFdIn(descriptor.fromDescriptor().descriptor())
                     .spliceOffIn(descriptor.fromOffset().value())
-                    .spliceFlags(Bitmask.combine(descriptor.flags()));
+                    .spliceFlags(Bitmask.combine(descriptor.flags())
+                                 | (descriptor.fromDescriptor().fixed() ? SPLICE_F_FD_IN_FIXED : 0));
     }
 
     public SpliceExchangeEntry prepare(final BiConsumer<Result<SizeT>, Proactor> completion,
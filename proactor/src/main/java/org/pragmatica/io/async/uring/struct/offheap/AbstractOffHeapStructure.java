@@ -27,10 +27,23 @@ import org.pragmatica.io.async.util.raw.RawMemory;
  */
 public abstract class AbstractOffHeapStructure<T extends RawStructure<T>>
     extends AbstractRawStructure<T> implements OffHeapStructure<T>, AutoCloseable {
+    private final long allocation;
     private boolean released = false;
 
     protected AbstractOffHeapStructure(int size) {
-        super(RawMemory.allocate(size), size);
+        this(size, 1);
+    }
+
+    /**
+     * Allocate structure which address is aligned to specified boundary. Alignment must be a power of two.
+     */
+    protected AbstractOffHeapStructure(int size, int alignment) {
+        this(RawMemory.allocate(size + alignment - 1L), size, alignment);
+    }
+
+    private AbstractOffHeapStructure(long allocation, int size, int alignment) {
+        super((allocation + alignment - 1) & -alignment, size);
+        this.allocation = allocation;
     }
 
     @Override
@@ -39,7 +52,7 @@ public abstract class AbstractOffHeapStructure<T extends RawStructure<T>>
             return;
         }
 
-        RawMemory.dispose(address());
+        RawMemory.dispose(allocation);
         released = true;
     }
 
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.struct.offheap;
+
+import org.pragmatica.io.async.net.InetAddress;
+import org.pragmatica.io.async.net.SocketAddress;
+import org.pragmatica.io.async.uring.struct.shape.MessageHeaderOffsets;
+import org.pragmatica.lang.Result;
+
+/**
+ * Message header ({@code struct msghdr}) used by {@code sendmsg} and {@code recvmsg} requests. Instance owns storage for the peer address,
+ * while I/O vector is provided separately for each request.
+ */
+public class OffHeapMessageHeader extends AbstractOffHeapStructure<OffHeapMessageHeader> {
+    private final OffHeapSocketAddress peer = OffHeapSocketAddress.v4();
+
+    private OffHeapMessageHeader() {
+        super(MessageHeaderOffsets.SIZE);
+        clear();
+    }
+
+    public static OffHeapMessageHeader messageHeader() {
+        return new OffHeapMessageHeader();
+    }
+
+    /**
+     * Prepare header for sending data from provided I/O vector to specified destination.
+     */
+    public <T extends InetAddress> OffHeapMessageHeader forSend(SocketAddress<T> destination, OffHeapIoVector ioVector) {
+        peer.assign(destination);
+        return setup(ioVector);
+    }
+
+    /**
+     * Prepare header for receiving data into provided I/O vector. Address of the sender is stored in the header. For multishot requests
+     * I/O vector is not used and can be {@code null}.
+     */
+    public OffHeapMessageHeader forReceive(boolean v6, OffHeapIoVector ioVector) {
+        peer.protocolVersion(v6);
+        return setup(ioVector);
+    }
+
+    private OffHeapMessageHeader setup(OffHeapIoVector ioVector) {
+        clear();
+        putLong(MessageHeaderOffsets.msg_name, peer.sockAddrPtr());
+        putInt(MessageHeaderOffsets.msg_namelen, peer.sockAddrSize());
+
+        if (ioVector != null) {
+            putLong(MessageHeaderOffsets.msg_iov, ioVector.address());
+            putLong(MessageHeaderOffsets.msg_iovlen, ioVector.length());
+        }
+
+        return this;
+    }
+
+    /**
+     * Size of the space reserved for the peer address.
+     */
+    public int nameLength() {
+        return getInt(MessageHeaderOffsets.msg_namelen);
+    }
+
+    public <T extends InetAddress> Result<SocketAddress<T>> peer() {
+        return peer.extract();
+    }
+
+    @Override
+    public void dispose() {
+        peer.dispose();
+        super.dispose();
+    }
+}
@@ -24,6 +24,13 @@ import org.pragmatica.io.async.uring.struct.shape.CompletionQueueEntryOffsets;
  * Completion Queue Entry
  */
 public class CQEntry extends AbstractExternalRawStructure<CQEntry> {
+    public static final int IORING_CQE_F_BUFFER = 1;             /* upper 16 bits of cqe->flags contain buffer ID */
+    public static final int IORING_CQE_F_MORE = 1 << 1;          /* parent SQE will generate more CQE entries */
+    public static final int IORING_CQE_F_SOCK_NONEMPTY = 1 << 2; /* more data to read after socket recv */
+    public static final int IORING_CQE_F_NOTIF = 1 << 3;         /* notification CQE, distinguishes them from sends */
+    public static final int IORING_CQE_BUFFER_SHIFT = 16;        /* shift of the buffer ID in cqe->flags */
+    public static final long USER_DATA_MESSAGE = 1L << 63;       /* completion posted by another ring via MSG_RING, not an in-flight request */
+
     private CQEntry(long address) {
         super(address, CompletionQueueEntryOffsets.SIZE);
     }
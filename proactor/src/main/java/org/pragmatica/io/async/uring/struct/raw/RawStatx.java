@@ -134,6 +134,16 @@ public class RawStatx extends AbstractExternalRawStructure<RawStatx> {
         return getInt(StatxOffsets.stx_dev_minor);
     }
 
+    /** Memory buffer alignment for direct I/O */
+    public int dioMemAlign() {
+        return getInt(StatxOffsets.stx_dio_mem_align);
+    }
+
+    /** File offset alignment for direct I/O */
+    public int dioOffsetAlign() {
+        return getInt(StatxOffsets.stx_dio_offset_align);
+    }
+
     /** Last access time */
     public RawStatxTimestamp accessTime() {
         return atime;
@@ -173,6 +183,8 @@ public class RawStatx extends AbstractExternalRawStructure<RawStatx> {
             metadataChangeTime().detach(),
             contentModificationTime().detach(),
             deviceId(rdevMajor(), rdevMinor()),
-            deviceId(devMajor(), devMinor()));
+            deviceId(devMajor(), devMinor()),
+            dioMemAlign(),
+            dioOffsetAlign());
     }
 }
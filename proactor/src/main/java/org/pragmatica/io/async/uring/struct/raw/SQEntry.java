@@ -27,6 +27,9 @@ public class SQEntry extends AbstractExternalRawStructure<SQEntry> {
     public static final int IORING_FSYNC_DATASYNC = 1;      /* sqe->fsync_flags */
     public static final int IORING_TIMEOUT_ABS = 1;         /* sqe->timeout_flags */
     public static final int SPLICE_F_FD_IN_FIXED = 1 << 31; /* sqe->splice_flags, extends splice(2) flags */
+    public static final int IORING_ACCEPT_MULTISHOT = 1;    /* sqe->ioprio for accept */
+    public static final int IORING_RECV_MULTISHOT = 1 << 1; /* sqe->ioprio for recv/recvmsg */
+    public static final int IORING_RECVSEND_FIXED_BUF = 1 << 2; /* sqe->ioprio for send_zc, use registered buffer */
 
     private SQEntry(final long address) {
         super(address, SubmitQueueEntryOffsets.SIZE);
@@ -40,6 +43,10 @@ public class SQEntry extends AbstractExternalRawStructure<SQEntry> {
         return putByte(SubmitQueueEntryOffsets.opcode, data);
     }
 
+    public byte flags() {
+        return getByte(SubmitQueueEntryOffsets.flags);
+    }
+
     public SQEntry flags(final byte data) {
         return putByte(SubmitQueueEntryOffsets.flags, data);
     }
@@ -120,6 +127,10 @@ public class SQEntry extends AbstractExternalRawStructure<SQEntry> {
         return putInt(SubmitQueueEntryOffsets.splice_fd_in, data);
     }
 
+    public SQEntry fileIndex(final int data) {
+        return putInt(SubmitQueueEntryOffsets.file_index, data);
+    }
+
     public SQEntry off(final long data) {
         return putLong(SubmitQueueEntryOffsets.off, data);
     }
@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.struct.shape;
+
+import org.pragmatica.io.async.util.raw.RawProperty;
+
+import static org.pragmatica.io.async.util.raw.RawProperty.raw;
+
+/**
+ * Offsets/Sizes of the fields of the {@code struct msghdr} used by {@code sendmsg}/{@code recvmsg} requests.
+ */
+public interface MessageHeaderOffsets {
+    int SIZE = 56;
+    RawProperty msg_name = raw(0, 8);
+    RawProperty msg_namelen = raw(8, 4);
+    RawProperty msg_iov = raw(16, 8);
+    RawProperty msg_iovlen = raw(24, 8);
+    RawProperty msg_control = raw(32, 8);
+    RawProperty msg_controllen = raw(40, 8);
+    RawProperty msg_flags = raw(48, 4);
+}
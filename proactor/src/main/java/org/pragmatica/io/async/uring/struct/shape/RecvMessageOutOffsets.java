@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.struct.shape;
+
+import org.pragmatica.io.async.util.raw.RawProperty;
+
+import static org.pragmatica.io.async.util.raw.RawProperty.raw;
+
+/**
+ * Offsets/Sizes of the fields of the {@code struct io_uring_recvmsg_out}, which is placed at the beginning of the buffer filled by
+ * multishot {@code recvmsg} request. The header is followed by the peer address, control data and payload.
+ */
+public interface RecvMessageOutOffsets {
+    int SIZE = 16;
+    RawProperty namelen = raw(0, 4);
+    RawProperty controllen = raw(4, 4);
+    RawProperty payloadlen = raw(8, 4);
+    RawProperty flags = raw(12, 4);
+}
@@ -39,6 +39,8 @@ public interface StatxOffsets {
     RawProperty stx_rdev_minor = RawProperty.raw(132, 4);
     RawProperty stx_dev_major = RawProperty.raw(136, 4);
     RawProperty stx_dev_minor = RawProperty.raw(140, 4);
+    RawProperty stx_dio_mem_align = RawProperty.raw(152, 4);
+    RawProperty stx_dio_offset_align = RawProperty.raw(156, 4);
     RawProperty stx_atime = RawProperty.raw(64, 16);
     RawProperty stx_btime = RawProperty.raw(80, 16);
     RawProperty stx_ctime = RawProperty.raw(96, 16);
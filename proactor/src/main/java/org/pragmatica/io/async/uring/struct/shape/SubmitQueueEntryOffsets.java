@@ -50,4 +50,5 @@ public interface SubmitQueueEntryOffsets {
     RawProperty buf_group = RawProperty.raw(40, 2);
     RawProperty personality = RawProperty.raw(42, 2);
     RawProperty splice_fd_in = RawProperty.raw(44, 4);
+    RawProperty file_index = RawProperty.raw(44, 4);
 }
\ No newline at end of file
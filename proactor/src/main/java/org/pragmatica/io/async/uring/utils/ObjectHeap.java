@@ -21,17 +21,38 @@ import java.util.Arrays;
 
 /**
  * Temporary storage for objects which maps instances to integer keys.
+ * <p>
+ * Storage is organized as a set of fixed size pages. Growth adds new page and never copies already stored elements, so cost of the
+ * allocation of the key does not depend on the number of stored elements. Only the small page directory is reallocated when it runs out of
+ * space. Each page maintains its own chain of free slots and new keys are allocated from the lowest page which has free slots. This keeps
+ * occupied keys compact and allows {@link #trim()} to return trailing empty pages.
  */
 public class ObjectHeap<T> {
-    private Object[] elements;
-    private int[] indexes;
-    private int firstFree = -1;
-    private int nextFree = 0;
+    public static final int PAGE_SHIFT = 10;
+    public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int NO_FREE = -1;
+
+    private final int minPages;
+    private Object[][] elements;
+    private int[][] links;
+    private int[] firstFree;
+    private int[] used;
+    private int pageCount = 0;
+    private int lowestFreePage = 0;
     private int count = 0;
+    private int highWaterMark = 0;
 
     private ObjectHeap(int initialCapacity) {
-        elements = new Object[initialCapacity];
-        indexes = new int[initialCapacity];
+        minPages = Math.max(1, (initialCapacity + PAGE_MASK) >>> PAGE_SHIFT);
+        elements = new Object[minPages][];
+        links = new int[minPages][];
+        firstFree = new int[minPages];
+        used = new int[minPages];
+
+        while (pageCount < minPages) {
+            addPage();
+        }
     }
 
     public static <T> ObjectHeap<T> objectHeap(int initialCapacity) {
@@ -40,49 +61,124 @@ public class ObjectHeap<T> {
 
     @SuppressWarnings("unchecked")
     public T releaseUnsafe(int key) {
-        indexes[key] = firstFree;
-        firstFree = key;
-        T result = (T) elements[key];
-        elements[key] = null;
+        int page = key >>> PAGE_SHIFT;
+        int index = key & PAGE_MASK;
+
+        var pageElements = elements[page];
+        T result = (T) pageElements[index];
+        pageElements[index] = null;
+
+        links[page][index] = firstFree[page];
+        firstFree[page] = index;
+        used[page]--;
         count--;
+
+        if (page < lowestFreePage) {
+            lowestFreePage = page;
+        }
+
         return result;
     }
 
     @SuppressWarnings("unchecked")
     public T elementUnsafe(int key) {
-        return (T) elements[key];
+        return (T) elements[key >>> PAGE_SHIFT][key & PAGE_MASK];
     }
 
     public int allocKey(T value) {
-        // There are some free elements
-        if (firstFree >= 0) {
-            return allocInFreeChain(value);
+        int page = lowestFreePage;
+
+        while (page < pageCount && firstFree[page] == NO_FREE) {
+            page++;
+        }
+
+        if (page == pageCount) {
+            addPage();
+        }
+
+        lowestFreePage = page;
+
+        int index = firstFree[page];
+        firstFree[page] = links[page][index];
+        elements[page][index] = value;
+        used[page]++;
+
+        if (++count > highWaterMark) {
+            highWaterMark = count;
+        }
+
+        return (page << PAGE_SHIFT) | index;
+    }
+
+    /**
+     * Release trailing pages which have no occupied slots. Pages allocated at creation are always retained.
+     *
+     * @return number of released pages
+     */
+    public int trim() {
+        int released = 0;
+
+        while (pageCount > minPages && used[pageCount - 1] == 0) {
+            pageCount--;
+            elements[pageCount] = null;
+            links[pageCount] = null;
+            firstFree[pageCount] = NO_FREE;
+            released++;
         }
 
-        // No free elements, but still some space
-        if (nextFree < elements.length) {
-            return allocNew(value);
+        if (lowestFreePage > pageCount) {
+            lowestFreePage = pageCount;
         }
 
-        // No free elements and no free space, realloc everything
-        indexes = Arrays.copyOf(indexes, indexes.length * 2);
-        elements = Arrays.copyOf(elements, elements.length * 2);
+        return released;
+    }
 
-        return allocNew(value);
+    /**
+     * Number of occupied slots.
+     */
+    public int count() {
+        return count;
     }
 
-    private int allocNew(T value) {
-        int index = nextFree++;
-        indexes[index] = firstFree;
-        firstFree = index;
-        return allocInFreeChain(value);
+    /**
+     * Number of available slots in all allocated pages.
+     */
+    public int capacity() {
+        return pageCount << PAGE_SHIFT;
     }
 
-    private int allocInFreeChain(T value) {
-        int result = firstFree;
-        elements[result] = value;
-        firstFree = indexes[result];
-        count++;
-        return result;
+    /**
+     * Maximal number of simultaneously occupied slots since creation or last call to {@link #resetHighWaterMark()}.
+     */
+    public int highWaterMark() {
+        return highWaterMark;
+    }
+
+    public void resetHighWaterMark() {
+        highWaterMark = count;
+    }
+
+    private void addPage() {
+        if (pageCount == elements.length) {
+            int newLength = elements.length * 2;
+
+            elements = Arrays.copyOf(elements, newLength);
+            links = Arrays.copyOf(links, newLength);
+            firstFree = Arrays.copyOf(firstFree, newLength);
+            used = Arrays.copyOf(used, newLength);
+        }
+
+        var pageLinks = new int[PAGE_SIZE];
+
+        for (int i = 0; i < PAGE_MASK; i++) {
+            pageLinks[i] = i + 1;
+        }
+        pageLinks[PAGE_MASK] = NO_FREE;
+
+        elements[pageCount] = new Object[PAGE_SIZE];
+        links[pageCount] = pageLinks;
+        firstFree[pageCount] = 0;
+        used[pageCount] = 0;
+        pageCount++;
     }
-}
\ No newline at end of file
+}
@@ -23,10 +23,18 @@ import org.pragmatica.lang.Functions.FN1;
 
 /**
  * Object pool for reusable instances of {@link AbstractExchangeEntry} implementations.
+ * <p>
+ * Pool tracks number of instances in use and the high-water mark of this number. The {@link #trim()} call releases idle instances
+ * which exceed the high-water mark observed since the previous trim, so pool retains enough instances to handle recent peak load while
+ * instances created during past bursts are eventually returned to the registry. Released instances are closed, so off-heap structures owned
+ * by them are disposed.
  */
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class PlainObjectPool<T extends AbstractExchangeEntry> {
     private T head;
+    private int idle = 0;
+    private int inUse = 0;
+    private int highWaterMark = 0;
     private final FN1<T, PlainObjectPool<T>> factory;
     private final ObjectHeap<CompletionHandler> registry;
 
@@ -42,6 +50,10 @@ public class PlainObjectPool<T extends AbstractExchangeEntry> {
     }
 
     public T alloc() {
+        if (++inUse > highWaterMark) {
+            highWaterMark = inUse;
+        }
+
         var result = head;
 
         if (head == null) {
@@ -49,20 +61,66 @@ public class PlainObjectPool<T extends AbstractExchangeEntry> {
         }
 
         head = (T) head.next;
+        idle--;
         return result;
     }
 
     public void release(final T element) {
         element.next = head;
         head = element;
+        idle++;
+        inUse--;
+    }
+
+    /**
+     * Release idle instances exceeding high-water mark of the instances in use since previous trim and reset high-water mark.
+     *
+     * @return number of released instances
+     */
+    public int trim() {
+        int released = releaseIdle(Math.max(0, highWaterMark - inUse));
+        highWaterMark = inUse;
+        return released;
     }
 
     public void clear() {
-        while (head != null) {
+        releaseIdle(0);
+    }
+
+    /**
+     * Number of instances available for reuse.
+     */
+    public int idle() {
+        return idle;
+    }
+
+    /**
+     * Number of instances currently in use.
+     */
+    public int inUse() {
+        return inUse;
+    }
+
+    /**
+     * Maximal number of simultaneously used instances since creation or previous trim.
+     */
+    public int highWaterMark() {
+        return highWaterMark;
+    }
+
+    private int releaseIdle(int retain) {
+        int released = 0;
+
+        while (idle > retain) {
             var element = head;
             head = (T) element.next;
             element.next = null;
+            element.close();
             registry.releaseUnsafe(element.key());
+            idle--;
+            released++;
         }
+
+        return released;
     }
 }
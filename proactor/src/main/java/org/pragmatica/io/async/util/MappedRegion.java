@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.util;
+
+import org.pragmatica.io.async.uring.UringApi;
+import org.pragmatica.io.async.util.raw.RawMemory;
+
+import java.util.HexFormat;
+
+/**
+ * Read-only region of the file mapped into memory. Whole region is considered used, i.e. {@link #used()} initially
+ * returns size of the region. Region is unmapped once it is closed, slices obtained from the region must not be used after that.
+ * <p>
+ * Memory of the region can't be modified, so {@link #clear()} only resets number of used bytes.
+ */
+public final class MappedRegion implements OffHeapSlice {
+    private final long mappingAddress;
+    private final long mappingLength;
+    private final long address;
+    private final int size;
+    private int used;
+    private boolean mapped = true;
+
+    private MappedRegion(long mappingAddress, long mappingLength, long address, int size) {
+        this.mappingAddress = mappingAddress;
+        this.mappingLength = mappingLength;
+        this.address = address;
+        this.size = size;
+        this.used = size;
+    }
+
+    /**
+     * Create region instance for existing mapping. Since mapping is performed at page boundary, address of the region
+     * might differ from the address of the mapping.
+     *
+     * @param mappingAddress Address of the mapping
+     * @param mappingLength  Length of the mapping
+     * @param address        Address of the region within the mapping
+     * @param size           Size of the region
+     */
+    public static MappedRegion mappedRegion(long mappingAddress, long mappingLength, long address, int size) {
+        return new MappedRegion(mappingAddress, mappingLength, address, size);
+    }
+
+    /**
+     * Create empty region which does not correspond to any mapping. Empty files can't be mapped, so such region is used to represent content
+     * of the empty file.
+     */
+    public static MappedRegion emptyRegion() {
+        return new MappedRegion(0L, 0L, 0L, 0);
+    }
+
+    /**
+     * Address of the page-aligned memory area which contains the region. Suitable for {@code madvise}.
+     */
+    public long mappingAddress() {
+        return mappingAddress;
+    }
+
+    /**
+     * Length of the page-aligned memory area which contains the region.
+     */
+    public long mappingLength() {
+        return mappingLength;
+    }
+
+    @Override
+    public long address() {
+        return address;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public OffHeapSlice clear() {
+        used = 0;
+        return this;
+    }
+
+    @Override
+    public int used() {
+        return used;
+    }
+
+    @Override
+    public OffHeapSlice used(int used) {
+        this.used = Math.min(size, used);
+        return this;
+    }
+
+    @Override
+    public OffHeapSlice slice(int offset, int length) {
+        assert offset < size && (offset + length) <= size;
+
+        return new OffHeapSliceImpl(address + offset, length).used(length);
+    }
+
+    @Override
+    public byte[] export() {
+        return RawMemory.getByteArray(address, used);
+    }
+
+    @Override
+    public String hexDump() {
+        return HexFormat.of().withUpperCase().formatHex(export());
+    }
+
+    @Override
+    public void close() {
+        if (mapped) {
+            mapped = false;
+
+            if (mappingLength > 0) {
+                UringApi.unmap(mappingAddress, mappingLength);
+            }
+        }
+    }
+}
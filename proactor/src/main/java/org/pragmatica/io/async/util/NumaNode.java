@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.util;
+
+import org.pragmatica.io.async.uring.UringApi;
+import org.pragmatica.lang.Result;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * NUMA node and set of CPUs which belong to it.
+ *
+ * @param id   Node ID
+ * @param cpus CPUs of the node
+ */
+public record NumaNode(int id, BitSet cpus) {
+    private static final Path NODES_ROOT = Path.of("/sys/devices/system/node");
+
+    /**
+     * Retrieve NUMA topology of the host, restricted to CPUs on which calling thread is allowed to run (see {@link #nodes(BitSet)}).
+     *
+     * @return List of nodes ordered by ID or error if set of allowed CPUs can't be retrieved
+     */
+    public static Result<List<NumaNode>> nodes() {
+        return UringApi.threadAffinity().map(allowed -> nodes(allowed));
+    }
+
+    /**
+     * Retrieve NUMA topology of the host, restricted to the provided set of allowed CPUs. Nodes without allowed CPUs are omitted. If topology is
+     * not available (for example, kernel is built without NUMA support), then single node with all allowed CPUs is returned.
+     *
+     * @param allowed Set of CPUs which can be used, usually it is the CPU affinity of the process (which may be restricted by cgroup/cpuset
+     *                or taskset).
+     *
+     * @return List of nodes ordered by ID
+     */
+    public static List<NumaNode> nodes(BitSet allowed) {
+        var result = new ArrayList<NumaNode>();
+
+        try (Stream<Path> entries = Files.list(NODES_ROOT)) {
+            for (var entry : entries.toList()) {
+                var name = entry.getFileName().toString();
+
+                if (!name.matches("node\\d+")) {
+                    continue;
+                }
+
+                var cpus = parseCpuList(Files.readString(entry.resolve("cpulist")));
+                cpus.and(allowed);
+
+                if (!cpus.isEmpty()) {
+                    result.add(new NumaNode(Integer.parseInt(name.substring(4)), cpus));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            result.clear();
+        }
+
+        if (result.isEmpty()) {
+            return List.of(new NumaNode(0, (BitSet) allowed.clone()));
+        }
+
+        result.sort(Comparator.comparingInt(NumaNode::id));
+        return List.copyOf(result);
+    }
+
+    /**
+     * Parse CPU list in the format used by kernel, for example {@code 0-3,8,10-11}.
+     */
+    public static BitSet parseCpuList(String list) {
+        var cpus = new BitSet();
+
+        for (var range : list.trim().split(",")) {
+            if (range.isEmpty()) {
+                continue;
+            }
+
+            var dash = range.indexOf('-');
+
+            if (dash < 0) {
+                cpus.set(Integer.parseInt(range));
+            } else {
+                cpus.set(Integer.parseInt(range.substring(0, dash)), Integer.parseInt(range.substring(dash + 1)) + 1);
+            }
+        }
+
+        return cpus;
+    }
+}
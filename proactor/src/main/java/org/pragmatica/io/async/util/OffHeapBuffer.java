@@ -39,6 +39,11 @@ class OffHeapBuffer extends AbstractOffHeapStructure<OffHeapSlice> implements Of
         used = 0;
     }
 
+    private OffHeapBuffer(int size, int alignment) {
+        super(size, alignment);
+        used = 0;
+    }
+
     static OffHeapBuffer fromBytes(byte[] input) {
         return new OffHeapBuffer(input);
     }
@@ -47,6 +52,12 @@ class OffHeapBuffer extends AbstractOffHeapStructure<OffHeapSlice> implements Of
         return new OffHeapBuffer(size);
     }
 
+    static OffHeapBuffer fixedSize(int size, int alignment) {
+        assert Integer.bitCount(alignment) == 1;
+
+        return new OffHeapBuffer(size, alignment);
+    }
+
     @Override
     public OffHeapSlice slice(int offset, int length) {
         assert offset < size() && (offset + length) <= size();
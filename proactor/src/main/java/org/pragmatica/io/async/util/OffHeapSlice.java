@@ -31,6 +31,16 @@ public interface OffHeapSlice extends RawStructure<OffHeapSlice>, AutoCloseable
         return OffHeapBuffer.fixedSize(size);
     }
 
+    /**
+     * Allocate buffer which address is aligned to specified boundary, as required, for example, for I/O with {@code O_DIRECT} flag.
+     *
+     * @param size      Buffer size
+     * @param alignment Address alignment, must be a power of two
+     */
+    static OffHeapSlice fixedSize(int size, int alignment) {
+        return OffHeapBuffer.fixedSize(size, alignment);
+    }
+
     int used();
 
     OffHeapSlice used(int used);
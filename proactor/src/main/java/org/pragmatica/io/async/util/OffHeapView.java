@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.util;
+
+import org.pragmatica.io.async.util.raw.RawMemory;
+
+import java.util.HexFormat;
+
+/**
+ * Reusable view of the off-heap memory. Unlike regular slices, view can be re-pointed to another memory range, so code which passes many
+ * short-living ranges to consumers (for example, lines of the read buffer) does not need to allocate new slice for each range.
+ * <p>
+ * View does not own memory it points to and remains valid only as long as the underlying memory is valid.
+ */
+public final class OffHeapView implements OffHeapSlice {
+    private long address;
+    private int size;
+    private int used;
+
+    private OffHeapView() {
+    }
+
+    public static OffHeapView view() {
+        return new OffHeapView();
+    }
+
+    /**
+     * Point view to the specified memory range. Whole range is marked as used.
+     *
+     * @param address Address of the range
+     * @param length  Length of the range
+     */
+    public OffHeapView point(long address, int length) {
+        this.address = address;
+        this.size = length;
+        this.used = length;
+        return this;
+    }
+
+    @Override
+    public long address() {
+        return address;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public OffHeapSlice clear() {
+        RawMemory.clear(address, size);
+        used = 0;
+        return this;
+    }
+
+    @Override
+    public int used() {
+        return used;
+    }
+
+    @Override
+    public OffHeapSlice used(int used) {
+        this.used = Math.min(size(), used);
+        return this;
+    }
+
+    @Override
+    public OffHeapSlice slice(int offset, int length) {
+        assert offset < size && (offset + length) <= size;
+
+        return new OffHeapSliceImpl(address + offset, length);
+    }
+
+    @Override
+    public byte[] export() {
+        return RawMemory.getByteArray(address, used);
+    }
+
+    @Override
+    public String hexDump() {
+        return HexFormat.of().withUpperCase().formatHex(export());
+    }
+
+    @Override
+    public void close() {
+        // Do nothing, view does not hold any resources
+    }
+}
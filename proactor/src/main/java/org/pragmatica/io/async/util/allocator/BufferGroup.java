@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.util.allocator;
+
+import static org.pragmatica.io.async.uring.struct.raw.CQEntry.IORING_CQE_BUFFER_SHIFT;
+
+/**
+ * Group of equally sized buffers provided to the kernel for operations with buffer selection.
+ * <p>
+ * Instead of pinning dedicated buffer for every pending read, operations which use buffer group let kernel pick free buffer at the moment when
+ * data actually arrive. Identifier of the selected buffer is reported back in the completion flags. Once application is done with the buffer, it
+ * must be returned back to the kernel with {@link org.pragmatica.io.async.Proactor#releaseBuffer(ProvidedBuffer)}.
+ * <p>
+ * Memory for buffers is allocated as single contiguous block from {@link ChunkedAllocator}. Buffer groups belong to particular
+ * {@link org.pragmatica.io.async.Proactor} instance and can't be used with other instances.
+ */
+public class BufferGroup {
+    public static final int MAX_BUFFERS = 65536;
+    public static final int MAX_GROUPS = 65536;
+
+    private final short id;
+    private final FixedBuffer memory;
+    private final int bufferSize;
+    private final ProvidedBuffer[] buffers;
+
+    private BufferGroup(short id, FixedBuffer memory, int bufferSize, int count) {
+        this.id = id;
+        this.memory = memory;
+        this.bufferSize = bufferSize;
+        this.buffers = new ProvidedBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            buffers[i] = new ProvidedBuffer(memory.slice(i * bufferSize, bufferSize), this, i);
+        }
+    }
+
+    public static BufferGroup bufferGroup(short id, FixedBuffer memory, int bufferSize, int count) {
+        return new BufferGroup(id, memory, bufferSize, count);
+    }
+
+    public short id() {
+        return id;
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    public int count() {
+        return buffers.length;
+    }
+
+    public long address() {
+        return memory.address();
+    }
+
+    public ProvidedBuffer buffer(int bufferId) {
+        return buffers[bufferId];
+    }
+
+    /**
+     * Retrieve buffer selected by kernel for particular completion.
+     *
+     * @param completionFlags Flags of the completion queue entry.
+     * @param used            Number of bytes put into buffer.
+     *
+     * @return selected buffer
+     */
+    public ProvidedBuffer selected(int completionFlags, int used) {
+        return buffers[completionFlags >>> IORING_CQE_BUFFER_SHIFT].used(used);
+    }
+
+    /**
+     * Release memory used by the group. Must be invoked only after buffers are removed from the kernel and all buffers owned by application are
+     * no longer used.
+     */
+    public void dispose() {
+        memory.dispose();
+    }
+
+    @Override
+    public String toString() {
+        return "BufferGroup(" + id + ", " + buffers.length + " x " + bufferSize + ")";
+    }
+}
@@ -35,6 +35,10 @@ import static org.pragmatica.io.async.util.Units._1KiB;
  * once at startup.
  * <p>
  * Default chunk size is 16K, which should be good enough for most I/O buffers.
+ * <p>
+ * Arena allocated by {@link #allocator(int)} is aligned to chunk size, so every allocated buffer is aligned to chunk size as well. This satisfies
+ * alignment requirements of I/O with {@code O_DIRECT} flag for devices with block size up to chunk size. Alignment of externally provided
+ * arena can be checked with {@link #alignment()}.
  */
 public class ChunkedAllocator implements AutoCloseable {
     public static final int CHUNK_SIZE = 16 * _1KiB;
@@ -50,7 +54,7 @@ public class ChunkedAllocator implements AutoCloseable {
     }
 
     public static ChunkedAllocator allocator(int size) {
-        return allocator(OffHeapSlice.fixedSize(size));
+        return allocator(OffHeapSlice.fixedSize(size, CHUNK_SIZE));
     }
 
     public static ChunkedAllocator allocator(OffHeapSlice arena) {
@@ -69,6 +73,13 @@ public class ChunkedAllocator implements AutoCloseable {
         arena.close();
     }
 
+    /**
+     * Alignment guaranteed for addresses of all allocated buffers. It's a power of two which does not exceed {@link #CHUNK_SIZE}.
+     */
+    public int alignment() {
+        return (int) Math.min(CHUNK_SIZE, Long.lowestOneBit(arena.address()));
+    }
+
     public Result<FixedBuffer> allocate(int size) {
         var numChunks = calculateNumChunks(size);
 
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.pragmatica.io.async.util.allocator;
+
+import org.pragmatica.io.async.util.OffHeapSlice;
+
+/**
+ * Buffer which belongs to the {@link BufferGroup} and was selected by kernel for particular operation.
+ * <p>
+ * The buffer is owned by application until it is returned back to the kernel with
+ * {@link org.pragmatica.io.async.Proactor#releaseBuffer(ProvidedBuffer)}.
+ */
+public class ProvidedBuffer implements OffHeapSlice {
+    private final OffHeapSlice slice;
+    private final BufferGroup group;
+    private final int id;
+
+    ProvidedBuffer(OffHeapSlice slice, BufferGroup group, int id) {
+        this.slice = slice;
+        this.group = group;
+        this.id = id;
+    }
+
+    public BufferGroup group() {
+        return group;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public long address() {
+        return slice.address();
+    }
+
+    @Override
+    public int size() {
+        return slice.size();
+    }
+
+    @Override
+    public ProvidedBuffer clear() {
+        slice.clear();
+        return this;
+    }
+
+    @Override
+    public int used() {
+        return slice.used();
+    }
+
+    @Override
+    public ProvidedBuffer used(int used) {
+        slice.used(used);
+        return this;
+    }
+
+    @Override
+    public OffHeapSlice slice(int offset, int length) {
+        return slice.slice(offset, length);
+    }
+
+    @Override
+    public byte[] export() {
+        return slice.export();
+    }
+
+    @Override
+    public String hexDump() {
+        return slice.hexDump();
+    }
+
+    @Override
+    public void close() {
+        // Do nothing, memory is owned by buffer group
+    }
+}
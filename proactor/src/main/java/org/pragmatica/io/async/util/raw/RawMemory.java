@@ -91,6 +91,10 @@ public final class RawMemory {
         return output;
     }
 
+    public static void getByteArray(long address, byte[] output, int offset, int length) {
+        instance.copyMemory(null, address, output, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset, length);
+    }
+
     public static void putLong(long address, long value) {
         instance.putLong(null, address, value);
     }
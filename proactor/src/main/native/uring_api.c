@@ -1,9 +1,16 @@
+#define _GNU_SOURCE
 #include <liburing.h>
+#include <fcntl.h>
+#include <unistd.h>
 #include <stdlib.h>
 #include <string.h>
 #include <errno.h>
 #include <arpa/inet.h>
 #include <sys/socket.h>
+#include <sys/mman.h>
+#include <sys/eventfd.h>
+#include <sys/syscall.h>
+#include <sched.h>
 #include <asm-generic/socket.h>
 #include <netinet/in.h>
 #include <linux/stat.h>
@@ -101,3 +108,87 @@ JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_prepareForLis
 
     return 0;
 }
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_peerName(JNIEnv *env, jclass clazz, jint sock, jlong address, jlong size_ptr) {
+    if (getpeername((int) sock, (struct sockaddr *) address, (socklen_t *) size_ptr)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_pipe(JNIEnv *env, jclass clazz, jlong fds, jint flags) {
+    if (pipe2((int *) fds, (int) flags)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_closeDescriptor(JNIEnv *env, jclass clazz, jint fd) {
+    if (close((int) fd)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_org_pragmatica_io_async_uring_UringApi_mmap(JNIEnv *env, jclass clazz, jlong length, jint prot, jint flags, jint fd, jlong offset) {
+    void *address = mmap(NULL, (size_t) length, (int) prot, (int) flags, (int) fd, (off_t) offset);
+
+    if (address == MAP_FAILED) {
+        return (jlong) get_errno();
+    }
+
+    return (jlong) address;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_munmap(JNIEnv *env, jclass clazz, jlong address, jlong length) {
+    if (munmap((void *) address, (size_t) length)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_pageSize(JNIEnv *env, jclass clazz) {
+    return (jint) sysconf(_SC_PAGESIZE);
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_eventFd(JNIEnv *env, jclass clazz, jint flags) {
+    int fd = eventfd(0, (int) flags);
+
+    return fd < 0 ? get_errno() : fd;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_eventFdWrite(JNIEnv *env, jclass clazz, jint fd, jlong value) {
+    if (eventfd_write((int) fd, (eventfd_t) value)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_setAffinity(JNIEnv *env, jclass clazz, jlong mask, jint size) {
+    if (sched_setaffinity(0, (size_t) size, (cpu_set_t *) mask)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_getAffinity(JNIEnv *env, jclass clazz, jlong mask, jint size) {
+    if (sched_getaffinity(0, (size_t) size, (cpu_set_t *) mask)) {
+        return get_errno();
+    }
+
+    return 0;
+}
+
+JNIEXPORT jint JNICALL Java_org_pragmatica_io_async_uring_UringApi_mbind(JNIEnv *env, jclass clazz, jlong address, jlong length, jint mode, jlong node_mask, jlong max_node, jint flags) {
+    if (syscall(SYS_mbind, (void *) address, (unsigned long) length, (int) mode, (const unsigned long *) node_mask, (unsigned long) max_node, (unsigned) flags)) {
+        return get_errno();
+    }
+
+    return 0;
+}
@@ -19,24 +19,34 @@ package org.pragmatica.io;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.pragmatica.io.async.LinkedChain;
 import org.pragmatica.io.async.Proactor;
+import org.pragmatica.io.async.SystemError;
 import org.pragmatica.io.async.Timeout;
 import org.pragmatica.io.async.common.OffsetT;
 import org.pragmatica.io.async.common.SizeT;
+import org.pragmatica.io.async.file.DescriptorType;
 import org.pragmatica.io.async.file.FileDescriptor;
 import org.pragmatica.io.async.file.FilePermission;
 import org.pragmatica.io.async.file.OpenFlags;
 import org.pragmatica.io.async.net.*;
+import org.pragmatica.io.async.uring.AsyncOperation;
 import org.pragmatica.io.async.util.OffHeapSlice;
+import org.pragmatica.io.async.util.allocator.BufferGroup;
+import org.pragmatica.io.async.util.allocator.ProvidedBuffer;
 import org.pragmatica.lang.*;
 
+import java.io.IOException;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.EnumSet;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.pragmatica.io.async.util.Units._1KiB;
 import static org.pragmatica.io.async.util.allocator.ChunkedAllocator.allocator;
@@ -61,6 +71,15 @@ class ProactorTest {
                    .onFailure(ProactorTest::fail);
     }
 
+    @Test
+    void supportedOperationsAreProbed() {
+        var operations = proactor.supportedOperations();
+
+        assertTrue(operations.contains(AsyncOperation.NOP));
+        assertTrue(proactor.supports(AsyncOperation.NOP));
+        assertEquals(operations.contains(AsyncOperation.SPLICE), proactor.supports(AsyncOperation.SPLICE));
+    }
+
     @Test
     void delayCanBeSubmitted() {
         var finalResult = new AtomicReference<Result<Duration>>();
@@ -74,6 +93,23 @@ class ProactorTest {
                    .onSuccess(duration -> assertTrue(duration.compareTo(Duration.ofMillis(100)) > 0));
     }
 
+    @Test
+    void delayCanBeCancelled() {
+        var delayResult = new AtomicReference<Result<Duration>>();
+        var cancelResult = new AtomicReference<Result<Unit>>();
+
+        var operationId = proactor.delay(delayResult::set, Timeout.timeout(10).seconds());
+        proactor.cancel(cancelResult::set, operationId);
+
+        waitForResult(delayResult);
+        waitForResult(cancelResult);
+
+        cancelResult.get().onFailure(ProactorTest::fail);
+        delayResult.get()
+                   .onSuccess(duration -> Assertions.fail("Operation is not cancelled"))
+                   .onFailure(cause -> assertEquals(SystemError.ECANCELED, cause));
+    }
+
     @Test
     void fileCanBeOpenedReadAndClosed() {
         var fileDescriptor = new AtomicReference<Result<FileDescriptor>>();
@@ -118,6 +154,185 @@ class ProactorTest {
                    .onFailure(ProactorTest::fail);
     }
 
+    @Test
+    void fileCanBeReadIntoProvidedBuffer() {
+        var fileDescriptor = new AtomicReference<Result<FileDescriptor>>();
+
+        proactor.open(fileDescriptor::set,
+                      Path.of("src/test/resources/english-wiki.test.data"),
+                      EnumSet.of(OpenFlags.READ_ONLY),
+                      EnumSet.noneOf(FilePermission.class),
+                      empty());
+
+        waitForResult(fileDescriptor);
+
+        var fd = fileDescriptor.get().fold(ProactorTest::throwIfError, Functions::id);
+        var groupResult = new AtomicReference<Result<BufferGroup>>();
+
+        proactor.bufferGroup(groupResult::set, _1KiB, 4);
+        waitForResult(groupResult);
+
+        var group = groupResult.get().fold(ProactorTest::throwIfError, Functions::id);
+        var readResult = new AtomicReference<Result<ProvidedBuffer>>();
+
+        proactor.readProvided(readResult::set, fd, group, OffsetT.ZERO, empty());
+        waitForResult(readResult);
+
+        readResult.get()
+                  .onSuccess(buffer -> assertEquals(_1KiB, buffer.used()))
+                  .onSuccess(buffer -> assertEquals(group, buffer.group()))
+                  .onSuccess(proactor::releaseBuffer)
+                  .onFailure(ProactorTest::fail);
+
+        var disposeResult = new AtomicReference<Result<Unit>>();
+        proactor.disposeBufferGroup(disposeResult::set, group);
+        waitForResult(disposeResult);
+
+        var closeResult = new AtomicReference<Result<Unit>>();
+        proactor.close(closeResult::set, fd, empty());
+        waitForResult(closeResult);
+
+        disposeResult.get().onFailure(ProactorTest::fail);
+        closeResult.get().onFailure(ProactorTest::fail);
+    }
+
+    @Test
+    void fileCanBeOpenedIntoRegisteredSlotReadAndClosed() {
+        var fileDescriptor = new AtomicReference<Result<FileDescriptor>>();
+
+        proactor.openDirect(fileDescriptor::set,
+                            Path.of("src/test/resources/english-wiki.test.data"),
+                            EnumSet.of(OpenFlags.READ_ONLY),
+                            EnumSet.noneOf(FilePermission.class),
+                            empty());
+
+        waitForResult(fileDescriptor);
+
+        var fd = fileDescriptor.get().fold(ProactorTest::throwIfError, Functions::id);
+
+        assertTrue(fd.fixed());
+
+        var readResult = new AtomicReference<Result<SizeT>>();
+
+        try (var buffer = OffHeapSlice.fixedSize(_1KiB)) {
+            proactor.read(readResult::set, fd, buffer);
+            waitForResult(readResult);
+
+            readResult.get()
+                      .onSuccess(size -> assertEquals(_1KiB, size.value()))
+                      .onFailure(ProactorTest::fail);
+        }
+
+        var closeResult = new AtomicReference<Result<Unit>>();
+        proactor.close(closeResult::set, fd, empty());
+        waitForResult(closeResult);
+
+        closeResult.get().onFailure(ProactorTest::fail);
+    }
+
+    @Test
+    void fileCanBeOpenedReadAndClosedWithinLinkedChain() {
+        var fd = proactor.reserveFile(DescriptorType.FILE).fold(ProactorTest::throwIfError, Functions::id);
+        var readResult = new AtomicReference<Result<SizeT>>();
+        var chainResult = new AtomicReference<Result<Unit>>();
+
+        try (var buffer = OffHeapSlice.fixedSize(_1KiB)) {
+            proactor.chain(LinkedChain.LinkMode.HARD)
+                    .then((p, steps) -> p.openDirect(steps.step(), fd, Path.of("src/test/resources/english-wiki.test.data"),
+                                                     EnumSet.of(OpenFlags.READ_ONLY), EnumSet.noneOf(FilePermission.class), empty()))
+                    .then((p, steps) -> p.read(steps.step((result, __) -> readResult.set(result)), fd, buffer))
+                    .then((p, steps) -> p.close(steps.step(), fd, empty()))
+                    .submit((result, __) -> chainResult.set(result));
+
+            waitForResult(chainResult);
+
+            chainResult.get().onFailure(ProactorTest::fail);
+            readResult.get()
+                      .onSuccess(size -> assertEquals(_1KiB, size.value()))
+                      .onFailure(ProactorTest::fail);
+        }
+    }
+
+    @Test
+    void fileRegionCanBeTransferredThroughPipe() throws IOException {
+        var source = Path.of("src/test/resources/english-wiki.test.data");
+        var sourceSize = java.nio.file.Files.size(source);
+        var destination = java.nio.file.Files.createTempFile("transfer", ".data");
+        var sourceFd = new AtomicReference<Result<FileDescriptor>>();
+        var destinationFd = new AtomicReference<Result<FileDescriptor>>();
+
+        proactor.open(sourceFd::set, source, OpenFlags.readOnly(), FilePermission.none(), empty());
+        proactor.open(destinationFd::set, destination, EnumSet.of(OpenFlags.WRITE_ONLY, OpenFlags.TRUNCATE), FilePermission.none(), empty());
+
+        waitForResult(sourceFd);
+        waitForResult(destinationFd);
+
+        var from = sourceFd.get().fold(ProactorTest::throwIfError, Functions::id);
+        var to = destinationFd.get().fold(ProactorTest::throwIfError, Functions::id);
+
+        // Requested length exceeds file size, so transfer stops at the end of file
+        var transferResult = new AtomicReference<Result<SizeT>>();
+        proactor.transfer(transferResult::set, from, OffsetT.ZERO, SizeT.sizeT(1024 * _1KiB), to);
+
+        waitForResult(transferResult);
+
+        transferResult.get()
+                      .onSuccess(size -> assertEquals(sourceSize, size.value()))
+                      .onFailure(ProactorTest::fail);
+
+        var closeResult1 = new AtomicReference<Result<Unit>>();
+        var closeResult2 = new AtomicReference<Result<Unit>>();
+        proactor.close(closeResult1::set, from, empty());
+        proactor.close(closeResult2::set, to, empty());
+
+        waitForResult(closeResult1);
+        waitForResult(closeResult2);
+
+        assertEquals(sourceSize, java.nio.file.Files.size(destination));
+        java.nio.file.Files.delete(destination);
+    }
+
+    @Test
+    void transferStopsAtEndOfFileAlignedToChunkBoundary() throws IOException {
+        // End of file at chunk boundary makes first step of the next chunk move zero bytes
+        var content = new byte[4 * 64 * _1KiB];
+        new Random(42).nextBytes(content);
+
+        var source = java.nio.file.Files.write(java.nio.file.Files.createTempFile("transfer-source", ".data"), content);
+        var destination = java.nio.file.Files.createTempFile("transfer", ".data");
+        var sourceFd = new AtomicReference<Result<FileDescriptor>>();
+        var destinationFd = new AtomicReference<Result<FileDescriptor>>();
+
+        proactor.open(sourceFd::set, source, OpenFlags.readOnly(), FilePermission.none(), empty());
+        proactor.open(destinationFd::set, destination, EnumSet.of(OpenFlags.WRITE_ONLY, OpenFlags.TRUNCATE), FilePermission.none(), empty());
+
+        waitForResult(sourceFd);
+        waitForResult(destinationFd);
+
+        var from = sourceFd.get().fold(ProactorTest::throwIfError, Functions::id);
+        var to = destinationFd.get().fold(ProactorTest::throwIfError, Functions::id);
+        var transferResult = new AtomicReference<Result<SizeT>>();
+
+        proactor.transfer(transferResult::set, from, OffsetT.ZERO, SizeT.sizeT(content.length * 2L), to);
+        waitForResult(transferResult);
+
+        transferResult.get()
+                      .onSuccess(size -> assertEquals(content.length, size.value()))
+                      .onFailure(ProactorTest::fail);
+
+        var closeResult1 = new AtomicReference<Result<Unit>>();
+        var closeResult2 = new AtomicReference<Result<Unit>>();
+        proactor.close(closeResult1::set, from, empty());
+        proactor.close(closeResult2::set, to, empty());
+
+        waitForResult(closeResult1);
+        waitForResult(closeResult2);
+
+        assertArrayEquals(content, java.nio.file.Files.readAllBytes(destination));
+        java.nio.file.Files.delete(source);
+        java.nio.file.Files.delete(destination);
+    }
+
     @Test
     void externalHostCanBeConnectedAndRead() throws UnknownHostException {
         var addr = java.net.Inet4Address.getByName("www.google.com");
@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObjectHeapTest {
+    @Test
+    void elementsCanBeStoredAndRetrieved() {
+        var heap = ObjectHeap.<String>objectHeap(16);
+        var first = heap.allocKey("one");
+        var second = heap.allocKey("two");
+
+        assertEquals("one", heap.elementUnsafe(first));
+        assertEquals("two", heap.elementUnsafe(second));
+        assertEquals(2, heap.count());
+
+        assertEquals("one", heap.releaseUnsafe(first));
+        assertEquals(1, heap.count());
+        assertEquals(first, heap.allocKey("three"));
+    }
+
+    @Test
+    void heapGrowsByPagesWithoutMovingElements() {
+        var heap = ObjectHeap.<Integer>objectHeap(16);
+        var values = new ArrayList<Integer>();
+        var keys = new ArrayList<Integer>();
+        int total = ObjectHeap.PAGE_SIZE * 5 + 3;
+
+        for (int i = 0; i < total; i++) {
+            var value = Integer.valueOf(i + 1000);
+            values.add(value);
+            keys.add(heap.allocKey(value));
+        }
+
+        assertEquals(total, heap.count());
+        assertEquals(ObjectHeap.PAGE_SIZE * 6, heap.capacity());
+        assertEquals(total, heap.highWaterMark());
+
+        for (int i = 0; i < total; i++) {
+            assertSame(values.get(i), heap.elementUnsafe(keys.get(i)));
+        }
+    }
+
+    @Test
+    void trailingEmptyPagesAreReleasedOnTrim() {
+        var heap = ObjectHeap.<String>objectHeap(16);
+        var keys = new ArrayList<Integer>();
+
+        for (int i = 0; i < ObjectHeap.PAGE_SIZE * 3; i++) {
+            keys.add(heap.allocKey("value"));
+        }
+
+        keys.forEach(heap::releaseUnsafe);
+
+        assertEquals(0, heap.count());
+        assertEquals(2, heap.trim());
+        assertEquals(ObjectHeap.PAGE_SIZE, heap.capacity());
+        assertEquals(ObjectHeap.PAGE_SIZE * 3, heap.highWaterMark());
+
+        heap.resetHighWaterMark();
+        assertEquals(0, heap.highWaterMark());
+
+        var key = heap.allocKey("again");
+        assertTrue(key < ObjectHeap.PAGE_SIZE);
+        assertEquals("again", heap.elementUnsafe(key));
+    }
+
+    @Test
+    void lowestFreeKeysAreReusedFirst() {
+        var heap = ObjectHeap.<String>objectHeap(16);
+        var keys = new ArrayList<Integer>();
+
+        for (int i = 0; i < ObjectHeap.PAGE_SIZE * 2; i++) {
+            keys.add(heap.allocKey("value"));
+        }
+
+        heap.releaseUnsafe(keys.get(ObjectHeap.PAGE_SIZE + 1));
+        heap.releaseUnsafe(keys.get(5));
+
+        assertEquals(keys.get(5), heap.allocKey("first"));
+        assertEquals(keys.get(ObjectHeap.PAGE_SIZE + 1), heap.allocKey("second"));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.uring.utils;
+
+import org.junit.jupiter.api.Test;
+import org.pragmatica.io.async.uring.CompletionHandler;
+import org.pragmatica.io.async.uring.exchange.TimeoutExchangeEntry;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlainObjectPoolTest {
+    @Test
+    void trimmedEntriesAreClosed() {
+        var closed = new AtomicInteger();
+        var registry = ObjectHeap.<CompletionHandler>objectHeap(16);
+        var pool = PlainObjectPool.<TimeoutExchangeEntry>objectPool(owner -> new TimeoutExchangeEntry(owner) {
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+                super.close();
+            }
+        }, registry);
+
+        var entries = new ArrayList<TimeoutExchangeEntry>();
+
+        for (int i = 0; i < 3; i++) {
+            entries.add(pool.alloc());
+        }
+
+        entries.forEach(TimeoutExchangeEntry::release);
+
+        // Peak load is retained after first trim, idle entries are released after second one
+        assertEquals(0, pool.trim());
+        assertEquals(0, closed.get());
+
+        assertEquals(3, pool.trim());
+        assertEquals(3, closed.get());
+        assertEquals(0, registry.count());
+    }
+}
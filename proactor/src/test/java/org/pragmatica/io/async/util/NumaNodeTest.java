@@ -0,0 +1,59 @@
+/*
+ *  Copyright (c) 2022 Sergiy Yevtushenko.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package org.pragmatica.io.async.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class NumaNodeTest {
+    @Test
+    void cpuListIsParsed() {
+        var expected = new BitSet();
+        expected.set(0, 4);
+        expected.set(8);
+        expected.set(10, 12);
+
+        assertEquals(expected, NumaNode.parseCpuList("0-3,8,10-11\n"));
+    }
+
+    @Test
+    void topologyContainsAtLeastOneNode() {
+        NumaNode.nodes()
+                .onFailureDo(Assertions::fail)
+                .onSuccess(nodes -> {
+                    assertFalse(nodes.isEmpty());
+                    nodes.forEach(node -> assertFalse(node.cpus().isEmpty()));
+                });
+    }
+
+    @Test
+    void topologyIsRestrictedToAllowedCpus() {
+        var allowed = new BitSet();
+        allowed.set(0);
+
+        var nodes = NumaNode.nodes(allowed);
+
+        assertEquals(1, nodes.size());
+        assertEquals(allowed, nodes.get(0).cpus());
+    }
+}
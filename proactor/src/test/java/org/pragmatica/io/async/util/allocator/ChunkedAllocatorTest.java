@@ -70,4 +70,17 @@ class ChunkedAllocatorTest {
             assertEquals("UUUUUUUU", allocator.allocationMap());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void allocatedBuffersAreAlignedToChunkSize() {
+        try(var allocator = allocator(128 * _1KiB)) {
+            assertEquals(ChunkedAllocator.CHUNK_SIZE, allocator.alignment());
+
+            allocator.allocate(1);
+
+            allocator.allocate(1)
+                     .onSuccess(buffer -> assertEquals(0, buffer.address() % ChunkedAllocator.CHUNK_SIZE))
+                     .onFailureDo(Assertions::fail);
+        }
+    }
+}